@@ -1,15 +0,0 @@
-package com.bitvelocity.cart;
-
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
-
-@RestController
-@RequestMapping("/api/v1/carts")
-public class CartController {
-    @GetMapping
-    public String getCarts() {
-        return "Cart list (stub)";
-    }
-}
-
@@ -0,0 +1,19 @@
+package com.bitvelocity.cart.config;
+
+import com.bitvelocity.cart.engine.CartEngineProperties;
+import com.bitvelocity.cart.pricing.CartPricingProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration
+@EnableConfigurationProperties({CartEngineProperties.class, CartPricingProperties.class})
+public class CartEngineConfig {
+
+    @Bean
+    public Clock clock() {
+        return Clock.systemUTC();
+    }
+}
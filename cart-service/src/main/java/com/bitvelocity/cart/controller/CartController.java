@@ -0,0 +1,145 @@
+package com.bitvelocity.cart.controller;
+
+import com.bitvelocity.cart.dto.AddCartItemRequest;
+import com.bitvelocity.cart.dto.CartEngineStatsResponse;
+import com.bitvelocity.cart.dto.CartMergeResponse;
+import com.bitvelocity.cart.dto.CartResponse;
+import com.bitvelocity.cart.dto.MergeCartRequest;
+import com.bitvelocity.cart.dto.PricedCartResponse;
+import com.bitvelocity.cart.dto.UpdateCartItemRequest;
+import com.bitvelocity.cart.engine.CartEngine;
+import com.bitvelocity.cart.exception.ErrorResponse;
+import com.bitvelocity.cart.mapper.CartMapper;
+import com.bitvelocity.cart.pricing.CartPricingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/api/v1/carts")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Cart Management", description = "APIs for managing user and session carts")
+public class CartController {
+
+    private final CartEngine cartEngine;
+    private final CartPricingService cartPricingService;
+    private final CartMapper cartMapper;
+
+    @Operation(summary = "Get cart engine statistics", description = "Shard count, carts held in memory and write-behind backlog")
+    @ApiResponse(responseCode = "200", description = "Statistics retrieved")
+    @GetMapping("/stats")
+    public ResponseEntity<CartEngineStatsResponse> getCartEngineStats() {
+        return ResponseEntity.ok(cartEngine.getStats());
+    }
+
+    @Operation(summary = "Get cart", description = "Retrieve a cart by id; unknown carts are returned empty")
+    @ApiResponse(responseCode = "200", description = "Cart retrieved",
+                 content = @Content(schema = @Schema(implementation = CartResponse.class)))
+    @GetMapping("/{cartId}")
+    public CompletableFuture<ResponseEntity<CartResponse>> getCart(
+            @Parameter(description = "Cart id (user or session)") @PathVariable String cartId) {
+
+        log.debug("GET /api/v1/carts/{}", cartId);
+        return cartEngine.getCart(cartId).thenApply(cart -> ResponseEntity.ok(cartMapper.toResponse(cart)));
+    }
+
+    @Operation(summary = "Get priced cart", description = "Cart lines with current name, price and stock, and the cart subtotal")
+    @ApiResponse(responseCode = "200", description = "Priced cart retrieved",
+                 content = @Content(schema = @Schema(implementation = PricedCartResponse.class)))
+    @GetMapping("/{cartId}/priced")
+    public CompletableFuture<ResponseEntity<PricedCartResponse>> getPricedCart(
+            @Parameter(description = "Cart id (user or session)") @PathVariable String cartId) {
+
+        log.debug("GET /api/v1/carts/{}/priced", cartId);
+        return cartPricingService.getPricedCart(cartId).thenApply(cart -> ResponseEntity.ok(cartMapper.toResponse(cart)));
+    }
+
+    @Operation(summary = "Add item", description = "Add a SKU to the cart or increase its quantity")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Item added",
+                     content = @Content(schema = @Schema(implementation = CartResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid input or cart limit exceeded",
+                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/{cartId}/items")
+    public CompletableFuture<ResponseEntity<CartResponse>> addItem(
+            @Parameter(description = "Cart id (user or session)") @PathVariable String cartId,
+            @Valid @RequestBody AddCartItemRequest request) {
+
+        log.debug("POST /api/v1/carts/{}/items - sku: {}, quantity: {}", cartId, request.getSku(), request.getQuantity());
+        return cartEngine.addItem(cartId, request.getSku(), request.getQuantity())
+                .thenApply(cart -> ResponseEntity.ok(cartMapper.toResponse(cart)));
+    }
+
+    @Operation(summary = "Update item quantity", description = "Set the quantity of a SKU; 0 removes the line")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Quantity updated",
+                     content = @Content(schema = @Schema(implementation = CartResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid input or cart limit exceeded",
+                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PutMapping("/{cartId}/items/{sku}")
+    public CompletableFuture<ResponseEntity<CartResponse>> updateItem(
+            @Parameter(description = "Cart id (user or session)") @PathVariable String cartId,
+            @Parameter(description = "Product SKU") @PathVariable String sku,
+            @Valid @RequestBody UpdateCartItemRequest request) {
+
+        log.debug("PUT /api/v1/carts/{}/items/{} - quantity: {}", cartId, sku, request.getQuantity());
+        return cartEngine.updateQuantity(cartId, sku, request.getQuantity())
+                .thenApply(cart -> ResponseEntity.ok(cartMapper.toResponse(cart)));
+    }
+
+    @Operation(summary = "Remove item", description = "Remove a SKU from the cart")
+    @ApiResponse(responseCode = "200", description = "Item removed",
+                 content = @Content(schema = @Schema(implementation = CartResponse.class)))
+    @DeleteMapping("/{cartId}/items/{sku}")
+    public CompletableFuture<ResponseEntity<CartResponse>> removeItem(
+            @Parameter(description = "Cart id (user or session)") @PathVariable String cartId,
+            @Parameter(description = "Product SKU") @PathVariable String sku) {
+
+        log.debug("DELETE /api/v1/carts/{}/items/{}", cartId, sku);
+        return cartEngine.removeItem(cartId, sku).thenApply(cart -> ResponseEntity.ok(cartMapper.toResponse(cart)));
+    }
+
+    @Operation(summary = "Merge guest cart", description = "Merge a guest cart into this user cart, e.g. on login. Lines are deduplicated by SKU and quantities capped")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Carts merged",
+                     content = @Content(schema = @Schema(implementation = CartMergeResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid input",
+                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/{cartId}/merge")
+    public CompletableFuture<ResponseEntity<CartMergeResponse>> mergeCart(
+            @Parameter(description = "User cart id") @PathVariable String cartId,
+            @Valid @RequestBody MergeCartRequest request) {
+
+        log.debug("POST /api/v1/carts/{}/merge - guestCartId: {}", cartId, request.getGuestCartId());
+        return cartEngine.mergeCarts(request.getGuestCartId(), cartId)
+                .thenApply(result -> ResponseEntity.ok(cartMapper.toResponse(result)));
+    }
+
+    @Operation(summary = "Delete cart", description = "Delete a cart and all its items")
+    @ApiResponse(responseCode = "204", description = "Cart deleted")
+    @DeleteMapping("/{cartId}")
+    public CompletableFuture<ResponseEntity<Void>> deleteCart(
+            @Parameter(description = "Cart id (user or session)") @PathVariable String cartId) {
+
+        log.debug("DELETE /api/v1/carts/{}", cartId);
+        return cartEngine.deleteCart(cartId).thenApply(ignored -> {
+            cartPricingService.evict(cartId);
+            return ResponseEntity.noContent().build();
+        });
+    }
+}
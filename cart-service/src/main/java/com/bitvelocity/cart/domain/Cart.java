@@ -0,0 +1,137 @@
+package com.bitvelocity.cart.domain;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mutable cart state. Not thread-safe: a cart is only ever touched by the thread of its owner shard.
+ */
+public class Cart {
+
+    private final String cartId;
+    private final Map<String, CartItem> items = new LinkedHashMap<>();
+    private final Instant createdAt;
+    private Instant updatedAt;
+    private long version;
+
+    public Cart(String cartId, Instant createdAt) {
+        this.cartId = cartId;
+        this.createdAt = createdAt;
+        this.updatedAt = createdAt;
+    }
+
+    public static Cart fromSnapshot(CartSnapshot snapshot) {
+        Cart cart = new Cart(snapshot.cartId(), snapshot.createdAt());
+        for (CartItem item : snapshot.items()) {
+            cart.items.put(item.sku(), item);
+        }
+        cart.version = snapshot.version();
+        cart.updatedAt = snapshot.updatedAt();
+        return cart;
+    }
+
+    /**
+     * Applies a mutation and bumps the version.
+     *
+     * @throws IllegalArgumentException if the mutation would exceed the given limits
+     */
+    public void apply(CartMutation mutation, int maxLines, int maxQuantityPerLine, Instant now) {
+        switch (mutation) {
+            case CartMutation.AddItem add -> {
+                CartItem existing = items.get(add.sku());
+                int quantity = add.quantity() + (existing != null ? existing.quantity() : 0);
+                checkQuantity(add.sku(), quantity, maxQuantityPerLine);
+                if (existing == null) {
+                    checkLines(maxLines);
+                    items.put(add.sku(), new CartItem(add.sku(), quantity, now));
+                } else {
+                    items.put(add.sku(), existing.withQuantity(quantity));
+                }
+            }
+            case CartMutation.UpdateQuantity update -> {
+                CartItem existing = items.get(update.sku());
+                if (update.quantity() == 0) {
+                    items.remove(update.sku());
+                } else if (existing == null) {
+                    checkQuantity(update.sku(), update.quantity(), maxQuantityPerLine);
+                    checkLines(maxLines);
+                    items.put(update.sku(), new CartItem(update.sku(), update.quantity(), now));
+                } else {
+                    checkQuantity(update.sku(), update.quantity(), maxQuantityPerLine);
+                    items.put(update.sku(), existing.withQuantity(update.quantity()));
+                }
+            }
+            case CartMutation.RemoveItem remove -> items.remove(remove.sku());
+            case CartMutation.Clear clear -> items.clear();
+            case CartMutation.Merge merge -> mergeLines(merge.items(), maxLines, maxQuantityPerLine);
+        }
+        version++;
+        updatedAt = now;
+    }
+
+    /**
+     * Merges lines from another cart as a single mutation. Never rejects: quantities are capped
+     * and lines beyond maxLines are dropped, and the outcome reports both.
+     */
+    public MergeOutcome merge(List<CartItem> incoming, int maxLines, int maxQuantityPerLine, Instant now) {
+        MergeOutcome outcome = mergeLines(incoming, maxLines, maxQuantityPerLine);
+        version++;
+        updatedAt = now;
+        return outcome;
+    }
+
+    public CartSnapshot snapshot() {
+        return new CartSnapshot(cartId, List.copyOf(items.values()), version, createdAt, updatedAt);
+    }
+
+    public String getCartId() {
+        return cartId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    private MergeOutcome mergeLines(List<CartItem> incoming, int maxLines, int maxQuantityPerLine) {
+        int merged = 0;
+        int capped = 0;
+        int dropped = 0;
+        for (CartItem line : incoming) {
+            CartItem existing = items.get(line.sku());
+            int wanted = line.quantity() + (existing != null ? existing.quantity() : 0);
+            int quantity = Math.min(wanted, maxQuantityPerLine);
+            if (existing == null && items.size() >= maxLines) {
+                dropped++;
+                continue;
+            }
+            if (quantity < wanted) {
+                capped++;
+            }
+            items.put(line.sku(), existing != null ? existing.withQuantity(quantity) : line.withQuantity(quantity));
+            merged++;
+        }
+        return new MergeOutcome(merged, capped, dropped);
+    }
+
+    private void checkQuantity(String sku, int quantity, int maxQuantityPerLine) {
+        if (quantity > maxQuantityPerLine) {
+            throw new IllegalArgumentException(
+                    "Quantity for SKU " + sku + " cannot exceed " + maxQuantityPerLine);
+        }
+    }
+
+    private void checkLines(int maxLines) {
+        if (items.size() >= maxLines) {
+            throw new IllegalArgumentException("Cart cannot contain more than " + maxLines + " items");
+        }
+    }
+
+    public record MergeOutcome(int linesMerged, int quantitiesCapped, int linesDropped) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.bitvelocity.cart.domain;
+
+import java.time.Instant;
+
+/**
+ * One line of a cart. Immutable; a quantity change replaces the line.
+ */
+public record CartItem(String sku, int quantity, Instant addedAt) {
+
+    public CartItem withQuantity(int newQuantity) {
+        return new CartItem(sku, newQuantity, addedAt);
+    }
+}
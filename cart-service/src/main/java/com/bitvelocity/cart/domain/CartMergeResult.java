@@ -0,0 +1,7 @@
+package com.bitvelocity.cart.domain;
+
+/**
+ * Result of merging a guest cart into a user cart.
+ */
+public record CartMergeResult(CartSnapshot cart, String guestCartId, Cart.MergeOutcome outcome) {
+}
@@ -0,0 +1,28 @@
+package com.bitvelocity.cart.domain;
+
+import java.util.List;
+
+/**
+ * A single change to a cart, applied by the cart's owner shard.
+ */
+public sealed interface CartMutation {
+
+    record AddItem(String sku, int quantity) implements CartMutation {
+    }
+
+    record UpdateQuantity(String sku, int quantity) implements CartMutation {
+    }
+
+    record RemoveItem(String sku) implements CartMutation {
+    }
+
+    record Clear() implements CartMutation {
+    }
+
+    /**
+     * Folds the lines of another cart in: quantities of the same SKU are added and capped, and
+     * new lines beyond the cart's line limit are dropped.
+     */
+    record Merge(List<CartItem> items) implements CartMutation {
+    }
+}
@@ -0,0 +1,23 @@
+package com.bitvelocity.cart.domain;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Immutable view of a cart at a given version. Published for lock-free reads and written behind
+ * to the database.
+ */
+public record CartSnapshot(String cartId, List<CartItem> items, long version, Instant createdAt, Instant updatedAt) {
+
+    public static CartSnapshot empty(String cartId) {
+        return new CartSnapshot(cartId, List.of(), 0, null, null);
+    }
+
+    public int totalQuantity() {
+        int total = 0;
+        for (CartItem item : items) {
+            total += item.quantity();
+        }
+        return total;
+    }
+}
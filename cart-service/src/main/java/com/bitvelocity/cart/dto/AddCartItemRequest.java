@@ -0,0 +1,24 @@
+package com.bitvelocity.cart.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AddCartItemRequest {
+
+    @NotBlank(message = "SKU is required")
+    @Size(max = 50, message = "SKU must not exceed 50 characters")
+    private String sku;
+
+    @Min(value = 1, message = "Quantity must be at least 1")
+    @Builder.Default
+    private int quantity = 1;
+}
@@ -0,0 +1,26 @@
+package com.bitvelocity.cart.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CartEngineStatsResponse {
+
+    private int shards;
+    private int cartsInMemory;
+    private int guestCarts;
+    private int dirtyCarts;
+    private int pendingDeletes;
+    private long flushedCarts;
+    private long failedFlushes;
+    private int scheduledExpiries;
+    private long expiredGuestCarts;
+    private long evictedCarts;
+    private long sweptGuestCarts;
+    private long mergedCarts;
+}
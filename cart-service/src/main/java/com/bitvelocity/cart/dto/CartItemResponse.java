@@ -0,0 +1,19 @@
+package com.bitvelocity.cart.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CartItemResponse {
+
+    private String sku;
+    private int quantity;
+    private Instant addedAt;
+}
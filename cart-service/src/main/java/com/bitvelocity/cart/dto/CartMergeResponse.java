@@ -0,0 +1,19 @@
+package com.bitvelocity.cart.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CartMergeResponse {
+
+    private CartResponse cart;
+    private String guestCartId;
+    private int linesMerged;
+    private int quantitiesCapped;
+    private int linesDropped;
+}
@@ -0,0 +1,22 @@
+package com.bitvelocity.cart.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CartResponse {
+
+    private String cartId;
+    private List<CartItemResponse> items;
+    private int totalQuantity;
+    private long version;
+    private Instant updatedAt;
+}
@@ -0,0 +1,17 @@
+package com.bitvelocity.cart.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MergeCartRequest {
+
+    @NotBlank(message = "Guest cart id is required")
+    private String guestCartId;
+}
@@ -0,0 +1,24 @@
+package com.bitvelocity.cart.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PricedCartLineResponse {
+
+    private String sku;
+    private String name;
+    private int quantity;
+    private BigDecimal unitPrice;
+    private BigDecimal lineTotal;
+    private int availableStock;
+    private boolean available;
+    private boolean inStock;
+}
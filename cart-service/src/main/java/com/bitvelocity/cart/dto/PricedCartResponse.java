@@ -0,0 +1,25 @@
+package com.bitvelocity.cart.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PricedCartResponse {
+
+    private String cartId;
+    private long version;
+    private List<PricedCartLineResponse> lines;
+    private int totalQuantity;
+    private BigDecimal subtotal;
+    private boolean allInStock;
+    private Instant pricedAt;
+}
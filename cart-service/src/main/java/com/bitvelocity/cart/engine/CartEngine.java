@@ -0,0 +1,257 @@
+package com.bitvelocity.cart.engine;
+
+import com.bitvelocity.cart.domain.CartMergeResult;
+import com.bitvelocity.cart.domain.CartMutation;
+import com.bitvelocity.cart.domain.CartSnapshot;
+import com.bitvelocity.cart.dto.CartEngineStatsResponse;
+import com.bitvelocity.cart.event.CartMergedEvent;
+import com.bitvelocity.cart.event.CartsEvictedEvent;
+import com.bitvelocity.cart.persistence.CartSnapshotStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory cart store with write-behind persistence.
+ *
+ * Each cart id is owned by exactly one shard, which applies its mutations on a single thread.
+ * Mutations only touch memory; dirty carts are written to the CartSnapshotStore in batches, one
+ * transaction per shard and flush interval, instead of one transaction per click.
+ *
+ * Idle carts are expired through per-shard timer wheels: guest carts are dropped from memory and
+ * the database, user carts only from memory. Memory therefore tracks active sessions.
+ */
+@Component
+@Slf4j
+public class CartEngine implements DisposableBean {
+
+    private final CartSnapshotStore store;
+    private final CartEngineProperties properties;
+    private final Clock clock;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CartShard[] shards;
+    private final AtomicLong flushedCarts = new AtomicLong();
+    private final AtomicLong failedFlushes = new AtomicLong();
+    private final AtomicLong expiredGuestCarts = new AtomicLong();
+    private final AtomicLong evictedCarts = new AtomicLong();
+    private final AtomicLong sweptGuestCarts = new AtomicLong();
+    private final AtomicLong mergedCarts = new AtomicLong();
+
+    public CartEngine(CartSnapshotStore store, CartEngineProperties properties, Clock clock,
+                      ApplicationEventPublisher eventPublisher) {
+        this.store = store;
+        this.properties = properties;
+        this.clock = clock;
+        this.eventPublisher = eventPublisher;
+        this.shards = new CartShard[properties.resolvedShards()];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new CartShard(i, store, properties, clock);
+        }
+        log.info("Cart engine started with {} shards", shards.length);
+    }
+
+    public CompletableFuture<CartSnapshot> getCart(String cartId) {
+        requireText(cartId, "Cart id");
+        return shardFor(cartId).get(cartId);
+    }
+
+    public CompletableFuture<CartSnapshot> addItem(String cartId, String sku, int quantity) {
+        requireText(cartId, "Cart id");
+        requireText(sku, "SKU");
+        if (quantity < 1) {
+            throw new IllegalArgumentException("Quantity must be at least 1");
+        }
+        return shardFor(cartId).apply(cartId, new CartMutation.AddItem(sku, quantity));
+    }
+
+    /**
+     * Sets the quantity of a line; a quantity of 0 removes it.
+     */
+    public CompletableFuture<CartSnapshot> updateQuantity(String cartId, String sku, int quantity) {
+        requireText(cartId, "Cart id");
+        requireText(sku, "SKU");
+        if (quantity < 0) {
+            throw new IllegalArgumentException("Quantity cannot be negative");
+        }
+        return shardFor(cartId).apply(cartId, new CartMutation.UpdateQuantity(sku, quantity));
+    }
+
+    public CompletableFuture<CartSnapshot> removeItem(String cartId, String sku) {
+        requireText(cartId, "Cart id");
+        requireText(sku, "SKU");
+        return shardFor(cartId).apply(cartId, new CartMutation.RemoveItem(sku));
+    }
+
+    public CompletableFuture<CartSnapshot> clearCart(String cartId) {
+        requireText(cartId, "Cart id");
+        return shardFor(cartId).apply(cartId, new CartMutation.Clear());
+    }
+
+    public CompletableFuture<Void> deleteCart(String cartId) {
+        requireText(cartId, "Cart id");
+        return shardFor(cartId).delete(cartId);
+    }
+
+    /**
+     * Merges a guest cart into a user cart, e.g. on login.
+     *
+     * The guest cart is detached on its owner shard, then its lines are applied to the user cart
+     * as a single mutation on the user cart's shard, so concurrent clicks on either cart are
+     * serialized with the merge instead of racing it. If the second step fails the guest cart is
+     * restored. Merging an empty or already merged guest cart is a no-op.
+     */
+    public CompletableFuture<CartMergeResult> mergeCarts(String guestCartId, String userCartId) {
+        requireText(guestCartId, "Guest cart id");
+        requireText(userCartId, "User cart id");
+        if (guestCartId.equals(userCartId)) {
+            throw new IllegalArgumentException("Cannot merge a cart into itself");
+        }
+        CartShard source = shardFor(guestCartId);
+        CartShard target = shardFor(userCartId);
+        CompletableFuture<CartMergeResult> merge = source.detach(guestCartId)
+                .thenCompose(guestCart -> target.merge(userCartId, guestCart)
+                        .exceptionallyCompose(e -> source.restore(guestCart)
+                                .thenCompose(ignored -> CompletableFuture.failedFuture(e))));
+        return merge.thenApply(result -> {
+            if (result.outcome().linesMerged() > 0 || result.outcome().linesDropped() > 0) {
+                mergedCarts.incrementAndGet();
+                eventPublisher.publishEvent(new CartMergedEvent(userCartId, guestCartId, result.cart().version(),
+                        result.outcome().linesMerged(), result.outcome().quantitiesCapped(),
+                        result.outcome().linesDropped()));
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Writes all dirty carts and pending deletes to the store. A failing shard keeps its carts
+     * dirty and is retried on the next run.
+     */
+    @Scheduled(fixedDelayString = "${cart-service.engine.flush-interval-ms:1000}")
+    public void flushDirtyCarts() {
+        for (CartShard shard : shards) {
+            try {
+                flush(shard);
+            } catch (RuntimeException e) {
+                failedFlushes.incrementAndGet();
+                log.warn("Write-behind flush of cart shard {} failed, will retry: {}", shard.index(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Advances every shard's expiry wheel to now and publishes the evicted cart ids.
+     */
+    @Scheduled(fixedDelayString = "${cart-service.engine.expiry.tick-ms:1000}")
+    public void expireIdleCarts() {
+        long now = clock.millis();
+        List<String> evicted = new ArrayList<>();
+        for (CartShard shard : shards) {
+            CartShard.ExpiryResult result = shard.expire(now).join();
+            expiredGuestCarts.addAndGet(result.expiredGuests());
+            evictedCarts.addAndGet(result.evictedUsers());
+            evicted.addAll(result.evictedCartIds());
+        }
+        if (!evicted.isEmpty()) {
+            log.debug("Evicted {} idle carts", evicted.size());
+            eventPublisher.publishEvent(new CartsEvictedEvent(evicted));
+        }
+    }
+
+    /**
+     * Deletes idle guest carts that exist only in the database, e.g. left behind by a restart.
+     */
+    @Scheduled(fixedDelayString = "${cart-service.engine.expiry.store-sweep-interval-ms:60000}")
+    public void sweepIdleGuestCarts() {
+        CartEngineProperties.Expiry expiry = properties.getExpiry();
+        Instant idleSince = clock.instant().minusMillis(expiry.getGuestIdleTtlMs());
+        try {
+            int deleted;
+            do {
+                deleted = store.deleteIdleCarts(expiry.getGuestPrefix(), idleSince, expiry.getStoreSweepBatchSize());
+                sweptGuestCarts.addAndGet(deleted);
+            } while (deleted == expiry.getStoreSweepBatchSize());
+        } catch (RuntimeException e) {
+            log.warn("Sweep of idle guest carts failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    public CartEngineStatsResponse getStats() {
+        int carts = 0;
+        int guests = 0;
+        int scheduledExpiries = 0;
+        int dirty = 0;
+        int pendingDeletes = 0;
+        for (CartShard shard : shards) {
+            CartShard.ShardStats stats = shard.stats().join();
+            carts += stats.carts();
+            guests += stats.guestCarts();
+            scheduledExpiries += stats.scheduledExpiries();
+            dirty += stats.dirtyCarts();
+            pendingDeletes += stats.pendingDeletes();
+        }
+        return CartEngineStatsResponse.builder()
+                .shards(shards.length)
+                .cartsInMemory(carts)
+                .guestCarts(guests)
+                .scheduledExpiries(scheduledExpiries)
+                .dirtyCarts(dirty)
+                .pendingDeletes(pendingDeletes)
+                .flushedCarts(flushedCarts.get())
+                .failedFlushes(failedFlushes.get())
+                .expiredGuestCarts(expiredGuestCarts.get())
+                .evictedCarts(evictedCarts.get())
+                .sweptGuestCarts(sweptGuestCarts.get())
+                .mergedCarts(mergedCarts.get())
+                .build();
+    }
+
+    @Override
+    public void destroy() {
+        flushDirtyCarts();
+        for (CartShard shard : shards) {
+            shard.close();
+        }
+    }
+
+    /**
+     * Makes one pass over the carts dirty when the flush starts: enough batches to write each of
+     * them once, as written carts leave the head of the dirty set. Carts changed meanwhile wait for
+     * the next flush.
+     */
+    private void flush(CartShard shard) {
+        int batchSize = Math.max(1, properties.getFlushBatchSize());
+        FlushBatch batch = shard.drain(batchSize).join();
+        int batches = Math.max(1, (batch.dirtyCarts() + batchSize - 1) / batchSize);
+        for (int written = 1; ; written++) {
+            if (!batch.isEmpty()) {
+                store.write(batch.upserts(), batch.deletes());
+                flushedCarts.addAndGet(batch.upserts().size());
+            }
+            shard.acknowledge(batch).join();
+            if (batch.complete() || written == batches) {
+                break;
+            }
+            batch = shard.drain(batchSize).join();
+        }
+    }
+
+    private CartShard shardFor(String cartId) {
+        return shards[Math.floorMod(cartId.hashCode(), shards.length)];
+    }
+
+    private static void requireText(String value, String name) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(name + " must not be blank");
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.bitvelocity.cart.engine;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Sizing and limits of the in-memory cart engine.
+ */
+@Data
+@ConfigurationProperties(prefix = "cart-service.engine")
+public class CartEngineProperties {
+
+    /**
+     * Number of owner shards; 0 means one per available processor
+     */
+    private int shards = 0;
+
+    /**
+     * Delay between write-behind flushes of dirty carts
+     */
+    private long flushIntervalMs = 1000;
+
+    /**
+     * Maximum carts written per shard in one flush transaction
+     */
+    private int flushBatchSize = 500;
+
+    private int maxLinesPerCart = 100;
+
+    private int maxQuantityPerLine = 99;
+
+    private Expiry expiry = new Expiry();
+
+    public int resolvedShards() {
+        return shards > 0 ? shards : Runtime.getRuntime().availableProcessors();
+    }
+
+    @Data
+    public static class Expiry {
+
+        /**
+         * Cart ids with this prefix are anonymous session carts
+         */
+        private String guestPrefix = "guest:";
+
+        /**
+         * Idle time after which a guest cart is dropped from memory and the database
+         */
+        private long guestIdleTtlMs = 30 * 60 * 1000L;
+
+        /**
+         * Idle time after which a user cart is dropped from memory; it stays in the database
+         */
+        private long userIdleTtlMs = 2 * 60 * 60 * 1000L;
+
+        /**
+         * Resolution of the expiry timer wheel
+         */
+        private long tickMs = 1000;
+
+        /**
+         * Delay between sweeps of idle guest carts that are only in the database
+         */
+        private long storeSweepIntervalMs = 60_000;
+
+        private int storeSweepBatchSize = 500;
+    }
+}
@@ -0,0 +1,384 @@
+package com.bitvelocity.cart.engine;
+
+import com.bitvelocity.cart.domain.Cart;
+import com.bitvelocity.cart.domain.CartMergeResult;
+import com.bitvelocity.cart.domain.CartMutation;
+import com.bitvelocity.cart.domain.CartSnapshot;
+import com.bitvelocity.cart.persistence.CartSnapshotStore;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Single-writer owner of a partition of carts.
+ *
+ * All cart state of the shard is confined to one thread, so mutations need no locks and are
+ * applied in arrival order. After each mutation the cart's immutable snapshot is published to a
+ * concurrent map, which serves reads without going through the shard thread.
+ *
+ * A cart that is not in memory is read from the store on a loader thread, not the shard thread,
+ * so a slow load delays only the tasks for that cart. Tasks for the cart that arrive while it
+ * loads queue behind the load and run in arrival order once it is installed.
+ *
+ * Every cart in memory has one timer on the shard's TimerWheel. Mutations do not touch the
+ * timer; when it fires, a cart that changed since is re-armed for its new deadline, so hot carts
+ * cost nothing extra and idle ones are found without scanning.
+ */
+class CartShard implements AutoCloseable {
+
+    private final int index;
+    private final CartSnapshotStore store;
+    private final CartEngineProperties properties;
+    private final Clock clock;
+    private final ExecutorService executor;
+    private final ExecutorService loader;
+
+    // Confined to the shard thread
+    private final Map<String, Cart> carts = new HashMap<>();
+    private final Set<String> dirty = new LinkedHashSet<>();
+    private final Set<String> deleted = new LinkedHashSet<>();
+    // Carts being loaded, with the tasks waiting for them in arrival order
+    private final Map<String, List<Consumer<Throwable>>> loading = new HashMap<>();
+    private final TimerWheel<String> expiryWheel;
+    private final Map<String, TimerWheel.Timer<String>> expiryTimers = new HashMap<>();
+
+    private final Map<String, CartSnapshot> published = new ConcurrentHashMap<>();
+
+    CartShard(int index, CartSnapshotStore store, CartEngineProperties properties, Clock clock) {
+        this.index = index;
+        this.store = store;
+        this.properties = properties;
+        this.clock = clock;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cart-shard-" + index);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.loader = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("cart-load-" + index + "-", 0).factory());
+        this.expiryWheel = new TimerWheel<>(properties.getExpiry().getTickMs(), clock.millis());
+    }
+
+    CompletableFuture<CartSnapshot> apply(String cartId, CartMutation mutation) {
+        return whenLoaded(cartId, () -> {
+            Cart cart = residentOrNew(cartId);
+            cart.apply(mutation, properties.getMaxLinesPerCart(), properties.getMaxQuantityPerLine(), clock.instant());
+            dirty.add(cartId);
+            deleted.remove(cartId);
+            return publish(cart);
+        });
+    }
+
+    CompletableFuture<CartSnapshot> get(String cartId) {
+        CartSnapshot snapshot = published.get(cartId);
+        if (snapshot != null) {
+            return CompletableFuture.completedFuture(snapshot);
+        }
+        return whenLoaded(cartId, () -> {
+            Cart cart = carts.get(cartId);
+            return cart != null ? publish(cart) : CartSnapshot.empty(cartId);
+        });
+    }
+
+    CompletableFuture<Void> delete(String cartId) {
+        return onShard(cartId, false, () -> {
+            untrack(cartId);
+            dirty.remove(cartId);
+            deleted.add(cartId);
+            return null;
+        });
+    }
+
+    /**
+     * Removes a cart and returns its last state, as the first half of a cross-shard merge.
+     * Later mutations of the id start a new, empty cart.
+     */
+    CompletableFuture<CartSnapshot> detach(String cartId) {
+        return whenLoaded(cartId, () -> detachNow(cartId));
+    }
+
+    /**
+     * Merges the lines of a detached cart into the target cart as one mutation.
+     */
+    CompletableFuture<CartMergeResult> merge(String targetCartId, CartSnapshot source) {
+        return whenLoaded(targetCartId, () -> mergeNow(targetCartId, source));
+    }
+
+    /**
+     * Puts a detached cart back after its merge failed, unless the id was reused meanwhile.
+     */
+    CompletableFuture<Void> restore(CartSnapshot snapshot) {
+        return CompletableFuture.runAsync(() -> {
+            if (snapshot.items().isEmpty() || carts.containsKey(snapshot.cartId())) {
+                return;
+            }
+            Cart cart = Cart.fromSnapshot(snapshot);
+            track(cart);
+            dirty.add(snapshot.cartId());
+            deleted.remove(snapshot.cartId());
+            publish(cart);
+        }, executor);
+    }
+
+    /**
+     * Snapshots up to maxCarts dirty carts plus all pending deletes. Carts stay dirty until the
+     * batch is acknowledged.
+     */
+    CompletableFuture<FlushBatch> drain(int maxCarts) {
+        return CompletableFuture.supplyAsync(() -> {
+            List<CartSnapshot> upserts = new ArrayList<>(Math.min(dirty.size(), maxCarts));
+            for (String cartId : dirty) {
+                if (upserts.size() == maxCarts) {
+                    break;
+                }
+                upserts.add(carts.get(cartId).snapshot());
+            }
+            boolean complete = upserts.size() == dirty.size();
+            return new FlushBatch(index, upserts, Set.copyOf(deleted), dirty.size(), complete);
+        }, executor);
+    }
+
+    /**
+     * Marks a written batch as durable. A cart changed after it was drained stays dirty and moves
+     * behind the other dirty carts, so hot carts cannot keep the next batches to themselves.
+     */
+    CompletableFuture<Void> acknowledge(FlushBatch batch) {
+        return CompletableFuture.runAsync(() -> {
+            for (CartSnapshot snapshot : batch.upserts()) {
+                Cart cart = carts.get(snapshot.cartId());
+                if (dirty.remove(snapshot.cartId()) && cart != null && cart.getVersion() != snapshot.version()) {
+                    dirty.add(snapshot.cartId());
+                }
+            }
+            deleted.removeAll(batch.deletes());
+        }, executor);
+    }
+
+    /**
+     * Fires the expiry timers due at the given time. Guest carts idle past their TTL are dropped
+     * and queued for deletion by the next flush; idle user carts are dropped from memory once
+     * flushed.
+     */
+    CompletableFuture<ExpiryResult> expire(long nowMillis) {
+        return CompletableFuture.supplyAsync(() -> {
+            ExpiryResult result = new ExpiryResult(new ArrayList<>());
+            expiryWheel.advance(nowMillis, cartId -> onExpiryTimer(cartId, nowMillis, result));
+            return result;
+        }, executor);
+    }
+
+    CompletableFuture<ShardStats> stats() {
+        return CompletableFuture.supplyAsync(() -> {
+            int guests = 0;
+            for (String cartId : carts.keySet()) {
+                if (isGuest(cartId)) {
+                    guests++;
+                }
+            }
+            return new ShardStats(carts.size(), guests, dirty.size(), deleted.size(), expiryWheel.size());
+        }, executor);
+    }
+
+    int index() {
+        return index;
+    }
+
+    @Override
+    public void close() {
+        // Loads in flight finish on the shard thread, so the loader stops first
+        loader.close();
+        executor.close();
+    }
+
+    /**
+     * Runs the task on the shard thread once the cart's stored state is known: at once if the
+     * cart is in memory or deleted, otherwise after it was loaded off the shard thread. A load
+     * that fails fails every task waiting for it.
+     */
+    private <T> CompletableFuture<T> whenLoaded(String cartId, Supplier<T> task) {
+        return onShard(cartId, true, task);
+    }
+
+    /**
+     * Runs the task on the shard thread, behind any tasks already waiting for the cart to load so
+     * arrival order holds. Only tasks that need the stored state start a load or fail with one.
+     */
+    private <T> CompletableFuture<T> onShard(String cartId, boolean needsStoredState, Supplier<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Consumer<Throwable> run = loadFailure -> {
+            if (loadFailure != null && needsStoredState) {
+                result.completeExceptionally(loadFailure);
+                return;
+            }
+            try {
+                result.complete(task.get());
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        };
+        executor.execute(() -> {
+            List<Consumer<Throwable>> waiting = loading.get(cartId);
+            if (waiting != null) {
+                waiting.add(run);
+                return;
+            }
+            if (!needsStoredState || carts.containsKey(cartId) || deleted.contains(cartId)) {
+                run.accept(null);
+                return;
+            }
+            waiting = new ArrayList<>();
+            waiting.add(run);
+            loading.put(cartId, waiting);
+            try {
+                CompletableFuture.supplyAsync(() -> store.load(cartId), loader)
+                        .whenCompleteAsync((stored, error) -> install(cartId, stored, error), executor);
+            } catch (RuntimeException e) {
+                install(cartId, null, e);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Puts a loaded cart in memory, unless the id was deleted or restored while it loaded, then
+     * runs the tasks that waited for it.
+     */
+    private void install(String cartId, Optional<CartSnapshot> stored, Throwable error) {
+        List<Consumer<Throwable>> waiting = loading.remove(cartId);
+        Throwable failure = error instanceof CompletionException ? error.getCause() : error;
+        if (failure == null && stored.isPresent() && !carts.containsKey(cartId) && !deleted.contains(cartId)) {
+            track(Cart.fromSnapshot(stored.get()));
+        }
+        waiting.forEach(task -> task.accept(failure));
+    }
+
+    /**
+     * The cart in memory, or a new empty one; only called once the cart's stored state is known.
+     */
+    private Cart residentOrNew(String cartId) {
+        Cart cart = carts.get(cartId);
+        if (cart == null) {
+            cart = new Cart(cartId, clock.instant());
+            track(cart);
+        }
+        return cart;
+    }
+
+    private CartSnapshot detachNow(String cartId) {
+        Cart cart = carts.get(cartId);
+        if (cart == null) {
+            return CartSnapshot.empty(cartId);
+        }
+        untrack(cartId);
+        dirty.remove(cartId);
+        deleted.add(cartId);
+        return cart.snapshot();
+    }
+
+    private CartMergeResult mergeNow(String targetCartId, CartSnapshot source) {
+        Cart cart = residentOrNew(targetCartId);
+        if (source.items().isEmpty()) {
+            return new CartMergeResult(publish(cart), source.cartId(), new Cart.MergeOutcome(0, 0, 0));
+        }
+        Instant now = clock.instant();
+        Cart.MergeOutcome outcome = cart.merge(
+                source.items(), properties.getMaxLinesPerCart(), properties.getMaxQuantityPerLine(), now);
+        dirty.add(targetCartId);
+        deleted.remove(targetCartId);
+        return new CartMergeResult(publish(cart), source.cartId(), outcome);
+    }
+
+    private void onExpiryTimer(String cartId, long nowMillis, ExpiryResult result) {
+        Cart cart = carts.get(cartId);
+        if (cart == null) {
+            expiryTimers.remove(cartId);
+            return;
+        }
+        TimerWheel.Timer<String> timer = expiryTimers.get(cartId);
+        long deadline = deadline(cart);
+        if (deadline > nowMillis) {
+            expiryWheel.reschedule(timer, deadline);
+        } else if (isGuest(cartId)) {
+            untrack(cartId);
+            dirty.remove(cartId);
+            deleted.add(cartId);
+            result.evictedCartIds().add(cartId);
+            result.expiredGuests++;
+        } else if (dirty.contains(cartId)) {
+            // Not durable yet; check again after the next flush
+            expiryWheel.reschedule(timer, nowMillis + properties.getFlushIntervalMs());
+        } else {
+            untrack(cartId);
+            result.evictedCartIds().add(cartId);
+            result.evictedUsers++;
+        }
+    }
+
+    private void track(Cart cart) {
+        carts.put(cart.getCartId(), cart);
+        expiryTimers.put(cart.getCartId(), expiryWheel.schedule(cart.getCartId(), deadline(cart)));
+    }
+
+    private Cart untrack(String cartId) {
+        TimerWheel.Timer<String> timer = expiryTimers.remove(cartId);
+        if (timer != null) {
+            expiryWheel.cancel(timer);
+        }
+        published.remove(cartId);
+        return carts.remove(cartId);
+    }
+
+    private long deadline(Cart cart) {
+        CartEngineProperties.Expiry expiry = properties.getExpiry();
+        long ttl = isGuest(cart.getCartId()) ? expiry.getGuestIdleTtlMs() : expiry.getUserIdleTtlMs();
+        return cart.getUpdatedAt().toEpochMilli() + ttl;
+    }
+
+    private boolean isGuest(String cartId) {
+        return cartId.startsWith(properties.getExpiry().getGuestPrefix());
+    }
+
+    private CartSnapshot publish(Cart cart) {
+        CartSnapshot snapshot = cart.snapshot();
+        published.put(cart.getCartId(), snapshot);
+        return snapshot;
+    }
+
+    record ShardStats(int carts, int guestCarts, int dirtyCarts, int pendingDeletes, int scheduledExpiries) {
+    }
+
+    static final class ExpiryResult {
+        private final List<String> evictedCartIds;
+        private int expiredGuests;
+        private int evictedUsers;
+
+        ExpiryResult(List<String> evictedCartIds) {
+            this.evictedCartIds = evictedCartIds;
+        }
+
+        List<String> evictedCartIds() {
+            return evictedCartIds;
+        }
+
+        int expiredGuests() {
+            return expiredGuests;
+        }
+
+        int evictedUsers() {
+            return evictedUsers;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.bitvelocity.cart.engine;
+
+import com.bitvelocity.cart.domain.CartSnapshot;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Dirty carts drained from one shard for a single write-behind transaction.
+ *
+ * @param dirtyCarts dirty carts of the shard when the batch was drained
+ * @param complete   whether the batch holds every dirty cart of the shard
+ */
+record FlushBatch(int shard, List<CartSnapshot> upserts, Set<String> deletes, int dirtyCarts, boolean complete) {
+
+    boolean isEmpty() {
+        return upserts.isEmpty() && deletes.isEmpty();
+    }
+}
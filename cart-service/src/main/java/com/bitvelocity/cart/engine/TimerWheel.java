@@ -0,0 +1,159 @@
+package com.bitvelocity.cart.engine;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timer wheel with O(1) schedule and cancel.
+ *
+ * Four levels of 64 slots; level n covers 64^(n+1) ticks. Timers are kept in intrusive doubly
+ * linked slot lists and cascade to a lower level when the wheel below wraps, so advancing costs
+ * O(1) per tick plus the timers that actually fire or cascade. Deadlines past the top level are
+ * parked in its furthest slot and re-placed when they cascade. Not thread-safe; each cart shard
+ * owns one wheel on its own thread.
+ */
+final class TimerWheel<K> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    static final class Timer<K> {
+        private final K key;
+        private long deadlineTick;
+        private Timer<K> prev;
+        private Timer<K> next;
+
+        private Timer(K key) {
+            this.key = key;
+        }
+
+        K key() {
+            return key;
+        }
+
+        boolean isScheduled() {
+            return prev != null;
+        }
+    }
+
+    private final long tickMillis;
+    private final Timer<K>[][] wheels;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    TimerWheel(long tickMillis, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.currentTick = startMillis / tickMillis;
+        this.wheels = new Timer[LEVELS][SLOTS];
+        for (Timer<K>[] wheel : wheels) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                Timer<K> head = new Timer<>(null);
+                head.prev = head;
+                head.next = head;
+                wheel[slot] = head;
+            }
+        }
+    }
+
+    Timer<K> schedule(K key, long deadlineMillis) {
+        Timer<K> timer = new Timer<>(key);
+        reschedule(timer, deadlineMillis);
+        return timer;
+    }
+
+    void reschedule(Timer<K> timer, long deadlineMillis) {
+        cancel(timer);
+        // Round up so a timer never fires before its deadline
+        timer.deadlineTick = Math.max(ceilDiv(deadlineMillis, tickMillis), currentTick + 1);
+        place(timer);
+        size++;
+    }
+
+    void cancel(Timer<K> timer) {
+        if (timer.isScheduled()) {
+            unlink(timer);
+            size--;
+        }
+    }
+
+    /**
+     * Advances to the given time, handing the key of every expired timer to the callback.
+     *
+     * @return number of expired timers
+     */
+    int advance(long nowMillis, Consumer<K> onExpired) {
+        long targetTick = nowMillis / tickMillis;
+        int expired = 0;
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade();
+            Timer<K> head = wheels[0][(int) (currentTick & SLOT_MASK)];
+            while (head.next != head) {
+                Timer<K> timer = head.next;
+                unlink(timer);
+                size--;
+                expired++;
+                onExpired.accept(timer.key);
+            }
+        }
+        return expired;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void cascade() {
+        // Levels whose lower wheel just wrapped; re-place the highest first so its timers can
+        // land in lower slots that are cascaded in this same tick
+        int wrapped = 0;
+        while (wrapped + 1 < LEVELS && (currentTick & ((1L << (SLOT_BITS * (wrapped + 1))) - 1)) == 0) {
+            wrapped++;
+        }
+        for (int level = wrapped; level >= 1; level--) {
+            Timer<K> head = wheels[level][(int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK)];
+            Timer<K> timer = head.next;
+            head.next = head;
+            head.prev = head;
+            while (timer != head) {
+                Timer<K> next = timer.next;
+                place(timer);
+                timer = next;
+            }
+        }
+    }
+
+    private void place(Timer<K> timer) {
+        long delta = timer.deadlineTick - currentTick;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        long tick = timer.deadlineTick;
+        if (delta >= 1L << (SLOT_BITS * LEVELS)) {
+            // Beyond the wheel's range: park in the furthest top-level slot and re-place later
+            tick = currentTick + (1L << (SLOT_BITS * LEVELS)) - 1;
+        }
+        Timer<K> head = wheels[level][(int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK)];
+        timer.prev = head.prev;
+        timer.next = head;
+        head.prev.next = timer;
+        head.prev = timer;
+    }
+
+    private void unlink(Timer<K> timer) {
+        timer.prev.next = timer.next;
+        timer.next.prev = timer.prev;
+        timer.prev = null;
+        timer.next = null;
+    }
+
+    private static long ceilDiv(long value, long divisor) {
+        return -Math.floorDiv(-value, divisor);
+    }
+}
@@ -0,0 +1,8 @@
+package com.bitvelocity.cart.event;
+
+/**
+ * Published once per merge of a guest cart into a user cart, after the merged cart is published.
+ */
+public record CartMergedEvent(String userCartId, String guestCartId, long version, int linesMerged,
+                              int quantitiesCapped, int linesDropped) {
+}
@@ -0,0 +1,11 @@
+package com.bitvelocity.cart.event;
+
+import java.util.List;
+
+/**
+ * Published after idle carts were dropped from the engine's memory.
+ *
+ * @param cartIds evicted carts; guest carts among them are also being deleted from the store
+ */
+public record CartsEvictedEvent(List<String> cartIds) {
+}
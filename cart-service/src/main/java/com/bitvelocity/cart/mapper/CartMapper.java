@@ -0,0 +1,70 @@
+package com.bitvelocity.cart.mapper;
+
+import com.bitvelocity.cart.domain.CartItem;
+import com.bitvelocity.cart.domain.CartMergeResult;
+import com.bitvelocity.cart.domain.CartSnapshot;
+import com.bitvelocity.cart.dto.CartItemResponse;
+import com.bitvelocity.cart.dto.CartMergeResponse;
+import com.bitvelocity.cart.dto.CartResponse;
+import com.bitvelocity.cart.dto.PricedCartLineResponse;
+import com.bitvelocity.cart.dto.PricedCartResponse;
+import com.bitvelocity.cart.pricing.PricedCart;
+import com.bitvelocity.cart.pricing.PricedLine;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CartMapper {
+
+    public CartResponse toResponse(CartSnapshot cart) {
+        return CartResponse.builder()
+                .cartId(cart.cartId())
+                .items(cart.items().stream().map(this::toResponse).toList())
+                .totalQuantity(cart.totalQuantity())
+                .version(cart.version())
+                .updatedAt(cart.updatedAt())
+                .build();
+    }
+
+    public CartItemResponse toResponse(CartItem item) {
+        return CartItemResponse.builder()
+                .sku(item.sku())
+                .quantity(item.quantity())
+                .addedAt(item.addedAt())
+                .build();
+    }
+
+    public CartMergeResponse toResponse(CartMergeResult result) {
+        return CartMergeResponse.builder()
+                .cart(toResponse(result.cart()))
+                .guestCartId(result.guestCartId())
+                .linesMerged(result.outcome().linesMerged())
+                .quantitiesCapped(result.outcome().quantitiesCapped())
+                .linesDropped(result.outcome().linesDropped())
+                .build();
+    }
+
+    public PricedCartResponse toResponse(PricedCart cart) {
+        return PricedCartResponse.builder()
+                .cartId(cart.cartId())
+                .version(cart.version())
+                .lines(cart.lines().stream().map(this::toResponse).toList())
+                .totalQuantity(cart.totalQuantity())
+                .subtotal(cart.subtotal())
+                .allInStock(cart.allInStock())
+                .pricedAt(cart.pricedAt())
+                .build();
+    }
+
+    public PricedCartLineResponse toResponse(PricedLine line) {
+        return PricedCartLineResponse.builder()
+                .sku(line.sku())
+                .name(line.name())
+                .quantity(line.quantity())
+                .unitPrice(line.unitPrice())
+                .lineTotal(line.lineTotal())
+                .availableStock(line.availableStock())
+                .available(line.available())
+                .inStock(line.inStock())
+                .build();
+    }
+}
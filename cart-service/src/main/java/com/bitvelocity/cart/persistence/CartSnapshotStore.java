@@ -0,0 +1,28 @@
+package com.bitvelocity.cart.persistence;
+
+import com.bitvelocity.cart.domain.CartSnapshot;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Durable store behind the in-memory cart engine.
+ */
+public interface CartSnapshotStore {
+
+    Optional<CartSnapshot> load(String cartId);
+
+    /**
+     * Writes the given snapshots and deletes the given carts in one transaction.
+     */
+    void write(Collection<CartSnapshot> upserts, Collection<String> deletes);
+
+    /**
+     * Deletes up to limit carts whose id starts with the prefix and that were last updated
+     * before idleSince.
+     *
+     * @return number of carts deleted
+     */
+    int deleteIdleCarts(String idPrefix, Instant idleSince, int limit);
+}
@@ -0,0 +1,97 @@
+package com.bitvelocity.cart.persistence;
+
+import com.bitvelocity.cart.domain.CartItem;
+import com.bitvelocity.cart.domain.CartSnapshot;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Stores cart snapshots in the carts and cart_items tables.
+ *
+ * A write replaces each cart wholesale (delete, then batch insert of the cart row and its lines),
+ * which keeps the SQL portable between PostgreSQL and H2 and costs a handful of batched
+ * statements per flush regardless of how many mutations the carts went through.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JdbcCartSnapshotStore implements CartSnapshotStore {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<CartSnapshot> load(String cartId) {
+        List<CartSnapshot> carts = jdbcTemplate.query(
+                "SELECT id, version, created_at, updated_at FROM carts WHERE id = ?",
+                (rs, rowNum) -> new CartSnapshot(
+                        rs.getString("id"),
+                        List.of(),
+                        rs.getLong("version"),
+                        rs.getTimestamp("created_at").toInstant(),
+                        rs.getTimestamp("updated_at").toInstant()),
+                cartId);
+        if (carts.isEmpty()) {
+            return Optional.empty();
+        }
+        List<CartItem> items = jdbcTemplate.query(
+                "SELECT sku, quantity, added_at FROM cart_items WHERE cart_id = ? ORDER BY line_no",
+                (rs, rowNum) -> new CartItem(
+                        rs.getString("sku"),
+                        rs.getInt("quantity"),
+                        rs.getTimestamp("added_at").toInstant()),
+                cartId);
+        CartSnapshot cart = carts.get(0);
+        return Optional.of(new CartSnapshot(cart.cartId(), items, cart.version(), cart.createdAt(), cart.updatedAt()));
+    }
+
+    @Override
+    @Transactional
+    public void write(Collection<CartSnapshot> upserts, Collection<String> deletes) {
+        List<Object[]> ids = new ArrayList<>(upserts.size() + deletes.size());
+        for (CartSnapshot cart : upserts) {
+            ids.add(new Object[]{cart.cartId()});
+        }
+        for (String cartId : deletes) {
+            ids.add(new Object[]{cartId});
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("DELETE FROM cart_items WHERE cart_id = ?", ids);
+        jdbcTemplate.batchUpdate("DELETE FROM carts WHERE id = ?", ids);
+
+        List<Object[]> cartRows = new ArrayList<>(upserts.size());
+        List<Object[]> itemRows = new ArrayList<>();
+        for (CartSnapshot cart : upserts) {
+            cartRows.add(new Object[]{
+                    cart.cartId(), cart.version(), Timestamp.from(cart.createdAt()), Timestamp.from(cart.updatedAt())});
+            int lineNo = 0;
+            for (CartItem item : cart.items()) {
+                itemRows.add(new Object[]{
+                        cart.cartId(), item.sku(), item.quantity(), lineNo++, Timestamp.from(item.addedAt())});
+            }
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO carts (id, version, created_at, updated_at) VALUES (?, ?, ?, ?)", cartRows);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO cart_items (cart_id, sku, quantity, line_no, added_at) VALUES (?, ?, ?, ?, ?)", itemRows);
+    }
+
+    @Override
+    @Transactional
+    public int deleteIdleCarts(String idPrefix, Instant idleSince, int limit) {
+        // cart_items rows go with the cart (ON DELETE CASCADE)
+        return jdbcTemplate.update(
+                "DELETE FROM carts WHERE id IN (SELECT id FROM carts WHERE id LIKE ? AND updated_at < ? LIMIT ?)",
+                idPrefix + "%", Timestamp.from(idleSince), limit);
+    }
+}
@@ -0,0 +1,26 @@
+package com.bitvelocity.cart.pricing;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "cart-service.pricing")
+public class CartPricingProperties {
+
+    /**
+     * ProductCatalogClient implementation; only in-memory is bundled
+     */
+    private String catalogClient = "in-memory";
+
+    /**
+     * How long a product's price and stock are reused before being looked up again
+     */
+    private long snapshotTtlMs = 5000;
+
+    private int maxSnapshots = 100_000;
+
+    /**
+     * Priced carts kept for incremental recomputation
+     */
+    private int maxPricedCarts = 100_000;
+}
@@ -0,0 +1,144 @@
+package com.bitvelocity.cart.pricing;
+
+import com.bitvelocity.cart.domain.CartItem;
+import com.bitvelocity.cart.domain.CartSnapshot;
+import com.bitvelocity.cart.engine.CartEngine;
+import com.bitvelocity.cart.event.CartMergedEvent;
+import com.bitvelocity.cart.event.CartsEvictedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Prices carts against current catalog data.
+ *
+ * The last priced version of each cart is kept. When a cart changes, unchanged lines are reused
+ * as-is; only added, re-quantified or expired lines are recomputed, the subtotal is adjusted by
+ * their deltas, and every SKU that needs fresh catalog data is fetched in one batched lookup.
+ */
+@Service
+@Slf4j
+public class CartPricingService implements DisposableBean {
+
+    private final CartEngine cartEngine;
+    private final PriceSnapshotCache priceSnapshotCache;
+    private final CartPricingProperties properties;
+    private final Clock clock;
+    private final Map<String, PricedCart> pricedCarts = new ConcurrentHashMap<>();
+    private final ExecutorService pricingExecutor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("cart-pricing-", 0).factory());
+
+    public CartPricingService(CartEngine cartEngine, PriceSnapshotCache priceSnapshotCache,
+                              CartPricingProperties properties, Clock clock) {
+        this.cartEngine = cartEngine;
+        this.priceSnapshotCache = priceSnapshotCache;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    /**
+     * Prices the current version of a cart. Catalog lookups run off the shard thread.
+     */
+    public CompletableFuture<PricedCart> getPricedCart(String cartId) {
+        return cartEngine.getCart(cartId).thenApplyAsync(this::price, pricingExecutor);
+    }
+
+    public PricedCart price(CartSnapshot cart) {
+        long now = clock.millis();
+        PricedCart previous = pricedCarts.get(cart.cartId());
+        if (previous != null && previous.version() > cart.version()) {
+            previous = null;
+        }
+        if (previous != null && previous.version() == cart.version() && now < previous.pricesExpireAtMillis()) {
+            return previous;
+        }
+
+        List<String> lookups = new ArrayList<>();
+        for (CartItem item : cart.items()) {
+            PricedLine previousLine = previous != null ? previous.linesBySku().get(item.sku()) : null;
+            if (previousLine == null || previousLine.isExpired(now)) {
+                lookups.add(item.sku());
+            }
+        }
+        Map<String, PriceSnapshot> prices = lookups.isEmpty() ? Map.of() : priceSnapshotCache.getAll(lookups);
+
+        BigDecimal subtotal = previous != null ? previous.subtotal() : BigDecimal.ZERO;
+        List<PricedLine> lines = new ArrayList<>(cart.items().size());
+        Map<String, PricedLine> linesBySku = new HashMap<>(cart.items().size() * 2);
+        int totalQuantity = 0;
+        int matchedPrevious = 0;
+        long pricesExpireAt = Long.MAX_VALUE;
+        for (CartItem item : cart.items()) {
+            PricedLine previousLine = previous != null ? previous.linesBySku().get(item.sku()) : null;
+            PriceSnapshot price = prices.get(item.sku());
+            PricedLine line;
+            if (price != null) {
+                line = PricedLine.of(item.sku(), item.quantity(), price);
+            } else if (previousLine.quantity() == item.quantity()) {
+                line = previousLine;
+            } else {
+                line = previousLine.withQuantity(item.quantity());
+            }
+            if (previousLine != null) {
+                matchedPrevious++;
+            }
+            if (line != previousLine) {
+                if (previousLine != null) {
+                    subtotal = subtotal.subtract(previousLine.lineTotal());
+                }
+                subtotal = subtotal.add(line.lineTotal());
+            }
+            lines.add(line);
+            linesBySku.put(line.sku(), line);
+            totalQuantity += line.quantity();
+            pricesExpireAt = Math.min(pricesExpireAt, line.priceExpiresAtMillis());
+        }
+        if (previous != null && matchedPrevious < previous.lines().size()) {
+            for (PricedLine removed : previous.lines()) {
+                if (!linesBySku.containsKey(removed.sku())) {
+                    subtotal = subtotal.subtract(removed.lineTotal());
+                }
+            }
+        }
+
+        PricedCart priced = new PricedCart(cart.cartId(), cart.version(), Collections.unmodifiableList(lines),
+                Collections.unmodifiableMap(linesBySku), subtotal, totalQuantity, pricesExpireAt, clock.instant());
+        if (pricedCarts.size() < properties.getMaxPricedCarts() || pricedCarts.containsKey(cart.cartId())) {
+            pricedCarts.merge(cart.cartId(), priced, (current, candidate) ->
+                    candidate.version() >= current.version() ? candidate : current);
+        }
+        return priced;
+    }
+
+    public void evict(String cartId) {
+        pricedCarts.remove(cartId);
+    }
+
+    @EventListener
+    public void onCartsEvicted(CartsEvictedEvent event) {
+        event.cartIds().forEach(pricedCarts::remove);
+    }
+
+    @EventListener
+    public void onCartMerged(CartMergedEvent event) {
+        pricedCarts.remove(event.guestCartId());
+    }
+
+    @Override
+    public void destroy() {
+        pricingExecutor.close();
+    }
+}
@@ -0,0 +1,39 @@
+package com.bitvelocity.cart.pricing;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local stand-in for the product catalog, used until a remote client is configured.
+ */
+@Component
+@ConditionalOnProperty(name = "cart-service.pricing.catalog-client", havingValue = "in-memory", matchIfMissing = true)
+public class InMemoryProductCatalogClient implements ProductCatalogClient {
+
+    private final Map<String, ProductInfo> products = new ConcurrentHashMap<>();
+
+    public void put(ProductInfo product) {
+        products.put(product.sku(), product);
+    }
+
+    public void remove(String sku) {
+        products.remove(sku);
+    }
+
+    @Override
+    public Map<String, ProductInfo> getProducts(Collection<String> skus) {
+        Map<String, ProductInfo> found = new HashMap<>(skus.size() * 2);
+        for (String sku : skus) {
+            ProductInfo product = products.get(sku);
+            if (product != null) {
+                found.put(sku, product);
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,11 @@
+package com.bitvelocity.cart.pricing;
+
+/**
+ * Catalog data for one SKU as of a point in time. A null product means the SKU was not found.
+ */
+public record PriceSnapshot(String sku, ProductInfo product, long expiresAtMillis) {
+
+    public boolean isExpired(long nowMillis) {
+        return expiresAtMillis <= nowMillis;
+    }
+}
@@ -0,0 +1,72 @@
+package com.bitvelocity.cart.pricing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Short-lived per-SKU price/stock snapshots shared by all carts.
+ *
+ * Misses and expired entries of a request are resolved with a single batched catalog call.
+ */
+@Component
+@Slf4j
+public class PriceSnapshotCache {
+
+    private final ProductCatalogClient catalogClient;
+    private final CartPricingProperties properties;
+    private final Clock clock;
+    private final Map<String, PriceSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final AtomicLong catalogCalls = new AtomicLong();
+
+    public PriceSnapshotCache(ProductCatalogClient catalogClient, CartPricingProperties properties, Clock clock) {
+        this.catalogClient = catalogClient;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    public Map<String, PriceSnapshot> getAll(Collection<String> skus) {
+        long now = clock.millis();
+        Map<String, PriceSnapshot> result = new HashMap<>(skus.size() * 2);
+        List<String> missing = new ArrayList<>();
+        for (String sku : skus) {
+            PriceSnapshot snapshot = snapshots.get(sku);
+            if (snapshot != null && !snapshot.isExpired(now)) {
+                result.put(sku, snapshot);
+            } else {
+                missing.add(sku);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        catalogCalls.incrementAndGet();
+        Map<String, ProductInfo> products = catalogClient.getProducts(missing);
+        long expiresAt = clock.millis() + properties.getSnapshotTtlMs();
+        if (snapshots.size() + missing.size() > properties.getMaxSnapshots()) {
+            snapshots.values().removeIf(snapshot -> snapshot.isExpired(now));
+        }
+        for (String sku : missing) {
+            PriceSnapshot snapshot = new PriceSnapshot(sku, products.get(sku), expiresAt);
+            if (snapshots.size() < properties.getMaxSnapshots()) {
+                snapshots.put(sku, snapshot);
+            }
+            result.put(sku, snapshot);
+        }
+        log.debug("Resolved {} SKUs from catalog in one call", missing.size());
+        return result;
+    }
+
+    public long getCatalogCalls() {
+        return catalogCalls.get();
+    }
+}
@@ -0,0 +1,24 @@
+package com.bitvelocity.cart.pricing;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Priced view of a cart version.
+ *
+ * @param pricesExpireAtMillis earliest expiry of any line price; until then the whole cart is fresh
+ */
+public record PricedCart(String cartId, long version, List<PricedLine> lines, Map<String, PricedLine> linesBySku,
+                         BigDecimal subtotal, int totalQuantity, long pricesExpireAtMillis, Instant pricedAt) {
+
+    public boolean allInStock() {
+        for (PricedLine line : lines) {
+            if (!line.inStock()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
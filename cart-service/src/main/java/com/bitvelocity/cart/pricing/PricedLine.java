@@ -0,0 +1,37 @@
+package com.bitvelocity.cart.pricing;
+
+import java.math.BigDecimal;
+
+/**
+ * A cart line with the price and stock it was last priced against. Unknown SKUs have a null
+ * unit price and a zero line total.
+ */
+public record PricedLine(String sku, String name, int quantity, BigDecimal unitPrice, BigDecimal lineTotal,
+                         int availableStock, long priceExpiresAtMillis) {
+
+    static PricedLine of(String sku, int quantity, PriceSnapshot price) {
+        ProductInfo product = price.product();
+        if (product == null) {
+            return new PricedLine(sku, null, quantity, null, BigDecimal.ZERO, 0, price.expiresAtMillis());
+        }
+        return new PricedLine(sku, product.name(), quantity, product.price(),
+                product.price().multiply(BigDecimal.valueOf(quantity)), product.stockQuantity(), price.expiresAtMillis());
+    }
+
+    PricedLine withQuantity(int newQuantity) {
+        BigDecimal total = unitPrice != null ? unitPrice.multiply(BigDecimal.valueOf(newQuantity)) : BigDecimal.ZERO;
+        return new PricedLine(sku, name, newQuantity, unitPrice, total, availableStock, priceExpiresAtMillis);
+    }
+
+    public boolean available() {
+        return unitPrice != null;
+    }
+
+    public boolean inStock() {
+        return available() && availableStock >= quantity;
+    }
+
+    boolean isExpired(long nowMillis) {
+        return priceExpiresAtMillis <= nowMillis;
+    }
+}
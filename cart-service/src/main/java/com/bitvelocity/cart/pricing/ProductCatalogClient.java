@@ -0,0 +1,15 @@
+package com.bitvelocity.cart.pricing;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Batched access to product name, price and stock.
+ */
+public interface ProductCatalogClient {
+
+    /**
+     * Looks up all given SKUs in one call. Unknown SKUs are absent from the result.
+     */
+    Map<String, ProductInfo> getProducts(Collection<String> skus);
+}
@@ -0,0 +1,9 @@
+package com.bitvelocity.cart.pricing;
+
+import java.math.BigDecimal;
+
+/**
+ * Catalog data needed to render a cart line.
+ */
+public record ProductInfo(String sku, String name, BigDecimal price, int stockQuantity) {
+}
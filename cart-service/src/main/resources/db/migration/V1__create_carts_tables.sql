@@ -0,0 +1,18 @@
+-- Write-behind snapshots of the in-memory cart engine
+CREATE TABLE IF NOT EXISTS carts (
+    id VARCHAR(128) PRIMARY KEY,
+    version BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS cart_items (
+    cart_id VARCHAR(128) NOT NULL REFERENCES carts (id) ON DELETE CASCADE,
+    sku VARCHAR(50) NOT NULL,
+    quantity INTEGER NOT NULL,
+    line_no INTEGER NOT NULL,
+    added_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (cart_id, sku)
+);
+
+CREATE INDEX IF NOT EXISTS idx_cart_updated_at ON carts (updated_at);
@@ -0,0 +1,131 @@
+package com.bitvelocity.cart.controller;
+
+import com.bitvelocity.cart.pricing.InMemoryProductCatalogClient;
+import com.bitvelocity.cart.pricing.ProductInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Cart Controller H2 Integration Tests")
+class CartControllerH2IntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private InMemoryProductCatalogClient catalogClient;
+
+    @Test
+    @DisplayName("Should add, update and remove items")
+    void testCartLifecycle() throws Exception {
+        perform(post("/api/v1/carts/session-1/items")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"sku\":\"LAPTOP-001\",\"quantity\":2}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cartId", is("session-1")))
+                .andExpect(jsonPath("$.items[0].sku", is("LAPTOP-001")))
+                .andExpect(jsonPath("$.totalQuantity", is(2)));
+
+        perform(put("/api/v1/carts/session-1/items/LAPTOP-001")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"quantity\":5}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalQuantity", is(5)));
+
+        perform(delete("/api/v1/carts/session-1/items/LAPTOP-001"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(0)));
+
+        perform(get("/api/v1/carts/session-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version", is(3)));
+    }
+
+    @Test
+    @DisplayName("Should return 400 when a line exceeds the quantity limit")
+    void testQuantityLimit() throws Exception {
+        perform(post("/api/v1/carts/session-2/items")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"sku\":\"LAPTOP-001\",\"quantity\":100}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("cannot exceed 99")));
+    }
+
+    @Test
+    @DisplayName("Should return 400 for invalid request body")
+    void testValidation() throws Exception {
+        mockMvc.perform(post("/api/v1/carts/session-3/items")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"quantity\":1}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.validationErrors[0].field", is("sku")));
+    }
+
+    @Test
+    @DisplayName("Should price cart lines and subtotal")
+    void testPricedCart() throws Exception {
+        catalogClient.put(new ProductInfo("MOUSE-001", "Wireless Mouse", new BigDecimal("25.50"), 10));
+        perform(post("/api/v1/carts/session-4/items")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"sku\":\"MOUSE-001\",\"quantity\":2}"));
+
+        perform(get("/api/v1/carts/session-4/priced"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lines[0].name", is("Wireless Mouse")))
+                .andExpect(jsonPath("$.subtotal", is(51.00)))
+                .andExpect(jsonPath("$.allInStock", is(true)));
+    }
+
+    @Test
+    @DisplayName("Should merge a guest cart into a user cart")
+    void testMergeCart() throws Exception {
+        perform(post("/api/v1/carts/guest:session-5/items")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"sku\":\"LAPTOP-001\",\"quantity\":1}"));
+        perform(post("/api/v1/carts/user:5/items")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"sku\":\"LAPTOP-001\",\"quantity\":2}"));
+
+        perform(post("/api/v1/carts/user:5/merge")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"guestCartId\":\"guest:session-5\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cart.totalQuantity", is(3)))
+                .andExpect(jsonPath("$.linesMerged", is(1)));
+
+        perform(get("/api/v1/carts/guest:session-5"))
+                .andExpect(jsonPath("$.items", hasSize(0)));
+    }
+
+    @Test
+    @DisplayName("Should report engine statistics")
+    void testStats() throws Exception {
+        mockMvc.perform(get("/api/v1/carts/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.shards", is(4)));
+    }
+
+    private ResultActions perform(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+}
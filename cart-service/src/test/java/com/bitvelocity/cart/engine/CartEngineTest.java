@@ -0,0 +1,461 @@
+package com.bitvelocity.cart.engine;
+
+import com.bitvelocity.cart.domain.CartMergeResult;
+import com.bitvelocity.cart.domain.CartSnapshot;
+import com.bitvelocity.cart.event.CartMergedEvent;
+import com.bitvelocity.cart.event.CartsEvictedEvent;
+import com.bitvelocity.cart.persistence.CartSnapshotStore;
+import com.bitvelocity.testsupport.MutableClock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("CartEngine Unit Tests")
+class CartEngineTest {
+
+    private final MutableClock clock = new MutableClock();
+    private final List<Object> events = new ArrayList<>();
+    private RecordingStore store;
+    private CartEngine cartEngine;
+
+    @BeforeEach
+    void setUp() {
+        CartEngineProperties properties = new CartEngineProperties();
+        properties.setShards(4);
+        properties.setMaxLinesPerCart(3);
+        properties.setMaxQuantityPerLine(10);
+        properties.setFlushBatchSize(2);
+        properties.getExpiry().setGuestIdleTtlMs(60_000);
+        properties.getExpiry().setUserIdleTtlMs(120_000);
+        store = new RecordingStore();
+        cartEngine = new CartEngine(store, properties, clock, events::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cartEngine.destroy();
+    }
+
+    @Test
+    @DisplayName("Should apply add, update and remove in memory without touching the store")
+    void shouldMutateInMemory() {
+        // When
+        cartEngine.addItem("cart-1", "SKU-1", 2).join();
+        cartEngine.addItem("cart-1", "SKU-1", 1).join();
+        cartEngine.addItem("cart-1", "SKU-2", 1).join();
+        cartEngine.updateQuantity("cart-1", "SKU-2", 5).join();
+        CartSnapshot cart = cartEngine.removeItem("cart-1", "SKU-3").join();
+
+        // Then
+        assertThat(cart.items()).extracting("sku", "quantity")
+                .containsExactly(tuple("SKU-1", 3), tuple("SKU-2", 5));
+        assertThat(cart.version()).isEqualTo(5);
+        assertThat(cartEngine.getCart("cart-1").join()).isEqualTo(cart);
+        assertThat(store.writes.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should write each dirty cart once per flush with its latest state")
+    void shouldWriteBehindLatestState() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            cartEngine.addItem("cart-" + i, "SKU-1", 1).join();
+            cartEngine.addItem("cart-" + i, "SKU-1", 1).join();
+        }
+        cartEngine.deleteCart("cart-4").join();
+
+        // When
+        cartEngine.flushDirtyCarts();
+
+        // Then
+        assertThat(store.carts).hasSize(4);
+        assertThat(store.carts.get("cart-0").items().get(0).quantity()).isEqualTo(2);
+        assertThat(store.deleted).contains("cart-4");
+        assertThat(cartEngine.getStats().getDirtyCarts()).isZero();
+
+        // Nothing changed, so a second flush writes nothing
+        int writes = store.writes.get();
+        cartEngine.flushDirtyCarts();
+        assertThat(store.writes.get()).isEqualTo(writes);
+    }
+
+    @Test
+    @DisplayName("Should reach every dirty cart while hot carts change during each write")
+    void shouldFlushPastHotCarts() {
+        // Given: one shard whose first carts change again while every batch is written
+        CartEngineProperties properties = new CartEngineProperties();
+        properties.setShards(1);
+        properties.setFlushBatchSize(2);
+        CartEngine engine = new CartEngine(store, properties, clock, events::add);
+        try {
+            for (int i = 0; i < 3; i++) {
+                engine.addItem("hot-" + i, "SKU-1", 1).join();
+            }
+            for (int i = 0; i < 3; i++) {
+                engine.addItem("cold-" + i, "SKU-1", 1).join();
+            }
+            store.onWrite = upserts -> upserts.stream()
+                    .filter(cart -> cart.cartId().startsWith("hot-"))
+                    .forEach(cart -> engine.addItem(cart.cartId(), "SKU-1", 1).join());
+
+            // When
+            engine.flushDirtyCarts();
+
+            // Then
+            assertThat(store.carts).containsKeys("hot-0", "hot-1", "hot-2", "cold-0", "cold-1", "cold-2");
+            assertThat(engine.getStats().getDirtyCarts()).isEqualTo(3);
+
+            store.onWrite = upserts -> { };
+            engine.flushDirtyCarts();
+            assertThat(store.carts.get("hot-0").items().get(0).quantity()).isEqualTo(2);
+            assertThat(engine.getStats().getDirtyCarts()).isZero();
+        } finally {
+            engine.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep carts dirty and retry when the store fails")
+    void shouldRetryFailedFlush() {
+        // Given
+        cartEngine.addItem("cart-1", "SKU-1", 1).join();
+        store.failing.set(true);
+
+        // When
+        cartEngine.flushDirtyCarts();
+
+        // Then
+        assertThat(cartEngine.getStats().getDirtyCarts()).isEqualTo(1);
+        assertThat(cartEngine.getStats().getFailedFlushes()).isEqualTo(1);
+
+        store.failing.set(false);
+        cartEngine.flushDirtyCarts();
+        assertThat(store.carts).containsKey("cart-1");
+        assertThat(cartEngine.getStats().getDirtyCarts()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should load a cart from the store on first access")
+    void shouldLoadFromStore() {
+        // Given
+        cartEngine.addItem("cart-1", "SKU-1", 4).join();
+        cartEngine.flushDirtyCarts();
+        CartEngineProperties properties = new CartEngineProperties();
+        properties.setShards(2);
+        CartEngine restarted = new CartEngine(store, properties, Clock.systemUTC(), events::add);
+
+        try {
+            // When
+            CartSnapshot cart = restarted.addItem("cart-1", "SKU-2", 1).join();
+
+            // Then
+            assertThat(cart.items()).extracting("sku").containsExactly("SKU-1", "SKU-2");
+            assertThat(cart.version()).isEqualTo(2);
+        } finally {
+            restarted.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Should serve other carts of the shard while one cart loads, and apply its queued changes in order")
+    void shouldLoadOffTheShardThread() throws Exception {
+        // Given: one shard whose store blocks loading cart-slow
+        cartEngine.addItem("cart-slow", "SKU-1", 1).join();
+        cartEngine.flushDirtyCarts();
+        CartEngineProperties properties = new CartEngineProperties();
+        properties.setShards(1);
+        CountDownLatch release = new CountDownLatch(1);
+        store.onLoad = cartId -> {
+            if (cartId.equals("cart-slow")) {
+                awaitQuietly(release);
+            }
+        };
+        CartEngine engine = new CartEngine(store, properties, clock, events::add);
+        try {
+            // When
+            CompletableFuture<CartSnapshot> add = engine.addItem("cart-slow", "SKU-2", 1);
+            CompletableFuture<CartSnapshot> update = engine.updateQuantity("cart-slow", "SKU-2", 3);
+            CartSnapshot other = engine.addItem("cart-other", "SKU-1", 1).get(5, TimeUnit.SECONDS);
+
+            // Then
+            assertThat(other.totalQuantity()).isEqualTo(1);
+            assertThat(add).isNotDone();
+            release.countDown();
+            assertThat(update.get(5, TimeUnit.SECONDS).items()).extracting("sku", "quantity")
+                    .containsExactly(tuple("SKU-1", 1), tuple("SKU-2", 3));
+            assertThat(add.join().version()).isEqualTo(2);
+        } finally {
+            release.countDown();
+            engine.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Should not lose concurrent adds to the same cart")
+    void shouldSerializeConcurrentMutations() {
+        // Given
+        CartEngineProperties properties = new CartEngineProperties();
+        properties.setMaxQuantityPerLine(10_000);
+        CartEngine engine = new CartEngine(store, properties, Clock.systemUTC(), events::add);
+
+        try {
+            // When
+            List<CompletableFuture<CartSnapshot>> futures = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                futures.add(CompletableFuture.supplyAsync(() -> engine.addItem("hot-cart", "SKU-1", 1)).thenCompose(f -> f));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+            // Then
+            CartSnapshot cart = engine.getCart("hot-cart").join();
+            assertThat(cart.totalQuantity()).isEqualTo(1000);
+            assertThat(cart.version()).isEqualTo(1000);
+        } finally {
+            engine.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject mutations that exceed cart limits")
+    void shouldEnforceLimits() {
+        // Given
+        cartEngine.addItem("cart-1", "SKU-1", 10).join();
+        cartEngine.addItem("cart-1", "SKU-2", 1).join();
+        cartEngine.addItem("cart-1", "SKU-3", 1).join();
+
+        // When & Then
+        assertThatThrownBy(() -> cartEngine.addItem("cart-1", "SKU-1", 1).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("cannot exceed 10");
+        assertThatThrownBy(() -> cartEngine.addItem("cart-1", "SKU-4", 1).join())
+                .hasMessageContaining("more than 3 items");
+        assertThatThrownBy(() -> cartEngine.addItem("cart-1", "SKU-4", 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(cartEngine.getCart("cart-1").join().version()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should expire idle guest carts from memory and the store in one flush")
+    void shouldExpireIdleGuestCarts() {
+        // Given
+        cartEngine.addItem("guest:a", "SKU-1", 1).join();
+        cartEngine.addItem("guest:b", "SKU-1", 1).join();
+        cartEngine.addItem("user:1", "SKU-1", 1).join();
+        cartEngine.flushDirtyCarts();
+        clock.advance(30_000);
+        cartEngine.addItem("guest:b", "SKU-2", 1).join();
+
+        // When
+        clock.advance(31_000);
+        cartEngine.expireIdleCarts();
+        cartEngine.flushDirtyCarts();
+
+        // Then
+        assertThat(events).containsExactly(new CartsEvictedEvent(List.of("guest:a")));
+        assertThat(store.carts).doesNotContainKey("guest:a").containsKeys("guest:b", "user:1");
+        assertThat(cartEngine.getCart("guest:a").join().items()).isEmpty();
+        assertThat(cartEngine.getStats().getExpiredGuestCarts()).isEqualTo(1);
+        assertThat(cartEngine.getStats().getCartsInMemory()).isEqualTo(2);
+
+        // The touched guest cart was re-armed and expires 60s after its last change
+        clock.advance(30_000);
+        cartEngine.expireIdleCarts();
+        assertThat(cartEngine.getStats().getGuestCarts()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should evict idle user carts from memory only once flushed")
+    void shouldEvictIdleUserCartsAfterFlush() {
+        // Given
+        cartEngine.addItem("user:1", "SKU-1", 2).join();
+
+        // When: idle but never flushed
+        clock.advance(121_000);
+        cartEngine.expireIdleCarts();
+
+        // Then
+        assertThat(cartEngine.getStats().getCartsInMemory()).isEqualTo(1);
+
+        cartEngine.flushDirtyCarts();
+        clock.advance(2_000);
+        cartEngine.expireIdleCarts();
+        assertThat(cartEngine.getStats().getCartsInMemory()).isZero();
+        assertThat(cartEngine.getStats().getEvictedCarts()).isEqualTo(1);
+        assertThat(store.carts).containsKey("user:1");
+        assertThat(cartEngine.getCart("user:1").join().totalQuantity()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should sweep idle guest carts left only in the store")
+    void shouldSweepStoreOnlyGuestCarts() {
+        // Given
+        store.carts.put("guest:old", new CartSnapshot("guest:old", List.of(), 1,
+                clock.instant().minusSeconds(3600), clock.instant().minusSeconds(3600)));
+        store.carts.put("user:old", new CartSnapshot("user:old", List.of(), 1,
+                clock.instant().minusSeconds(3600), clock.instant().minusSeconds(3600)));
+
+        // When
+        cartEngine.sweepIdleGuestCarts();
+
+        // Then
+        assertThat(store.carts).containsOnlyKeys("user:old");
+        assertThat(cartEngine.getStats().getSweptGuestCarts()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should merge a guest cart into a user cart with deduped and capped lines")
+    void shouldMergeGuestCart() {
+        // Given
+        cartEngine.addItem("user:1", "SKU-1", 8).join();
+        cartEngine.addItem("user:1", "SKU-2", 1).join();
+        cartEngine.addItem("guest:a", "SKU-1", 5).join();
+        cartEngine.addItem("guest:a", "SKU-3", 1).join();
+        cartEngine.addItem("guest:a", "SKU-4", 1).join();
+
+        // When
+        CartMergeResult result = cartEngine.mergeCarts("guest:a", "user:1").join();
+
+        // Then: SKU-1 capped at 10, SKU-4 dropped by the 3-line limit
+        assertThat(result.cart().items()).extracting("sku", "quantity")
+                .containsExactly(tuple("SKU-1", 10), tuple("SKU-2", 1), tuple("SKU-3", 1));
+        assertThat(result.cart().version()).isEqualTo(3);
+        assertThat(result.outcome().quantitiesCapped()).isEqualTo(1);
+        assertThat(result.outcome().linesDropped()).isEqualTo(1);
+        assertThat(cartEngine.getCart("guest:a").join().items()).isEmpty();
+        assertThat(events).containsExactly(new CartMergedEvent("user:1", "guest:a", 3, 2, 1, 1));
+
+        // A repeated merge finds nothing left to merge
+        CartMergeResult again = cartEngine.mergeCarts("guest:a", "user:1").join();
+        assertThat(again.cart().version()).isEqualTo(3);
+        assertThat(events).hasSize(1);
+        assertThat(cartEngine.getStats().getMergedCarts()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not lose items when many guests merge while the user cart is being changed")
+    void shouldMergeUnderConcurrency() {
+        // Given
+        CartEngineProperties properties = new CartEngineProperties();
+        properties.setShards(8);
+        properties.setMaxLinesPerCart(1_000);
+        properties.setMaxQuantityPerLine(10_000);
+        CartEngine engine = new CartEngine(store, properties, Clock.systemUTC(), events::add);
+        try {
+            for (int i = 0; i < 200; i++) {
+                engine.addItem("guest:" + i, "SKU-" + (i % 20), 1).join();
+                engine.addItem("guest:" + i, "SKU-SHARED", 1).join();
+            }
+
+            // When
+            List<CompletableFuture<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                String guest = "guest:" + i;
+                futures.add(CompletableFuture.supplyAsync(() -> engine.mergeCarts(guest, "user:1")).thenCompose(f -> f));
+                futures.add(CompletableFuture.supplyAsync(() -> engine.addItem("user:1", "SKU-CLICK", 1)).thenCompose(f -> f));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+            // Then
+            CartSnapshot cart = engine.getCart("user:1").join();
+            assertThat(cart.totalQuantity()).isEqualTo(600);
+            assertThat(cart.items()).hasSize(22);
+            assertThat(cart.version()).isEqualTo(400);
+        } finally {
+            engine.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Should restore the guest cart when the merge target cannot be loaded")
+    void shouldRestoreGuestCartOnFailedMerge() {
+        // Given
+        cartEngine.addItem("guest:a", "SKU-1", 2).join();
+        store.failing.set(true);
+        String target = findCartIdOnOtherShard("guest:a");
+
+        // When & Then
+        assertThatThrownBy(() -> cartEngine.mergeCarts("guest:a", target).join())
+                .isInstanceOf(CompletionException.class);
+        store.failing.set(false);
+        assertThat(cartEngine.getCart("guest:a").join().totalQuantity()).isEqualTo(2);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String findCartIdOnOtherShard(String cartId) {
+        for (int i = 0; ; i++) {
+            String candidate = "user:" + i;
+            if (Math.floorMod(candidate.hashCode(), 4) != Math.floorMod(cartId.hashCode(), 4)) {
+                return candidate;
+            }
+        }
+    }
+
+    private static class RecordingStore implements CartSnapshotStore {
+
+        final Map<String, CartSnapshot> carts = new ConcurrentHashMap<>();
+        final List<String> deleted = new ArrayList<>();
+        final AtomicInteger writes = new AtomicInteger();
+        final AtomicBoolean failing = new AtomicBoolean();
+        volatile Consumer<Collection<CartSnapshot>> onWrite = upserts -> { };
+        volatile Consumer<String> onLoad = cartId -> { };
+
+        @Override
+        public Optional<CartSnapshot> load(String cartId) {
+            onLoad.accept(cartId);
+            if (failing.get()) {
+                throw new IllegalStateException("database unavailable");
+            }
+            return Optional.ofNullable(carts.get(cartId));
+        }
+
+        @Override
+        public synchronized void write(Collection<CartSnapshot> upserts, Collection<String> deletes) {
+            if (failing.get()) {
+                throw new IllegalStateException("database unavailable");
+            }
+            writes.incrementAndGet();
+            deletes.forEach(carts::remove);
+            deleted.addAll(deletes);
+            upserts.forEach(cart -> carts.put(cart.cartId(), cart));
+            onWrite.accept(upserts);
+        }
+
+        @Override
+        public synchronized int deleteIdleCarts(String idPrefix, Instant idleSince, int limit) {
+            List<String> idle = carts.values().stream()
+                    .filter(cart -> cart.cartId().startsWith(idPrefix) && cart.updatedAt().isBefore(idleSince))
+                    .map(CartSnapshot::cartId)
+                    .limit(limit)
+                    .toList();
+            idle.forEach(carts::remove);
+            return idle.size();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.bitvelocity.cart.engine;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TimerWheel Unit Tests")
+class TimerWheelTest {
+
+    @Test
+    @DisplayName("Should fire timers at their deadline tick and not before")
+    void shouldFireAtDeadline() {
+        // Given
+        TimerWheel<String> wheel = new TimerWheel<>(10, 0);
+        wheel.schedule("a", 25);
+        wheel.schedule("b", 30);
+        List<String> fired = new ArrayList<>();
+
+        // When & Then
+        wheel.advance(29, fired::add);
+        assertThat(fired).isEmpty();
+        wheel.advance(30, fired::add);
+        assertThat(fired).containsExactlyInAnyOrder("a", "b");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not fire cancelled timers")
+    void shouldCancel() {
+        // Given
+        TimerWheel<String> wheel = new TimerWheel<>(1, 0);
+        TimerWheel.Timer<String> timer = wheel.schedule("a", 5_000);
+        wheel.schedule("b", 5_000);
+
+        // When
+        wheel.cancel(timer);
+        wheel.cancel(timer);
+        List<String> fired = new ArrayList<>();
+        wheel.advance(10_000, fired::add);
+
+        // Then
+        assertThat(fired).containsExactly("b");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should cascade timers across all levels and fire each exactly on time")
+    void shouldCascadeAcrossLevels() {
+        // Given: deadlines spread over level 0 to beyond the top level (64^4 ticks)
+        TimerWheel<Integer> wheel = new TimerWheel<>(1, 1_000);
+        Random random = new Random(42);
+        Map<Integer, Long> deadlines = new HashMap<>();
+        for (int i = 0; i < 2_000; i++) {
+            long deadline = 1_000 + 1 + (long) Math.pow(64, random.nextDouble() * 4.3);
+            deadlines.put(i, deadline);
+            wheel.schedule(i, deadline);
+        }
+
+        // When & Then: advance in uneven steps and check every firing time
+        Map<Integer, Long> firedAt = new HashMap<>();
+        Map<Integer, Long> previousAdvance = new HashMap<>();
+        long now = 1_000;
+        long end = deadlines.values().stream().mapToLong(Long::longValue).max().orElseThrow();
+        long previous = now;
+        while (now < end) {
+            now = Math.min(end, now + 1 + random.nextInt(5_000));
+            long at = now;
+            long before = previous;
+            wheel.advance(now, key -> {
+                firedAt.put(key, at);
+                previousAdvance.put(key, before);
+            });
+            previous = now;
+        }
+        assertThat(firedAt).hasSize(2_000);
+        deadlines.forEach((key, deadline) -> {
+            // Fired by the first advance that reached the deadline
+            assertThat(firedAt.get(key)).isGreaterThanOrEqualTo(deadline);
+            assertThat(previousAdvance.get(key)).isLessThan(deadline);
+        });
+    }
+
+    @Test
+    @DisplayName("Should fire overdue deadlines on the next tick")
+    void shouldFireOverdueOnNextTick() {
+        // Given
+        TimerWheel<String> wheel = new TimerWheel<>(100, 1_000);
+        wheel.schedule("late", 0);
+        List<String> fired = new ArrayList<>();
+
+        // When
+        wheel.advance(1_100, fired::add);
+
+        // Then
+        assertThat(fired).containsExactly("late");
+    }
+}
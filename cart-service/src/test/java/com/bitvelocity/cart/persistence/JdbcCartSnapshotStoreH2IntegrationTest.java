@@ -0,0 +1,92 @@
+package com.bitvelocity.cart.persistence;
+
+import com.bitvelocity.cart.domain.CartItem;
+import com.bitvelocity.cart.domain.CartSnapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the Flyway schema and JdbcCartSnapshotStore against H2.
+ */
+@JdbcTest
+@ActiveProfiles("test")
+@Import(JdbcCartSnapshotStore.class)
+@DisplayName("JdbcCartSnapshotStore H2 Integration Tests")
+class JdbcCartSnapshotStoreH2IntegrationTest {
+
+    @Autowired
+    private JdbcCartSnapshotStore store;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+    @Test
+    @DisplayName("Should round-trip a snapshot preserving line order")
+    void shouldRoundTripSnapshot() {
+        // Given
+        CartSnapshot cart = new CartSnapshot("cart-1", List.of(
+                new CartItem("SKU-B", 2, now),
+                new CartItem("SKU-A", 1, now)), 3, now, now);
+
+        // When
+        store.write(List.of(cart), Set.of());
+
+        // Then
+        assertThat(store.load("cart-1")).contains(cart);
+        assertThat(store.load("missing")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should replace existing lines and apply deletes in one write")
+    void shouldReplaceAndDelete() {
+        // Given
+        store.write(List.of(
+                new CartSnapshot("cart-1", List.of(new CartItem("SKU-A", 1, now), new CartItem("SKU-B", 1, now)), 2, now, now),
+                new CartSnapshot("cart-2", List.of(new CartItem("SKU-A", 1, now)), 1, now, now)), Set.of());
+
+        // When
+        CartSnapshot updated = new CartSnapshot("cart-1", List.of(new CartItem("SKU-B", 5, now)), 4, now, now);
+        store.write(List.of(updated), Set.of("cart-2"));
+
+        // Then
+        assertThat(store.load("cart-1")).contains(updated);
+        assertThat(store.load("cart-2")).isEmpty();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cart_items", Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should delete only idle carts with the given prefix, up to the limit")
+    void shouldDeleteIdleCarts() {
+        // Given
+        Instant old = now.minusSeconds(3600);
+        store.write(List.of(
+                new CartSnapshot("guest:1", List.of(new CartItem("SKU-A", 1, old)), 1, old, old),
+                new CartSnapshot("guest:2", List.of(), 1, old, old),
+                new CartSnapshot("guest:3", List.of(), 1, now, now),
+                new CartSnapshot("user:1", List.of(), 1, old, old)), Set.of());
+
+        // When
+        int first = store.deleteIdleCarts("guest:", now.minusSeconds(60), 1);
+        int second = store.deleteIdleCarts("guest:", now.minusSeconds(60), 10);
+
+        // Then
+        assertThat(first + second).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM carts ORDER BY id", String.class))
+                .containsExactly("guest:3", "user:1");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cart_items", Integer.class)).isZero();
+    }
+}
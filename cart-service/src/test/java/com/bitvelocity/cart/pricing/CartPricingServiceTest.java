@@ -0,0 +1,137 @@
+package com.bitvelocity.cart.pricing;
+
+import com.bitvelocity.cart.domain.CartItem;
+import com.bitvelocity.cart.domain.CartSnapshot;
+import com.bitvelocity.cart.engine.CartEngine;
+import com.bitvelocity.testsupport.MutableClock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("CartPricingService Unit Tests")
+class CartPricingServiceTest {
+
+    private final MutableClock clock = new MutableClock();
+    private CountingCatalog catalog;
+    private CartPricingService cartPricingService;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new CountingCatalog();
+        for (int i = 0; i < 50; i++) {
+            catalog.put(new ProductInfo("SKU-" + i, "Product " + i, new BigDecimal("10.00"), 5));
+        }
+        CartPricingProperties properties = new CartPricingProperties();
+        properties.setSnapshotTtlMs(1000);
+        PriceSnapshotCache cache = new PriceSnapshotCache(catalog, properties, clock);
+        cartPricingService = new CartPricingService(mock(CartEngine.class), cache, properties, clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cartPricingService.destroy();
+    }
+
+    @Test
+    @DisplayName("Should resolve all lines of a cart with one catalog call")
+    void shouldBatchLookups() {
+        // Given
+        CartSnapshot cart = cart(1, 50, 2);
+
+        // When
+        PricedCart priced = cartPricingService.price(cart);
+
+        // Then
+        assertThat(catalog.calls).hasSize(1);
+        assertThat(catalog.calls.get(0)).hasSize(50);
+        assertThat(priced.subtotal()).isEqualByComparingTo("1000.00");
+        assertThat(priced.totalQuantity()).isEqualTo(100);
+        assertThat(priced.allInStock()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should only recompute the changed line on a quantity change")
+    void shouldRecomputeIncrementally() {
+        // Given
+        PricedCart first = cartPricingService.price(cart(1, 3, 1));
+        List<CartItem> items = new ArrayList<>(cart(1, 3, 1).items());
+        items.set(1, items.get(1).withQuantity(7));
+
+        // When
+        PricedCart second = cartPricingService.price(new CartSnapshot("cart-1", items, 2, null, null));
+
+        // Then
+        assertThat(catalog.calls).hasSize(1);
+        assertThat(second.subtotal()).isEqualByComparingTo("90.00");
+        assertThat(second.lines().get(0)).isSameAs(first.lines().get(0));
+        assertThat(second.lines().get(1).inStock()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should look up only new SKUs and subtract removed lines")
+    void shouldHandleAddedAndRemovedLines() {
+        // Given
+        cartPricingService.price(cart(1, 2, 1));
+        List<CartItem> items = List.of(
+                new CartItem("SKU-1", 1, Instant.EPOCH),
+                new CartItem("SKU-9", 3, Instant.EPOCH),
+                new CartItem("UNKNOWN", 1, Instant.EPOCH));
+
+        // When
+        PricedCart priced = cartPricingService.price(new CartSnapshot("cart-1", items, 2, null, null));
+
+        // Then
+        assertThat(catalog.calls).hasSize(2);
+        assertThat(catalog.calls.get(1)).containsExactlyInAnyOrder("SKU-9", "UNKNOWN");
+        assertThat(priced.subtotal()).isEqualByComparingTo("40.00");
+        assertThat(priced.lines().get(2).available()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should refresh prices after the snapshot TTL")
+    void shouldRefreshExpiredPrices() {
+        // Given
+        cartPricingService.price(cart(1, 2, 1));
+        catalog.put(new ProductInfo("SKU-0", "Product 0", new BigDecimal("12.50"), 5));
+
+        // When
+        PricedCart cached = cartPricingService.price(cart(1, 2, 1));
+        clock.advance(1001);
+        PricedCart refreshed = cartPricingService.price(cart(1, 2, 1));
+
+        // Then
+        assertThat(cached.subtotal()).isEqualByComparingTo("20.00");
+        assertThat(refreshed.subtotal()).isEqualByComparingTo("22.50");
+        assertThat(catalog.calls).hasSize(2);
+    }
+
+    private static CartSnapshot cart(long version, int lines, int quantity) {
+        List<CartItem> items = new ArrayList<>();
+        for (int i = 0; i < lines; i++) {
+            items.add(new CartItem("SKU-" + i, quantity, Instant.EPOCH));
+        }
+        return new CartSnapshot("cart-1", items, version, null, null);
+    }
+
+    private static class CountingCatalog extends InMemoryProductCatalogClient {
+
+        final List<List<String>> calls = new ArrayList<>();
+
+        @Override
+        public Map<String, ProductInfo> getProducts(Collection<String> skus) {
+            calls.add(List.copyOf(skus));
+            return super.getProducts(skus);
+        }
+    }
+}
@@ -1,15 +0,0 @@
-package com.bitvelocity.inventory;
-
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
-
-@RestController
-@RequestMapping("/api/v1/inventory")
-public class InventoryController {
-    @GetMapping
-    public String getInventory() {
-        return "Inventory list (stub)";
-    }
-}
-
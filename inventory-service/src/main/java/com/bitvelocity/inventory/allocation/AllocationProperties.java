@@ -0,0 +1,35 @@
+package com.bitvelocity.inventory.allocation;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "inventory-service.allocation")
+public class AllocationProperties {
+
+    /**
+     * At most 64; stock of a warehouse is kept under the key sku@warehouse-id
+     */
+    private List<Location> warehouses = new ArrayList<>();
+
+    /**
+     * Delivery regions; each gets the warehouses ordered by distance from its centre
+     */
+    private List<Location> regions = new ArrayList<>();
+
+    /**
+     * Allocations tried before giving up when concurrent reservations take the planned stock
+     */
+    private int maxAttempts = 3;
+
+    @Data
+    public static class Location {
+
+        private String id;
+        private double latitude;
+        private double longitude;
+    }
+}
@@ -0,0 +1,11 @@
+package com.bitvelocity.inventory.allocation;
+
+import com.bitvelocity.inventory.reservation.ReservationLine;
+
+import java.util.List;
+
+/**
+ * The part of an order one warehouse ships; lines carry plain SKUs.
+ */
+public record Shipment(String warehouseId, List<ReservationLine> lines) {
+}
@@ -0,0 +1,37 @@
+package com.bitvelocity.inventory.allocation;
+
+/**
+ * Stock of one SKU in one warehouse is an ordinary engine SKU named sku@warehouse-id, so
+ * reservations, expiry, the journal and the ledger handle it unchanged.
+ */
+public final class StockKeys {
+
+    private static final char SEPARATOR = '@';
+
+    private StockKeys() {
+    }
+
+    public static String of(String warehouseId, String sku) {
+        if (sku.indexOf(SEPARATOR) >= 0) {
+            throw new IllegalArgumentException("SKU must not contain '" + SEPARATOR + "': " + sku);
+        }
+        return sku + SEPARATOR + warehouseId;
+    }
+
+    public static boolean isWarehouseKey(String key) {
+        return key.indexOf(SEPARATOR) >= 0;
+    }
+
+    public static String sku(String key) {
+        int separator = key.lastIndexOf(SEPARATOR);
+        return separator < 0 ? key : key.substring(0, separator);
+    }
+
+    /**
+     * @return the warehouse id, or null for network-wide stock
+     */
+    public static String warehouse(String key) {
+        int separator = key.lastIndexOf(SEPARATOR);
+        return separator < 0 ? null : key.substring(separator + 1);
+    }
+}
@@ -0,0 +1,342 @@
+package com.bitvelocity.inventory.allocation;
+
+import com.bitvelocity.inventory.exception.InsufficientStockException;
+import com.bitvelocity.inventory.exception.WarehouseNotFoundException;
+import com.bitvelocity.inventory.reservation.Reservation;
+import com.bitvelocity.inventory.reservation.ReservationEngine;
+import com.bitvelocity.inventory.reservation.ReservationLine;
+import com.bitvelocity.inventory.reservation.StockLevel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Splits an order across warehouses: one shipment from the nearest warehouse that holds every
+ * line if there is one, otherwise as few shipments as the greedy set cover finds, nearer
+ * warehouses winning ties, with lines no single warehouse can cover split over several.
+ *
+ * For every SKU a long holds one bit per warehouse with stock available, kept current by the
+ * engine's stock listener, so planning only looks at warehouses that can contribute. The bits
+ * are a hint: quantities are read from the engine, and a plan that fails is retried without
+ * them. The reservation itself is an ordinary all-or-nothing engine reservation of the
+ * sku@warehouse lines; if a concurrent order took the stock first, the order is planned again.
+ */
+@Service
+@Slf4j
+public class WarehouseAllocator {
+
+    private final ReservationEngine reservationEngine;
+    private final WarehouseNetwork network;
+    private final int maxAttempts;
+    private final ConcurrentHashMap<String, AtomicLong> stockedIn = new ConcurrentHashMap<>();
+
+    public WarehouseAllocator(ReservationEngine reservationEngine, WarehouseNetwork network,
+                              AllocationProperties properties) {
+        this.reservationEngine = reservationEngine;
+        this.network = network;
+        this.maxAttempts = Math.max(1, properties.getMaxAttempts());
+        reservationEngine.setStockListener(this::availableChanged);
+        reservationEngine.forEachStock(level -> availableChanged(level.sku()));
+    }
+
+    /**
+     * Reserves the order's lines from the warehouses chosen for the region. Repeating a
+     * reservation id returns the existing reservation as long as the lines match.
+     *
+     * @throws InsufficientStockException if the whole network cannot cover a line
+     * @throws IllegalArgumentException   for an unknown region, or if the id was used with different lines
+     */
+    public Reservation reserve(String reservationId, String region, List<ReservationLine> lines, Duration ttl) {
+        int[] preferences = network.preferences(region);
+        List<ReservationLine> merged = merge(lines);
+        Optional<Reservation> existing = reservationEngine.find(reservationId);
+        if (existing.isPresent()) {
+            return sameLines(existing.get(), merged);
+        }
+
+        InsufficientStockException lastFailure = null;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            List<Shipment> shipments = allocate(preferences, merged);
+            try {
+                return reservationEngine.reserve(reservationId, keyed(shipments), ttl);
+            } catch (InsufficientStockException e) {
+                log.debug("Allocation of {} lost a race for {} (attempt {})", reservationId, e.getSku(), attempt);
+                lastFailure = e;
+            } catch (IllegalArgumentException e) {
+                // A concurrent request with the same id won with a different plan
+                Optional<Reservation> winner = reservationEngine.find(reservationId);
+                if (winner.isEmpty()) {
+                    throw e;
+                }
+                return sameLines(winner.get(), merged);
+            }
+        }
+        String sku = StockKeys.sku(lastFailure.getSku());
+        throw new InsufficientStockException(sku, quantityOf(merged, sku));
+    }
+
+    /**
+     * Plans the shipments for an order without reserving anything.
+     *
+     * @throws InsufficientStockException if the whole network cannot cover a line
+     * @throws IllegalArgumentException   for an unknown region
+     */
+    public List<Shipment> allocate(String region, List<ReservationLine> lines) {
+        return allocate(network.preferences(region), merge(lines));
+    }
+
+    /**
+     * Groups a reservation's lines by warehouse, in line order; network-wide lines are grouped
+     * under a null warehouse id.
+     */
+    public static List<Shipment> shipments(Reservation reservation) {
+        Map<String, List<ReservationLine>> byWarehouse = new LinkedHashMap<>();
+        for (ReservationLine line : reservation.lines()) {
+            byWarehouse.computeIfAbsent(StockKeys.warehouse(line.sku()), id -> new ArrayList<>())
+                    .add(new ReservationLine(StockKeys.sku(line.sku()), line.quantity()));
+        }
+        List<Shipment> shipments = new ArrayList<>(byWarehouse.size());
+        byWarehouse.forEach((warehouseId, lines) -> shipments.add(new Shipment(warehouseId, lines)));
+        return shipments;
+    }
+
+    /**
+     * @return the stock of the SKU in every warehouse, levels named after the warehouse
+     */
+    public List<StockLevel> getWarehouseStock(String sku) {
+        List<StockLevel> levels = new ArrayList<>(network.size());
+        for (int w = 0; w < network.size(); w++) {
+            StockLevel level = reservationEngine.getStock(StockKeys.of(network.warehouseId(w), sku));
+            levels.add(new StockLevel(network.warehouseId(w), level.available(), level.reserved()));
+        }
+        return levels;
+    }
+
+    /**
+     * @return the engine SKU holding the SKU's stock in the warehouse
+     * @throws WarehouseNotFoundException if the warehouse is not configured
+     */
+    public String stockKey(String warehouseId, String sku) {
+        if (network.indexOf(warehouseId) < 0) {
+            throw new WarehouseNotFoundException(warehouseId);
+        }
+        return StockKeys.of(warehouseId, sku);
+    }
+
+    private List<Shipment> allocate(int[] preferences, List<ReservationLine> lines) {
+        Plan plan = plan(preferences, lines, true);
+        if (plan.shortLine() != null) {
+            // The bits may lag a concurrent change; look at every warehouse before giving up
+            plan = plan(preferences, lines, false);
+        }
+        if (plan.shortLine() != null) {
+            throw new InsufficientStockException(plan.shortLine().sku(), plan.shortLine().quantity());
+        }
+        return plan.shipments();
+    }
+
+    private Plan plan(int[] preferences, List<ReservationLine> lines, boolean useBits) {
+        int n = lines.size();
+        int warehouses = network.size();
+        long everywhere = warehouses == Long.SIZE ? -1L : (1L << warehouses) - 1;
+        int[][] available = new int[n][warehouses];
+        long[] covers = new long[n];
+        long[] holds = new long[n];
+        for (int i = 0; i < n; i++) {
+            ReservationLine line = lines.get(i);
+            long candidates = useBits ? stockedIn(line.sku()) : everywhere;
+            long total = 0;
+            for (long rest = candidates; rest != 0; rest &= rest - 1) {
+                int w = Long.numberOfTrailingZeros(rest);
+                int quantity = reservationEngine.getStock(StockKeys.of(network.warehouseId(w), line.sku())).available();
+                if (quantity > 0) {
+                    available[i][w] = quantity;
+                    holds[i] |= 1L << w;
+                    total += quantity;
+                    if (quantity >= line.quantity()) {
+                        covers[i] |= 1L << w;
+                    }
+                }
+            }
+            if (total < line.quantity()) {
+                return new Plan(null, line);
+            }
+        }
+
+        int[][] taken = new int[n][warehouses];
+        long common = everywhere;
+        for (long cover : covers) {
+            common &= cover;
+        }
+        if (common != 0) {
+            int w = first(preferences, common);
+            for (int i = 0; i < n; i++) {
+                taken[i][w] = lines.get(i).quantity();
+            }
+            return new Plan(shipments(preferences, lines, taken, 1L << w), null);
+        }
+
+        // Greedy set cover over the lines a warehouse can ship whole
+        long used = 0;
+        boolean[] done = new boolean[n];
+        while (true) {
+            int best = -1;
+            int bestCount = 0;
+            for (int w : preferences) {
+                int count = 0;
+                for (int i = 0; i < n; i++) {
+                    if (!done[i] && (covers[i] & (1L << w)) != 0) {
+                        count++;
+                    }
+                }
+                if (count > bestCount) {
+                    best = w;
+                    bestCount = count;
+                }
+            }
+            if (best < 0) {
+                break;
+            }
+            used |= 1L << best;
+            for (int i = 0; i < n; i++) {
+                if (!done[i] && (covers[i] & (1L << best)) != 0) {
+                    taken[i][best] = lines.get(i).quantity();
+                    done[i] = true;
+                }
+            }
+        }
+
+        // The rest no warehouse holds enough of: split, warehouses already shipping first
+        for (int i = 0; i < n; i++) {
+            if (done[i]) {
+                continue;
+            }
+            int needed = lines.get(i).quantity();
+            for (int pass = 0; pass < 2 && needed > 0; pass++) {
+                long eligible = pass == 0 ? holds[i] & used : holds[i] & ~used;
+                for (int w : preferences) {
+                    if (needed == 0) {
+                        break;
+                    }
+                    if ((eligible & (1L << w)) != 0) {
+                        int take = Math.min(needed, available[i][w]);
+                        taken[i][w] = take;
+                        needed -= take;
+                        used |= 1L << w;
+                    }
+                }
+            }
+        }
+        return new Plan(shipments(preferences, lines, taken, used), null);
+    }
+
+    private List<Shipment> shipments(int[] preferences, List<ReservationLine> lines, int[][] taken, long used) {
+        List<Shipment> shipments = new ArrayList<>(Long.bitCount(used));
+        for (int w : preferences) {
+            if ((used & (1L << w)) == 0) {
+                continue;
+            }
+            List<ReservationLine> shipped = new ArrayList<>();
+            for (int i = 0; i < lines.size(); i++) {
+                if (taken[i][w] > 0) {
+                    shipped.add(new ReservationLine(lines.get(i).sku(), taken[i][w]));
+                }
+            }
+            shipments.add(new Shipment(network.warehouseId(w), shipped));
+        }
+        return shipments;
+    }
+
+    private void availableChanged(String key) {
+        if (!StockKeys.isWarehouseKey(key)) {
+            return;
+        }
+        int w = network.indexOf(StockKeys.warehouse(key));
+        if (w < 0) {
+            return;
+        }
+        long bit = 1L << w;
+        AtomicLong bits = stockedIn.computeIfAbsent(StockKeys.sku(key), sku -> new AtomicLong());
+        // Notifications race; re-check after writing so the last one to finish leaves the bit right
+        boolean inStock;
+        do {
+            inStock = reservationEngine.getStock(key).available() > 0;
+            if (inStock) {
+                bits.getAndUpdate(current -> current | bit);
+            } else {
+                bits.getAndUpdate(current -> current & ~bit);
+            }
+        } while (inStock != reservationEngine.getStock(key).available() > 0);
+    }
+
+    private long stockedIn(String sku) {
+        AtomicLong bits = stockedIn.get(sku);
+        return bits == null ? 0 : bits.get();
+    }
+
+    private static List<ReservationLine> keyed(List<Shipment> shipments) {
+        List<ReservationLine> lines = new ArrayList<>();
+        for (Shipment shipment : shipments) {
+            for (ReservationLine line : shipment.lines()) {
+                lines.add(new ReservationLine(StockKeys.of(shipment.warehouseId(), line.sku()), line.quantity()));
+            }
+        }
+        return lines;
+    }
+
+    private static List<ReservationLine> merge(List<ReservationLine> lines) {
+        if (lines == null || lines.isEmpty()) {
+            throw new IllegalArgumentException("Reservation must contain at least one line");
+        }
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        for (ReservationLine line : lines) {
+            if (line.sku() == null || line.sku().isBlank() || line.quantity() <= 0) {
+                throw new IllegalArgumentException("Every line needs a SKU and a positive quantity");
+            }
+            if (StockKeys.isWarehouseKey(line.sku())) {
+                throw new IllegalArgumentException("SKU must not name a warehouse: " + line.sku());
+            }
+            quantities.merge(line.sku(), line.quantity(), Math::addExact);
+        }
+        return quantities.entrySet().stream()
+                .map(entry -> new ReservationLine(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    private static Reservation sameLines(Reservation reservation, List<ReservationLine> merged) {
+        Map<String, Integer> reserved = new LinkedHashMap<>();
+        for (ReservationLine line : reservation.lines()) {
+            reserved.merge(StockKeys.sku(line.sku()), line.quantity(), Integer::sum);
+        }
+        Map<String, Integer> requested = new LinkedHashMap<>();
+        merged.forEach(line -> requested.put(line.sku(), line.quantity()));
+        if (!reserved.equals(requested)) {
+            throw new IllegalArgumentException("Reservation " + reservation.id() + " exists with different lines");
+        }
+        return reservation;
+    }
+
+    private static int quantityOf(List<ReservationLine> lines, String sku) {
+        return lines.stream().filter(line -> line.sku().equals(sku)).mapToInt(ReservationLine::quantity).sum();
+    }
+
+    private static int first(int[] preferences, long warehouses) {
+        for (int w : preferences) {
+            if ((warehouses & (1L << w)) != 0) {
+                return w;
+            }
+        }
+        throw new IllegalStateException("No preferred warehouse in " + Long.toBinaryString(warehouses));
+    }
+
+    private record Plan(List<Shipment> shipments, ReservationLine shortLine) {
+    }
+}
@@ -0,0 +1,98 @@
+package com.bitvelocity.inventory.allocation;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * The configured warehouses, numbered 0..63 so a set of them fits in one long, and for every
+ * region the warehouse numbers ordered by great-circle distance from the region, computed once
+ * at startup.
+ */
+@Component
+public class WarehouseNetwork {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+
+    private final String[] warehouseIds;
+    private final Map<String, Integer> warehouseIndexes = new HashMap<>();
+    private final Map<String, int[]> preferences = new HashMap<>();
+    private final Map<String, double[]> distances = new HashMap<>();
+
+    public WarehouseNetwork(AllocationProperties properties) {
+        List<AllocationProperties.Location> warehouses = properties.getWarehouses();
+        if (warehouses.size() > Long.SIZE) {
+            throw new IllegalStateException("At most " + Long.SIZE + " warehouses are supported");
+        }
+        warehouseIds = new String[warehouses.size()];
+        for (int i = 0; i < warehouses.size(); i++) {
+            String id = warehouses.get(i).getId();
+            if (id == null || id.isBlank() || warehouseIndexes.putIfAbsent(id, i) != null) {
+                throw new IllegalStateException("Warehouse ids must be present and unique: " + id);
+            }
+            warehouseIds[i] = id;
+        }
+        for (AllocationProperties.Location region : properties.getRegions()) {
+            double[] km = warehouses.stream().mapToDouble(warehouse -> distanceKm(region, warehouse)).toArray();
+            preferences.put(region.getId(), IntStream.range(0, km.length).boxed()
+                    .sorted(Comparator.comparingDouble(i -> km[i]))
+                    .mapToInt(Integer::intValue)
+                    .toArray());
+            distances.put(region.getId(), km);
+        }
+    }
+
+    public int size() {
+        return warehouseIds.length;
+    }
+
+    public String warehouseId(int index) {
+        return warehouseIds[index];
+    }
+
+    /**
+     * @return the warehouse number, or -1 if there is no such warehouse
+     */
+    public int indexOf(String warehouseId) {
+        return warehouseIndexes.getOrDefault(warehouseId, -1);
+    }
+
+    public boolean hasRegion(String region) {
+        return preferences.containsKey(region);
+    }
+
+    /**
+     * Warehouse numbers, nearest first. The array is shared; do not modify it.
+     *
+     * @throws IllegalArgumentException for an unknown region
+     */
+    public int[] preferences(String region) {
+        int[] order = preferences.get(region);
+        if (order == null) {
+            throw new IllegalArgumentException("Unknown region: " + region);
+        }
+        return order;
+    }
+
+    public double distanceKm(String region, int warehouse) {
+        return distances.get(region)[warehouse];
+    }
+
+    public List<String> warehouseIds() {
+        return Arrays.asList(warehouseIds);
+    }
+
+    private static double distanceKm(AllocationProperties.Location from, AllocationProperties.Location to) {
+        double lat1 = Math.toRadians(from.getLatitude());
+        double lat2 = Math.toRadians(to.getLatitude());
+        double dLat = lat2 - lat1;
+        double dLon = Math.toRadians(to.getLongitude() - from.getLongitude());
+        double a = Math.pow(Math.sin(dLat / 2), 2) + Math.cos(lat1) * Math.cos(lat2) * Math.pow(Math.sin(dLon / 2), 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(a));
+    }
+}
@@ -0,0 +1,24 @@
+package com.bitvelocity.inventory.config;
+
+import com.bitvelocity.inventory.allocation.AllocationProperties;
+import com.bitvelocity.inventory.grpc.GrpcProperties;
+import com.bitvelocity.inventory.ingestion.DeltaIngestionProperties;
+import com.bitvelocity.inventory.journal.JournalProperties;
+import com.bitvelocity.inventory.reservation.ReservationProperties;
+import com.bitvelocity.inventory.snapshot.SnapshotProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration
+@EnableConfigurationProperties({JournalProperties.class, ReservationProperties.class, GrpcProperties.class,
+        DeltaIngestionProperties.class, SnapshotProperties.class, AllocationProperties.class})
+public class InventoryConfig {
+
+    @Bean
+    public Clock clock() {
+        return Clock.systemUTC();
+    }
+}
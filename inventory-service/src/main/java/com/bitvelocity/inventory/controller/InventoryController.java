@@ -0,0 +1,217 @@
+package com.bitvelocity.inventory.controller;
+
+import com.bitvelocity.inventory.allocation.WarehouseAllocator;
+import com.bitvelocity.inventory.dto.AdjustStockRequest;
+import com.bitvelocity.inventory.dto.ReservationResponse;
+import com.bitvelocity.inventory.dto.ReserveStockRequest;
+import com.bitvelocity.inventory.dto.SnapshotQueryRequest;
+import com.bitvelocity.inventory.dto.SnapshotResponse;
+import com.bitvelocity.inventory.dto.StockResponse;
+import com.bitvelocity.inventory.dto.WarehouseStockResponse;
+import com.bitvelocity.inventory.exception.ErrorResponse;
+import com.bitvelocity.inventory.exception.ReservationNotFoundException;
+import com.bitvelocity.inventory.ingestion.StockLedger;
+import com.bitvelocity.inventory.mapper.InventoryMapper;
+import com.bitvelocity.inventory.reservation.Reservation;
+import com.bitvelocity.inventory.reservation.ReservationEngine;
+import com.bitvelocity.inventory.reservation.StockLevel;
+import com.bitvelocity.inventory.snapshot.StockSnapshot;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/inventory")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Inventory", description = "Stock levels and reservations")
+public class InventoryController {
+
+    private final ReservationEngine reservationEngine;
+    private final StockLedger stockLedger;
+    private final StockSnapshot stockSnapshot;
+    private final WarehouseAllocator warehouseAllocator;
+    private final InventoryMapper inventoryMapper;
+
+    @Operation(summary = "Query stock", description = "Available and reserved quantity of each requested SKU; unknown SKUs report zero")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stock levels in request order"),
+        @ApiResponse(responseCode = "400", description = "No SKU given",
+                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping
+    public ResponseEntity<List<StockResponse>> getStock(
+            @Parameter(description = "SKUs to query") @RequestParam List<String> sku) {
+
+        log.debug("GET /api/v1/inventory - skus: {}", sku.size());
+        return ResponseEntity.ok(reservationEngine.getStock(sku).stream().map(inventoryMapper::toResponse).toList());
+    }
+
+    @Operation(summary = "Query stock snapshot",
+               description = "Stock on hand of many SKUs from the in-memory snapshot of the adjustment ledger; "
+                       + "trails the ledger by up to the refresh interval and ignores reservations in flight")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stock on hand in request order",
+                     content = @Content(schema = @Schema(implementation = SnapshotResponse.class))),
+        @ApiResponse(responseCode = "400", description = "No SKU given or too many SKUs",
+                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/snapshot/query")
+    public ResponseEntity<SnapshotResponse> querySnapshot(@Valid @RequestBody SnapshotQueryRequest request) {
+        log.debug("POST /api/v1/inventory/snapshot/query - skus: {}", request.getSkus().size());
+        long asOf = stockSnapshot.watermark();
+        return ResponseEntity.ok(inventoryMapper.toResponse(asOf, stockSnapshot.query(request.getSkus())));
+    }
+
+    @Operation(summary = "Get stock of one SKU")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stock level",
+                     content = @Content(schema = @Schema(implementation = StockResponse.class)))
+    })
+    @GetMapping("/{sku}")
+    public ResponseEntity<StockResponse> getStockBySku(
+            @Parameter(description = "SKU") @PathVariable String sku) {
+
+        return ResponseEntity.ok(inventoryMapper.toResponse(reservationEngine.getStock(sku)));
+    }
+
+    @Operation(summary = "Adjust stock", description = "Add a delta to the available quantity (negative for shrinkage, floored at zero)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stock adjusted",
+                     content = @Content(schema = @Schema(implementation = StockResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid input",
+                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/{sku}/adjustments")
+    public ResponseEntity<StockResponse> adjustStock(
+            @Parameter(description = "SKU") @PathVariable String sku,
+            @Valid @RequestBody AdjustStockRequest request) {
+
+        log.info("POST /api/v1/inventory/{}/adjustments - delta: {}, reason: {}", sku, request.getDelta(),
+                request.getReason());
+        return ResponseEntity.ok(inventoryMapper.toResponse(stockLedger.adjust(sku, request.getDelta())));
+    }
+
+    @Operation(summary = "Get stock of one SKU per warehouse")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stock level in every configured warehouse")
+    })
+    @GetMapping("/{sku}/warehouses")
+    public ResponseEntity<List<WarehouseStockResponse>> getWarehouseStock(
+            @Parameter(description = "SKU") @PathVariable String sku) {
+
+        return ResponseEntity.ok(warehouseAllocator.getWarehouseStock(sku).stream()
+                .map(level -> inventoryMapper.toWarehouseResponse(sku, level))
+                .toList());
+    }
+
+    @Operation(summary = "Adjust warehouse stock", description = "Add a delta to the available quantity of the SKU in one warehouse")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stock adjusted",
+                     content = @Content(schema = @Schema(implementation = WarehouseStockResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid input",
+                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Warehouse not found",
+                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/{sku}/warehouses/{warehouseId}/adjustments")
+    public ResponseEntity<WarehouseStockResponse> adjustWarehouseStock(
+            @Parameter(description = "SKU") @PathVariable String sku,
+            @Parameter(description = "Warehouse id") @PathVariable String warehouseId,
+            @Valid @RequestBody AdjustStockRequest request) {
+
+        log.info("POST /api/v1/inventory/{}/warehouses/{}/adjustments - delta: {}, reason: {}", sku, warehouseId,
+                request.getDelta(), request.getReason());
+        StockLevel level = stockLedger.adjust(warehouseAllocator.stockKey(warehouseId, sku), request.getDelta());
+        return ResponseEntity.ok(inventoryMapper.toWarehouseResponse(sku,
+                new StockLevel(warehouseId, level.available(), level.reserved())));
+    }
+
+    @Operation(summary = "Reserve stock",
+               description = "Reserve all lines or none. The stock is held until the TTL runs out unless committed or "
+                       + "released; repeating a reservation id returns the existing reservation. With a region the "
+                       + "lines are allocated to the fewest, nearest warehouses that can ship them")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Stock reserved (or existing reservation returned)",
+                     content = @Content(schema = @Schema(implementation = ReservationResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid input, unknown region or id reused with different lines",
+                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "409", description = "Insufficient stock for a line",
+                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/reservations")
+    public ResponseEntity<ReservationResponse> reserveStock(@Valid @RequestBody ReserveStockRequest request) {
+        log.debug("POST /api/v1/inventory/reservations - id: {}, lines: {}", request.getReservationId(),
+                request.getLines().size());
+        Duration ttl = request.getTtlMs() == null ? null : Duration.ofMillis(request.getTtlMs());
+        Reservation reservation = request.getRegion() == null
+                ? reservationEngine.reserve(request.getReservationId(), inventoryMapper.toLines(request.getLines()), ttl)
+                : warehouseAllocator.reserve(request.getReservationId(), request.getRegion(),
+                        inventoryMapper.toLines(request.getLines()), ttl);
+        return ResponseEntity.status(HttpStatus.CREATED).body(inventoryMapper.toResponse(reservation));
+    }
+
+    @Operation(summary = "Get reservation")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Reservation found",
+                     content = @Content(schema = @Schema(implementation = ReservationResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Reservation not found",
+                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/reservations/{id}")
+    public ResponseEntity<ReservationResponse> getReservation(
+            @Parameter(description = "Reservation id") @PathVariable String id) {
+
+        return reservationEngine.find(id)
+                .map(reservation -> ResponseEntity.ok(inventoryMapper.toResponse(reservation)))
+                .orElseThrow(() -> new ReservationNotFoundException(id));
+    }
+
+    @Operation(summary = "Release reservation", description = "Return the held stock; a no-op for released, expired or unknown reservations")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Reservation released",
+                     content = @Content(schema = @Schema(implementation = ReservationResponse.class))),
+        @ApiResponse(responseCode = "204", description = "No such reservation"),
+        @ApiResponse(responseCode = "409", description = "Reservation was committed",
+                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @DeleteMapping("/reservations/{id}")
+    public ResponseEntity<ReservationResponse> releaseReservation(
+            @Parameter(description = "Reservation id") @PathVariable String id) {
+
+        log.debug("DELETE /api/v1/inventory/reservations/{}", id);
+        return reservationEngine.release(id)
+                .map(reservation -> ResponseEntity.ok(inventoryMapper.toResponse(reservation)))
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    @Operation(summary = "Commit reservation", description = "The held stock has been sold and leaves the warehouse")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Reservation committed",
+                     content = @Content(schema = @Schema(implementation = ReservationResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Reservation not found",
+                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "409", description = "Reservation was released or expired",
+                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/reservations/{id}/commit")
+    public ResponseEntity<ReservationResponse> commitReservation(
+            @Parameter(description = "Reservation id") @PathVariable String id) {
+
+        log.debug("POST /api/v1/inventory/reservations/{}/commit", id);
+        return ResponseEntity.ok(inventoryMapper.toResponse(stockLedger.commit(id)));
+    }
+}
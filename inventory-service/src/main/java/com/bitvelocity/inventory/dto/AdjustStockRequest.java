@@ -0,0 +1,21 @@
+package com.bitvelocity.inventory.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AdjustStockRequest {
+
+    @NotNull(message = "Delta is required")
+    private Integer delta;
+
+    @Size(max = 100, message = "Reason must not exceed 100 characters")
+    private String reason;
+}
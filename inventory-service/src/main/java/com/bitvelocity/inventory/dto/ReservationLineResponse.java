@@ -0,0 +1,21 @@
+package com.bitvelocity.inventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReservationLineResponse {
+
+    private String sku;
+    private int quantity;
+
+    /**
+     * Warehouse shipping the line; absent for network-wide stock
+     */
+    private String warehouseId;
+}
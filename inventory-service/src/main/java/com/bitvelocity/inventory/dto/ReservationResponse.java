@@ -0,0 +1,22 @@
+package com.bitvelocity.inventory.dto;
+
+import com.bitvelocity.inventory.reservation.ReservationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReservationResponse {
+
+    private String reservationId;
+    private ReservationStatus status;
+    private List<ReservationLineResponse> lines;
+    private Instant expiresAt;
+}
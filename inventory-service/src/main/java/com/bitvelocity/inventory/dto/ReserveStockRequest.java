@@ -0,0 +1,44 @@
+package com.bitvelocity.inventory.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReserveStockRequest {
+
+    /**
+     * Caller-chosen id, usually the order id; repeating it returns the existing reservation
+     */
+    @NotBlank(message = "Reservation id is required")
+    @Size(max = 100, message = "Reservation id must not exceed 100 characters")
+    private String reservationId;
+
+    @NotEmpty(message = "Reservation must contain at least one line")
+    @Valid
+    private List<ReservationLineRequest> lines;
+
+    /**
+     * How long to hold the stock; the configured default when absent
+     */
+    @Positive(message = "TTL must be positive")
+    private Long ttlMs;
+
+    /**
+     * Delivery region; when present the lines are allocated to that region's warehouses,
+     * otherwise they are reserved from network-wide stock
+     */
+    @Size(max = 50, message = "Region must not exceed 50 characters")
+    private String region;
+}
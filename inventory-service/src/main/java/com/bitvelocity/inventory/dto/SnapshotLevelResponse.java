@@ -0,0 +1,21 @@
+package com.bitvelocity.inventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SnapshotLevelResponse {
+
+    private String sku;
+    private int onHand;
+
+    /**
+     * False if the SKU has never been adjusted
+     */
+    private boolean known;
+}
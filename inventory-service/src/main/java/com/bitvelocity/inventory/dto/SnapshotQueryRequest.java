@@ -0,0 +1,20 @@
+package com.bitvelocity.inventory.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SnapshotQueryRequest {
+
+    @NotEmpty(message = "At least one SKU is required")
+    private List<@NotBlank(message = "SKU must not be blank") String> skus;
+}
@@ -0,0 +1,22 @@
+package com.bitvelocity.inventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SnapshotResponse {
+
+    /**
+     * Every inventory_adjustment row up to this id is reflected
+     */
+    private long asOfAdjustmentId;
+
+    private List<SnapshotLevelResponse> levels;
+}
@@ -0,0 +1,17 @@
+package com.bitvelocity.inventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockResponse {
+
+    private String sku;
+    private int available;
+    private int reserved;
+}
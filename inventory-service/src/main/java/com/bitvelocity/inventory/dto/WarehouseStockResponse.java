@@ -0,0 +1,18 @@
+package com.bitvelocity.inventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WarehouseStockResponse {
+
+    private String warehouseId;
+    private String sku;
+    private int available;
+    private int reserved;
+}
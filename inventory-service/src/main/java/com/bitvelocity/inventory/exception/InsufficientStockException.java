@@ -0,0 +1,15 @@
+package com.bitvelocity.inventory.exception;
+
+public class InsufficientStockException extends RuntimeException {
+
+    private final String sku;
+
+    public InsufficientStockException(String sku, int requested) {
+        super("Insufficient stock for SKU " + sku + ": requested " + requested);
+        this.sku = sku;
+    }
+
+    public String getSku() {
+        return sku;
+    }
+}
@@ -0,0 +1,8 @@
+package com.bitvelocity.inventory.exception;
+
+public class ReservationNotFoundException extends RuntimeException {
+
+    public ReservationNotFoundException(String reservationId) {
+        super("Reservation not found with id: " + reservationId);
+    }
+}
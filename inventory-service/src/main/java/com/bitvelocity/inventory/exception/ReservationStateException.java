@@ -0,0 +1,14 @@
+package com.bitvelocity.inventory.exception;
+
+import com.bitvelocity.inventory.reservation.ReservationStatus;
+
+/**
+ * The reservation is already in a status the requested change cannot follow, e.g. committing an
+ * expired reservation.
+ */
+public class ReservationStateException extends RuntimeException {
+
+    public ReservationStateException(String reservationId, ReservationStatus status, String action) {
+        super("Reservation " + reservationId + " cannot " + action + " in status " + status);
+    }
+}
@@ -0,0 +1,8 @@
+package com.bitvelocity.inventory.exception;
+
+public class WarehouseNotFoundException extends RuntimeException {
+
+    public WarehouseNotFoundException(String warehouseId) {
+        super("Warehouse not found with id: " + warehouseId);
+    }
+}
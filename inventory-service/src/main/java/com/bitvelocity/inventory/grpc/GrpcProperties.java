@@ -0,0 +1,22 @@
+package com.bitvelocity.inventory.grpc;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "inventory-service.grpc")
+public class GrpcProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * 0 picks a free port
+     */
+    private int port = 9084;
+
+    /**
+     * Requests of one ReserveStockStream processed concurrently; further requests wait in the
+     * transport (flow control) rather than in memory
+     */
+    private int maxInFlightPerStream = 256;
+}
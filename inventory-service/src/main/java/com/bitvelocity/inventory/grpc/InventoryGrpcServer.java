@@ -0,0 +1,80 @@
+package com.bitvelocity.inventory.grpc;
+
+import io.grpc.Server;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Netty gRPC server next to the servlet container. Calls run on virtual threads, so handlers
+ * can wait for the journal without tying up transport threads.
+ */
+@Component
+@ConditionalOnProperty(name = "inventory-service.grpc.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class InventoryGrpcServer implements SmartLifecycle {
+
+    private final InventoryGrpcService inventoryGrpcService;
+    private final GrpcProperties properties;
+    private ExecutorService executor;
+    private volatile Server server;
+
+    public InventoryGrpcServer(InventoryGrpcService inventoryGrpcService, GrpcProperties properties) {
+        this.inventoryGrpcService = inventoryGrpcService;
+        this.properties = properties;
+    }
+
+    @Override
+    public void start() {
+        executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("inventory-grpc-", 0).factory());
+        try {
+            server = NettyServerBuilder.forPort(properties.getPort())
+                    .executor(executor)
+                    .addService(inventoryGrpcService)
+                    .build()
+                    .start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot start inventory gRPC server on port " + properties.getPort(), e);
+        }
+        log.info("Inventory gRPC server listening on port {}", server.getPort());
+    }
+
+    @Override
+    public void stop() {
+        Server running = server;
+        if (running == null) {
+            return;
+        }
+        running.shutdown();
+        try {
+            if (!running.awaitTermination(5, TimeUnit.SECONDS)) {
+                running.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            running.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        executor.shutdown();
+        server = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * The bound port, which differs from the configured one when that is 0.
+     */
+    public int getPort() {
+        return server.getPort();
+    }
+}
@@ -0,0 +1,303 @@
+package com.bitvelocity.inventory.grpc;
+
+import com.bitvelocity.inventory.allocation.WarehouseAllocator;
+import com.bitvelocity.inventory.exception.InsufficientStockException;
+import com.bitvelocity.inventory.exception.ReservationNotFoundException;
+import com.bitvelocity.inventory.exception.ReservationStateException;
+import com.bitvelocity.inventory.grpc.v1.CommitRequest;
+import com.bitvelocity.inventory.grpc.v1.CommitResponse;
+import com.bitvelocity.inventory.grpc.v1.InventoryGrpc;
+import com.bitvelocity.inventory.grpc.v1.ReleaseRequest;
+import com.bitvelocity.inventory.grpc.v1.ReleaseResponse;
+import com.bitvelocity.inventory.grpc.v1.ReservationStatus;
+import com.bitvelocity.inventory.grpc.v1.ReserveOutcome;
+import com.bitvelocity.inventory.grpc.v1.ReserveRequest;
+import com.bitvelocity.inventory.grpc.v1.ReserveResponse;
+import com.bitvelocity.inventory.grpc.v1.ReturnRequest;
+import com.bitvelocity.inventory.grpc.v1.ReturnResponse;
+import com.bitvelocity.inventory.grpc.v1.Shipment;
+import com.bitvelocity.inventory.grpc.v1.SnapshotLevel;
+import com.bitvelocity.inventory.grpc.v1.StockLevel;
+import com.bitvelocity.inventory.grpc.v1.StockLine;
+import com.bitvelocity.inventory.grpc.v1.StockQuery;
+import com.bitvelocity.inventory.grpc.v1.StockSnapshot;
+import com.bitvelocity.inventory.grpc.v1.StockStatus;
+import com.bitvelocity.inventory.ingestion.StockLedger;
+import com.bitvelocity.inventory.journal.JournalException;
+import com.bitvelocity.inventory.reservation.Reservation;
+import com.bitvelocity.inventory.reservation.ReservationEngine;
+import com.bitvelocity.inventory.reservation.ReservationLine;
+import io.grpc.Context;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * gRPC implementation of the Inventory service (inventory-api) on top of the reservation engine.
+ *
+ * Business outcomes (reserved, insufficient stock, invalid request) are returned in the
+ * response so that one bad order does not end a ReserveStockStream; only infrastructure
+ * failures become a status (UNAVAILABLE when the journal cannot record the change).
+ *
+ * The client deadline travels with the call: work for a call that was cancelled or whose
+ * deadline passed before it was picked up is skipped, so a backed-up server sheds requests the
+ * caller has already given up on instead of reserving stock nobody will confirm.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryGrpcService extends InventoryGrpc.InventoryImplBase {
+
+    private final ReservationEngine reservationEngine;
+    private final WarehouseAllocator warehouseAllocator;
+    private final StockLedger stockLedger;
+    private final com.bitvelocity.inventory.snapshot.StockSnapshot stockSnapshot;
+    private final GrpcProperties properties;
+
+    @Override
+    public void reserveStock(ReserveRequest request, StreamObserver<ReserveResponse> responses) {
+        if (abandoned()) {
+            return;
+        }
+        try {
+            responses.onNext(reserve(request));
+            responses.onCompleted();
+        } catch (JournalException e) {
+            responses.onError(Status.UNAVAILABLE.withDescription(e.getMessage()).asRuntimeException());
+        }
+    }
+
+    @Override
+    public StreamObserver<ReserveRequest> reserveStockStream(StreamObserver<ReserveResponse> responses) {
+        ServerCallStreamObserver<ReserveResponse> call = (ServerCallStreamObserver<ReserveResponse>) responses;
+        call.disableAutoRequest();
+        call.request(properties.getMaxInFlightPerStream());
+        Context context = Context.current();
+        // One for the open request side, one per request in flight
+        AtomicInteger outstanding = new AtomicInteger(1);
+
+        return new StreamObserver<>() {
+
+            /**
+             * Set under the call lock once onError or onCompleted was sent (or the client gave up);
+             * nothing is sent, requested or reserved after that.
+             */
+            private volatile boolean terminated;
+
+            @Override
+            public void onNext(ReserveRequest request) {
+                outstanding.incrementAndGet();
+                Thread.startVirtualThread(context.wrap(() -> {
+                    try {
+                        if (!terminated && !abandoned()) {
+                            ReserveResponse response = reserve(request);
+                            synchronized (call) {
+                                if (!terminated && !call.isCancelled()) {
+                                    call.onNext(response);
+                                }
+                            }
+                        }
+                        if (!terminated) {
+                            call.request(1);
+                        }
+                    } catch (JournalException | StatusRuntimeException e) {
+                        fail(e);
+                    } finally {
+                        finishOne();
+                    }
+                }));
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                log.debug("ReserveStockStream aborted by client: {}", error.getMessage());
+                synchronized (call) {
+                    terminated = true;
+                }
+            }
+
+            @Override
+            public void onCompleted() {
+                finishOne();
+            }
+
+            private void finishOne() {
+                if (outstanding.decrementAndGet() == 0) {
+                    synchronized (call) {
+                        if (!terminated) {
+                            terminated = true;
+                            if (!call.isCancelled()) {
+                                call.onCompleted();
+                            }
+                        }
+                    }
+                }
+            }
+
+            private void fail(Exception e) {
+                synchronized (call) {
+                    if (!terminated) {
+                        terminated = true;
+                        if (!call.isCancelled()) {
+                            call.onError(Status.UNAVAILABLE.withDescription(e.getMessage()).asRuntimeException());
+                        }
+                    }
+                }
+            }
+        };
+    }
+
+    @Override
+    public void releaseStock(ReleaseRequest request, StreamObserver<ReleaseResponse> responses) {
+        if (abandoned()) {
+            return;
+        }
+        try {
+            Optional<Reservation> released = reservationEngine.release(request.getReservationId());
+            responses.onNext(ReleaseResponse.newBuilder()
+                    .setFound(released.isPresent())
+                    .setStatus(released.map(InventoryGrpcService::toStatus)
+                            .orElse(ReservationStatus.RESERVATION_STATUS_UNSPECIFIED))
+                    .build());
+            responses.onCompleted();
+        } catch (ReservationStateException e) {
+            responses.onError(Status.FAILED_PRECONDITION.withDescription(e.getMessage()).asRuntimeException());
+        } catch (JournalException e) {
+            responses.onError(Status.UNAVAILABLE.withDescription(e.getMessage()).asRuntimeException());
+        }
+    }
+
+    @Override
+    public void commitStock(CommitRequest request, StreamObserver<CommitResponse> responses) {
+        if (abandoned()) {
+            return;
+        }
+        try {
+            Reservation committed = stockLedger.commit(request.getReservationId());
+            responses.onNext(CommitResponse.newBuilder().setStatus(toStatus(committed)).build());
+            responses.onCompleted();
+        } catch (ReservationNotFoundException e) {
+            responses.onError(Status.NOT_FOUND.withDescription(e.getMessage()).asRuntimeException());
+        } catch (ReservationStateException e) {
+            responses.onError(Status.FAILED_PRECONDITION.withDescription(e.getMessage()).asRuntimeException());
+        } catch (JournalException e) {
+            responses.onError(Status.UNAVAILABLE.withDescription(e.getMessage()).asRuntimeException());
+        }
+    }
+
+    @Override
+    public void returnStock(ReturnRequest request, StreamObserver<ReturnResponse> responses) {
+        if (abandoned()) {
+            return;
+        }
+        try {
+            Optional<Reservation> returned = stockLedger.returnStock(request.getReservationId());
+            responses.onNext(ReturnResponse.newBuilder()
+                    .setFound(returned.isPresent())
+                    .setStatus(returned.map(InventoryGrpcService::toStatus)
+                            .orElse(ReservationStatus.RESERVATION_STATUS_UNSPECIFIED))
+                    .build());
+            responses.onCompleted();
+        } catch (JournalException | DataAccessException e) {
+            responses.onError(Status.UNAVAILABLE.withDescription(e.getMessage()).asRuntimeException());
+        }
+    }
+
+    @Override
+    public void queryStock(StockQuery request, StreamObserver<StockStatus> responses) {
+        StockStatus.Builder status = StockStatus.newBuilder();
+        for (com.bitvelocity.inventory.reservation.StockLevel level : reservationEngine.getStock(request.getSkusList())) {
+            status.addLevels(StockLevel.newBuilder()
+                    .setSku(level.sku())
+                    .setAvailable(level.available())
+                    .setReserved(level.reserved()));
+        }
+        responses.onNext(status.build());
+        responses.onCompleted();
+    }
+
+    @Override
+    public void queryStockSnapshot(StockQuery request, StreamObserver<StockSnapshot> responses) {
+        if (abandoned()) {
+            return;
+        }
+        StockSnapshot.Builder snapshot = StockSnapshot.newBuilder().setAsOfAdjustmentId(stockSnapshot.watermark());
+        try {
+            for (com.bitvelocity.inventory.snapshot.SnapshotLevel level : stockSnapshot.query(request.getSkusList())) {
+                snapshot.addLevels(SnapshotLevel.newBuilder()
+                        .setSku(level.sku())
+                        .setOnHand(level.onHand())
+                        .setKnown(level.known()));
+            }
+        } catch (IllegalArgumentException e) {
+            responses.onError(Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asRuntimeException());
+            return;
+        }
+        responses.onNext(snapshot.build());
+        responses.onCompleted();
+    }
+
+    private ReserveResponse reserve(ReserveRequest request) {
+        ReserveResponse.Builder response = ReserveResponse.newBuilder().setReservationId(request.getReservationId());
+        try {
+            if (request.getReservationId().isBlank()) {
+                throw new IllegalArgumentException("Reservation id is required");
+            }
+            List<ReservationLine> lines = request.getLinesList().stream()
+                    .map(line -> new ReservationLine(line.getSku(), line.getQuantity()))
+                    .toList();
+            Duration ttl = request.getTtlMs() > 0 ? Duration.ofMillis(request.getTtlMs()) : null;
+            Reservation reservation = request.getRegion().isEmpty()
+                    ? reservationEngine.reserve(request.getReservationId(), lines, ttl)
+                    : warehouseAllocator.reserve(request.getReservationId(), request.getRegion(), lines, ttl);
+            response.setOutcome(ReserveOutcome.RESERVED)
+                    .setStatus(toStatus(reservation))
+                    .setExpiresAtMs(reservation.expiresAt().toEpochMilli());
+            for (com.bitvelocity.inventory.allocation.Shipment shipment : WarehouseAllocator.shipments(reservation)) {
+                if (shipment.warehouseId() == null) {
+                    continue;
+                }
+                Shipment.Builder builder = response.addShipmentsBuilder().setWarehouseId(shipment.warehouseId());
+                shipment.lines().forEach(line -> builder.addLines(StockLine.newBuilder()
+                        .setSku(line.sku())
+                        .setQuantity(line.quantity())));
+            }
+            return response.build();
+        } catch (InsufficientStockException e) {
+            return response.setOutcome(ReserveOutcome.INSUFFICIENT_STOCK)
+                    .setSku(e.getSku())
+                    .setMessage(e.getMessage())
+                    .build();
+        } catch (IllegalArgumentException e) {
+            return response.setOutcome(ReserveOutcome.INVALID)
+                    .setMessage(String.valueOf(e.getMessage()))
+                    .build();
+        }
+    }
+
+    /**
+     * True if the caller cancelled or its deadline passed; gRPC has already closed the call.
+     */
+    private static boolean abandoned() {
+        Context context = Context.current();
+        if (context.isCancelled()) {
+            log.debug("Skipping abandoned inventory call: {}", context.cancellationCause().getMessage());
+            return true;
+        }
+        return false;
+    }
+
+    private static ReservationStatus toStatus(Reservation reservation) {
+        return ReservationStatus.valueOf(reservation.status().name());
+    }
+}
@@ -0,0 +1,20 @@
+package com.bitvelocity.inventory.ingestion;
+
+public enum AdjustmentSource {
+    /**
+     * Coalesced sensor deltas
+     */
+    SENSOR,
+    /**
+     * POST /api/v1/inventory/{sku}/adjustments
+     */
+    MANUAL,
+    /**
+     * Committed reservation leaving the warehouse
+     */
+    SALE,
+    /**
+     * Units of a sale put back in stock after its order was canceled
+     */
+    RETURN
+}
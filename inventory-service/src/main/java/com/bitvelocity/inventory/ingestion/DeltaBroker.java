@@ -0,0 +1,45 @@
+package com.bitvelocity.inventory.ingestion;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-process stand-in for the MQTT broker that warehouse sensors publish to. Messages on
+ * iot/inventory/{sku}/delta are handed to the subscriber, whose answer plays the part of the
+ * PUBACK: a refused message stays with the device, which buffers it and publishes it again later.
+ */
+@Component
+@ConditionalOnProperty(name = "inventory-service.ingestion.enabled", havingValue = "true", matchIfMissing = true)
+public class DeltaBroker {
+
+    private static final Pattern DELTA_TOPIC = Pattern.compile("iot/inventory/([^/+#]+)/delta");
+
+    private volatile Predicate<StockDelta> subscriber = delta -> false;
+
+    public static String topicFor(String sku) {
+        return "iot/inventory/" + sku + "/delta";
+    }
+
+    /**
+     * @return true once the message is accepted, false if it must be published again later
+     * @throws IllegalArgumentException if the topic is not a stock-delta topic
+     */
+    public boolean publish(String topic, String deviceId, long messageId, int delta) {
+        Matcher matcher = DELTA_TOPIC.matcher(topic);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Not a stock delta topic: " + topic);
+        }
+        if (deviceId == null || deviceId.isBlank()) {
+            throw new IllegalArgumentException("Delta message needs a device id");
+        }
+        return subscriber.test(new StockDelta(deviceId, messageId, matcher.group(1), delta));
+    }
+
+    void subscribe(Predicate<StockDelta> subscriber) {
+        this.subscriber = subscriber;
+    }
+}
@@ -0,0 +1,203 @@
+package com.bitvelocity.inventory.ingestion;
+
+import com.bitvelocity.inventory.repository.InventoryAdjustmentRepository;
+import com.bitvelocity.inventory.reservation.ReservationEngine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Applies bursts of sensor stock deltas in micro-batches.
+ *
+ * Publishers only append to a {@link DeltaRingBuffer}; one consumer thread drains up to
+ * max-batch-size messages, drops device message ids it has already seen, and coalesces the rest
+ * into one net delta per SKU. The net deltas are applied with a single
+ * {@link ReservationEngine#adjustAll} (one group commit in the stock journal) and recorded as one
+ * inventory_adjustment row per SKU in a single JDBC batch. A burst of thousands of messages for a
+ * handful of SKUs therefore costs a handful of journal entries and rows, not thousands.
+ *
+ * The rows carry what the engine applied, so the engine goes first and the rows are inserted in
+ * one transaction. If either step fails the engine changes are rolled back and the batch is
+ * retried with the same batch id; an insert that committed but reported a failure is then caught
+ * by the (batch_id, sku) unique index instead of being recorded twice. Message ids are marked seen
+ * only once both steps succeeded. While a batch is retried the buffer fills and the broker
+ * refuses new messages, which the devices keep and send again. The dedupe window lives in
+ * memory, so it does not survive a restart.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "inventory-service.ingestion.enabled", havingValue = "true", matchIfMissing = true)
+public class DeltaIngestionPipeline implements DisposableBean {
+
+    private final ReservationEngine engine;
+    private final InventoryAdjustmentRepository repository;
+    private final Clock clock;
+    private final DeltaRingBuffer buffer;
+    private final int maxBatchSize;
+    private final long lingerNanos;
+    private final long retryBackoffNanos;
+    private final Map<String, Boolean> seen;
+    private final Thread consumer;
+    private volatile boolean running = true;
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong refused = new AtomicLong();
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong duplicates = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong rows = new AtomicLong();
+
+    public DeltaIngestionPipeline(DeltaBroker broker, ReservationEngine engine,
+                                  InventoryAdjustmentRepository repository, DeltaIngestionProperties properties,
+                                  Clock clock) {
+        this.engine = engine;
+        this.repository = repository;
+        this.clock = clock;
+        this.buffer = new DeltaRingBuffer(properties.getBufferCapacity());
+        this.maxBatchSize = Math.max(1, properties.getMaxBatchSize());
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, properties.getLingerMs()));
+        this.retryBackoffNanos = TimeUnit.MILLISECONDS.toNanos(properties.getRetryBackoffMs());
+        int dedupeWindow = properties.getDedupeWindow();
+        // Touched by the consumer thread only
+        this.seen = new LinkedHashMap<>(Math.min(dedupeWindow, 1 << 16), 0.75f) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > dedupeWindow;
+            }
+        };
+        this.consumer = Thread.ofPlatform().name("inventory-delta-ingest").daemon().start(this::consumeLoop);
+        broker.subscribe(this::offer);
+        log.info("Delta ingestion started (buffer {}, batch {})", buffer.capacity(), maxBatchSize);
+    }
+
+    /**
+     * @return false if the message was not taken and must be published again
+     */
+    public boolean offer(StockDelta delta) {
+        if (running && buffer.offer(delta)) {
+            accepted.incrementAndGet();
+            return true;
+        }
+        refused.incrementAndGet();
+        return false;
+    }
+
+    public IngestionStats stats() {
+        return new IngestionStats(accepted.get(), refused.get(), processed.get(), duplicates.get(),
+                batches.get(), rows.get());
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        consumer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    private void consumeLoop() {
+        List<StockDelta> batch = new ArrayList<>(maxBatchSize);
+        while (running || buffer.size() > 0) {
+            buffer.drain(batch::add, maxBatchSize);
+            if (batch.size() < maxBatchSize && running) {
+                // Let a burst fill the batch rather than applying it message by message
+                LockSupport.parkNanos(lingerNanos);
+                buffer.drain(batch::add, maxBatchSize - batch.size());
+            }
+            if (!batch.isEmpty()) {
+                try {
+                    apply(batch);
+                } catch (RuntimeException e) {
+                    log.error("Dropped a batch of {} stock deltas", batch.size(), e);
+                }
+                processed.addAndGet(batch.size());
+                batch.clear();
+            }
+        }
+    }
+
+    private void apply(List<StockDelta> batch) {
+        Set<String> fresh = new LinkedHashSet<>();
+        Map<String, long[]> net = new LinkedHashMap<>();
+        for (StockDelta delta : batch) {
+            if (seen.containsKey(delta.dedupeKey()) || !fresh.add(delta.dedupeKey())) {
+                duplicates.incrementAndGet();
+                continue;
+            }
+            long[] total = net.computeIfAbsent(delta.sku(), sku -> new long[2]);
+            total[0] += delta.delta();
+            total[1]++;
+        }
+
+        Map<String, Integer> deltas = new LinkedHashMap<>();
+        net.forEach((sku, total) -> {
+            if (total[0] != 0) {
+                deltas.put(sku, (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, total[0])));
+            }
+        });
+        if (!deltas.isEmpty() && !record(deltas, net)) {
+            return;
+        }
+        fresh.forEach(key -> seen.put(key, Boolean.TRUE));
+        batches.incrementAndGet();
+    }
+
+    /**
+     * Applies the net deltas and inserts their rows, retrying until both succeed.
+     *
+     * @return false if it gave up at shutdown
+     */
+    private boolean record(Map<String, Integer> deltas, Map<String, long[]> net) {
+        UUID batchId = UUID.randomUUID();
+        Instant now = clock.instant();
+        while (true) {
+            Map<String, Integer> applied = engine.adjustAll(deltas);
+            if (applied.size() < deltas.size()) {
+                StockLedger.rollBack(engine, applied);
+                log.warn("Journaling stock deltas for {} SKUs failed, retrying", deltas.size() - applied.size());
+            } else {
+                List<InventoryAdjustment> adjustments = new ArrayList<>(applied.size());
+                applied.forEach((sku, change) -> adjustments.add(new InventoryAdjustment(batchId, sku,
+                        net.get(sku)[0], change, (int) net.get(sku)[1], AdjustmentSource.SENSOR, now)));
+                try {
+                    repository.insertAllAtomically(adjustments);
+                    rows.addAndGet(adjustments.size());
+                    return true;
+                } catch (DuplicateKeyException e) {
+                    // An earlier attempt's rows committed although the insert reported a failure
+                    log.debug("Inventory adjustments of batch {} were already recorded", batchId);
+                    return true;
+                } catch (DataAccessException e) {
+                    StockLedger.rollBack(engine, applied);
+                    log.warn("Writing {} inventory adjustments failed, retrying: {}", adjustments.size(), e.getMessage());
+                }
+            }
+            if (!backOff()) {
+                log.error("Gave up on stock deltas for {} SKUs at shutdown (batch {})", deltas.size(), batchId);
+                return false;
+            }
+        }
+    }
+
+    private boolean backOff() {
+        if (!running) {
+            return false;
+        }
+        LockSupport.parkNanos(retryBackoffNanos);
+        return true;
+    }
+}
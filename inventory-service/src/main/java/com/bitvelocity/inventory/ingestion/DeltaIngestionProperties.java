@@ -0,0 +1,36 @@
+package com.bitvelocity.inventory.ingestion;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "inventory-service.ingestion")
+public class DeltaIngestionProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Messages waiting for a batch (rounded up to a power of two); publishers are refused when full
+     */
+    private int bufferCapacity = 65_536;
+
+    /**
+     * Messages coalesced into one micro-batch
+     */
+    private int maxBatchSize = 8192;
+
+    /**
+     * How long a partial batch waits for more messages
+     */
+    private long lingerMs = 5;
+
+    /**
+     * Device message ids remembered for duplicate detection (oldest forgotten first)
+     */
+    private int dedupeWindow = 1_000_000;
+
+    /**
+     * Pause before a batch whose stock or ledger write failed is tried again
+     */
+    private long retryBackoffMs = 500;
+}
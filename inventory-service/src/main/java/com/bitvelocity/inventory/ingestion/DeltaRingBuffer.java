@@ -0,0 +1,83 @@
+package com.bitvelocity.inventory.ingestion;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded lock-free ring buffer for many publishers and one consumer.
+ *
+ * Publishers claim a position with compare-and-set on the tail and publish the slot by bumping
+ * its sequence; the consumer reads slots in order and hands them back by moving each sequence one
+ * lap ahead. Nobody blocks: a full buffer refuses the message instead.
+ */
+final class DeltaRingBuffer {
+
+    private final StockDelta[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    DeltaRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.slots = new StockDelta[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * @return false if the buffer is full
+     */
+    boolean offer(StockDelta delta) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) position & mask;
+            long lag = sequences.get(index) - position;
+            if (lag == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots[index] = delta;
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (lag < 0) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Hands up to max published messages to the consumer. Only one thread may drain.
+     *
+     * @return number of messages drained
+     */
+    int drain(Consumer<StockDelta> consumer, int max) {
+        long position = head;
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) position & mask;
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            StockDelta delta = slots[index];
+            slots[index] = null;
+            sequences.set(index, position + slots.length);
+            position++;
+            drained++;
+            consumer.accept(delta);
+        }
+        head = position;
+        return drained;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+}
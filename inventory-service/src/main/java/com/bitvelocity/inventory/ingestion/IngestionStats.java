@@ -0,0 +1,15 @@
+package com.bitvelocity.inventory.ingestion;
+
+/**
+ * Counters since startup.
+ *
+ * @param accepted   messages taken into the buffer
+ * @param refused    messages refused because the buffer was full
+ * @param processed  accepted messages handled by a batch, duplicates included
+ * @param duplicates messages dropped as already seen
+ * @param batches    micro-batches applied
+ * @param rows       inventory_adjustment rows written
+ */
+public record IngestionStats(long accepted, long refused, long processed, long duplicates, long batches,
+                             long rows) {
+}
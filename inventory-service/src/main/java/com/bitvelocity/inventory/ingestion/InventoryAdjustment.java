@@ -0,0 +1,15 @@
+package com.bitvelocity.inventory.ingestion;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One inventory_adjustment row: the net change of a SKU's stock on hand in one batch.
+ *
+ * @param requestedDelta sum of the requested deltas
+ * @param appliedDelta   what the stock actually changed by (decreases stop at zero)
+ * @param messageCount   sensor messages coalesced into the row; 1 for other sources
+ */
+public record InventoryAdjustment(UUID batchId, String sku, long requestedDelta, int appliedDelta,
+                                  int messageCount, AdjustmentSource source, Instant recordedAt) {
+}
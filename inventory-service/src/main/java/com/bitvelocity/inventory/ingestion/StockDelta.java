@@ -0,0 +1,12 @@
+package com.bitvelocity.inventory.ingestion;
+
+/**
+ * One sensor message: the SKU's stock changed by delta. Message ids are unique per device, so a
+ * message re-sent after a reconnect can be recognised.
+ */
+public record StockDelta(String deviceId, long messageId, String sku, int delta) {
+
+    String dedupeKey() {
+        return deviceId + '/' + messageId;
+    }
+}
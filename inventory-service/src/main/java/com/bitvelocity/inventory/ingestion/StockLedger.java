@@ -0,0 +1,130 @@
+package com.bitvelocity.inventory.ingestion;
+
+import com.bitvelocity.inventory.exception.ReservationStateException;
+import com.bitvelocity.inventory.journal.JournalException;
+import com.bitvelocity.inventory.repository.InventoryAdjustmentRepository;
+import com.bitvelocity.inventory.reservation.Reservation;
+import com.bitvelocity.inventory.reservation.ReservationEngine;
+import com.bitvelocity.inventory.reservation.StockLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Manual adjustments and sales that are also recorded in inventory_adjustment, next to the
+ * sensor deltas written by {@link DeltaIngestionPipeline}. Together they make the ledger balance
+ * of a SKU its stock on hand.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StockLedger {
+
+    private final ReservationEngine reservationEngine;
+    private final InventoryAdjustmentRepository repository;
+    private final Clock clock;
+
+    /**
+     * Changes the stock on hand and records the change. The ledger row carries what the engine
+     * applied (a decrease stops at zero), so the engine goes first; if the row cannot be written
+     * the engine change is rolled back, so the ledger balance and the stock never drift apart.
+     */
+    public StockLevel adjust(String sku, int delta) {
+        Map<String, Integer> applied = reservationEngine.adjustAll(Map.of(sku, delta));
+        if (applied.isEmpty()) {
+            throw new JournalException("Adjustment of " + sku + " could not be journaled", null);
+        }
+        try {
+            repository.insertAllAtomically(List.of(new InventoryAdjustment(UUID.randomUUID(), sku, delta,
+                    applied.get(sku), 1, AdjustmentSource.MANUAL, clock.instant())));
+        } catch (RuntimeException e) {
+            rollBack(reservationEngine, applied);
+            throw e;
+        }
+        return reservationEngine.getStock(sku);
+    }
+
+    /**
+     * Commits the reservation and records its lines as sold. The rows are keyed by the
+     * reservation id. A repeated commit writes nothing once the sale is recorded, and records it
+     * if the first commit's ledger write failed.
+     */
+    public Reservation commit(String reservationId) {
+        boolean committed = reservationEngine.commitOnce(reservationId);
+        Reservation reservation = reservationEngine.find(reservationId).orElseThrow();
+        UUID batchId = UUID.nameUUIDFromBytes(("sale:" + reservationId).getBytes(StandardCharsets.UTF_8));
+        if (!committed && repository.containsBatch(batchId)) {
+            return reservation;
+        }
+        Instant now = clock.instant();
+        try {
+            repository.insertAllAtomically(reservation.lines().stream()
+                    .map(line -> new InventoryAdjustment(batchId, line.sku(), -line.quantity(), -line.quantity(), 1,
+                            AdjustmentSource.SALE, now))
+                    .toList());
+        } catch (DuplicateKeyException e) {
+            log.debug("Sale of reservation {} was already recorded", reservationId);
+        }
+        return reservation;
+    }
+
+    /**
+     * Undoes the reservation of a canceled order: a held one is released, a committed one has
+     * its units put back in stock and recorded as returned. The return rows are keyed by the
+     * reservation id like the sale, so only the call that records them changes the stock and
+     * returning again is a no-op.
+     *
+     * @return the reservation, empty if it is unknown
+     */
+    public Optional<Reservation> returnStock(String reservationId) {
+        try {
+            return reservationEngine.release(reservationId);
+        } catch (ReservationStateException e) {
+            // Committed: its units go back below
+        }
+        Reservation sold = reservationEngine.find(reservationId).orElseThrow();
+        Map<String, Integer> units = new LinkedHashMap<>();
+        sold.lines().forEach(line -> units.merge(line.sku(), line.quantity(), Integer::sum));
+        Map<String, Integer> applied = reservationEngine.adjustAll(units);
+        if (applied.size() < units.size()) {
+            rollBack(reservationEngine, applied);
+            throw new JournalException("Return of reservation " + reservationId + " could not be journaled", null);
+        }
+        UUID batchId = UUID.nameUUIDFromBytes(("return:" + reservationId).getBytes(StandardCharsets.UTF_8));
+        Instant now = clock.instant();
+        try {
+            repository.insertAllAtomically(units.entrySet().stream()
+                    .map(unit -> new InventoryAdjustment(batchId, unit.getKey(), unit.getValue(), unit.getValue(), 1,
+                            AdjustmentSource.RETURN, now))
+                    .toList());
+        } catch (DuplicateKeyException e) {
+            log.debug("Return of reservation {} was already recorded", reservationId);
+            rollBack(reservationEngine, applied);
+        } catch (RuntimeException e) {
+            rollBack(reservationEngine, applied);
+            throw e;
+        }
+        return Optional.of(sold);
+    }
+
+    /**
+     * Reverses engine adjustments whose ledger rows were not written.
+     */
+    static void rollBack(ReservationEngine engine, Map<String, Integer> applied) {
+        Map<String, Integer> reversed = new LinkedHashMap<>();
+        applied.forEach((sku, delta) -> reversed.put(sku, -delta));
+        if (!engine.adjustAll(reversed).equals(reversed)) {
+            log.error("Could not fully roll back stock adjustment {}; stock no longer matches the ledger", applied);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.bitvelocity.inventory.journal;
+
+import com.bitvelocity.inventory.reservation.ReservationLine;
+
+import java.util.List;
+
+/**
+ * One journaled stock delta. ADJUST carries a single line and no reservation id; the other
+ * types carry the reservation's lines.
+ *
+ * @param expiresAtMillis for RESERVE, when the reservation expires; otherwise 0
+ */
+public record JournalEntry(JournalEntryType type, String reservationId, List<ReservationLine> lines,
+                           long expiresAtMillis, long recordedAtMillis) {
+
+    public static JournalEntry adjust(String sku, int delta, long recordedAtMillis) {
+        return new JournalEntry(JournalEntryType.ADJUST, null, List.of(new ReservationLine(sku, delta)), 0,
+                recordedAtMillis);
+    }
+
+    public static JournalEntry reservation(JournalEntryType type, String reservationId, List<ReservationLine> lines,
+                                           long expiresAtMillis, long recordedAtMillis) {
+        return new JournalEntry(type, reservationId, lines, expiresAtMillis, recordedAtMillis);
+    }
+}
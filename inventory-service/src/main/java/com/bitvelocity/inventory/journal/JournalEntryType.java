@@ -0,0 +1,32 @@
+package com.bitvelocity.inventory.journal;
+
+/**
+ * Stock deltas recorded in the journal. Replaying an entry applies a fixed delta, so entries
+ * commute and replay order does not have to match the order the deltas were applied in memory.
+ */
+public enum JournalEntryType {
+
+    /** available += quantity (negative for shrinkage) */
+    ADJUST,
+
+    /** available -= quantity, reserved += quantity per line; the reservation is held */
+    RESERVE,
+
+    /** reserved -= quantity, available += quantity per line */
+    RELEASE,
+
+    /** Same stock delta as RELEASE, recorded when the TTL ran out */
+    EXPIRE,
+
+    /** reserved -= quantity per line; the stock has left the warehouse */
+    COMMIT;
+
+    private static final JournalEntryType[] VALUES = values();
+
+    static JournalEntryType fromCode(int code) {
+        if (code < 0 || code >= VALUES.length) {
+            throw new IllegalArgumentException("Unknown journal entry type " + code);
+        }
+        return VALUES[code];
+    }
+}
@@ -0,0 +1,11 @@
+package com.bitvelocity.inventory.journal;
+
+/**
+ * The journal could not durably record a delta; the change it belonged to was not acknowledged.
+ */
+public class JournalException extends RuntimeException {
+
+    public JournalException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
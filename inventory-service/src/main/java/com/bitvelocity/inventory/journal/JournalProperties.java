@@ -0,0 +1,24 @@
+package com.bitvelocity.inventory.journal;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "inventory-service.journal")
+public class JournalProperties {
+
+    /**
+     * Append-only stock journal; replayed on startup
+     */
+    private String path = "data/inventory/stock.journal";
+
+    /**
+     * Force every write group to the device before acknowledging it. Only disable for tests
+     */
+    private boolean fsync = true;
+
+    /**
+     * Maximum entries written and forced together
+     */
+    private int maxBatchSize = 1024;
+}
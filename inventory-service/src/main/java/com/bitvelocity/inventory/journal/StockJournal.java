@@ -0,0 +1,282 @@
+package com.bitvelocity.inventory.journal;
+
+import com.bitvelocity.inventory.reservation.ReservationLine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only file of stock deltas with group commit.
+ *
+ * Callers encode their entry and enqueue it; one writer thread drains whatever is queued (up to
+ * max-batch-size), writes it with a single write and a single force, then completes every
+ * caller's future. Under load many reservations share one fsync, so durability costs about one
+ * device flush per batch rather than per request, and no caller ever holds a lock while waiting.
+ *
+ * Records are framed as [length][crc32][payload]; a torn tail left by a crash is detected on
+ * replay and truncated.
+ */
+@Component
+@Slf4j
+public class StockJournal implements DisposableBean {
+
+    private static final int MAX_RECORD_BYTES = 1 << 20;
+    private static final PendingWrite SHUTDOWN = new PendingWrite(new byte[0], new CompletableFuture<>());
+
+    private final Path path;
+    private final boolean fsync;
+    private final int maxBatchSize;
+    private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private FileChannel channel;
+    private volatile boolean closed;
+
+    public StockJournal(JournalProperties properties) {
+        this.path = Path.of(properties.getPath()).toAbsolutePath();
+        this.fsync = properties.isFsync();
+        this.maxBatchSize = Math.max(1, properties.getMaxBatchSize());
+        try {
+            Files.createDirectories(path.getParent());
+            this.channel = open(path);
+            channel.position(channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open stock journal " + path, e);
+        }
+        this.writer = Thread.ofPlatform().name("stock-journal-writer").daemon().start(this::writeLoop);
+        log.info("Stock journal at {} (fsync: {})", path, fsync);
+    }
+
+    /**
+     * Completes once the entry is on disk (forced, unless fsync is disabled); fails with
+     * {@link JournalException} if it could not be written.
+     */
+    public CompletableFuture<Void> append(JournalEntry entry) {
+        if (closed) {
+            return CompletableFuture.failedFuture(new JournalException("Stock journal is closed", null));
+        }
+        PendingWrite write = new PendingWrite(frame(entry), new CompletableFuture<>());
+        queue.add(write);
+        return write.done();
+    }
+
+    /**
+     * Reads every intact entry from the start of the file and truncates a torn tail. Call before
+     * the first append.
+     *
+     * @return number of entries replayed
+     */
+    public synchronized int replay(Consumer<JournalEntry> consumer) {
+        long goodLength = 0;
+        int entries = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            while (true) {
+                int length = in.readInt();
+                if (length <= 0 || length > MAX_RECORD_BYTES) {
+                    break;
+                }
+                int checksum = in.readInt();
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                if (checksum != crc(payload)) {
+                    break;
+                }
+                consumer.accept(decode(payload));
+                goodLength += Integer.BYTES * 2 + length;
+                entries++;
+            }
+        } catch (EOFException e) {
+            // end of file, possibly inside a torn record
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot replay stock journal " + path, e);
+        }
+
+        try {
+            long size = channel.size();
+            if (goodLength < size) {
+                log.warn("Truncating {} bytes of torn or corrupt records from {}", size - goodLength, path);
+                channel.truncate(goodLength);
+                channel.force(true);
+            }
+            channel.position(goodLength);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot truncate stock journal " + path, e);
+        }
+        return entries;
+    }
+
+    /**
+     * Atomically replaces the journal with the given entries, which must reproduce the current
+     * state; used to compact it. Callers must not append concurrently.
+     */
+    public synchronized void rewrite(List<JournalEntry> entries) {
+        Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+        try {
+            try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                List<byte[]> records = entries.stream().map(StockJournal::frame).toList();
+                writeFully(out, records);
+                out.force(true);
+            }
+            channel.close();
+            Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel = open(path);
+            channel.position(channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot compact stock journal " + path, e);
+        }
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        closed = true;
+        queue.add(SHUTDOWN);
+        writer.join();
+        PendingWrite abandoned;
+        while ((abandoned = queue.poll()) != null) {
+            abandoned.done().completeExceptionally(new JournalException("Stock journal is closed", null));
+        }
+        synchronized (this) {
+            channel.close();
+        }
+    }
+
+    private void writeLoop() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatchSize);
+        boolean running = true;
+        while (running) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, maxBatchSize - 1);
+            if (batch.remove(SHUTDOWN)) {
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                writeBatch(batch);
+            }
+            batch.clear();
+        }
+    }
+
+    private synchronized void writeBatch(List<PendingWrite> batch) {
+        long start = -1;
+        try {
+            start = channel.position();
+            writeFully(channel, batch.stream().map(PendingWrite::record).toList());
+            if (fsync) {
+                channel.force(false);
+            }
+            batch.forEach(write -> write.done().complete(null));
+        } catch (IOException e) {
+            log.error("Stock journal write of {} entries failed", batch.size(), e);
+            rollBack(start);
+            JournalException failure = new JournalException("Stock journal write failed", e);
+            batch.forEach(write -> write.done().completeExceptionally(failure));
+        }
+    }
+
+    private void rollBack(long start) {
+        if (start < 0) {
+            return;
+        }
+        try {
+            channel.truncate(start);
+            channel.position(start);
+        } catch (IOException e) {
+            log.error("Could not roll back stock journal to {}", start, e);
+        }
+    }
+
+    private static void writeFully(FileChannel out, List<byte[]> records) throws IOException {
+        int size = records.stream().mapToInt(record -> record.length).sum();
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        records.forEach(buffer::put);
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+
+    private static FileChannel open(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    static byte[] frame(JournalEntry entry) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(0);
+            out.writeInt(0);
+            out.writeByte(entry.type().ordinal());
+            out.writeLong(entry.recordedAtMillis());
+            out.writeUTF(entry.reservationId() == null ? "" : entry.reservationId());
+            out.writeLong(entry.expiresAtMillis());
+            out.writeInt(entry.lines().size());
+            for (ReservationLine line : entry.lines()) {
+                out.writeUTF(line.sku());
+                out.writeInt(line.quantity());
+            }
+            byte[] record = bytes.toByteArray();
+            ByteBuffer header = ByteBuffer.wrap(record, 0, Integer.BYTES * 2);
+            int length = record.length - Integer.BYTES * 2;
+            CRC32 crc = new CRC32();
+            crc.update(record, Integer.BYTES * 2, length);
+            header.putInt(length).putInt((int) crc.getValue());
+            return record;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static JournalEntry decode(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        JournalEntryType type = JournalEntryType.fromCode(in.readByte());
+        long recordedAt = in.readLong();
+        String reservationId = in.readUTF();
+        long expiresAt = in.readLong();
+        int count = in.readInt();
+        List<ReservationLine> lines = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            lines.add(new ReservationLine(in.readUTF(), in.readInt()));
+        }
+        return new JournalEntry(type, reservationId.isEmpty() ? null : reservationId, List.copyOf(lines), expiresAt,
+                recordedAt);
+    }
+
+    private static int crc(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private record PendingWrite(byte[] record, CompletableFuture<Void> done) {
+    }
+}
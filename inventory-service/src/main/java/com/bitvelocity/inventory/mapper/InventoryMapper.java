@@ -0,0 +1,70 @@
+package com.bitvelocity.inventory.mapper;
+
+import com.bitvelocity.inventory.allocation.StockKeys;
+import com.bitvelocity.inventory.dto.ReservationLineRequest;
+import com.bitvelocity.inventory.dto.ReservationLineResponse;
+import com.bitvelocity.inventory.dto.ReservationResponse;
+import com.bitvelocity.inventory.dto.SnapshotLevelResponse;
+import com.bitvelocity.inventory.dto.SnapshotResponse;
+import com.bitvelocity.inventory.dto.StockResponse;
+import com.bitvelocity.inventory.dto.WarehouseStockResponse;
+import com.bitvelocity.inventory.reservation.Reservation;
+import com.bitvelocity.inventory.reservation.ReservationLine;
+import com.bitvelocity.inventory.reservation.StockLevel;
+import com.bitvelocity.inventory.snapshot.SnapshotLevel;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class InventoryMapper {
+
+    public StockResponse toResponse(StockLevel level) {
+        return StockResponse.builder()
+                .sku(level.sku())
+                .available(level.available())
+                .reserved(level.reserved())
+                .build();
+    }
+
+    public WarehouseStockResponse toWarehouseResponse(String sku, StockLevel level) {
+        return WarehouseStockResponse.builder()
+                .warehouseId(level.sku())
+                .sku(sku)
+                .available(level.available())
+                .reserved(level.reserved())
+                .build();
+    }
+
+    public SnapshotResponse toResponse(long asOfAdjustmentId, List<SnapshotLevel> levels) {
+        return SnapshotResponse.builder()
+                .asOfAdjustmentId(asOfAdjustmentId)
+                .levels(levels.stream()
+                        .map(level -> SnapshotLevelResponse.builder()
+                                .sku(level.sku())
+                                .onHand(level.onHand())
+                                .known(level.known())
+                                .build())
+                        .toList())
+                .build();
+    }
+
+    public ReservationResponse toResponse(Reservation reservation) {
+        return ReservationResponse.builder()
+                .reservationId(reservation.id())
+                .status(reservation.status())
+                .lines(reservation.lines().stream()
+                        .map(line -> ReservationLineResponse.builder()
+                                .sku(StockKeys.sku(line.sku()))
+                                .quantity(line.quantity())
+                                .warehouseId(StockKeys.warehouse(line.sku()))
+                                .build())
+                        .toList())
+                .expiresAt(reservation.expiresAt())
+                .build();
+    }
+
+    public List<ReservationLine> toLines(List<ReservationLineRequest> lines) {
+        return lines.stream().map(line -> new ReservationLine(line.getSku(), line.getQuantity())).toList();
+    }
+}
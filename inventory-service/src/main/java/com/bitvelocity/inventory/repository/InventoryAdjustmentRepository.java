@@ -0,0 +1,87 @@
+package com.bitvelocity.inventory.repository;
+
+import com.bitvelocity.inventory.ingestion.InventoryAdjustment;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class InventoryAdjustmentRepository {
+
+    private static final String INSERT = """
+            INSERT INTO inventory_adjustment (batch_id, sku, requested_delta, applied_delta, message_count, source, recorded_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the rows as one JDBC batch (a multi-row insert on PostgreSQL with
+     * reWriteBatchedInserts=true).
+     */
+    public void insertAll(List<InventoryAdjustment> adjustments) {
+        jdbcTemplate.batchUpdate(INSERT, rows(adjustments));
+    }
+
+    /**
+     * Like {@link #insertAll}, but every row or none.
+     *
+     * @throws org.springframework.dao.DuplicateKeyException if a (batch_id, sku) is already recorded
+     */
+    @Transactional
+    public void insertAllAtomically(List<InventoryAdjustment> adjustments) {
+        jdbcTemplate.batchUpdate(INSERT, rows(adjustments));
+    }
+
+    /**
+     * Streams up to limit rows with an id above afterId, in id order.
+     */
+    public void forEachAfter(long afterId, int limit, AdjustmentRowHandler handler) {
+        jdbcTemplate.query(
+                "SELECT id, sku, applied_delta FROM inventory_adjustment WHERE id > ? ORDER BY id LIMIT ?",
+                rs -> {
+                    handler.accept(rs.getLong("id"), rs.getString("sku"), rs.getInt("applied_delta"));
+                },
+                afterId, limit);
+    }
+
+    /**
+     * Whether any row of the batch is recorded (an index lookup on the (batch_id, sku) key).
+     */
+    public boolean containsBatch(UUID batchId) {
+        return !jdbcTemplate.queryForList("SELECT 1 FROM inventory_adjustment WHERE batch_id = ? LIMIT 1",
+                Integer.class, batchId).isEmpty();
+    }
+
+    public long sumAppliedDelta(String sku) {
+        Long sum = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(applied_delta), 0) FROM inventory_adjustment WHERE sku = ?", Long.class, sku);
+        return sum == null ? 0 : sum;
+    }
+
+    public int countBySku(String sku) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM inventory_adjustment WHERE sku = ?", Integer.class, sku);
+        return count == null ? 0 : count;
+    }
+
+    private static List<Object[]> rows(List<InventoryAdjustment> adjustments) {
+        return adjustments.stream()
+                .map(adjustment -> new Object[] {
+                        adjustment.batchId(), adjustment.sku(), adjustment.requestedDelta(),
+                        adjustment.appliedDelta(), adjustment.messageCount(), adjustment.source().name(),
+                        Timestamp.from(adjustment.recordedAt())})
+                .toList();
+    }
+
+    @FunctionalInterface
+    public interface AdjustmentRowHandler {
+        void accept(long id, String sku, int appliedDelta);
+    }
+}
@@ -0,0 +1,57 @@
+package com.bitvelocity.inventory.reservation;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A hold on the stock of one or more lines, identified by a caller-chosen id (the order id) so
+ * retries are idempotent.
+ *
+ * Status changes after creation (commit, release, expiry) are serialized by the reservation's
+ * own lock, which is held while the change is journaled; stock counters are never locked.
+ */
+public final class Reservation {
+
+    private final String id;
+    private final List<ReservationLine> lines;
+    private final Instant expiresAt;
+    private final CompletableFuture<Reservation> created = new CompletableFuture<>();
+    final ReentrantLock lock = new ReentrantLock();
+    private volatile ReservationStatus status;
+
+    Reservation(String id, List<ReservationLine> lines, Instant expiresAt, ReservationStatus status) {
+        this.id = id;
+        this.lines = lines;
+        this.expiresAt = expiresAt;
+        this.status = status;
+        if (status != ReservationStatus.PENDING) {
+            created.complete(this);
+        }
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public List<ReservationLine> lines() {
+        return lines;
+    }
+
+    public Instant expiresAt() {
+        return expiresAt;
+    }
+
+    public ReservationStatus status() {
+        return status;
+    }
+
+    void status(ReservationStatus status) {
+        this.status = status;
+    }
+
+    CompletableFuture<Reservation> created() {
+        return created;
+    }
+}
@@ -0,0 +1,475 @@
+package com.bitvelocity.inventory.reservation;
+
+import com.bitvelocity.inventory.exception.InsufficientStockException;
+import com.bitvelocity.inventory.exception.ReservationNotFoundException;
+import com.bitvelocity.inventory.exception.ReservationStateException;
+import com.bitvelocity.inventory.journal.JournalEntry;
+import com.bitvelocity.inventory.journal.JournalEntryType;
+import com.bitvelocity.inventory.journal.JournalException;
+import com.bitvelocity.inventory.journal.StockJournal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
+
+/**
+ * In-memory stock reservation engine.
+ *
+ * Per-SKU counters are updated with compare-and-set only ({@link SkuStock}), so concurrent
+ * reservations of one SKU never wait on a lock and the database is not on the hot path. Every
+ * change is appended to the {@link StockJournal} and acknowledged only once it is durable:
+ * reservations take stock first and give it back if the journal write fails, releases and
+ * commits are journaled first and applied after. On startup the journal is replayed and
+ * compacted.
+ *
+ * Held reservations expire after their TTL; finished ones are kept for retention-ms so a retried
+ * reserve with the same id returns the original outcome instead of reserving twice.
+ */
+@Service
+@Slf4j
+public class ReservationEngine {
+
+    private final StockJournal journal;
+    private final ReservationProperties properties;
+    private final Clock clock;
+    private final ConcurrentHashMap<String, SkuStock> stocks = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Reservation> reservations = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Deadline> deadlines = new ConcurrentSkipListSet<>();
+    private volatile StockListener stockListener = StockListener.NONE;
+
+    public ReservationEngine(StockJournal journal, ReservationProperties properties, Clock clock) {
+        this.journal = journal;
+        this.properties = properties;
+        this.clock = clock;
+        recover();
+    }
+
+    /**
+     * Reserves every line or none. Repeating a reservation id returns the existing reservation,
+     * whatever its status, as long as the lines match.
+     *
+     * @param ttl how long the stock is held; null for the default
+     * @throws InsufficientStockException if any line cannot be covered
+     * @throws IllegalArgumentException   if the id was used with different lines
+     */
+    public Reservation reserve(String reservationId, List<ReservationLine> lines, Duration ttl) {
+        List<ReservationLine> merged = merge(lines);
+        long ttlMs = ttl == null ? properties.getDefaultTtlMs() : ttl.toMillis();
+        if (ttlMs <= 0 || ttlMs > properties.getMaxTtlMs()) {
+            throw new IllegalArgumentException("TTL must be between 1 and " + properties.getMaxTtlMs() + " ms");
+        }
+
+        Reservation candidate = new Reservation(reservationId, merged, clock.instant().plusMillis(ttlMs),
+                ReservationStatus.PENDING);
+        Reservation existing;
+        while ((existing = reservations.putIfAbsent(reservationId, candidate)) != null) {
+            try {
+                existing.created().join();
+            } catch (CompletionException e) {
+                // The other attempt failed and removed itself; try to take its place
+                continue;
+            }
+            if (!existing.lines().equals(merged)) {
+                throw new IllegalArgumentException("Reservation " + reservationId + " exists with different lines");
+            }
+            return existing;
+        }
+
+        int reserved = 0;
+        try {
+            for (ReservationLine line : merged) {
+                SkuStock stock = stocks.get(line.sku());
+                if (stock == null || !stock.tryReserve(line.quantity())) {
+                    throw new InsufficientStockException(line.sku(), line.quantity());
+                }
+                reserved++;
+            }
+            journal.append(JournalEntry.reservation(JournalEntryType.RESERVE, reservationId, merged,
+                    candidate.expiresAt().toEpochMilli(), clock.millis())).join();
+        } catch (RuntimeException e) {
+            for (ReservationLine line : merged.subList(0, reserved)) {
+                stocks.get(line.sku()).release(line.quantity());
+                stockListener.availableChanged(line.sku());
+            }
+            reservations.remove(reservationId, candidate);
+            RuntimeException failure = unwrap(e);
+            candidate.created().completeExceptionally(failure);
+            throw failure;
+        }
+
+        for (ReservationLine line : merged) {
+            stockListener.availableChanged(line.sku());
+        }
+        candidate.status(ReservationStatus.HELD);
+        deadlines.add(new Deadline(candidate.expiresAt().toEpochMilli(), reservationId));
+        candidate.created().complete(candidate);
+        return candidate;
+    }
+
+    /**
+     * Returns the reservation's stock. Releasing twice, or releasing an expired or unknown
+     * reservation, is a no-op.
+     *
+     * @throws ReservationStateException if it was committed
+     */
+    public Optional<Reservation> release(String reservationId) {
+        Optional<Reservation> reservation = findCreated(reservationId);
+        reservation.ifPresent(r -> finish(r, ReservationStatus.RELEASED, JournalEntryType.RELEASE, "release"));
+        return reservation;
+    }
+
+    /**
+     * Turns the held stock into a sale. Committing twice is a no-op.
+     *
+     * @throws ReservationNotFoundException if there is no such reservation
+     * @throws ReservationStateException    if it was released or has expired
+     */
+    public Reservation commit(String reservationId) {
+        Reservation reservation = findCreated(reservationId)
+                .orElseThrow(() -> new ReservationNotFoundException(reservationId));
+        finish(reservation, ReservationStatus.COMMITTED, JournalEntryType.COMMIT, "commit");
+        return reservation;
+    }
+
+    /**
+     * Like {@link #commit}, for callers that record the sale elsewhere.
+     *
+     * @return true if this call committed the reservation, false if it already was
+     */
+    public boolean commitOnce(String reservationId) {
+        Reservation reservation = findCreated(reservationId)
+                .orElseThrow(() -> new ReservationNotFoundException(reservationId));
+        return finish(reservation, ReservationStatus.COMMITTED, JournalEntryType.COMMIT, "commit");
+    }
+
+    public Optional<Reservation> find(String reservationId) {
+        return Optional.ofNullable(reservations.get(reservationId))
+                .filter(reservation -> reservation.status() != ReservationStatus.PENDING);
+    }
+
+    /**
+     * Adds delta to the SKU's available stock (negative for shrinkage, never below zero).
+     */
+    public StockLevel adjust(String sku, int delta) {
+        SkuStock stock = stocks.computeIfAbsent(sku, ignored -> new SkuStock(0, 0));
+        if (delta >= 0) {
+            journalNow(JournalEntry.adjust(sku, delta, clock.millis()));
+            stock.adjust(delta);
+        } else {
+            int applied = stock.adjust(delta);
+            try {
+                journalNow(JournalEntry.adjust(sku, applied, clock.millis()));
+            } catch (JournalException e) {
+                stock.adjust(-applied);
+                throw e;
+            }
+        }
+        stockListener.availableChanged(sku);
+        return stock.level(sku);
+    }
+
+    /**
+     * Adjusts many SKUs at once with the same rules as {@link #adjust}. All journal entries are
+     * appended before waiting, so the batch shares group commits instead of paying one per SKU.
+     *
+     * @return the delta actually applied per SKU (negative deltas stop at zero); SKUs whose entry
+     * could not be journaled are left unchanged and missing from the result
+     */
+    public Map<String, Integer> adjustAll(Map<String, Integer> deltas) {
+        long now = clock.millis();
+        Map<String, Integer> changes = new LinkedHashMap<>();
+        Map<String, CompletableFuture<Void>> writes = new LinkedHashMap<>();
+        deltas.forEach((sku, delta) -> {
+            SkuStock stock = stocks.computeIfAbsent(sku, ignored -> new SkuStock(0, 0));
+            // Increases become visible once durable, decreases immediately (as in adjust)
+            int change = delta >= 0 ? delta : stock.adjust(delta);
+            changes.put(sku, change);
+            writes.put(sku, journal.append(JournalEntry.adjust(sku, change, now)));
+        });
+
+        Map<String, Integer> applied = new LinkedHashMap<>();
+        writes.forEach((sku, write) -> {
+            int change = changes.get(sku);
+            try {
+                write.join();
+                if (change > 0) {
+                    stocks.get(sku).adjust(change);
+                }
+                applied.put(sku, change);
+            } catch (CompletionException e) {
+                if (change < 0) {
+                    stocks.get(sku).adjust(-change);
+                }
+                log.warn("Adjustment of {} by {} was not journaled: {}", sku, change, unwrap(e).getMessage());
+            }
+            stockListener.availableChanged(sku);
+        });
+        return applied;
+    }
+
+    public StockLevel getStock(String sku) {
+        SkuStock stock = stocks.get(sku);
+        return stock == null ? new StockLevel(sku, 0, 0) : stock.level(sku);
+    }
+
+    public List<StockLevel> getStock(Collection<String> skus) {
+        return skus.stream().map(this::getStock).toList();
+    }
+
+    /**
+     * Visits every SKU the engine knows, with its current level.
+     */
+    public void forEachStock(Consumer<StockLevel> consumer) {
+        stocks.forEach((sku, stock) -> consumer.accept(stock.level(sku)));
+    }
+
+    /**
+     * Replaces the listener told about changes of available quantity (one at a time).
+     */
+    public void setStockListener(StockListener stockListener) {
+        this.stockListener = stockListener == null ? StockListener.NONE : stockListener;
+    }
+
+    public int reservationCount() {
+        return reservations.size();
+    }
+
+    /**
+     * Expires held reservations whose TTL ran out and forgets finished ones past retention.
+     *
+     * @return number of reservations expired
+     */
+    @Scheduled(fixedDelayString = "${inventory-service.reservation.sweep-interval-ms:1000}")
+    public int sweepExpired() {
+        long now = clock.millis();
+        int expired = 0;
+        Deadline deadline;
+        while ((deadline = deadlines.pollFirst()) != null) {
+            if (deadline.atMillis() > now) {
+                deadlines.add(deadline);
+                break;
+            }
+            Reservation reservation = reservations.get(deadline.reservationId());
+            if (reservation == null) {
+                continue;
+            }
+            long purgeAt = reservation.expiresAt().toEpochMilli() + properties.getRetentionMs();
+            if (now >= purgeAt && reservation.status().isTerminal()) {
+                reservations.remove(deadline.reservationId(), reservation);
+                continue;
+            }
+            try {
+                if (finish(reservation, ReservationStatus.EXPIRED, JournalEntryType.EXPIRE, null)) {
+                    expired++;
+                }
+            } catch (JournalException e) {
+                log.warn("Could not expire reservation {}, will retry: {}", reservation.id(), e.getMessage());
+                deadlines.add(new Deadline(now + properties.getSweepIntervalMs(), reservation.id()));
+                continue;
+            }
+            deadlines.add(new Deadline(purgeAt, reservation.id()));
+        }
+        if (expired > 0) {
+            log.debug("Expired {} reservations", expired);
+        }
+        return expired;
+    }
+
+    /**
+     * Moves a HELD reservation to target; a reservation already in target is left alone.
+     *
+     * @param action for the error if the reservation finished otherwise; null to skip quietly
+     * @return true if this call changed the status
+     */
+    private boolean finish(Reservation reservation, ReservationStatus target, JournalEntryType type, String action) {
+        reservation.lock.lock();
+        try {
+            ReservationStatus status = reservation.status();
+            if (status == target || (status.isTerminal() && action == null)) {
+                return false;
+            }
+            if (status.isTerminal()) {
+                if (target == ReservationStatus.RELEASED && status == ReservationStatus.EXPIRED) {
+                    return false;
+                }
+                throw new ReservationStateException(reservation.id(), status, action);
+            }
+            journalNow(JournalEntry.reservation(type, reservation.id(), reservation.lines(), 0, clock.millis()));
+            for (ReservationLine line : reservation.lines()) {
+                SkuStock stock = stocks.get(line.sku());
+                if (type == JournalEntryType.COMMIT) {
+                    stock.commit(line.quantity());
+                } else {
+                    stock.release(line.quantity());
+                    stockListener.availableChanged(line.sku());
+                }
+            }
+            reservation.status(target);
+            return true;
+        } finally {
+            reservation.lock.unlock();
+        }
+    }
+
+    private Optional<Reservation> findCreated(String reservationId) {
+        Reservation reservation = reservations.get(reservationId);
+        if (reservation == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(reservation.created().join());
+        } catch (CompletionException e) {
+            return Optional.empty();
+        }
+    }
+
+    private void journalNow(JournalEntry entry) {
+        try {
+            journal.append(entry).join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private List<ReservationLine> merge(List<ReservationLine> lines) {
+        if (lines == null || lines.isEmpty()) {
+            throw new IllegalArgumentException("Reservation must contain at least one line");
+        }
+        if (lines.size() > properties.getMaxLinesPerReservation()) {
+            throw new IllegalArgumentException(
+                    "Reservation must not exceed " + properties.getMaxLinesPerReservation() + " lines");
+        }
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        for (ReservationLine line : lines) {
+            if (line.sku() == null || line.sku().isBlank() || line.quantity() <= 0) {
+                throw new IllegalArgumentException("Every line needs a SKU and a positive quantity");
+            }
+            quantities.merge(line.sku(), line.quantity(), Math::addExact);
+        }
+        return quantities.entrySet().stream()
+                .map(entry -> new ReservationLine(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    private static RuntimeException unwrap(RuntimeException e) {
+        if (e instanceof CompletionException && e.getCause() instanceof RuntimeException cause) {
+            return cause;
+        }
+        return e;
+    }
+
+    /**
+     * Rebuilds counters and reservations from the journal, then rewrites it as one ADJUST per SKU
+     * plus the reservations still worth remembering.
+     */
+    private void recover() {
+        Map<String, long[]> levels = new HashMap<>();
+        Map<String, Reservation> recovered = new LinkedHashMap<>();
+        int entries = journal.replay(entry -> {
+            switch (entry.type()) {
+                case ADJUST -> levels.computeIfAbsent(entry.lines().get(0).sku(), sku -> new long[2])[0]
+                        += entry.lines().get(0).quantity();
+                case RESERVE -> {
+                    forEachLine(levels, entry, +1);
+                    recovered.put(entry.reservationId(), new Reservation(entry.reservationId(), entry.lines(),
+                            Instant.ofEpochMilli(entry.expiresAtMillis()), ReservationStatus.HELD));
+                }
+                case RELEASE, EXPIRE, COMMIT -> {
+                    Reservation reservation = recovered.get(entry.reservationId());
+                    if (reservation == null) {
+                        return;
+                    }
+                    for (ReservationLine line : reservation.lines()) {
+                        long[] level = levels.computeIfAbsent(line.sku(), sku -> new long[2]);
+                        level[1] -= line.quantity();
+                        if (entry.type() != JournalEntryType.COMMIT) {
+                            level[0] += line.quantity();
+                        }
+                    }
+                    reservation.status(switch (entry.type()) {
+                        case RELEASE -> ReservationStatus.RELEASED;
+                        case EXPIRE -> ReservationStatus.EXPIRED;
+                        default -> ReservationStatus.COMMITTED;
+                    });
+                }
+            }
+        });
+
+        long now = clock.millis();
+        levels.forEach((sku, level) -> stocks.put(sku, new SkuStock(SkuStock.saturate(level[0]),
+                SkuStock.saturate(level[1]))));
+        recovered.values().removeIf(reservation -> reservation.status().isTerminal()
+                && reservation.expiresAt().toEpochMilli() + properties.getRetentionMs() <= now);
+        reservations.putAll(recovered);
+        recovered.values().forEach(reservation -> deadlines.add(new Deadline(
+                reservation.status().isTerminal()
+                        ? reservation.expiresAt().toEpochMilli() + properties.getRetentionMs()
+                        : reservation.expiresAt().toEpochMilli(),
+                reservation.id())));
+
+        journal.rewrite(compacted(now));
+        log.info("Recovered {} SKUs and {} reservations from {} journal entries", stocks.size(),
+                reservations.size(), entries);
+    }
+
+    private static void forEachLine(Map<String, long[]> levels, JournalEntry entry, int sign) {
+        for (ReservationLine line : entry.lines()) {
+            long[] level = levels.computeIfAbsent(line.sku(), sku -> new long[2]);
+            level[0] -= sign * (long) line.quantity();
+            level[1] += sign * (long) line.quantity();
+        }
+    }
+
+    private List<JournalEntry> compacted(long now) {
+        Map<String, Long> consumedByReservations = new HashMap<>();
+        List<JournalEntry> reservationEntries = new ArrayList<>();
+        for (Reservation reservation : reservations.values()) {
+            reservationEntries.add(JournalEntry.reservation(JournalEntryType.RESERVE, reservation.id(),
+                    reservation.lines(), reservation.expiresAt().toEpochMilli(), now));
+            JournalEntryType finished = switch (reservation.status()) {
+                case COMMITTED -> JournalEntryType.COMMIT;
+                case RELEASED -> JournalEntryType.RELEASE;
+                case EXPIRED -> JournalEntryType.EXPIRE;
+                default -> null;
+            };
+            if (finished != null) {
+                reservationEntries.add(JournalEntry.reservation(finished, reservation.id(), reservation.lines(), 0,
+                        now));
+            }
+            if (finished == null || finished == JournalEntryType.COMMIT) {
+                reservation.lines().forEach(line -> consumedByReservations.merge(line.sku(),
+                        (long) line.quantity(), Long::sum));
+            }
+        }
+
+        List<JournalEntry> entries = new ArrayList<>(stocks.size() + reservationEntries.size());
+        stocks.forEach((sku, stock) -> entries.add(JournalEntry.adjust(sku,
+                Math.toIntExact(stock.level(sku).available() + consumedByReservations.getOrDefault(sku, 0L)), now)));
+        entries.addAll(reservationEntries);
+        return entries;
+    }
+
+    private record Deadline(long atMillis, String reservationId) implements Comparable<Deadline> {
+
+        @Override
+        public int compareTo(Deadline other) {
+            int byTime = Long.compare(atMillis, other.atMillis);
+            return byTime != 0 ? byTime : reservationId.compareTo(other.reservationId);
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.bitvelocity.inventory.reservation;
+
+public record ReservationLine(String sku, int quantity) {
+}
@@ -0,0 +1,28 @@
+package com.bitvelocity.inventory.reservation;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "inventory-service.reservation")
+public class ReservationProperties {
+
+    /**
+     * How long reserved stock is held when the request does not say
+     */
+    private long defaultTtlMs = 15 * 60 * 1000L;
+
+    private long maxTtlMs = 60 * 60 * 1000L;
+
+    /**
+     * Finished reservations are remembered this long after expiry so retries stay idempotent
+     */
+    private long retentionMs = 24 * 60 * 60 * 1000L;
+
+    /**
+     * Delay between expiry sweeps
+     */
+    private long sweepIntervalMs = 1000;
+
+    private int maxLinesPerReservation = 200;
+}
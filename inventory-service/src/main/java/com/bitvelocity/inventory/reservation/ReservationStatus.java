@@ -0,0 +1,13 @@
+package com.bitvelocity.inventory.reservation;
+
+public enum ReservationStatus {
+    PENDING,
+    HELD,
+    COMMITTED,
+    RELEASED,
+    EXPIRED;
+
+    public boolean isTerminal() {
+        return this == COMMITTED || this == RELEASED || this == EXPIRED;
+    }
+}
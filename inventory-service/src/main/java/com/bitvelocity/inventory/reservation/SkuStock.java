@@ -0,0 +1,93 @@
+package com.bitvelocity.inventory.reservation;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Available and reserved quantity of one SKU packed into a single long (available in the high
+ * 32 bits, reserved in the low 32) so both change in one compare-and-set. Thousands of
+ * concurrent reserves on a flash-sale SKU retry a CAS instead of queueing on a lock, and a
+ * reservation can never observe or produce a half-applied state.
+ */
+final class SkuStock {
+
+    private final AtomicLong state;
+
+    SkuStock(int available, int reserved) {
+        this.state = new AtomicLong(pack(available, reserved));
+    }
+
+    boolean tryReserve(int quantity) {
+        while (true) {
+            long current = state.get();
+            int available = available(current);
+            if (available < quantity) {
+                return false;
+            }
+            if (state.compareAndSet(current, pack(available - quantity, reserved(current) + quantity))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Moves quantity from reserved back to available.
+     */
+    void release(int quantity) {
+        while (true) {
+            long current = state.get();
+            long next = pack(saturate((long) available(current) + quantity), Math.max(0, reserved(current) - quantity));
+            if (state.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Drops quantity from reserved: the reserved units have been sold.
+     */
+    void commit(int quantity) {
+        while (true) {
+            long current = state.get();
+            if (state.compareAndSet(current, pack(available(current), Math.max(0, reserved(current) - quantity)))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Adds delta to available, clamped to [0, Integer.MAX_VALUE].
+     *
+     * @return the delta actually applied
+     */
+    int adjust(int delta) {
+        while (true) {
+            long current = state.get();
+            int available = available(current);
+            int next = saturate((long) available + delta);
+            if (state.compareAndSet(current, pack(next, reserved(current)))) {
+                return next - available;
+            }
+        }
+    }
+
+    StockLevel level(String sku) {
+        long current = state.get();
+        return new StockLevel(sku, available(current), reserved(current));
+    }
+
+    private static long pack(int available, int reserved) {
+        return ((long) available << 32) | (reserved & 0xFFFFFFFFL);
+    }
+
+    private static int available(long state) {
+        return (int) (state >>> 32);
+    }
+
+    private static int reserved(long state) {
+        return (int) state;
+    }
+
+    static int saturate(long value) {
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, value));
+    }
+}
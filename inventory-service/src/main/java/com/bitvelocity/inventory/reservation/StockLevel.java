@@ -0,0 +1,8 @@
+package com.bitvelocity.inventory.reservation;
+
+/**
+ * Point-in-time stock of one SKU: available can be reserved, reserved is held by reservations
+ * that have been neither committed nor released.
+ */
+public record StockLevel(String sku, int available, int reserved) {
+}
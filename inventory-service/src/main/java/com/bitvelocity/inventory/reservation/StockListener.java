@@ -0,0 +1,16 @@
+package com.bitvelocity.inventory.reservation;
+
+/**
+ * Told when a SKU's available quantity may have changed.
+ */
+@FunctionalInterface
+public interface StockListener {
+
+    StockListener NONE = sku -> { };
+
+    /**
+     * Called on the thread that made the change, right after it. Notifications for one SKU may
+     * race and arrive out of order, so listeners read the current level rather than trust the order.
+     */
+    void availableChanged(String sku);
+}
@@ -0,0 +1,178 @@
+package com.bitvelocity.inventory.snapshot;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Append-only map from SKU to a dense index, held in primitive arrays.
+ *
+ * SKU bytes (UTF-8) are stored back to back in one byte arena; an open-addressing table of ints
+ * points at them. There is no object per entry, so a SKU costs its bytes plus about 20 bytes of
+ * arrays, and a lookup is one hash and usually one byte comparison. Not thread-safe:
+ * {@link StockSnapshot} serialises writers and validates readers.
+ */
+public final class SkuDictionary {
+
+    private byte[] arena = new byte[1 << 14];
+    private int arenaSize;
+    // offsets[i] is where SKU i starts; offsets[size] is where the next one will
+    private int[] offsets = new int[1025];
+    private int[] hashes = new int[1024];
+    private int[] table = new int[2048];
+    private int size;
+
+    /**
+     * @return the SKU's index, or -1 if it was never added
+     */
+    public int indexOf(String sku) {
+        // SKUs are nearly always ASCII, whose chars are their UTF-8 bytes: hash and compare the
+        // chars directly instead of encoding the string first
+        int length = sku.length();
+        int h = 1;
+        for (int i = 0; i < length; i++) {
+            char c = sku.charAt(i);
+            if (c >= 0x80) {
+                byte[] bytes = sku.getBytes(StandardCharsets.UTF_8);
+                return find(bytes, 0, bytes.length, hash(bytes, 0, bytes.length));
+            }
+            h = 31 * h + c;
+        }
+        int hash = spread(h);
+        int[] slots = table;
+        int mask = slots.length - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            int entry = slots[slot];
+            if (entry == 0) {
+                return -1;
+            }
+            int index = entry - 1;
+            if (hashes[index] == hash && equalsAscii(index, sku)) {
+                return index;
+            }
+        }
+    }
+
+    /**
+     * @return the SKU's index, adding it if needed
+     */
+    public int add(String sku) {
+        byte[] bytes = sku.getBytes(StandardCharsets.UTF_8);
+        return add(bytes, 0, bytes.length);
+    }
+
+    public int add(byte[] bytes, int offset, int length) {
+        int hash = hash(bytes, offset, length);
+        int existing = find(bytes, offset, length, hash);
+        if (existing >= 0) {
+            return existing;
+        }
+        if ((size + 1) * 2 > table.length) {
+            rehash(table.length * 2);
+        }
+        if (size + 1 >= hashes.length) {
+            hashes = Arrays.copyOf(hashes, hashes.length * 2);
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        if (arenaSize + length > arena.length) {
+            arena = Arrays.copyOf(arena, Math.max(arena.length * 2, arenaSize + length));
+        }
+        int index = size;
+        System.arraycopy(bytes, offset, arena, arenaSize, length);
+        arenaSize += length;
+        offsets[index + 1] = arenaSize;
+        hashes[index] = hash;
+        size++;
+        // Publish the slot last, so a racing optimistic reader sees either nothing or a whole entry
+        table[slot(hash, table.length, table)] = index + 1;
+        return index;
+    }
+
+    public String sku(int index) {
+        return new String(arena, offsets[index], offsets[index + 1] - offsets[index], StandardCharsets.UTF_8);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Bytes held by the arrays, including spare capacity.
+     */
+    public long footprintBytes() {
+        return arena.length + 4L * (offsets.length + hashes.length + table.length);
+    }
+
+    byte[] arena() {
+        return arena;
+    }
+
+    int offset(int index) {
+        return offsets[index];
+    }
+
+    int length(int index) {
+        return offsets[index + 1] - offsets[index];
+    }
+
+    private int find(byte[] bytes, int offset, int length, int hash) {
+        int[] slots = table;
+        int mask = slots.length - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            int entry = slots[slot];
+            if (entry == 0) {
+                return -1;
+            }
+            int index = entry - 1;
+            if (hashes[index] == hash && Arrays.equals(arena, offsets[index], offsets[index + 1],
+                    bytes, offset, offset + length)) {
+                return index;
+            }
+        }
+    }
+
+    private boolean equalsAscii(int index, String sku) {
+        int start = offsets[index];
+        if (offsets[index + 1] - start != sku.length()) {
+            return false;
+        }
+        for (int i = 0; i < sku.length(); i++) {
+            if (arena[start + i] != sku.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void rehash(int capacity) {
+        int[] rehashed = new int[capacity];
+        for (int index = 0; index < size; index++) {
+            rehashed[slot(hashes[index], capacity, rehashed)] = index + 1;
+        }
+        table = rehashed;
+    }
+
+    private static int slot(int hash, int capacity, int[] slots) {
+        int mask = capacity - 1;
+        int slot = hash & mask;
+        while (slots[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int hash(byte[] bytes, int offset, int length) {
+        int h = 1;
+        for (int i = offset; i < offset + length; i++) {
+            h = 31 * h + bytes[i];
+        }
+        return spread(h);
+    }
+
+    private static int spread(int h) {
+        // Mix the bits so that similar SKUs do not cluster in the table
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        return h;
+    }
+}
@@ -0,0 +1,7 @@
+package com.bitvelocity.inventory.snapshot;
+
+/**
+ * @param known false if the SKU has no adjustments (onHand is then 0)
+ */
+public record SnapshotLevel(String sku, int onHand, boolean known) {
+}
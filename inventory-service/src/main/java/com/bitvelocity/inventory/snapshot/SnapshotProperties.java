@@ -0,0 +1,36 @@
+package com.bitvelocity.inventory.snapshot;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "inventory-service.snapshot")
+public class SnapshotProperties {
+
+    /**
+     * Checkpoint file; the snapshot is rebuilt from it plus the newer inventory_adjustment rows
+     */
+    private String checkpointPath = "data/inventory/snapshot.checkpoint";
+
+    /**
+     * How often new inventory_adjustment rows are applied
+     */
+    private long refreshIntervalMs = 200;
+
+    /**
+     * Rows read per query while catching up
+     */
+    private int refreshBatchSize = 10_000;
+
+    private long checkpointIntervalMs = 300_000;
+
+    /**
+     * A missing adjustment id is waited for this long (its transaction may still commit), then skipped
+     */
+    private long gapTimeoutMs = 10_000;
+
+    /**
+     * SKUs per bulk query
+     */
+    private int maxQuerySkus = 10_000;
+}
@@ -0,0 +1,318 @@
+package com.bitvelocity.inventory.snapshot;
+
+import com.bitvelocity.inventory.repository.InventoryAdjustmentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.locks.StampedLock;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Stock on hand per SKU, read from the inventory_adjustment ledger and served from memory.
+ *
+ * SKUs map to dense indexes through a {@link SkuDictionary} and quantities live in a long array,
+ * so millions of SKUs take a few tens of megabytes and no per-SKU objects. Each entry is the raw
+ * signed sum of the SKU's rows, so it does not depend on the order rows are applied in (a
+ * shrinkage row seen before the receipt it follows); it is clamped at zero only when read.
+ * Readers use an optimistic {@link StampedLock} read and only wait if a refresh wrote while they
+ * were reading.
+ *
+ * A scheduled refresh applies ledger rows above the watermark (every id at or below it has been
+ * applied). Ids can commit out of order, so rows past a missing id are applied and remembered,
+ * and the watermark waits for the missing id for gap-timeout-ms before skipping it. A periodic
+ * checkpoint writes the whole snapshot to one file (CRC-checked, replaced atomically); on startup
+ * the snapshot is rebuilt from the checkpoint plus the rows written after it, so the ledger is
+ * never replayed from the start once a checkpoint exists.
+ */
+@Component
+@Slf4j
+public class StockSnapshot implements DisposableBean {
+
+    private static final int CHECKPOINT_MAGIC = 0x534E4150;
+    // 2: quantities are signed longs
+    private static final int CHECKPOINT_VERSION = 2;
+
+    private final InventoryAdjustmentRepository repository;
+    private final SnapshotProperties properties;
+    private final Clock clock;
+    private final Path checkpointPath;
+
+    private final StampedLock lock = new StampedLock();
+    private final SkuDictionary skus = new SkuDictionary();
+    private long[] onHand = new long[1024];
+    private volatile long watermark;
+
+    // Refresh state, guarded by this
+    private final TreeSet<Long> appliedAboveWatermark = new TreeSet<>();
+    private long gapSinceMillis;
+
+    public StockSnapshot(InventoryAdjustmentRepository repository, SnapshotProperties properties, Clock clock) {
+        this.repository = repository;
+        this.properties = properties;
+        this.clock = clock;
+        this.checkpointPath = Path.of(properties.getCheckpointPath()).toAbsolutePath();
+        long start = System.nanoTime();
+        boolean restored = restore();
+        refresh();
+        log.info("Stock snapshot of {} SKUs ready ({} checkpoint, watermark {}, {} ms)", skus.size(),
+                restored ? "from" : "without", watermark, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Stock on hand of each SKU, in request order.
+     *
+     * @throws IllegalArgumentException if more than max-query-skus are asked for
+     */
+    public List<SnapshotLevel> query(List<String> requested) {
+        if (requested.size() > properties.getMaxQuerySkus()) {
+            throw new IllegalArgumentException("At most " + properties.getMaxQuerySkus() + " SKUs per query");
+        }
+        long[] values = new long[requested.size()];
+        boolean[] known = new boolean[requested.size()];
+        long stamp = lock.tryOptimisticRead();
+        boolean consistent;
+        try {
+            read(requested, values, known);
+            consistent = lock.validate(stamp);
+        } catch (RuntimeException e) {
+            // A concurrent refresh resized the arrays under us
+            consistent = false;
+        }
+        if (!consistent) {
+            stamp = lock.readLock();
+            try {
+                read(requested, values, known);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        List<SnapshotLevel> levels = new ArrayList<>(requested.size());
+        for (int i = 0; i < values.length; i++) {
+            levels.add(new SnapshotLevel(requested.get(i), clamp(values[i]), known[i]));
+        }
+        return levels;
+    }
+
+    /**
+     * Every ledger row with an id at or below this is reflected in the snapshot.
+     */
+    public long watermark() {
+        return watermark;
+    }
+
+    public int size() {
+        return skus.size();
+    }
+
+    /**
+     * Bytes held by the snapshot arrays, including spare capacity.
+     */
+    public long footprintBytes() {
+        return skus.footprintBytes() + 8L * onHand.length;
+    }
+
+    /**
+     * Applies ledger rows written since the last refresh. Reading starts at the watermark, so a
+     * row filling a gap is found, and pages onward from the last id read: while a gap is open the
+     * first pages may hold only rows applied before.
+     *
+     * @return rows applied
+     */
+    @Scheduled(fixedDelayString = "${inventory-service.snapshot.refresh-interval-ms:200}")
+    public synchronized int refresh() {
+        int limit = Math.max(1, properties.getRefreshBatchSize());
+        int total = 0;
+        long after = watermark;
+        while (true) {
+            List<String> pageSkus = new ArrayList<>();
+            long[] pageIds = new long[limit];
+            int[] pageDeltas = new int[limit];
+            repository.forEachAfter(after, limit, (id, sku, delta) -> {
+                pageIds[pageSkus.size()] = id;
+                pageDeltas[pageSkus.size()] = delta;
+                pageSkus.add(sku);
+            });
+            total += apply(pageSkus, pageIds, pageDeltas);
+            if (pageSkus.size() < limit) {
+                break;
+            }
+            after = Math.max(watermark, pageIds[limit - 1]);
+        }
+        skipStaleGap();
+        return total;
+    }
+
+    /**
+     * Writes the snapshot to the checkpoint file, replacing the previous one.
+     */
+    @Scheduled(initialDelayString = "${inventory-service.snapshot.checkpoint-interval-ms:300000}",
+               fixedDelayString = "${inventory-service.snapshot.checkpoint-interval-ms:300000}")
+    public synchronized void checkpoint() {
+        Path temp = checkpointPath.resolveSibling(checkpointPath.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(checkpointPath.getParent());
+            CRC32 crc = new CRC32();
+            try (OutputStream file = Files.newOutputStream(temp)) {
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new CheckedOutputStream(file, crc)));
+                out.writeInt(CHECKPOINT_MAGIC);
+                out.writeInt(CHECKPOINT_VERSION);
+                out.writeLong(watermark);
+                out.writeInt(appliedAboveWatermark.size());
+                for (long id : appliedAboveWatermark) {
+                    out.writeLong(id);
+                }
+                out.writeInt(skus.size());
+                for (int index = 0; index < skus.size(); index++) {
+                    out.writeShort(skus.length(index));
+                    out.write(skus.arena(), skus.offset(index), skus.length(index));
+                    out.writeLong(onHand[index]);
+                }
+                out.flush();
+                new DataOutputStream(file).writeLong(crc.getValue());
+            }
+            Files.move(temp, checkpointPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Checkpointed {} SKUs at watermark {}", skus.size(), watermark);
+        } catch (IOException e) {
+            log.error("Writing snapshot checkpoint {} failed", checkpointPath, e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        checkpoint();
+    }
+
+    private void read(List<String> requested, long[] values, boolean[] known) {
+        long[] quantities = onHand;
+        for (int i = 0; i < values.length; i++) {
+            int index = skus.indexOf(requested.get(i));
+            known[i] = index >= 0;
+            values[i] = index < 0 ? 0 : quantities[index];
+        }
+    }
+
+    private int apply(List<String> pageSkus, long[] pageIds, int[] pageDeltas) {
+        int applied = 0;
+        long stamp = lock.writeLock();
+        try {
+            long mark = watermark;
+            for (int row = 0; row < pageSkus.size(); row++) {
+                long id = pageIds[row];
+                if (id <= mark || appliedAboveWatermark.contains(id)) {
+                    continue;
+                }
+                int index = skus.add(pageSkus.get(row));
+                if (index >= onHand.length) {
+                    onHand = Arrays.copyOf(onHand, Math.max(onHand.length * 2, index + 1));
+                }
+                onHand[index] += pageDeltas[row];
+                applied++;
+                if (id == mark + 1) {
+                    mark = id;
+                } else {
+                    appliedAboveWatermark.add(id);
+                }
+                while (!appliedAboveWatermark.isEmpty() && appliedAboveWatermark.first() == mark + 1) {
+                    mark = appliedAboveWatermark.pollFirst();
+                }
+            }
+            watermark = mark;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return applied;
+    }
+
+    private void skipStaleGap() {
+        if (appliedAboveWatermark.isEmpty()) {
+            gapSinceMillis = 0;
+            return;
+        }
+        long now = clock.millis();
+        if (gapSinceMillis == 0) {
+            gapSinceMillis = now;
+        } else if (now - gapSinceMillis >= properties.getGapTimeoutMs()) {
+            // The missing ids were rolled back or skipped by the sequence
+            long mark = appliedAboveWatermark.pollFirst();
+            log.warn("Skipping missing inventory_adjustment ids {}..{}", watermark + 1, mark - 1);
+            while (!appliedAboveWatermark.isEmpty() && appliedAboveWatermark.first() == mark + 1) {
+                mark = appliedAboveWatermark.pollFirst();
+            }
+            watermark = mark;
+            gapSinceMillis = appliedAboveWatermark.isEmpty() ? 0 : now;
+        }
+    }
+
+    private boolean restore() {
+        byte[] content;
+        try {
+            content = Files.readAllBytes(checkpointPath);
+        } catch (NoSuchFileException e) {
+            return false;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read snapshot checkpoint " + checkpointPath, e);
+        }
+        if (content.length < Long.BYTES) {
+            log.warn("Ignoring truncated snapshot checkpoint {}", checkpointPath);
+            return false;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(content, 0, content.length - Long.BYTES);
+        long expected = 0;
+        for (int i = content.length - Long.BYTES; i < content.length; i++) {
+            expected = (expected << 8) | (content[i] & 0xFF);
+        }
+        if (crc.getValue() != expected) {
+            log.warn("Ignoring corrupt snapshot checkpoint {}; rebuilding from the ledger", checkpointPath);
+            return false;
+        }
+
+        try (DataInputStream data = new DataInputStream(
+                new ByteArrayInputStream(content, 0, content.length - Long.BYTES))) {
+            if (data.readInt() != CHECKPOINT_MAGIC || data.readInt() != CHECKPOINT_VERSION) {
+                log.warn("Ignoring snapshot checkpoint {} of an unknown format", checkpointPath);
+                return false;
+            }
+            long mark = data.readLong();
+            int above = data.readInt();
+            for (int i = 0; i < above; i++) {
+                appliedAboveWatermark.add(data.readLong());
+            }
+            int count = data.readInt();
+            onHand = new long[Math.max(1024, count)];
+            byte[] sku = new byte[0xFFFF];
+            for (int i = 0; i < count; i++) {
+                int length = data.readUnsignedShort();
+                data.readFully(sku, 0, length);
+                onHand[skus.add(sku, 0, length)] = data.readLong();
+            }
+            watermark = mark;
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read snapshot checkpoint " + checkpointPath, e);
+        }
+    }
+
+    private static int clamp(long value) {
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, value));
+    }
+}
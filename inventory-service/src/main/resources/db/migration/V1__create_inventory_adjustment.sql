@@ -0,0 +1,12 @@
+-- Net stock deltas applied per SKU and ingestion batch; append-only
+CREATE TABLE IF NOT EXISTS inventory_adjustment (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    batch_id UUID NOT NULL,
+    sku VARCHAR(100) NOT NULL,
+    requested_delta BIGINT NOT NULL,
+    applied_delta INT NOT NULL,
+    message_count INT NOT NULL,
+    recorded_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_inventory_adjustment_sku ON inventory_adjustment (sku, id);
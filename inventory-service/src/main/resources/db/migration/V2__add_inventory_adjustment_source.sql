@@ -0,0 +1,6 @@
+-- Manual adjustments and sales are recorded next to the sensor deltas, so the ledger balance of a
+-- SKU is its stock on hand. (batch_id, sku) identifies a row; sales use a batch id derived from the
+-- reservation id, so a repeated commit records nothing new.
+ALTER TABLE inventory_adjustment ADD COLUMN source VARCHAR(20) NOT NULL DEFAULT 'SENSOR';
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_inventory_adjustment_batch_sku ON inventory_adjustment (batch_id, sku);
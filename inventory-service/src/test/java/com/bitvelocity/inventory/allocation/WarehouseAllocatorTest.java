@@ -0,0 +1,213 @@
+package com.bitvelocity.inventory.allocation;
+
+import com.bitvelocity.inventory.exception.InsufficientStockException;
+import com.bitvelocity.inventory.exception.WarehouseNotFoundException;
+import com.bitvelocity.inventory.journal.JournalProperties;
+import com.bitvelocity.inventory.journal.StockJournal;
+import com.bitvelocity.inventory.reservation.Reservation;
+import com.bitvelocity.inventory.reservation.ReservationEngine;
+import com.bitvelocity.inventory.reservation.ReservationLine;
+import com.bitvelocity.inventory.reservation.ReservationProperties;
+import com.bitvelocity.testsupport.MutableClock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("WarehouseAllocator Unit Tests")
+class WarehouseAllocatorTest {
+
+    private static final String EAST = "WH-EAST";
+    private static final String CENTRAL = "WH-CENTRAL";
+    private static final String WEST = "WH-WEST";
+
+    @TempDir
+    Path directory;
+
+    private StockJournal journal;
+    private ReservationEngine engine;
+    private WarehouseAllocator allocator;
+
+    @BeforeEach
+    void setUp() {
+        restart();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        journal.destroy();
+    }
+
+    @Test
+    @DisplayName("Should ship the whole order from the nearest warehouse that holds every line")
+    void shouldShipFromNearestWarehouse() {
+        // Given
+        stock(EAST, "SKU-1", 5);
+        stock(EAST, "SKU-2", 5);
+        stock(WEST, "SKU-1", 5);
+        stock(WEST, "SKU-2", 5);
+
+        // When
+        List<Shipment> east = allocator.allocate("US-NE", order(2, 1));
+        List<Shipment> west = allocator.allocate("US-W", order(2, 1));
+
+        // Then
+        assertThat(east).containsExactly(new Shipment(EAST, order(2, 1)));
+        assertThat(west).containsExactly(new Shipment(WEST, order(2, 1)));
+    }
+
+    @Test
+    @DisplayName("One shipment from a farther warehouse should beat two from nearer ones")
+    void shouldMinimizeShipments() {
+        // Given
+        stock(EAST, "SKU-1", 5);
+        stock(CENTRAL, "SKU-1", 5);
+        stock(CENTRAL, "SKU-2", 5);
+
+        // When
+        Reservation reservation = allocator.reserve("order-1", "US-NE", order(2, 1), null);
+
+        // Then
+        assertThat(WarehouseAllocator.shipments(reservation)).containsExactly(new Shipment(CENTRAL, order(2, 1)));
+        assertThat(engine.getStock(StockKeys.of(CENTRAL, "SKU-1")).reserved()).isEqualTo(2);
+        assertThat(engine.getStock(StockKeys.of(EAST, "SKU-1")).reserved()).isZero();
+    }
+
+    @Test
+    @DisplayName("A line no warehouse can cover alone should be split, warehouses already shipping first")
+    void shouldSplitLine() {
+        // Given
+        stock(EAST, "SKU-1", 3);
+        stock(WEST, "SKU-1", 4);
+        stock(WEST, "SKU-2", 1);
+
+        // When
+        List<Shipment> shipments = allocator.allocate("US-NE", order(5, 1));
+
+        // Then - WEST ships SKU-2 anyway, so it gives all it has of SKU-1 before EAST is added
+        assertThat(shipments).containsExactly(
+                new Shipment(EAST, List.of(new ReservationLine("SKU-1", 1))),
+                new Shipment(WEST, List.of(new ReservationLine("SKU-1", 4), new ReservationLine("SKU-2", 1))));
+    }
+
+    @Test
+    @DisplayName("Should reserve nothing when the network cannot cover a line")
+    void shouldRejectInsufficientStock() {
+        stock(EAST, "SKU-1", 3);
+        stock(WEST, "SKU-1", 4);
+        stock(WEST, "SKU-2", 1);
+
+        assertThatThrownBy(() -> allocator.reserve("order-1", "US-NE", order(8, 1), null))
+                .isInstanceOfSatisfying(InsufficientStockException.class,
+                        e -> assertThat(e.getSku()).isEqualTo("SKU-1"));
+        assertThat(engine.find("order-1")).isEmpty();
+        assertThat(engine.getStock(StockKeys.of(WEST, "SKU-2")).available()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Stock returned by a release should make the nearest warehouse eligible again")
+    void shouldFollowStockChanges() {
+        // Given
+        stock(EAST, "SKU-1", 1);
+        stock(WEST, "SKU-1", 5);
+        List<ReservationLine> one = List.of(new ReservationLine("SKU-1", 1));
+
+        // When / Then
+        assertThat(warehouseOf(allocator.reserve("order-1", "US-NE", one, null))).isEqualTo(EAST);
+        assertThat(warehouseOf(allocator.reserve("order-2", "US-NE", one, null))).isEqualTo(WEST);
+        engine.release("order-1");
+        assertThat(warehouseOf(allocator.reserve("order-3", "US-NE", one, null))).isEqualTo(EAST);
+    }
+
+    @Test
+    @DisplayName("Should pick up warehouse stock recovered from the journal")
+    void shouldRecoverAvailability() {
+        stock(EAST, "SKU-1", 5);
+
+        restart();
+
+        assertThat(allocator.allocate("US-W", List.of(new ReservationLine("SKU-1", 1))))
+                .extracting(Shipment::warehouseId)
+                .containsExactly(EAST);
+    }
+
+    @Test
+    @DisplayName("Repeating a reservation id should return the existing reservation")
+    void shouldBeIdempotent() {
+        stock(EAST, "SKU-1", 5);
+        stock(EAST, "SKU-2", 5);
+        Reservation first = allocator.reserve("order-1", "US-NE", order(2, 1), null);
+
+        Reservation again = allocator.reserve("order-1", "US-NE", order(2, 1), null);
+
+        assertThat(again).isSameAs(first);
+        assertThat(engine.getStock(StockKeys.of(EAST, "SKU-1")).reserved()).isEqualTo(2);
+        assertThatThrownBy(() -> allocator.reserve("order-1", "US-NE", order(3, 1), null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown regions and warehouses")
+    void shouldRejectUnknownLocations() {
+        assertThatThrownBy(() -> allocator.allocate("MARS", order(1, 1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("MARS");
+        assertThatThrownBy(() -> allocator.stockKey("WH-MOON", "SKU-1"))
+                .isInstanceOf(WarehouseNotFoundException.class);
+    }
+
+    private void stock(String warehouseId, String sku, int quantity) {
+        engine.adjust(allocator.stockKey(warehouseId, sku), quantity);
+    }
+
+    private static List<ReservationLine> order(int sku1, int sku2) {
+        return List.of(new ReservationLine("SKU-1", sku1), new ReservationLine("SKU-2", sku2));
+    }
+
+    private static String warehouseOf(Reservation reservation) {
+        return StockKeys.warehouse(reservation.lines().get(0).sku());
+    }
+
+    private static AllocationProperties network() {
+        AllocationProperties properties = new AllocationProperties();
+        properties.setWarehouses(List.of(
+                location(WEST, 39.53, -119.81),
+                location(CENTRAL, 41.88, -87.63),
+                location(EAST, 40.73, -74.17)));
+        properties.setRegions(List.of(
+                location("US-NE", 40.71, -74.01),
+                location("US-W", 37.77, -122.42)));
+        return properties;
+    }
+
+    private static AllocationProperties.Location location(String id, double latitude, double longitude) {
+        AllocationProperties.Location location = new AllocationProperties.Location();
+        location.setId(id);
+        location.setLatitude(latitude);
+        location.setLongitude(longitude);
+        return location;
+    }
+
+    private void restart() {
+        if (journal != null) {
+            try {
+                journal.destroy();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        JournalProperties journalProperties = new JournalProperties();
+        journalProperties.setPath(directory.resolve("stock.journal").toString());
+        journalProperties.setFsync(false);
+        journal = new StockJournal(journalProperties);
+        engine = new ReservationEngine(journal, new ReservationProperties(), new MutableClock());
+        AllocationProperties properties = network();
+        allocator = new WarehouseAllocator(engine, new WarehouseNetwork(properties), properties);
+    }
+}
@@ -0,0 +1,145 @@
+package com.bitvelocity.inventory.benchmark;
+
+import com.bitvelocity.inventory.allocation.AllocationProperties;
+import com.bitvelocity.inventory.allocation.StockKeys;
+import com.bitvelocity.inventory.allocation.WarehouseAllocator;
+import com.bitvelocity.inventory.allocation.WarehouseNetwork;
+import com.bitvelocity.inventory.exception.InsufficientStockException;
+import com.bitvelocity.inventory.journal.JournalProperties;
+import com.bitvelocity.inventory.journal.StockJournal;
+import com.bitvelocity.inventory.reservation.ReservationEngine;
+import com.bitvelocity.inventory.reservation.ReservationLine;
+import com.bitvelocity.inventory.reservation.ReservationProperties;
+import com.bitvelocity.testsupport.MutableClock;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Latency of planning an order across a network of WAREHOUSES warehouses, and of planning plus
+ * reserving and releasing it (the work ReserveStock adds per order).
+ *
+ * Each of SKUS SKUs is stocked in 1 to 6 random warehouses; ORDERS orders of 1 to 8 lines are
+ * drawn from random regions. Percentiles in microseconds are printed for both measurements.
+ *
+ * To run: mvn test -pl inventory-api,inventory-service -Dtest=AllocationBenchmarkTest -Dbenchmark=true -Dsurefire.failIfNoSpecifiedTests=false
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Warehouse allocation benchmark")
+class AllocationBenchmarkTest {
+
+    private static final int WAREHOUSES = 32;
+    private static final int REGIONS = 16;
+    private static final int SKUS = Integer.getInteger("benchmark.skus", 20_000);
+    private static final int ORDERS = Integer.getInteger("benchmark.orders", 100_000);
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("Allocation should take well under a millisecond per order")
+    void measureAllocation() throws Exception {
+        Random random = new Random(42);
+        AllocationProperties properties = new AllocationProperties();
+        for (int w = 0; w < WAREHOUSES; w++) {
+            properties.getWarehouses().add(location("WH-" + w, random));
+        }
+        for (int r = 0; r < REGIONS; r++) {
+            properties.getRegions().add(location("REGION-" + r, random));
+        }
+        JournalProperties journalProperties = new JournalProperties();
+        journalProperties.setPath(directory.resolve("stock.journal").toString());
+        journalProperties.setFsync(false);
+        StockJournal journal = new StockJournal(journalProperties);
+        ReservationEngine engine = new ReservationEngine(journal, new ReservationProperties(), new MutableClock());
+        WarehouseAllocator allocator = new WarehouseAllocator(engine, new WarehouseNetwork(properties), properties);
+
+        Map<String, Integer> stock = new HashMap<>();
+        for (int s = 0; s < SKUS; s++) {
+            int stockedIn = 1 + random.nextInt(6);
+            for (int i = 0; i < stockedIn; i++) {
+                stock.put(StockKeys.of("WH-" + random.nextInt(WAREHOUSES), sku(s)), 1 + random.nextInt(50));
+            }
+        }
+        engine.adjustAll(stock);
+
+        List<String> regions = new ArrayList<>();
+        List<List<ReservationLine>> orders = new ArrayList<>(ORDERS);
+        for (int o = 0; o < ORDERS; o++) {
+            regions.add("REGION-" + random.nextInt(REGIONS));
+            List<ReservationLine> lines = new ArrayList<>();
+            int count = 1 + random.nextInt(8);
+            for (int l = 0; l < count; l++) {
+                lines.add(new ReservationLine(sku(random.nextInt(SKUS)), 1 + random.nextInt(3)));
+            }
+            orders.add(lines);
+        }
+
+        long[] planNs = new long[ORDERS];
+        long[] reserveNs = new long[ORDERS];
+        int rejected = 0;
+        for (int round = 0; round < 2; round++) {
+            rejected = 0;
+            for (int o = 0; o < ORDERS; o++) {
+                long start = System.nanoTime();
+                try {
+                    allocator.allocate(regions.get(o), orders.get(o));
+                } catch (InsufficientStockException e) {
+                    rejected++;
+                }
+                planNs[o] = System.nanoTime() - start;
+            }
+            for (int o = 0; o < ORDERS; o++) {
+                String id = "order-" + round + "-" + o;
+                long start = System.nanoTime();
+                try {
+                    allocator.reserve(id, regions.get(o), orders.get(o), null);
+                    engine.release(id);
+                } catch (InsufficientStockException e) {
+                    // Counted by the planning pass
+                }
+                reserveNs[o] = System.nanoTime() - start;
+            }
+        }
+        journal.destroy();
+
+        System.out.printf("Allocation over %d warehouses, %d SKUs, %d orders (%d rejected)%n",
+                WAREHOUSES, SKUS, ORDERS, rejected);
+        print("plan", planNs);
+        print("plan + reserve + release", reserveNs);
+        Arrays.sort(planNs);
+        assertThat(planNs[ORDERS * 99 / 100] / 1000.0).isLessThan(1000.0);
+    }
+
+    private static void print(String label, long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        System.out.printf("  %-26s p50 %7.1f µs   p99 %7.1f µs   p99.9 %7.1f µs%n", label,
+                sorted[sorted.length / 2] / 1000.0,
+                sorted[sorted.length * 99 / 100] / 1000.0,
+                sorted[sorted.length * 999 / 1000] / 1000.0);
+    }
+
+    private static AllocationProperties.Location location(String id, Random random) {
+        AllocationProperties.Location location = new AllocationProperties.Location();
+        location.setId(id);
+        location.setLatitude(25 + random.nextDouble() * 24);
+        location.setLongitude(-124 + random.nextDouble() * 57);
+        return location;
+    }
+
+    private static String sku(int i) {
+        return "SKU-" + i;
+    }
+}
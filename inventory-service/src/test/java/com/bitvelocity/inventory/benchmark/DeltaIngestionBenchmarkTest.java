@@ -0,0 +1,135 @@
+package com.bitvelocity.inventory.benchmark;
+
+import com.bitvelocity.inventory.ingestion.AdjustmentSource;
+import com.bitvelocity.inventory.ingestion.DeltaBroker;
+import com.bitvelocity.inventory.ingestion.DeltaIngestionPipeline;
+import com.bitvelocity.inventory.ingestion.IngestionStats;
+import com.bitvelocity.inventory.ingestion.InventoryAdjustment;
+import com.bitvelocity.inventory.repository.InventoryAdjustmentRepository;
+import com.bitvelocity.inventory.reservation.ReservationEngine;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A reconnect burst of sensor deltas through the ingestion pipeline versus applying every message
+ * on its own (one journaled adjustment and one inventory_adjustment insert per message).
+ *
+ * DEVICES publishers each send MESSAGES / DEVICES deltas spread over SKU_COUNT SKUs. Messages per
+ * second and per CPU-second, plus the inventory_adjustment rows each approach wrote, are printed.
+ *
+ * To run: mvn test -pl inventory-api,inventory-service -Dtest=DeltaIngestionBenchmarkTest -Dbenchmark=true -Dsurefire.failIfNoSpecifiedTests=false
+ */
+@SpringBootTest(properties = "logging.level.com.bitvelocity.inventory=INFO")
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("IoT delta ingestion benchmark (micro-batched vs per message)")
+class DeltaIngestionBenchmarkTest {
+
+    private static final int MESSAGES = Integer.getInteger("benchmark.messages", 200_000);
+    private static final int DEVICES = Integer.getInteger("benchmark.devices", 16);
+    private static final int SKU_COUNT = Integer.getInteger("benchmark.skus", 50);
+
+    @Autowired
+    private DeltaBroker broker;
+
+    @Autowired
+    private DeltaIngestionPipeline pipeline;
+
+    @Autowired
+    private ReservationEngine engine;
+
+    @Autowired
+    private InventoryAdjustmentRepository adjustments;
+
+    @Test
+    @DisplayName("Micro-batching should apply a burst faster than applying each message")
+    void compareIngestion() throws Exception {
+        String prefix = "BENCH-" + UUID.randomUUID() + "-";
+        int perDevice = MESSAGES / DEVICES;
+
+        // Baseline: a tenth of the burst, since every message costs a journal write and an insert
+        int baselinePerDevice = perDevice / 10;
+        long start = System.nanoTime();
+        long cpuStart = cpuTime();
+        runDevices(baselinePerDevice, (device, i) -> {
+            String sku = prefix + "BASE-" + (i % SKU_COUNT);
+            int applied = engine.adjust(sku, 1).available() > 0 ? 1 : 0;
+            adjustments.insertAll(List.of(new InventoryAdjustment(UUID.randomUUID(), sku, 1, applied, 1,
+                    AdjustmentSource.SENSOR, Instant.now())));
+        });
+        double baseline = report("per-message", baselinePerDevice * DEVICES, start, cpuStart,
+                baselinePerDevice * DEVICES);
+
+        IngestionStats before = pipeline.stats();
+        start = System.nanoTime();
+        cpuStart = cpuTime();
+        runDevices(perDevice, (device, i) -> {
+            while (!broker.publish(DeltaBroker.topicFor(prefix + (i % SKU_COUNT)), device, i, 1)) {
+                Thread.onSpinWait();
+            }
+        });
+        while (pipeline.stats().processed() - before.processed() < (long) perDevice * DEVICES) {
+            Thread.sleep(1);
+        }
+        IngestionStats after = pipeline.stats();
+        double batched = report("micro-batch", perDevice * DEVICES, start, cpuStart, after.rows() - before.rows());
+        System.out.printf("micro-batch  batches=%d refused=%d%n", after.batches() - before.batches(),
+                after.refused() - before.refused());
+
+        long stocked = 0;
+        for (int i = 0; i < SKU_COUNT; i++) {
+            stocked += engine.getStock(prefix + i).available();
+        }
+        assertThat(stocked).isEqualTo((long) perDevice * DEVICES);
+        assertThat(batched).isGreaterThan(baseline);
+    }
+
+    private void runDevices(int perDevice, DeviceCall call) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(DEVICES);
+        for (int d = 0; d < DEVICES; d++) {
+            String device = "bench-sensor-" + d;
+            Thread.ofVirtual().start(() -> {
+                try {
+                    for (int i = 0; i < perDevice; i++) {
+                        call.run(device, i);
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        assertThat(done.await(10, TimeUnit.MINUTES)).isTrue();
+    }
+
+    private static double report(String name, long messages, long startNanos, long cpuStartNanos, long writes) {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        double cpuSeconds = Math.max(cpuTime() - cpuStartNanos, 1) / 1e9;
+        double perSecond = messages / seconds;
+        System.out.printf("%-12s messages=%d devices=%d msg/s=%.0f msg/cpu-s=%.0f rows=%d%n",
+                name, messages, DEVICES, perSecond, messages / cpuSeconds, writes);
+        return perSecond;
+    }
+
+    private static long cpuTime() {
+        return ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean())
+                .getProcessCpuTime();
+    }
+
+    @FunctionalInterface
+    private interface DeviceCall {
+        void run(String device, int index);
+    }
+}
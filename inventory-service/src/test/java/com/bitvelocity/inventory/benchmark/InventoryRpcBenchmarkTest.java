@@ -0,0 +1,226 @@
+package com.bitvelocity.inventory.benchmark;
+
+import com.bitvelocity.inventory.grpc.InventoryGrpcServer;
+import com.bitvelocity.inventory.grpc.v1.InventoryGrpc;
+import com.bitvelocity.inventory.grpc.v1.ReserveOutcome;
+import com.bitvelocity.inventory.grpc.v1.ReserveRequest;
+import com.bitvelocity.inventory.grpc.v1.ReserveResponse;
+import com.bitvelocity.inventory.grpc.v1.StockLine;
+import com.bitvelocity.inventory.reservation.ReservationEngine;
+import io.grpc.ManagedChannel;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ReserveStock over REST/JSON versus gRPC on the same running service.
+ *
+ * Each request reserves a three-line order. REST and unary gRPC are driven by the same number of
+ * concurrent callers; the stream variant pipelines all orders over one ReserveStockStream with
+ * the same number in flight. Throughput, per-request latency, requests per CPU-second and the
+ * request payload size are printed for comparison. The journal runs without fsync (test
+ * profile) so the transport, not the disk, dominates.
+ *
+ * To run: mvn test -pl inventory-service -Dtest=InventoryRpcBenchmarkTest -Dbenchmark=true
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+                properties = "logging.level.com.bitvelocity.inventory=INFO")
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Inventory ReserveStock benchmark (REST vs gRPC)")
+class InventoryRpcBenchmarkTest {
+
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 20_000);
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 64);
+    private static final String[] SKUS = {"BENCH-LAPTOP", "BENCH-MOUSE", "BENCH-DOCK"};
+
+    @LocalServerPort
+    private int httpPort;
+
+    @Autowired
+    private InventoryGrpcServer grpcServer;
+
+    @Autowired
+    private ReservationEngine reservationEngine;
+
+    @Test
+    @DisplayName("gRPC ReserveStock should sustain at least the REST throughput")
+    void compareTransports() throws Exception {
+        for (String sku : SKUS) {
+            reservationEngine.adjust(sku, Integer.MAX_VALUE / 2);
+        }
+        HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        ManagedChannel channel = NettyChannelBuilder.forAddress("localhost", grpcServer.getPort())
+                .usePlaintext()
+                .build();
+        InventoryGrpc.InventoryBlockingStub blocking = InventoryGrpc.newBlockingStub(channel);
+        InventoryGrpc.InventoryStub async = InventoryGrpc.newStub(channel);
+
+        try {
+            // Warm up both paths (JIT, connection setup)
+            runConcurrently("warmup-rest", REQUESTS / 4, i -> reserveRest(http, "warm-rest-" + i));
+            runConcurrently("warmup-grpc", REQUESTS / 4, i -> reserveGrpc(blocking, "warm-grpc-" + i));
+
+            System.out.printf("payload bytes: json=%d protobuf=%d%n",
+                    json("order-000000").length(), grpcRequest("order-000000").getSerializedSize());
+            Result rest = runConcurrently("rest", REQUESTS, i -> reserveRest(http, "rest-" + i));
+            Result grpc = runConcurrently("grpc", REQUESTS, i -> reserveGrpc(blocking, "grpc-" + i));
+            Result stream = runStream(async);
+
+            // Same machine, same engine: allow for scheduling noise
+            assertThat(grpc.requestsPerSecond()).isGreaterThan(rest.requestsPerSecond() * 0.8);
+            assertThat(stream.requestsPerSecond()).isGreaterThan(0);
+        } finally {
+            channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private void reserveRest(HttpClient http, String reservationId) throws Exception {
+        HttpResponse<String> response = http.send(HttpRequest.newBuilder()
+                        .uri(URI.create("http://localhost:" + httpPort + "/api/v1/inventory/reservations"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(json(reservationId)))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 201) {
+            throw new IllegalStateException("REST reserve failed: " + response.statusCode());
+        }
+    }
+
+    private void reserveGrpc(InventoryGrpc.InventoryBlockingStub blocking, String reservationId) {
+        ReserveResponse response = blocking.withDeadlineAfter(5, TimeUnit.SECONDS)
+                .reserveStock(grpcRequest(reservationId));
+        if (response.getOutcome() != ReserveOutcome.RESERVED) {
+            throw new IllegalStateException("gRPC reserve failed: " + response.getOutcome());
+        }
+    }
+
+    private Result runStream(InventoryGrpc.InventoryStub async) throws Exception {
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        long[] sentAt = new long[REQUESTS];
+        long[] latencies = new long[REQUESTS];
+        AtomicInteger received = new AtomicInteger();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        Measurement measurement = Measurement.start();
+
+        StreamObserver<ReserveRequest> requests = async.reserveStockStream(new StreamObserver<>() {
+            @Override
+            public void onNext(ReserveResponse response) {
+                int index = Integer.parseInt(response.getReservationId().substring("stream-".length()));
+                latencies[received.getAndIncrement()] = System.nanoTime() - sentAt[index];
+                inFlight.release();
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                done.completeExceptionally(error);
+            }
+
+            @Override
+            public void onCompleted() {
+                done.complete(null);
+            }
+        });
+        for (int i = 0; i < REQUESTS; i++) {
+            inFlight.acquire();
+            sentAt[i] = System.nanoTime();
+            requests.onNext(grpcRequest("stream-" + i));
+        }
+        requests.onCompleted();
+        done.get(5, TimeUnit.MINUTES);
+        return measurement.finish("grpc-stream", latencies);
+    }
+
+    private Result runConcurrently(String name, int requests, IndexedCall call) throws Exception {
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        Measurement measurement = Measurement.start();
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CONCURRENCY; c++) {
+                callers.submit(() -> {
+                    int i;
+                    while ((i = next.getAndIncrement()) < requests) {
+                        long start = System.nanoTime();
+                        call.run(i);
+                        latencies[i] = System.nanoTime() - start;
+                    }
+                    return null;
+                });
+            }
+        }
+        return measurement.finish(name, latencies);
+    }
+
+    private static String json(String reservationId) {
+        return "{\"reservationId\":\"" + reservationId + "\",\"lines\":["
+                + "{\"sku\":\"" + SKUS[0] + "\",\"quantity\":1},"
+                + "{\"sku\":\"" + SKUS[1] + "\",\"quantity\":2},"
+                + "{\"sku\":\"" + SKUS[2] + "\",\"quantity\":1}]}";
+    }
+
+    private static ReserveRequest grpcRequest(String reservationId) {
+        return ReserveRequest.newBuilder()
+                .setReservationId(reservationId)
+                .addLines(StockLine.newBuilder().setSku(SKUS[0]).setQuantity(1))
+                .addLines(StockLine.newBuilder().setSku(SKUS[1]).setQuantity(2))
+                .addLines(StockLine.newBuilder().setSku(SKUS[2]).setQuantity(1))
+                .build();
+    }
+
+    private record Measurement(long startNanos, long cpuStartNanos) {
+
+        static Measurement start() {
+            return new Measurement(System.nanoTime(), cpuTime());
+        }
+
+        Result finish(String name, long[] latencies) {
+            double seconds = (System.nanoTime() - startNanos) / 1e9;
+            double cpuSeconds = Math.max(cpuTime() - cpuStartNanos, 1) / 1e9;
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            Result result = new Result(sorted.length / seconds, sorted.length / cpuSeconds);
+            System.out.printf("%-12s requests=%d concurrency=%d req/s=%.0f req/cpu-s=%.0f p50=%.2fms p99=%.2fms%n",
+                    name, sorted.length, CONCURRENCY, result.requestsPerSecond(), result.requestsPerCpuSecond(),
+                    percentile(sorted, 0.50) / 1e6, percentile(sorted, 0.99) / 1e6);
+            return result;
+        }
+
+        private static long percentile(long[] sorted, double quantile) {
+            return sorted[Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1)];
+        }
+
+        private static long cpuTime() {
+            return ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean())
+                    .getProcessCpuTime();
+        }
+    }
+
+    private record Result(double requestsPerSecond, double requestsPerCpuSecond) {
+    }
+
+    @FunctionalInterface
+    private interface IndexedCall {
+        void run(int index) throws Exception;
+    }
+}
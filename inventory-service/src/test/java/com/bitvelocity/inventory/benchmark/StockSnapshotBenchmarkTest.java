@@ -0,0 +1,140 @@
+package com.bitvelocity.inventory.benchmark;
+
+import com.bitvelocity.inventory.repository.InventoryAdjustmentRepository;
+import com.bitvelocity.inventory.snapshot.SnapshotLevel;
+import com.bitvelocity.inventory.snapshot.SnapshotProperties;
+import com.bitvelocity.inventory.snapshot.StockSnapshot;
+import com.bitvelocity.testsupport.MutableClock;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Heap footprint and bulk lookup cost of the stock snapshot against a HashMap<String, Integer>
+ * holding the same SKUs.
+ *
+ * The snapshot is built from a synthetic ledger of SKUS rows (one per SKU), checkpointed and
+ * rebuilt from the checkpoint; then QUERIES bulk queries of 1000 random SKUs run against both
+ * structures. Bytes per SKU, build and restore time, and nanoseconds per lookup are printed.
+ *
+ * To run: mvn test -pl inventory-api,inventory-service -Dtest=StockSnapshotBenchmarkTest -Dbenchmark=true -Dsurefire.failIfNoSpecifiedTests=false
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Stock snapshot benchmark (primitive arrays vs HashMap)")
+class StockSnapshotBenchmarkTest {
+
+    private static final int SKUS = Integer.getInteger("benchmark.skus", 2_000_000);
+    private static final int QUERIES = Integer.getInteger("benchmark.queries", 2_000);
+    private static final int QUERY_SIZE = 1000;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("The snapshot should take less heap per SKU than a HashMap")
+    void compareFootprintAndLookups() {
+        SnapshotProperties properties = new SnapshotProperties();
+        properties.setCheckpointPath(directory.resolve("snapshot.checkpoint").toString());
+        properties.setMaxQuerySkus(QUERY_SIZE);
+
+        long start = System.nanoTime();
+        StockSnapshot snapshot = new StockSnapshot(new SyntheticLedger(SKUS), properties, new MutableClock());
+        long buildMs = (System.nanoTime() - start) / 1_000_000;
+        snapshot.checkpoint();
+        start = System.nanoTime();
+        StockSnapshot restored = new StockSnapshot(new SyntheticLedger(0), properties, new MutableClock());
+        long restoreMs = (System.nanoTime() - start) / 1_000_000;
+        assertThat(restored.size()).isEqualTo(SKUS);
+
+        long heapBefore = usedHeap();
+        Map<String, Integer> map = new HashMap<>();
+        for (int i = 0; i < SKUS; i++) {
+            map.put(sku(i), i % 1000);
+        }
+        long mapBytes = usedHeap() - heapBefore;
+
+        List<List<String>> queries = new ArrayList<>();
+        java.util.Random random = new java.util.Random(42);
+        for (int q = 0; q < 100; q++) {
+            List<String> query = new ArrayList<>(QUERY_SIZE);
+            for (int i = 0; i < QUERY_SIZE; i++) {
+                query.add(sku(random.nextInt(SKUS)));
+            }
+            queries.add(query);
+        }
+        long checksum = 0;
+        for (int warmup = 0; warmup < 2; warmup++) {
+            checksum += snapshotLookups(restored, queries) + mapLookups(map, queries);
+        }
+        start = System.nanoTime();
+        checksum += snapshotLookups(restored, queries);
+        double snapshotNs = (System.nanoTime() - start) / (double) QUERIES / QUERY_SIZE;
+        start = System.nanoTime();
+        checksum += mapLookups(map, queries);
+        double mapNs = (System.nanoTime() - start) / (double) QUERIES / QUERY_SIZE;
+
+        System.out.printf("snapshot  skus=%d bytes/sku=%.1f build=%dms restore=%dms lookup=%.0fns%n",
+                SKUS, restored.footprintBytes() / (double) SKUS, buildMs, restoreMs, snapshotNs);
+        System.out.printf("hashmap   skus=%d bytes/sku=%.1f lookup=%.0fns (checksum %d)%n",
+                SKUS, mapBytes / (double) SKUS, mapNs, checksum);
+        assertThat(restored.footprintBytes()).isLessThan(mapBytes);
+    }
+
+    private static long snapshotLookups(StockSnapshot snapshot, List<List<String>> queries) {
+        long sum = 0;
+        for (int q = 0; q < QUERIES; q++) {
+            for (SnapshotLevel level : snapshot.query(queries.get(q % queries.size()))) {
+                sum += level.onHand();
+            }
+        }
+        return sum;
+    }
+
+    private static long mapLookups(Map<String, Integer> map, List<List<String>> queries) {
+        long sum = 0;
+        for (int q = 0; q < QUERIES; q++) {
+            for (String sku : queries.get(q % queries.size())) {
+                sum += map.getOrDefault(sku, 0);
+            }
+        }
+        return sum;
+    }
+
+    private static String sku(int i) {
+        return "SKU-" + (10_000_000 + i);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static class SyntheticLedger extends InventoryAdjustmentRepository {
+
+        private final int rows;
+
+        SyntheticLedger(int rows) {
+            super(null);
+            this.rows = rows;
+        }
+
+        @Override
+        public void forEachAfter(long afterId, int limit, AdjustmentRowHandler handler) {
+            for (long id = afterId + 1; id <= Math.min(rows, afterId + limit); id++) {
+                handler.accept(id, sku((int) id - 1), (int) (id % 1000));
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.bitvelocity.inventory.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import com.bitvelocity.inventory.snapshot.StockSnapshot;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Inventory Controller Integration Tests")
+class InventoryControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StockSnapshot stockSnapshot;
+
+    @Test
+    @DisplayName("Should reserve, commit and report stock")
+    void testReserveAndCommit() throws Exception {
+        // Given
+        adjust("LAPTOP-001", 10);
+        adjust("MOUSE-001", 5);
+
+        // When / Then
+        mockMvc.perform(post("/api/v1/inventory/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"reservationId":"order-1","lines":[
+                                  {"sku":"LAPTOP-001","quantity":2},{"sku":"MOUSE-001","quantity":1}]}
+                                """))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.status", is("HELD")))
+                .andExpect(jsonPath("$.lines", hasSize(2)))
+                .andExpect(jsonPath("$.expiresAt", notNullValue()));
+
+        mockMvc.perform(get("/api/v1/inventory").param("sku", "LAPTOP-001", "MOUSE-001", "UNKNOWN"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].available", is(8)))
+                .andExpect(jsonPath("$[0].reserved", is(2)))
+                .andExpect(jsonPath("$[1].available", is(4)))
+                .andExpect(jsonPath("$[2].available", is(0)));
+
+        mockMvc.perform(post("/api/v1/inventory/reservations/order-1/commit"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("COMMITTED")));
+        mockMvc.perform(get("/api/v1/inventory/LAPTOP-001"))
+                .andExpect(jsonPath("$.available", is(8)))
+                .andExpect(jsonPath("$.reserved", is(0)));
+        mockMvc.perform(delete("/api/v1/inventory/reservations/order-1"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("Should return 409 with the SKU when stock is insufficient")
+    void testInsufficientStock() throws Exception {
+        adjust("TABLET-001", 1);
+
+        mockMvc.perform(post("/api/v1/inventory/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"reservationId":"order-2","lines":[{"sku":"TABLET-001","quantity":2}]}
+                                """))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.additionalInfo.sku", is("TABLET-001")));
+        mockMvc.perform(get("/api/v1/inventory/reservations/order-2"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should release a reservation and treat unknown ones as a no-op")
+    void testRelease() throws Exception {
+        adjust("PHONE-001", 3);
+        mockMvc.perform(post("/api/v1/inventory/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"reservationId":"order-3","ttlMs":60000,"lines":[{"sku":"PHONE-001","quantity":3}]}
+                                """))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(delete("/api/v1/inventory/reservations/order-3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("RELEASED")));
+        mockMvc.perform(get("/api/v1/inventory/PHONE-001"))
+                .andExpect(jsonPath("$.available", is(3)));
+        mockMvc.perform(delete("/api/v1/inventory/reservations/unknown"))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    @DisplayName("Should return 400 for invalid requests")
+    void testValidation() throws Exception {
+        mockMvc.perform(post("/api/v1/inventory/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"reservationId":"order-4","lines":[{"sku":"X","quantity":0}]}
+                                """))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.validationErrors", hasSize(1)));
+        mockMvc.perform(post("/api/v1/inventory/X/adjustments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/inventory"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should serve stock on hand from the ledger snapshot, counting each sale once")
+    void testSnapshotQuery() throws Exception {
+        // Given
+        adjust("SNAPSHOT-001", 10);
+        adjust("SNAPSHOT-001", -2);
+        mockMvc.perform(post("/api/v1/inventory/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"reservationId":"order-snapshot","lines":[{"sku":"SNAPSHOT-001","quantity":3}]}
+                                """))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/api/v1/inventory/reservations/order-snapshot/commit")).andExpect(status().isOk());
+        mockMvc.perform(post("/api/v1/inventory/reservations/order-snapshot/commit")).andExpect(status().isOk());
+
+        // When
+        stockSnapshot.refresh();
+
+        // Then
+        mockMvc.perform(post("/api/v1/inventory/snapshot/query")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"skus":["SNAPSHOT-001","SNAPSHOT-UNKNOWN"]}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.asOfAdjustmentId", greaterThan(0)))
+                .andExpect(jsonPath("$.levels[0].onHand", is(5)))
+                .andExpect(jsonPath("$.levels[0].known", is(true)))
+                .andExpect(jsonPath("$.levels[1].onHand", is(0)))
+                .andExpect(jsonPath("$.levels[1].known", is(false)));
+        mockMvc.perform(post("/api/v1/inventory/snapshot/query")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"skus":[]}
+                                """))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should allocate an order with a region to the nearest warehouse holding it")
+    void testWarehouseReservation() throws Exception {
+        // Given
+        adjustWarehouse("WH-SKU-001", "WH-EAST", 3)
+                .andExpect(jsonPath("$.warehouseId", is("WH-EAST")))
+                .andExpect(jsonPath("$.available", is(3)));
+        adjustWarehouse("WH-SKU-001", "WH-WEST", 5);
+
+        // When / Then
+        mockMvc.perform(post("/api/v1/inventory/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"reservationId":"order-wh","region":"US-NE","lines":[{"sku":"WH-SKU-001","quantity":2}]}
+                                """))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.lines[0].sku", is("WH-SKU-001")))
+                .andExpect(jsonPath("$.lines[0].warehouseId", is("WH-EAST")));
+
+        mockMvc.perform(get("/api/v1/inventory/WH-SKU-001/warehouses"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.warehouseId == 'WH-EAST')].reserved", contains(2)))
+                .andExpect(jsonPath("$[?(@.warehouseId == 'WH-WEST')].available", contains(5)));
+        mockMvc.perform(post("/api/v1/inventory/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"reservationId":"order-mars","region":"MARS","lines":[{"sku":"WH-SKU-001","quantity":1}]}
+                                """))
+                .andExpect(status().isBadRequest());
+        adjustWarehouse("WH-SKU-001", "WH-MOON", 1).andExpect(status().isNotFound());
+    }
+
+    private ResultActions adjustWarehouse(String sku, String warehouseId, int delta) throws Exception {
+        return mockMvc.perform(post("/api/v1/inventory/" + sku + "/warehouses/" + warehouseId + "/adjustments")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"delta\":" + delta + ",\"reason\":\"RECEIVING\"}"));
+    }
+
+    private void adjust(String sku, int delta) throws Exception {
+        mockMvc.perform(post("/api/v1/inventory/" + sku + "/adjustments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"delta\":" + delta + ",\"reason\":\"RECEIVING\"}"))
+                .andExpect(status().isOk());
+    }
+}
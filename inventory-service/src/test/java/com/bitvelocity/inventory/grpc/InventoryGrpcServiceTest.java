@@ -0,0 +1,316 @@
+package com.bitvelocity.inventory.grpc;
+
+import com.bitvelocity.inventory.allocation.AllocationProperties;
+import com.bitvelocity.inventory.allocation.StockKeys;
+import com.bitvelocity.inventory.allocation.WarehouseAllocator;
+import com.bitvelocity.inventory.allocation.WarehouseNetwork;
+import com.bitvelocity.inventory.grpc.v1.CommitRequest;
+import com.bitvelocity.inventory.grpc.v1.CommitResponse;
+import com.bitvelocity.inventory.grpc.v1.InventoryGrpc;
+import com.bitvelocity.inventory.grpc.v1.ReleaseRequest;
+import com.bitvelocity.inventory.grpc.v1.ReleaseResponse;
+import com.bitvelocity.inventory.grpc.v1.ReservationStatus;
+import com.bitvelocity.inventory.grpc.v1.ReserveOutcome;
+import com.bitvelocity.inventory.grpc.v1.ReserveRequest;
+import com.bitvelocity.inventory.grpc.v1.ReserveResponse;
+import com.bitvelocity.inventory.grpc.v1.ReturnRequest;
+import com.bitvelocity.inventory.grpc.v1.ReturnResponse;
+import com.bitvelocity.inventory.grpc.v1.Shipment;
+import com.bitvelocity.inventory.grpc.v1.StockLine;
+import com.bitvelocity.inventory.grpc.v1.StockQuery;
+import com.bitvelocity.inventory.grpc.v1.StockStatus;
+import com.bitvelocity.inventory.ingestion.InventoryAdjustment;
+import com.bitvelocity.inventory.ingestion.StockLedger;
+import com.bitvelocity.inventory.journal.JournalProperties;
+import com.bitvelocity.inventory.journal.StockJournal;
+import com.bitvelocity.inventory.reservation.ReservationEngine;
+import com.bitvelocity.inventory.repository.InventoryAdjustmentRepository;
+import com.bitvelocity.inventory.reservation.ReservationProperties;
+import com.bitvelocity.testsupport.MutableClock;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("InventoryGrpcService Unit Tests")
+class InventoryGrpcServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private StockJournal journal;
+    private ReservationEngine engine;
+    private final RecordingLedger sales = new RecordingLedger();
+    private Server server;
+    private ManagedChannel channel;
+    private InventoryGrpc.InventoryBlockingStub blocking;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        JournalProperties journalProperties = new JournalProperties();
+        journalProperties.setPath(directory.resolve("stock.journal").toString());
+        journalProperties.setFsync(false);
+        journal = new StockJournal(journalProperties);
+        MutableClock clock = new MutableClock();
+        engine = new ReservationEngine(journal, new ReservationProperties(), clock);
+        GrpcProperties properties = new GrpcProperties();
+        properties.setMaxInFlightPerStream(8);
+        AllocationProperties allocation = new AllocationProperties();
+        allocation.setWarehouses(List.of(location("WH-EAST", 40.73, -74.17), location("WH-WEST", 39.53, -119.81)));
+        allocation.setRegions(List.of(location("US-NE", 40.71, -74.01)));
+        WarehouseAllocator allocator = new WarehouseAllocator(engine, new WarehouseNetwork(allocation), allocation);
+
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name)
+                // The ledger snapshot is covered by StockSnapshotTest
+                .addService(new InventoryGrpcService(engine, allocator, new StockLedger(engine, sales, clock), null,
+                        properties))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(name).build();
+        blocking = InventoryGrpc.newBlockingStub(channel);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        channel.shutdownNow();
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        journal.destroy();
+    }
+
+    @Test
+    @DisplayName("Should reserve all lines of an order in one call and report insufficient stock in the response")
+    void shouldReserveOrder() {
+        // Given
+        engine.adjust("SKU-1", 5);
+        engine.adjust("SKU-2", 1);
+
+        // When
+        ReserveResponse reserved = blocking.reserveStock(request("order-1", 2, 1));
+        ReserveResponse rejected = blocking.reserveStock(request("order-2", 1, 1));
+
+        // Then
+        assertThat(reserved.getOutcome()).isEqualTo(ReserveOutcome.RESERVED);
+        assertThat(reserved.getStatus()).isEqualTo(ReservationStatus.HELD);
+        assertThat(reserved.getExpiresAtMs()).isPositive();
+        assertThat(rejected.getOutcome()).isEqualTo(ReserveOutcome.INSUFFICIENT_STOCK);
+        assertThat(rejected.getSku()).isEqualTo("SKU-2");
+
+        StockStatus stock = blocking.queryStock(StockQuery.newBuilder().addSkus("SKU-1").addSkus("SKU-2").build());
+        assertThat(stock.getLevelsList()).extracting(level -> level.getAvailable() + "/" + level.getReserved())
+                .containsExactly("3/2", "0/1");
+    }
+
+    @Test
+    @DisplayName("Should allocate an order with a region to warehouses and report the shipments")
+    void shouldReserveFromWarehouses() {
+        // Given
+        engine.adjust(StockKeys.of("WH-EAST", "SKU-1"), 5);
+        engine.adjust(StockKeys.of("WH-WEST", "SKU-1"), 5);
+        engine.adjust(StockKeys.of("WH-WEST", "SKU-2"), 5);
+
+        // When
+        ReserveResponse response = blocking.reserveStock(request("order-1", 2, 1).toBuilder()
+                .setRegion("US-NE")
+                .build());
+
+        // Then
+        assertThat(response.getOutcome()).isEqualTo(ReserveOutcome.RESERVED);
+        assertThat(response.getShipmentsList()).extracting(Shipment::getWarehouseId).containsExactly("WH-WEST");
+        assertThat(response.getShipments(0).getLinesList()).extracting(StockLine::getSku)
+                .containsExactly("SKU-1", "SKU-2");
+        assertThat(engine.getStock(StockKeys.of("WH-WEST", "SKU-1")).reserved()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should release a reservation once and report unknown ones as not found")
+    void shouldRelease() {
+        engine.adjust("SKU-1", 5);
+        engine.adjust("SKU-2", 5);
+        blocking.reserveStock(request("order-1", 2, 2));
+
+        ReleaseResponse released = blocking.releaseStock(ReleaseRequest.newBuilder().setReservationId("order-1").build());
+        ReleaseResponse unknown = blocking.releaseStock(ReleaseRequest.newBuilder().setReservationId("order-9").build());
+
+        assertThat(released.getFound()).isTrue();
+        assertThat(released.getStatus()).isEqualTo(ReservationStatus.RELEASED);
+        assertThat(unknown.getFound()).isFalse();
+        assertThat(engine.getStock("SKU-1").available()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("A stream should reserve many orders concurrently and keep going past a rejected one")
+    void shouldReserveOverStream() throws Exception {
+        // Given
+        engine.adjust("SKU-1", 40);
+        engine.adjust("SKU-2", 40);
+        ConcurrentLinkedQueue<ReserveResponse> responses = new ConcurrentLinkedQueue<>();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+
+        // When
+        StreamObserver<ReserveRequest> requests = InventoryGrpc.newStub(channel)
+                .reserveStockStream(new StreamObserver<>() {
+                    @Override
+                    public void onNext(ReserveResponse response) {
+                        responses.add(response);
+                    }
+
+                    @Override
+                    public void onError(Throwable error) {
+                        done.completeExceptionally(error);
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        done.complete(null);
+                    }
+                });
+        for (int i = 0; i < 50; i++) {
+            requests.onNext(request("order-" + i, 1, 1));
+        }
+        requests.onCompleted();
+        done.get(10, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(responses).hasSize(50);
+        assertThat(responses).extracting(ReserveResponse::getReservationId).doesNotHaveDuplicates();
+        assertThat(responses).filteredOn(response -> response.getOutcome() == ReserveOutcome.RESERVED).hasSize(40);
+        assertThat(responses).filteredOn(response -> response.getOutcome() == ReserveOutcome.INSUFFICIENT_STOCK)
+                .hasSize(10);
+        assertThat(engine.getStock("SKU-1").available()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should commit a reservation once, recording the sale, and reject unknown or released ones")
+    void shouldCommit() {
+        engine.adjust("SKU-1", 5);
+        engine.adjust("SKU-2", 5);
+        blocking.reserveStock(request("order-1", 2, 1));
+        blocking.reserveStock(request("order-2", 1, 1));
+        blocking.releaseStock(ReleaseRequest.newBuilder().setReservationId("order-2").build());
+
+        CommitResponse committed = blocking.commitStock(CommitRequest.newBuilder().setReservationId("order-1").build());
+        CommitResponse again = blocking.commitStock(CommitRequest.newBuilder().setReservationId("order-1").build());
+
+        assertThat(committed.getStatus()).isEqualTo(ReservationStatus.COMMITTED);
+        assertThat(again.getStatus()).isEqualTo(ReservationStatus.COMMITTED);
+        assertThat(engine.getStock("SKU-1").reserved()).isZero();
+        assertThat(engine.getStock("SKU-1").available()).isEqualTo(3);
+        assertThat(sales.rows).extracting(row -> row.sku() + "=" + row.appliedDelta())
+                .containsExactly("SKU-1=-2", "SKU-2=-1");
+        assertThat(sales.inserts).isEqualTo(1);
+        assertThatThrownBy(() -> blocking.commitStock(CommitRequest.newBuilder().setReservationId("order-9").build()))
+                .isInstanceOfSatisfying(StatusRuntimeException.class, e ->
+                        assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.NOT_FOUND));
+        assertThatThrownBy(() -> blocking.commitStock(CommitRequest.newBuilder().setReservationId("order-2").build()))
+                .isInstanceOfSatisfying(StatusRuntimeException.class, e ->
+                        assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.FAILED_PRECONDITION));
+    }
+
+    @Test
+    @DisplayName("Should return a committed reservation's units once and release a held one")
+    void shouldReturnStock() {
+        engine.adjust("SKU-1", 5);
+        engine.adjust("SKU-2", 5);
+        blocking.reserveStock(request("order-1", 2, 1));
+        blocking.reserveStock(request("order-2", 1, 1));
+        blocking.commitStock(CommitRequest.newBuilder().setReservationId("order-1").build());
+
+        ReturnResponse returned = blocking.returnStock(ReturnRequest.newBuilder().setReservationId("order-1").build());
+        ReturnResponse again = blocking.returnStock(ReturnRequest.newBuilder().setReservationId("order-1").build());
+        ReturnResponse released = blocking.returnStock(ReturnRequest.newBuilder().setReservationId("order-2").build());
+        ReturnResponse unknown = blocking.returnStock(ReturnRequest.newBuilder().setReservationId("order-9").build());
+
+        assertThat(returned.getStatus()).isEqualTo(ReservationStatus.COMMITTED);
+        assertThat(again.getFound()).isTrue();
+        assertThat(released.getStatus()).isEqualTo(ReservationStatus.RELEASED);
+        assertThat(unknown.getFound()).isFalse();
+        assertThat(engine.getStock("SKU-1").available()).isEqualTo(5);
+        assertThat(engine.getStock("SKU-2").available()).isEqualTo(5);
+        assertThat(sales.rows).extracting(row -> row.sku() + "=" + row.appliedDelta())
+                .containsExactly("SKU-1=-2", "SKU-2=-1", "SKU-1=2", "SKU-2=1");
+    }
+
+    @Test
+    @DisplayName("A call whose deadline already passed should not reserve anything")
+    void shouldHonourDeadline() {
+        engine.adjust("SKU-1", 5);
+        engine.adjust("SKU-2", 5);
+
+        assertThatThrownBy(() -> blocking.withDeadlineAfter(-1, TimeUnit.MILLISECONDS)
+                .reserveStock(request("order-1", 1, 1)))
+                .isInstanceOfSatisfying(StatusRuntimeException.class, e ->
+                        assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.DEADLINE_EXCEEDED));
+        assertThat(engine.find("order-1")).isEmpty();
+        assertThat(engine.getStock("SKU-1").available()).isEqualTo(5);
+    }
+
+    private static AllocationProperties.Location location(String id, double latitude, double longitude) {
+        AllocationProperties.Location location = new AllocationProperties.Location();
+        location.setId(id);
+        location.setLatitude(latitude);
+        location.setLongitude(longitude);
+        return location;
+    }
+
+    private static ReserveRequest request(String reservationId, int sku1, int sku2) {
+        return ReserveRequest.newBuilder()
+                .setReservationId(reservationId)
+                .addAllLines(List.of(
+                        StockLine.newBuilder().setSku("SKU-1").setQuantity(sku1).build(),
+                        StockLine.newBuilder().setSku("SKU-2").setQuantity(sku2).build()))
+                .build();
+    }
+
+    private static class RecordingLedger extends InventoryAdjustmentRepository {
+
+        private final List<InventoryAdjustment> rows = new ArrayList<>();
+        private final Set<String> keys = new HashSet<>();
+        private int inserts;
+
+        RecordingLedger() {
+            super(null);
+        }
+
+        @Override
+        public synchronized boolean containsBatch(UUID batchId) {
+            return rows.stream().anyMatch(row -> row.batchId().equals(batchId));
+        }
+
+        /**
+         * Enforces the (batch_id, sku) unique index like the real table.
+         */
+        @Override
+        public synchronized void insertAllAtomically(List<InventoryAdjustment> adjustments) {
+            inserts++;
+            for (InventoryAdjustment row : adjustments) {
+                if (keys.contains(row.batchId() + "/" + row.sku())) {
+                    throw new DuplicateKeyException("Duplicate adjustment " + row.batchId() + "/" + row.sku());
+                }
+            }
+            adjustments.forEach(row -> keys.add(row.batchId() + "/" + row.sku()));
+            rows.addAll(adjustments);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.bitvelocity.inventory.ingestion;
+
+import com.bitvelocity.inventory.repository.InventoryAdjustmentRepository;
+import com.bitvelocity.inventory.reservation.ReservationEngine;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Delta Ingestion Pipeline Tests")
+class DeltaIngestionPipelineTest {
+
+    @Autowired
+    private DeltaBroker broker;
+
+    @Autowired
+    private DeltaIngestionPipeline pipeline;
+
+    @Autowired
+    private ReservationEngine engine;
+
+    @Autowired
+    private InventoryAdjustmentRepository adjustments;
+
+    @Test
+    @DisplayName("A burst with replayed messages should be deduplicated and coalesced per SKU")
+    void burstIsDedupedAndCoalesced() throws Exception {
+        // Given: 4 devices, 5000 messages each over 3 SKUs; every 5th message is re-sent
+        String prefix = "IOT-" + UUID.randomUUID() + "-";
+        List<String> skus = List.of(prefix + "A", prefix + "B", prefix + "C");
+        int devices = 4;
+        int perDevice = 5000;
+        IngestionStats before = pipeline.stats();
+        CountDownLatch done = new CountDownLatch(devices);
+
+        // When
+        for (int d = 0; d < devices; d++) {
+            String device = "sensor-" + d;
+            Thread.ofVirtual().start(() -> {
+                for (int i = 0; i < perDevice; i++) {
+                    String sku = skus.get(i % skus.size());
+                    publish(sku, device, i, 1);
+                    if (i % 5 == 0) {
+                        publish(sku, device, i, 1);
+                    }
+                }
+                done.countDown();
+            });
+        }
+        assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+        awaitProcessed(before, devices * (perDevice + perDevice / 5));
+
+        // Then
+        IngestionStats after = pipeline.stats();
+        assertThat(after.duplicates() - before.duplicates()).isEqualTo(devices * perDevice / 5);
+        long available = skus.stream().mapToLong(sku -> engine.getStock(sku).available()).sum();
+        assertThat(available).isEqualTo(devices * perDevice);
+        for (String sku : skus) {
+            assertThat(adjustments.sumAppliedDelta(sku)).isEqualTo(engine.getStock(sku).available());
+            assertThat(adjustments.countBySku(sku)).isLessThan(devices * perDevice / skus.size());
+        }
+    }
+
+    @Test
+    @DisplayName("Shrinkage beyond the stock on hand should stop at zero and be recorded as applied")
+    void shrinkageStopsAtZero() throws Exception {
+        // Given
+        String sku = "IOT-" + UUID.randomUUID();
+        IngestionStats before = pipeline.stats();
+        publish(sku, "scale-1", 1, 5);
+        awaitProcessed(before, 1);
+
+        // When
+        publish(sku, "scale-1", 2, -8);
+        awaitProcessed(before, 2);
+
+        // Then
+        assertThat(engine.getStock(sku).available()).isZero();
+        assertThat(adjustments.countBySku(sku)).isEqualTo(2);
+        assertThat(adjustments.sumAppliedDelta(sku)).isZero();
+    }
+
+    @Test
+    @DisplayName("A failed ledger write should roll back the stock change and retry the batch")
+    void failedLedgerWriteIsRolledBackAndRetried() throws Exception {
+        // Given: a ledger whose first two inserts fail
+        String sku = "IOT-" + UUID.randomUUID();
+        FlakyLedger ledger = new FlakyLedger(2);
+        DeltaIngestionProperties properties = new DeltaIngestionProperties();
+        properties.setRetryBackoffMs(1);
+        DeltaBroker flakyBroker = new DeltaBroker();
+        DeltaIngestionPipeline flaky = new DeltaIngestionPipeline(flakyBroker, engine, ledger, properties, Clock.systemUTC());
+        try {
+            // When
+            assertThat(flakyBroker.publish(DeltaBroker.topicFor(sku), "scale-1", 1, 5)).isTrue();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (flaky.stats().processed() < 1 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(flakyBroker.publish(DeltaBroker.topicFor(sku), "scale-1", 1, 5)).isTrue();
+            while (flaky.stats().processed() < 2 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+
+            // Then
+            assertThat(ledger.attempts).isEqualTo(3);
+            assertThat(ledger.rows).singleElement().extracting(InventoryAdjustment::appliedDelta).isEqualTo(5);
+            assertThat(engine.getStock(sku).available()).isEqualTo(5);
+            assertThat(flaky.stats().duplicates()).isEqualTo(1);
+        } finally {
+            flaky.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Publishing to a topic that is not a stock-delta topic should be rejected")
+    void invalidTopic() {
+        assertThatThrownBy(() -> broker.publish("iot/inventory/SKU-1/temperature", "sensor-1", 1, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> broker.publish(DeltaBroker.topicFor("SKU-1"), " ", 1, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static class FlakyLedger extends InventoryAdjustmentRepository {
+
+        private final List<InventoryAdjustment> rows = new ArrayList<>();
+        private int failuresLeft;
+        private int attempts;
+
+        FlakyLedger(int failures) {
+            super(null);
+            this.failuresLeft = failures;
+        }
+
+        @Override
+        public synchronized void insertAllAtomically(List<InventoryAdjustment> adjustments) {
+            attempts++;
+            if (failuresLeft-- > 0) {
+                throw new DataAccessResourceFailureException("database unavailable");
+            }
+            rows.addAll(adjustments);
+        }
+    }
+
+    private void publish(String sku, String device, long messageId, int delta) {
+        // A refused message stays with the device, which tries again
+        while (!broker.publish(DeltaBroker.topicFor(sku), device, messageId, delta)) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private void awaitProcessed(IngestionStats before, long messages) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (pipeline.stats().processed() - before.processed() < messages && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(pipeline.stats().processed() - before.processed()).isEqualTo(messages);
+    }
+}
@@ -0,0 +1,77 @@
+package com.bitvelocity.inventory.ingestion;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Delta Ring Buffer Tests")
+class DeltaRingBufferTest {
+
+    @Test
+    @DisplayName("A full buffer should refuse messages until the consumer drains it")
+    void fullBufferRefuses() {
+        // Given
+        DeltaRingBuffer buffer = new DeltaRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(delta("device-1", i))).isTrue();
+        }
+
+        // When / Then
+        assertThat(buffer.offer(delta("device-1", 4))).isFalse();
+        List<StockDelta> drained = new ArrayList<>();
+        assertThat(buffer.drain(drained::add, 2)).isEqualTo(2);
+        assertThat(buffer.offer(delta("device-1", 4))).isTrue();
+        assertThat(buffer.drain(drained::add, 10)).isEqualTo(3);
+        assertThat(drained).extracting(StockDelta::messageId).containsExactly(0L, 1L, 2L, 3L, 4L);
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Concurrent publishers should lose nothing and keep each publisher's order")
+    void concurrentPublishers() throws Exception {
+        // Given
+        DeltaRingBuffer buffer = new DeltaRingBuffer(256);
+        int publishers = 4;
+        int perPublisher = 20_000;
+        CountDownLatch done = new CountDownLatch(publishers);
+        for (int p = 0; p < publishers; p++) {
+            String device = "device-" + p;
+            Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < perPublisher; i++) {
+                    while (!buffer.offer(delta(device, i))) {
+                        Thread.onSpinWait();
+                    }
+                }
+                done.countDown();
+            });
+        }
+
+        // When
+        Map<String, Long> lastSeen = new HashMap<>();
+        boolean[] ordered = {true};
+        int total = 0;
+        while (total < publishers * perPublisher) {
+            total += buffer.drain(delta -> {
+                Long previous = lastSeen.put(delta.deviceId(), delta.messageId());
+                ordered[0] &= previous == null ? delta.messageId() == 0 : delta.messageId() == previous + 1;
+            }, 1024);
+        }
+
+        // Then
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(ordered[0]).isTrue();
+        assertThat(lastSeen).hasSize(publishers).allSatisfy((device, last) -> assertThat(last).isEqualTo(perPublisher - 1));
+    }
+
+    private static StockDelta delta(String device, long messageId) {
+        return new StockDelta(device, messageId, "SKU-1", 1);
+    }
+}
@@ -0,0 +1,82 @@
+package com.bitvelocity.inventory.journal;
+
+import com.bitvelocity.inventory.reservation.ReservationLine;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("StockJournal Unit Tests")
+class StockJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Concurrent appends should all be durable and replayed")
+    void shouldReplayGroupCommittedAppends() throws Exception {
+        // Given
+        StockJournal journal = open(true);
+        List<CompletableFuture<Void>> appends = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 500; i++) {
+            appends.add(journal.append(JournalEntry.reservation(JournalEntryType.RESERVE, "order-" + i,
+                    List.of(new ReservationLine("SKU-1", 1), new ReservationLine("SKU-" + i, 2)), 1_000L + i, i)));
+        }
+        CompletableFuture.allOf(appends.toArray(CompletableFuture[]::new)).join();
+        journal.destroy();
+
+        // Then
+        StockJournal reopened = open(true);
+        List<JournalEntry> replayed = new ArrayList<>();
+        assertThat(reopened.replay(replayed::add)).isEqualTo(500);
+        assertThat(replayed.get(7)).isEqualTo(JournalEntry.reservation(JournalEntryType.RESERVE, "order-7",
+                List.of(new ReservationLine("SKU-1", 1), new ReservationLine("SKU-7", 2)), 1_007L, 7));
+        reopened.destroy();
+    }
+
+    @Test
+    @DisplayName("A torn last record should be truncated and later appends replayed")
+    void shouldTruncateTornTail() throws Exception {
+        // Given
+        StockJournal journal = open(false);
+        journal.append(JournalEntry.adjust("SKU-1", 5, 1)).join();
+        journal.append(JournalEntry.adjust("SKU-1", 7, 2)).join();
+        journal.destroy();
+        Path file = directory.resolve("stock.journal");
+        long intact = Files.size(file);
+        Files.write(file, new byte[] {0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        // When
+        StockJournal reopened = open(false);
+        List<JournalEntry> replayed = new ArrayList<>();
+        int entries = reopened.replay(replayed::add);
+        reopened.append(JournalEntry.adjust("SKU-1", -2, 3)).join();
+        reopened.destroy();
+
+        // Then
+        assertThat(entries).isEqualTo(2);
+        assertThat(Files.size(file)).isGreaterThan(intact);
+        StockJournal again = open(false);
+        List<JournalEntry> all = new ArrayList<>();
+        again.replay(all::add);
+        assertThat(all).extracting(entry -> entry.lines().get(0).quantity()).containsExactly(5, 7, -2);
+        again.destroy();
+    }
+
+    private StockJournal open(boolean fsync) {
+        JournalProperties properties = new JournalProperties();
+        properties.setPath(directory.resolve("stock.journal").toString());
+        properties.setFsync(fsync);
+        return new StockJournal(properties);
+    }
+}
@@ -0,0 +1,210 @@
+package com.bitvelocity.inventory.reservation;
+
+import com.bitvelocity.inventory.exception.InsufficientStockException;
+import com.bitvelocity.inventory.exception.ReservationStateException;
+import com.bitvelocity.inventory.journal.JournalProperties;
+import com.bitvelocity.inventory.journal.StockJournal;
+import com.bitvelocity.testsupport.MutableClock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ReservationEngine Unit Tests")
+class ReservationEngineTest {
+
+    @TempDir
+    Path directory;
+
+    private final MutableClock clock = new MutableClock();
+    private ReservationProperties properties;
+    private StockJournal journal;
+    private ReservationEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ReservationProperties();
+        properties.setDefaultTtlMs(60_000);
+        properties.setRetentionMs(120_000);
+        restart();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        journal.destroy();
+    }
+
+    @Test
+    @DisplayName("Concurrent reserves of one SKU should never oversell")
+    void shouldNotOversellUnderContention() throws Exception {
+        // Given
+        engine.adjust("FLASH-1", 100);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> attempts = new ArrayList<>();
+
+        // When - 1000 buyers of one unit each
+        try (ExecutorService buyers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 1000; i++) {
+                String id = "order-" + i;
+                attempts.add(buyers.submit(() -> {
+                    start.await();
+                    try {
+                        engine.reserve(id, List.of(new ReservationLine("FLASH-1", 1)), null);
+                    } catch (InsufficientStockException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> attempt : attempts) {
+                attempt.get();
+            }
+        }
+
+        // Then
+        assertThat(rejected).hasValue(900);
+        assertThat(engine.getStock("FLASH-1")).isEqualTo(new StockLevel("FLASH-1", 0, 100));
+    }
+
+    @Test
+    @DisplayName("A reservation should take every line or none")
+    void shouldReserveAllOrNothing() {
+        // Given
+        engine.adjust("SKU-1", 5);
+        engine.adjust("SKU-2", 1);
+
+        // When / Then
+        assertThatThrownBy(() -> engine.reserve("order-1",
+                List.of(new ReservationLine("SKU-1", 3), new ReservationLine("SKU-2", 2)), null))
+                .isInstanceOf(InsufficientStockException.class)
+                .hasMessageContaining("SKU-2");
+        assertThat(engine.getStock("SKU-1")).isEqualTo(new StockLevel("SKU-1", 5, 0));
+        assertThat(engine.find("order-1")).isEmpty();
+
+        // And the id is free for a retry
+        Reservation reservation = engine.reserve("order-1",
+                List.of(new ReservationLine("SKU-1", 3), new ReservationLine("SKU-2", 1)), null);
+        assertThat(reservation.status()).isEqualTo(ReservationStatus.HELD);
+    }
+
+    @Test
+    @DisplayName("Repeating a reservation id should return the original reservation")
+    void shouldBeIdempotentById() {
+        // Given
+        engine.adjust("SKU-1", 10);
+        Reservation first = engine.reserve("order-1", List.of(new ReservationLine("SKU-1", 2)), null);
+
+        // When
+        Reservation second = engine.reserve("order-1", List.of(new ReservationLine("SKU-1", 2)), null);
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(engine.getStock("SKU-1")).isEqualTo(new StockLevel("SKU-1", 8, 2));
+        assertThatThrownBy(() -> engine.reserve("order-1", List.of(new ReservationLine("SKU-1", 3)), null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Release and commit should move reserved stock back or out")
+    void shouldReleaseAndCommit() {
+        // Given
+        engine.adjust("SKU-1", 10);
+        engine.reserve("order-1", List.of(new ReservationLine("SKU-1", 2)), null);
+        engine.reserve("order-2", List.of(new ReservationLine("SKU-1", 3)), null);
+
+        // When
+        engine.release("order-1");
+        engine.release("order-1");
+        engine.commit("order-2");
+
+        // Then
+        assertThat(engine.getStock("SKU-1")).isEqualTo(new StockLevel("SKU-1", 7, 0));
+        assertThat(engine.release("unknown")).isEmpty();
+        assertThatThrownBy(() -> engine.commit("order-1")).isInstanceOf(ReservationStateException.class);
+        assertThatThrownBy(() -> engine.release("order-2")).isInstanceOf(ReservationStateException.class);
+    }
+
+    @Test
+    @DisplayName("Held stock should come back when the TTL runs out, and the reservation be forgotten later")
+    void shouldExpireAndPurge() {
+        // Given
+        engine.adjust("SKU-1", 10);
+        engine.reserve("order-1", List.of(new ReservationLine("SKU-1", 4)), Duration.ofSeconds(30));
+
+        // When / Then
+        clock.advance(29_000);
+        assertThat(engine.sweepExpired()).isZero();
+        clock.advance(1_000);
+        assertThat(engine.sweepExpired()).isEqualTo(1);
+        assertThat(engine.getStock("SKU-1")).isEqualTo(new StockLevel("SKU-1", 10, 0));
+        assertThat(engine.find("order-1")).get().extracting(Reservation::status).isEqualTo(ReservationStatus.EXPIRED);
+        assertThatThrownBy(() -> engine.commit("order-1")).isInstanceOf(ReservationStateException.class);
+
+        clock.advance(120_000);
+        engine.sweepExpired();
+        assertThat(engine.find("order-1")).isEmpty();
+        assertThat(engine.reservationCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("A restart should recover stock and reservations from the journal")
+    void shouldRecoverFromJournal() throws Exception {
+        // Given
+        engine.adjust("SKU-1", 10);
+        engine.adjust("SKU-2", 5);
+        engine.adjust("SKU-2", -1);
+        engine.reserve("order-1", List.of(new ReservationLine("SKU-1", 2), new ReservationLine("SKU-2", 1)), null);
+        engine.reserve("order-2", List.of(new ReservationLine("SKU-1", 3)), null);
+        engine.reserve("order-3", List.of(new ReservationLine("SKU-1", 1)), null);
+        engine.commit("order-2");
+        engine.release("order-3");
+
+        // When
+        restart();
+        restart();
+
+        // Then
+        assertThat(engine.getStock(List.of("SKU-1", "SKU-2"))).containsExactly(
+                new StockLevel("SKU-1", 5, 2), new StockLevel("SKU-2", 3, 1));
+        assertThat(engine.find("order-1")).get().extracting(Reservation::status).isEqualTo(ReservationStatus.HELD);
+        assertThat(engine.find("order-2")).get().extracting(Reservation::status)
+                .isEqualTo(ReservationStatus.COMMITTED);
+        assertThat(engine.find("order-3")).get().extracting(Reservation::status)
+                .isEqualTo(ReservationStatus.RELEASED);
+
+        // And the recovered reservation still expires
+        clock.advance(60_000);
+        assertThat(engine.sweepExpired()).isEqualTo(1);
+        assertThat(engine.getStock("SKU-1")).isEqualTo(new StockLevel("SKU-1", 7, 0));
+    }
+
+    private void restart() {
+        if (journal != null) {
+            try {
+                journal.destroy();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        JournalProperties journalProperties = new JournalProperties();
+        journalProperties.setPath(directory.resolve("stock.journal").toString());
+        journalProperties.setFsync(false);
+        journal = new StockJournal(journalProperties);
+        engine = new ReservationEngine(journal, properties, clock);
+    }
+}
@@ -0,0 +1,50 @@
+package com.bitvelocity.inventory.snapshot;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SKU Dictionary Tests")
+class SkuDictionaryTest {
+
+    @Test
+    @DisplayName("SKUs should keep dense, stable indexes across growth")
+    void denseStableIndexes() {
+        // Given
+        SkuDictionary dictionary = new SkuDictionary();
+        int count = 200_000;
+
+        // When
+        for (int i = 0; i < count; i++) {
+            assertThat(dictionary.add("SKU-" + i)).isEqualTo(i);
+        }
+
+        // Then
+        assertThat(dictionary.size()).isEqualTo(count);
+        assertThat(dictionary.add("SKU-42")).isEqualTo(42);
+        for (int i = 0; i < count; i += 997) {
+            assertThat(dictionary.indexOf("SKU-" + i)).isEqualTo(i);
+            assertThat(dictionary.sku(i)).isEqualTo("SKU-" + i);
+        }
+        assertThat(dictionary.indexOf("SKU-" + count)).isEqualTo(-1);
+        assertThat(dictionary.footprintBytes()).isLessThan(count * 40L);
+    }
+
+    @Test
+    @DisplayName("SKUs should be compared by their UTF-8 bytes")
+    void utf8Keys() {
+        // Given
+        SkuDictionary dictionary = new SkuDictionary();
+
+        // When
+        int cafe = dictionary.add("CAFÉ-001");
+        int plain = dictionary.add("CAFE-001");
+
+        // Then
+        assertThat(cafe).isNotEqualTo(plain);
+        assertThat(dictionary.indexOf("CAFÉ-001")).isEqualTo(cafe);
+        assertThat(dictionary.sku(cafe)).isEqualTo("CAFÉ-001");
+        assertThat(dictionary.indexOf("")).isEqualTo(-1);
+    }
+}
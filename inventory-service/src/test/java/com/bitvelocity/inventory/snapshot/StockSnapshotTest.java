@@ -0,0 +1,206 @@
+package com.bitvelocity.inventory.snapshot;
+
+import com.bitvelocity.inventory.repository.InventoryAdjustmentRepository;
+import com.bitvelocity.testsupport.MutableClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Stock Snapshot Tests")
+class StockSnapshotTest {
+
+    @TempDir
+    private Path directory;
+
+    private final FakeLedger ledger = new FakeLedger();
+    private final MutableClock clock = new MutableClock();
+    private final SnapshotProperties properties = new SnapshotProperties();
+
+    @BeforeEach
+    void setUp() {
+        properties.setCheckpointPath(directory.resolve("snapshot.checkpoint").toString());
+        properties.setRefreshBatchSize(2);
+        properties.setMaxQuerySkus(3);
+    }
+
+    @Test
+    @DisplayName("Ledger rows should be summed per SKU and served in request order")
+    void appliesLedgerRows() {
+        // Given
+        ledger.row(1, "SKU-A", 10);
+        ledger.row(2, "SKU-B", 4);
+        ledger.row(3, "SKU-A", -3);
+        StockSnapshot snapshot = new StockSnapshot(ledger, properties, clock);
+
+        // When
+        ledger.row(4, "SKU-B", -10);
+        ledger.row(5, "SKU-C", 7);
+        int applied = snapshot.refresh();
+
+        // Then
+        assertThat(applied).isEqualTo(2);
+        assertThat(snapshot.watermark()).isEqualTo(5);
+        assertThat(snapshot.query(List.of("SKU-C", "SKU-A", "UNKNOWN"))).containsExactly(
+                new SnapshotLevel("SKU-C", 7, true),
+                new SnapshotLevel("SKU-A", 7, true),
+                new SnapshotLevel("UNKNOWN", 0, false));
+        assertThat(snapshot.query(List.of("SKU-B"))).containsExactly(new SnapshotLevel("SKU-B", 0, true));
+        assertThatThrownBy(() -> snapshot.query(List.of("1", "2", "3", "4")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("A row committed out of id order should be applied once, when it appears")
+    void outOfOrderIds() {
+        // Given: id 3 is still in an open transaction
+        ledger.row(1, "SKU-A", 1);
+        ledger.row(2, "SKU-A", 1);
+        ledger.row(4, "SKU-A", 100);
+        StockSnapshot snapshot = new StockSnapshot(ledger, properties, clock);
+        assertThat(snapshot.watermark()).isEqualTo(2);
+        assertThat(onHand(snapshot, "SKU-A")).isEqualTo(102);
+
+        // When
+        ledger.row(3, "SKU-A", 10);
+        snapshot.refresh();
+
+        // Then
+        assertThat(snapshot.watermark()).isEqualTo(4);
+        assertThat(onHand(snapshot, "SKU-A")).isEqualTo(112);
+    }
+
+    @Test
+    @DisplayName("A negative row applied before the row it follows should not change the sum")
+    void sumDoesNotDependOnApplyOrder() {
+        // Given - the receipt (id 1) commits after the shrinkage that follows it (id 2)
+        ledger.row(2, "SKU-A", -3);
+        StockSnapshot snapshot = new StockSnapshot(ledger, properties, clock);
+        assertThat(snapshot.query(List.of("SKU-A"))).containsExactly(new SnapshotLevel("SKU-A", 0, true));
+
+        // When
+        ledger.row(1, "SKU-A", 5);
+        snapshot.refresh();
+
+        // Then
+        assertThat(onHand(snapshot, "SKU-A")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Rows behind an open gap should not hold back newer rows beyond one page")
+    void pagesPastAppliedRowsBehindGap() {
+        // Given: id 2 is still in an open transaction; 3..4 fill a whole page once applied
+        ledger.row(1, "SKU-A", 1);
+        ledger.row(3, "SKU-A", 1);
+        ledger.row(4, "SKU-A", 1);
+        StockSnapshot snapshot = new StockSnapshot(ledger, properties, clock);
+        assertThat(onHand(snapshot, "SKU-A")).isEqualTo(3);
+
+        // When
+        ledger.row(5, "SKU-A", 10);
+        ledger.row(6, "SKU-A", 100);
+        int applied = snapshot.refresh();
+
+        // Then
+        assertThat(applied).isEqualTo(2);
+        assertThat(snapshot.watermark()).isEqualTo(1);
+        assertThat(onHand(snapshot, "SKU-A")).isEqualTo(113);
+    }
+
+    @Test
+    @DisplayName("A missing id should be skipped once the gap timeout has passed")
+    void staleGapIsSkipped() {
+        // Given
+        ledger.row(1, "SKU-A", 1);
+        ledger.row(3, "SKU-A", 1);
+        StockSnapshot snapshot = new StockSnapshot(ledger, properties, clock);
+        assertThat(snapshot.watermark()).isEqualTo(1);
+
+        // When
+        clock.advance(properties.getGapTimeoutMs());
+        snapshot.refresh();
+
+        // Then
+        assertThat(snapshot.watermark()).isEqualTo(3);
+        assertThat(onHand(snapshot, "SKU-A")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("A restart should resume from the checkpoint and apply only newer rows")
+    void restartFromCheckpoint() throws Exception {
+        // Given
+        for (int id = 1; id <= 50; id++) {
+            ledger.row(id, "SKU-" + (id % 5), id);
+        }
+        ledger.row(52, "SKU-0", 1000);
+        StockSnapshot before = new StockSnapshot(ledger, properties, clock);
+        before.checkpoint();
+
+        // When: the checkpointed rows vanish (compacted away) and new ones arrive
+        ledger.rows.headMap(53L).replaceAll((id, row) -> new Row("SKU-GONE", 1));
+        ledger.row(51, "SKU-1", 5);
+        ledger.row(53, "SKU-9", 9);
+        StockSnapshot after = new StockSnapshot(ledger, properties, clock);
+
+        // Then
+        assertThat(after.watermark()).isEqualTo(53);
+        assertThat(onHand(after, "SKU-0")).isEqualTo(onHand(before, "SKU-0"));
+        assertThat(onHand(after, "SKU-1")).isEqualTo(onHand(before, "SKU-1") + 5);
+        assertThat(onHand(after, "SKU-9")).isEqualTo(9);
+        assertThat(after.query(List.of("SKU-GONE")).get(0).known()).isFalse();
+    }
+
+    @Test
+    @DisplayName("A corrupt checkpoint should be ignored and the snapshot rebuilt from the ledger")
+    void corruptCheckpoint() throws Exception {
+        // Given
+        ledger.row(1, "SKU-A", 5);
+        new StockSnapshot(ledger, properties, clock).checkpoint();
+        Path checkpoint = Path.of(properties.getCheckpointPath());
+        byte[] content = Files.readAllBytes(checkpoint);
+        content[content.length / 2] ^= 0x7F;
+        Files.write(checkpoint, content);
+
+        // When
+        StockSnapshot rebuilt = new StockSnapshot(ledger, properties, clock);
+
+        // Then
+        assertThat(rebuilt.watermark()).isEqualTo(1);
+        assertThat(onHand(rebuilt, "SKU-A")).isEqualTo(5);
+    }
+
+    private static int onHand(StockSnapshot snapshot, String sku) {
+        return snapshot.query(List.of(sku)).get(0).onHand();
+    }
+
+    private record Row(String sku, int delta) {
+    }
+
+    private static class FakeLedger extends InventoryAdjustmentRepository {
+
+        private final TreeMap<Long, Row> rows = new TreeMap<>();
+
+        FakeLedger() {
+            super(null);
+        }
+
+        void row(long id, String sku, int delta) {
+            rows.put(id, new Row(sku, delta));
+        }
+
+        @Override
+        public void forEachAfter(long afterId, int limit, AdjustmentRowHandler handler) {
+            rows.tailMap(afterId, false).entrySet().stream()
+                    .limit(limit)
+                    .forEach(entry -> handler.accept(entry.getKey(), entry.getValue().sku(), entry.getValue().delta()));
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.bitvelocity.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * Checkout journey of one shopper: add items to a guest cart, view it, create the order from the
+ * cart lines, pay it through the checkout saga and clear the cart. Each HTTP call is timed as its
+ * own step; a non-2xx response, or a saga that did not complete, fails the step and ends the
+ * iteration.
+ */
+public class CheckoutFlow implements Flow {
+
+    public static final String ADD_TO_CART = "add-to-cart";
+    public static final String VIEW_CART = "view-cart";
+    public static final String CREATE_ORDER = "create-order";
+    public static final String PAY = "pay";
+    public static final String CLEAR_CART = "clear-cart";
+
+    /**
+     * SKUs and prices sent with orders; the cart's in-memory catalog starts empty
+     */
+    static final Map<String, BigDecimal> CATALOG = catalog();
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final URI cartUrl;
+    private final URI orderUrl;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String runId = UUID.randomUUID().toString().substring(0, 8);
+    private final List<String> skus = List.copyOf(CATALOG.keySet());
+
+    public CheckoutFlow(URI cartUrl, URI orderUrl) {
+        this.cartUrl = cartUrl;
+        this.orderUrl = orderUrl;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    @Override
+    public void execute(long iteration, Metrics metrics) throws IOException, InterruptedException {
+        String cartId = "guest:load-" + runId + "-" + iteration;
+        int lines = 1 + (int) (iteration % 3);
+        for (int line = 0; line < lines; line++) {
+            String sku = skus.get((int) ((iteration + line) % skus.size()));
+            call(metrics.step(ADD_TO_CART), post(cartUrl, "/api/v1/carts/" + cartId + "/items",
+                    json(Map.of("sku", sku, "quantity", 1 + line)), null));
+        }
+
+        JsonNode cart = call(metrics.step(VIEW_CART), get(cartUrl, "/api/v1/carts/" + cartId));
+
+        ObjectNode order = objectMapper.createObjectNode()
+                .put("userId", "load-user-" + (iteration % 1_000))
+                .put("currency", "USD");
+        ArrayNode items = order.putArray("items");
+        for (JsonNode item : cart.path("items")) {
+            String sku = item.path("sku").asText();
+            items.addObject()
+                    .put("sku", sku)
+                    .put("quantity", item.path("quantity").asInt())
+                    .put("unitPrice", CATALOG.get(sku));
+        }
+        JsonNode created = call(metrics.step(CREATE_ORDER),
+                post(orderUrl, "/api/v1/orders", order.toString(), cartId));
+
+        call(metrics.step(PAY), post(orderUrl, "/api/v1/orders/" + created.path("id").asText() + "/checkout", "", null),
+                saga -> "COMPLETED".equals(saga.path("status").asText()));
+        call(metrics.step(CLEAR_CART), HttpRequest.newBuilder(cartUrl.resolve("/api/v1/carts/" + cartId))
+                .timeout(REQUEST_TIMEOUT)
+                .DELETE()
+                .build());
+    }
+
+    private JsonNode call(StepMetrics step, HttpRequest request) throws IOException, InterruptedException {
+        return call(step, request, body -> true);
+    }
+
+    private JsonNode call(StepMetrics step, HttpRequest request, Predicate<JsonNode> succeeded)
+            throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            step.recordError();
+            throw e;
+        }
+        long latency = System.nanoTime() - start;
+        if (response.statusCode() / 100 != 2) {
+            step.recordError();
+            throw new IllegalStateException(step.step() + " returned " + response.statusCode() + ": " + response.body());
+        }
+        JsonNode body = response.body().isEmpty() ? objectMapper.nullNode() : objectMapper.readTree(response.body());
+        if (!succeeded.test(body)) {
+            step.recordError();
+            throw new IllegalStateException(step.step() + " did not succeed: " + response.body());
+        }
+        step.recordNanos(latency);
+        return body;
+    }
+
+    private static HttpRequest get(URI base, String path) {
+        return HttpRequest.newBuilder(base.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+    }
+
+    private static HttpRequest post(URI base, String path, String body, String idempotencyKey) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(base.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (idempotencyKey != null) {
+            builder.header("Idempotency-Key", idempotencyKey);
+        }
+        return builder.build();
+    }
+
+    private String json(Map<String, Object> value) throws IOException {
+        return objectMapper.writeValueAsString(value);
+    }
+
+    private static Map<String, BigDecimal> catalog() {
+        Map<String, BigDecimal> catalog = new LinkedHashMap<>();
+        catalog.put("LAPTOP-001", new BigDecimal("999.99"));
+        catalog.put("MOUSE-001", new BigDecimal("25.00"));
+        catalog.put("KEYBOARD-001", new BigDecimal("79.99"));
+        catalog.put("MONITOR-001", new BigDecimal("249.00"));
+        return catalog;
+    }
+}
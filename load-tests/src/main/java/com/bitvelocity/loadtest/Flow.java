@@ -0,0 +1,10 @@
+package com.bitvelocity.loadtest;
+
+/**
+ * One virtual-user iteration, recording each step into the given metrics.
+ */
+@FunctionalInterface
+public interface Flow {
+
+    void execute(long iteration, Metrics metrics) throws Exception;
+}
@@ -0,0 +1,7 @@
+package com.bitvelocity.loadtest;
+
+/**
+ * Latency thresholds of one step; a run fails if either percentile is above its limit.
+ */
+public record LatencyGate(String step, long p95Millis, long p99Millis) {
+}
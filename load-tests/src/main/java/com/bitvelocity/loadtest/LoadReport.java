@@ -0,0 +1,115 @@
+package com.bitvelocity.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Outcome of a run: per-step latency percentiles and the gate violations, if any.
+ */
+public record LoadReport(Scenario scenario, long launched, long dropped, Duration elapsed,
+                         List<StepResult> steps) {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    public record StepResult(String step, long count, long errors, double p50Millis, double p95Millis,
+                             double p99Millis, double maxMillis, Histogram histogram) {
+
+        static StepResult of(StepMetrics metrics) {
+            Histogram histogram = metrics.histogram();
+            return new StepResult(metrics.step(), histogram.getTotalCount(), metrics.errors(),
+                    histogram.getValueAtPercentile(50) / NANOS_PER_MILLI,
+                    histogram.getValueAtPercentile(95) / NANOS_PER_MILLI,
+                    histogram.getValueAtPercentile(99) / NANOS_PER_MILLI,
+                    histogram.getMaxValue() / NANOS_PER_MILLI,
+                    histogram);
+        }
+    }
+
+    static LoadReport of(Scenario scenario, Metrics metrics, long launched, long dropped, Duration elapsed) {
+        return new LoadReport(scenario, launched, dropped, elapsed,
+                metrics.steps().stream().map(StepResult::of).toList());
+    }
+
+    public Optional<StepResult> step(String name) {
+        return steps.stream().filter(result -> result.step().equals(name)).findFirst();
+    }
+
+    /**
+     * Failed flows and dropped arrivals over all arrivals.
+     */
+    public double errorRate() {
+        long failed = step(LoadRunner.FLOW_STEP).map(StepResult::errors).orElse(0L) + dropped;
+        long arrivals = launched + dropped;
+        return arrivals == 0 ? 0 : (double) failed / arrivals;
+    }
+
+    /**
+     * Human-readable gate breaches; empty when the run passed.
+     */
+    public List<String> violations() {
+        List<String> violations = new ArrayList<>();
+        if (launched == 0) {
+            violations.add("no iterations were launched");
+        }
+        if (errorRate() > scenario.maxErrorRate()) {
+            violations.add(String.format("error rate %.2f%% > %.2f%%", errorRate() * 100, scenario.maxErrorRate() * 100));
+        }
+        for (LatencyGate gate : scenario.gates().values()) {
+            Optional<StepResult> result = step(gate.step());
+            if (result.isEmpty() || result.get().count() == 0) {
+                violations.add(gate.step() + ": no successful samples");
+                continue;
+            }
+            if (result.get().p95Millis() > gate.p95Millis()) {
+                violations.add(String.format("%s: p95 %.1f ms > %d ms", gate.step(), result.get().p95Millis(), gate.p95Millis()));
+            }
+            if (result.get().p99Millis() > gate.p99Millis()) {
+                violations.add(String.format("%s: p99 %.1f ms > %d ms", gate.step(), result.get().p99Millis(), gate.p99Millis()));
+            }
+        }
+        return violations;
+    }
+
+    public boolean passed() {
+        return violations().isEmpty();
+    }
+
+    public void print(PrintStream out) {
+        double seconds = elapsed.toNanos() / 1e9;
+        out.printf("%nScenario '%s': %d iterations in %.1f s (%.1f/s), %d dropped%n",
+                scenario.name(), launched, seconds, launched / seconds, dropped);
+        out.printf("%-14s %9s %7s %9s %9s %9s %9s%n", "step", "count", "errors", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (StepResult result : steps) {
+            out.printf("%-14s %9d %7d %9.1f %9.1f %9.1f %9.1f%n", result.step(), result.count(), result.errors(),
+                    result.p50Millis(), result.p95Millis(), result.p99Millis(), result.maxMillis());
+        }
+        List<String> violations = violations();
+        out.println(violations.isEmpty() ? "PASSED" : "FAILED: " + String.join("; ", violations));
+    }
+
+    /**
+     * Writes one HdrHistogram percentile distribution (.hgrm, milliseconds) per step.
+     */
+    public void writeHistograms(Path directory) {
+        try {
+            Files.createDirectories(directory);
+            for (StepResult result : steps) {
+                Path file = directory.resolve(scenario.name() + "-" + result.step() + ".hgrm");
+                try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                    result.histogram().outputPercentileDistribution(out, NANOS_PER_MILLI);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
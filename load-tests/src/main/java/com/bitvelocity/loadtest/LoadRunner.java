@@ -0,0 +1,82 @@
+package com.bitvelocity.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a Flow with the scenario's open workload model.
+ *
+ * Arrivals follow the target rate regardless of how fast the system responds (like Gatling's
+ * users-per-second injection): every tick adds rate x elapsed arrival credits and launches one
+ * virtual thread per whole credit. The end-to-end flow latency is measured from the intended
+ * arrival time, so a stalled system shows up in the percentiles instead of silently lowering
+ * the request rate (coordinated omission). Arrivals beyond maxInFlight are dropped and counted
+ * against the error budget.
+ */
+public class LoadRunner {
+
+    public static final String FLOW_STEP = "flow";
+
+    private static final Logger log = LoggerFactory.getLogger(LoadRunner.class);
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Scenario scenario;
+    private final Flow flow;
+
+    public LoadRunner(Scenario scenario, Flow flow) {
+        this.scenario = scenario;
+        this.flow = flow;
+    }
+
+    public LoadReport run() {
+        Metrics metrics = new Metrics();
+        StepMetrics flowMetrics = metrics.step(FLOW_STEP);
+        Semaphore inFlight = new Semaphore(scenario.maxInFlight());
+        long launched = 0;
+        long dropped = 0;
+
+        log.info("Running scenario '{}' for {} (max in flight {})", scenario.name(), scenario.duration(),
+                scenario.maxInFlight());
+        long start = System.nanoTime();
+        long end = start + scenario.duration().toNanos();
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            double credits = 0;
+            long previous = start;
+            long now;
+            while ((now = System.nanoTime()) < end) {
+                credits += scenario.rateAt(now - start) * (now - previous) / 1e9;
+                previous = now;
+                while (credits >= 1) {
+                    credits -= 1;
+                    if (!inFlight.tryAcquire()) {
+                        dropped++;
+                        continue;
+                    }
+                    long iteration = ++launched;
+                    long intendedStart = now;
+                    users.execute(() -> {
+                        try {
+                            flow.execute(iteration, metrics);
+                            flowMetrics.recordNanos(System.nanoTime() - intendedStart);
+                        } catch (Exception e) {
+                            flowMetrics.recordError();
+                            log.debug("Iteration {} failed: {}", iteration, e.getMessage());
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                }
+                LockSupport.parkNanos(TICK_NANOS);
+            }
+            log.info("Arrivals done ({} launched, {} dropped), waiting for in-flight iterations", launched, dropped);
+        }
+        return LoadReport.of(scenario, metrics, launched, dropped, Duration.ofNanos(System.nanoTime() - start));
+    }
+}
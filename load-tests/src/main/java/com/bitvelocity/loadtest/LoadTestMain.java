@@ -0,0 +1,37 @@
+package com.bitvelocity.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+
+/**
+ * Runs one checkout scenario against running services and exits with status 1 if a gate is
+ * breached.
+ *
+ * System properties: load.scenario (steady, ramp, spike or a file path; default steady),
+ * load.cart-url (default http://localhost:8082), load.order-url (default http://localhost:8083),
+ * load.duration-scale (multiplies stage durations; default 1) and load.report-dir
+ * (default target/load-reports).
+ */
+public final class LoadTestMain {
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) {
+        LoadReport report = runFromSystemProperties();
+        System.exit(report.passed() ? 0 : 1);
+    }
+
+    public static LoadReport runFromSystemProperties() {
+        Scenario scenario = Scenario.load(System.getProperty("load.scenario", "steady"))
+                .scaled(Double.parseDouble(System.getProperty("load.duration-scale", "1")));
+        CheckoutFlow flow = new CheckoutFlow(
+                URI.create(System.getProperty("load.cart-url", "http://localhost:8082")),
+                URI.create(System.getProperty("load.order-url", "http://localhost:8083")));
+
+        LoadReport report = new LoadRunner(scenario, flow).run();
+        report.print(System.out);
+        report.writeHistograms(Path.of(System.getProperty("load.report-dir", "target/load-reports")));
+        return report;
+    }
+}
@@ -0,0 +1,31 @@
+package com.bitvelocity.loadtest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Per-step metrics of a run, created on first use and reported in that order.
+ */
+public class Metrics {
+
+    private final Map<String, StepMetrics> steps = new ConcurrentHashMap<>();
+    private final List<StepMetrics> order = new CopyOnWriteArrayList<>();
+
+    public StepMetrics step(String name) {
+        StepMetrics step = steps.get(name);
+        if (step != null) {
+            return step;
+        }
+        return steps.computeIfAbsent(name, key -> {
+            StepMetrics created = new StepMetrics(key);
+            order.add(created);
+            return created;
+        });
+    }
+
+    public List<StepMetrics> steps() {
+        return List.copyOf(order);
+    }
+}
@@ -0,0 +1,100 @@
+package com.bitvelocity.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Load profile and pass/fail gates of a run.
+ *
+ * Scenarios are properties files, bundled under scenarios/ (steady, ramp, spike) or given as a
+ * path:
+ * <pre>
+ * scenario.stages=10:0:50,60:50:50      # seconds:startRate:endRate, checkouts per second
+ * scenario.max-in-flight=500            # concurrent checkouts; arrivals beyond are dropped
+ * gate.create-order.p95-ms=200
+ * gate.create-order.p99-ms=500
+ * gate.max-error-rate=0.01
+ * </pre>
+ */
+public record Scenario(String name, List<Stage> stages, int maxInFlight, Map<String, LatencyGate> gates,
+                       double maxErrorRate) {
+
+    public static Scenario load(String nameOrPath) {
+        Properties properties = new Properties();
+        Path path = Path.of(nameOrPath);
+        try (InputStream in = Files.isRegularFile(path)
+                ? Files.newInputStream(path)
+                : Scenario.class.getResourceAsStream("/scenarios/" + nameOrPath + ".properties")) {
+            if (in == null) {
+                throw new IllegalArgumentException("Unknown scenario: " + nameOrPath);
+            }
+            properties.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return fromProperties(properties.getProperty("scenario.name", nameOrPath), properties);
+    }
+
+    static Scenario fromProperties(String name, Properties properties) {
+        List<Stage> stages = Arrays.stream(required(properties, "scenario.stages").split(","))
+                .map(Stage::parse)
+                .toList();
+        Map<String, LatencyGate> gates = new LinkedHashMap<>();
+        for (String key : properties.stringPropertyNames().stream().sorted().toList()) {
+            if (key.startsWith("gate.") && key.endsWith(".p95-ms")) {
+                String step = key.substring("gate.".length(), key.length() - ".p95-ms".length());
+                gates.put(step, new LatencyGate(step,
+                        Long.parseLong(properties.getProperty(key)),
+                        Long.parseLong(required(properties, "gate." + step + ".p99-ms"))));
+            }
+        }
+        return new Scenario(name, stages,
+                Integer.parseInt(properties.getProperty("scenario.max-in-flight", "1000")),
+                gates,
+                Double.parseDouble(properties.getProperty("gate.max-error-rate", "0.01")));
+    }
+
+    public Duration duration() {
+        return stages.stream().map(Stage::duration).reduce(Duration.ZERO, Duration::plus);
+    }
+
+    /**
+     * Same profile with every stage duration multiplied by factor, for quick runs.
+     */
+    public Scenario scaled(double factor) {
+        return new Scenario(name, stages.stream().map(stage -> stage.scaled(factor)).toList(), maxInFlight, gates,
+                maxErrorRate);
+    }
+
+    /**
+     * Target arrival rate at the given time since the start, 0 after the last stage.
+     */
+    public double rateAt(long elapsedNanos) {
+        long stageStart = 0;
+        for (Stage stage : stages) {
+            long stageEnd = stageStart + stage.duration().toNanos();
+            if (elapsedNanos < stageEnd) {
+                return stage.rateAt(elapsedNanos - stageStart);
+            }
+            stageStart = stageEnd;
+        }
+        return 0;
+    }
+
+    private static String required(Properties properties, String key) {
+        String value = properties.getProperty(key);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing scenario property " + key);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,41 @@
+package com.bitvelocity.loadtest;
+
+import java.time.Duration;
+
+/**
+ * A period of the open workload model: checkout arrivals per second move linearly from
+ * startRate to endRate over the duration (equal rates give a constant load).
+ */
+public record Stage(Duration duration, double startRate, double endRate) {
+
+    public Stage {
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("Stage duration must be positive");
+        }
+        if (startRate < 0 || endRate < 0) {
+            throw new IllegalArgumentException("Stage rates must not be negative");
+        }
+    }
+
+    /**
+     * Parses "seconds:startRate:endRate", e.g. "30:10:200" for a 30 second ramp.
+     */
+    public static Stage parse(String spec) {
+        String[] parts = spec.trim().split(":");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Stage must be seconds:startRate:endRate, got '" + spec + "'");
+        }
+        return new Stage(Duration.ofMillis(Math.round(Double.parseDouble(parts[0]) * 1000)),
+                Double.parseDouble(parts[1]), Double.parseDouble(parts[2]));
+    }
+
+    public double rateAt(long elapsedNanos) {
+        double progress = Math.min(1.0, (double) elapsedNanos / duration.toNanos());
+        return startRate + (endRate - startRate) * progress;
+    }
+
+    public Stage scaled(double factor) {
+        return new Stage(Duration.ofNanos(Math.max(1_000_000, Math.round(duration.toNanos() * factor))),
+                startRate, endRate);
+    }
+}
@@ -0,0 +1,51 @@
+package com.bitvelocity.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and failures of one step, recorded concurrently from all virtual users.
+ */
+public class StepMetrics {
+
+    /**
+     * Latencies above this are clamped; a minute is far beyond any gate
+     */
+    static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final String step;
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_NANOS, 3);
+    private final Histogram total = new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+    private final LongAdder errors = new LongAdder();
+
+    public StepMetrics(String step) {
+        this.step = step;
+    }
+
+    public String step() {
+        return step;
+    }
+
+    public void recordNanos(long latencyNanos) {
+        recorder.recordValue(Math.min(Math.max(latencyNanos, 0), HIGHEST_TRACKABLE_NANOS));
+    }
+
+    public void recordError() {
+        errors.increment();
+    }
+
+    public long errors() {
+        return errors.sum();
+    }
+
+    /**
+     * All latencies recorded so far. Called by the single reporting thread.
+     */
+    public synchronized Histogram histogram() {
+        total.add(recorder.getIntervalHistogram());
+        return total.copy();
+    }
+}
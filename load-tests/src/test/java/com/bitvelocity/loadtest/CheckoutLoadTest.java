@@ -0,0 +1,28 @@
+package com.bitvelocity.loadtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checkout load test against running cart-service and order-service instances.
+ *
+ * Start both with the local profile (H2, in-memory catalog), then:
+ * mvn -pl load-tests test -Dtest=CheckoutLoadTest -Dload=true -Dload.scenario=spike
+ *
+ * See LoadTestMain for the other load.* properties.
+ */
+@EnabledIfSystemProperty(named = "load", matches = "true")
+@DisplayName("Checkout load test (cart -> order -> pay)")
+class CheckoutLoadTest {
+
+    @Test
+    @DisplayName("Checkout latencies should stay within the scenario gates")
+    void checkoutMeetsGates() {
+        LoadReport report = LoadTestMain.runFromSystemProperties();
+
+        assertThat(report.violations()).isEmpty();
+    }
+}
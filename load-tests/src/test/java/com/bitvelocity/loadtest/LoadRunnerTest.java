@@ -0,0 +1,144 @@
+package com.bitvelocity.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the checkout flow against an in-process stub of the cart and order endpoints.
+ */
+@DisplayName("LoadRunner Unit Tests")
+class LoadRunnerTest {
+
+    private HttpServer server;
+    private final AtomicInteger ordersCreated = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    @DisplayName("Should drive the checkout flow at the target rate and pass its gates")
+    void testCheckoutFlowPasses() throws Exception {
+        // Given
+        URI baseUrl = startStub(0);
+        Scenario scenario = scenario(Map.of(CheckoutFlow.CREATE_ORDER, new LatencyGate(CheckoutFlow.CREATE_ORDER, 1_000, 2_000)));
+
+        // When
+        LoadReport report = new LoadRunner(scenario, new CheckoutFlow(baseUrl, baseUrl)).run();
+
+        // Then
+        assertThat(report.violations()).isEmpty();
+        assertThat(report.launched()).isBetween(30L, 50L);
+        assertThat(report.step(CheckoutFlow.CREATE_ORDER).orElseThrow().count()).isEqualTo(report.launched());
+        assertThat(report.step(CheckoutFlow.ADD_TO_CART).orElseThrow().count()).isGreaterThan(report.launched());
+        assertThat(report.step(LoadRunner.FLOW_STEP).orElseThrow().errors()).isZero();
+        assertThat(ordersCreated.get()).isEqualTo((int) report.launched());
+    }
+
+    @Test
+    @DisplayName("Should fail the run when a percentile is above its gate")
+    void testLatencyGateBreached() throws Exception {
+        // Given
+        URI baseUrl = startStub(30);
+        Scenario scenario = scenario(Map.of(CheckoutFlow.CREATE_ORDER, new LatencyGate(CheckoutFlow.CREATE_ORDER, 5, 10)));
+
+        // When
+        LoadReport report = new LoadRunner(scenario, new CheckoutFlow(baseUrl, baseUrl)).run();
+
+        // Then
+        assertThat(report.passed()).isFalse();
+        assertThat(report.violations()).anyMatch(violation -> violation.startsWith("create-order: p95"));
+        assertThat(report.step(CheckoutFlow.CREATE_ORDER).orElseThrow().p95Millis()).isGreaterThanOrEqualTo(30);
+    }
+
+    @Test
+    @DisplayName("Should count failed iterations against the error budget and write histograms")
+    void testErrorsAndHistograms() throws Exception {
+        // Given
+        Scenario scenario = scenario(Map.of());
+        Path reportDir = Files.createTempDirectory("load-reports");
+
+        // When
+        LoadReport report = new LoadRunner(scenario, (iteration, metrics) -> {
+            metrics.step("step").recordNanos(1_000_000);
+            if (iteration % 2 == 0) {
+                throw new IllegalStateException("boom");
+            }
+        }).run();
+        report.writeHistograms(reportDir);
+
+        // Then
+        assertThat(report.errorRate()).isBetween(0.4, 0.6);
+        assertThat(report.violations()).anyMatch(violation -> violation.startsWith("error rate"));
+        assertThat(reportDir.resolve("test-step.hgrm")).exists();
+    }
+
+    private static Scenario scenario(Map<String, LatencyGate> gates) {
+        return new Scenario("test", List.of(new Stage(Duration.ofSeconds(2), 20, 20)), 100, gates, 0.01);
+    }
+
+    private URI startStub(long delayMillis) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/api/v1/carts/", exchange -> {
+            pause(delayMillis);
+            switch (exchange.getRequestMethod()) {
+                case "GET" -> respond(exchange, 200, "{\"items\":[{\"sku\":\"MOUSE-001\",\"quantity\":1}]}");
+                case "DELETE" -> respond(exchange, 204, "");
+                default -> respond(exchange, 200, "{}");
+            }
+        });
+        server.createContext("/api/v1/orders", exchange -> {
+            pause(delayMillis);
+            if (exchange.getRequestURI().getPath().endsWith("/checkout")) {
+                respond(exchange, 200, "{\"status\":\"COMPLETED\"}");
+            } else if (exchange.getRequestHeaders().getFirst("Idempotency-Key") == null) {
+                respond(exchange, 400, "{}");
+            } else {
+                ordersCreated.incrementAndGet();
+                respond(exchange, 201, "{\"id\":\"" + UUID.randomUUID() + "\"}");
+            }
+        });
+        server.start();
+        return URI.create("http://localhost:" + server.getAddress().getPort());
+    }
+
+    private static void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            exchange.getResponseBody().write(bytes);
+        }
+        exchange.close();
+    }
+}
@@ -0,0 +1,59 @@
+package com.bitvelocity.loadtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("Scenario Unit Tests")
+class ScenarioTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"steady", "ramp", "spike"})
+    @DisplayName("Bundled scenarios should load with gates for every checkout step")
+    void testBundledScenarios(String name) {
+        Scenario scenario = Scenario.load(name);
+
+        assertThat(scenario.name()).isEqualTo(name);
+        assertThat(scenario.stages()).isNotEmpty();
+        assertThat(scenario.gates()).containsKeys(CheckoutFlow.ADD_TO_CART, CheckoutFlow.VIEW_CART,
+                CheckoutFlow.CREATE_ORDER, CheckoutFlow.PAY);
+        assertThat(scenario.gates().get(CheckoutFlow.CREATE_ORDER).p95Millis()).isLessThanOrEqualTo(300);
+    }
+
+    @Test
+    @DisplayName("Rate should interpolate within a stage and drop to zero after the last one")
+    void testRateAt() {
+        // Given
+        Scenario scenario = Scenario.load("spike");
+        long second = Duration.ofSeconds(1).toNanos();
+
+        // When / Then
+        assertThat(scenario.rateAt(5 * second)).isEqualTo(20);
+        assertThat(scenario.rateAt(21 * second)).isCloseTo(210, within(0.001));
+        assertThat(scenario.rateAt(30 * second)).isEqualTo(400);
+        assertThat(scenario.rateAt(scenario.duration().toNanos())).isZero();
+    }
+
+    @Test
+    @DisplayName("Scaling should shrink stage durations and keep rates")
+    void testScaled() {
+        Scenario scenario = Scenario.load("steady").scaled(0.1);
+
+        assertThat(scenario.duration()).isEqualTo(Duration.ofSeconds(7));
+        assertThat(scenario.stages().get(1).startRate()).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown scenarios and malformed stages")
+    void testInvalidInput() {
+        assertThatThrownBy(() -> Scenario.load("no-such-scenario")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Stage.parse("10:5")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -1,15 +0,0 @@
-package com.bitvelocity.order;
-
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
-
-@RestController
-@RequestMapping("/api/v1/orders")
-public class OrderController {
-    @GetMapping
-    public String getOrders() {
-        return "Order list (stub)";
-    }
-}
-
@@ -0,0 +1,11 @@
+package com.bitvelocity.order.client;
+
+/**
+ * A downstream service refused the request (as opposed to failing or timing out).
+ */
+public class DependencyRejectedException extends RuntimeException {
+
+    public DependencyRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,119 @@
+package com.bitvelocity.order.client;
+
+import com.bitvelocity.inventory.grpc.v1.CommitRequest;
+import com.bitvelocity.inventory.grpc.v1.InventoryGrpc;
+import com.bitvelocity.inventory.grpc.v1.ReserveRequest;
+import com.bitvelocity.inventory.grpc.v1.ReserveResponse;
+import com.bitvelocity.inventory.grpc.v1.ReturnRequest;
+import com.bitvelocity.inventory.grpc.v1.ReturnResponse;
+import com.bitvelocity.inventory.grpc.v1.StockLine;
+import com.bitvelocity.order.domain.OrderItem;
+import com.bitvelocity.order.saga.SagaProperties;
+import com.bitvelocity.order.saga.SagaStep;
+import io.grpc.ManagedChannel;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reserves and commits stock in inventory-service over gRPC. Every call carries the RESERVE_STOCK step deadline,
+ * which inventory-service checks before doing any work, and is retried on UNAVAILABLE within it.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "order-service.saga.inventory-client", havingValue = "grpc")
+public class GrpcInventoryClient implements InventoryClient, DisposableBean {
+
+    private final ManagedChannel channel;
+    private final InventoryGrpc.InventoryBlockingStub inventory;
+    private final long deadlineMs;
+
+    @Autowired
+    public GrpcInventoryClient(SagaProperties properties) {
+        this(NettyChannelBuilder.forTarget(properties.getGrpc().getInventoryTarget())
+                .usePlaintext()
+                .defaultServiceConfig(serviceConfig(properties.getGrpc().getMaxAttempts()))
+                .enableRetry()
+                .build(), properties);
+    }
+
+    GrpcInventoryClient(ManagedChannel channel, SagaProperties properties) {
+        this.channel = channel;
+        this.inventory = InventoryGrpc.newBlockingStub(channel);
+        this.deadlineMs = properties.deadlineFor(SagaStep.RESERVE_STOCK);
+    }
+
+    @Override
+    public String reserve(UUID orderId, List<OrderItem> items) {
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        items.forEach(item -> quantities.merge(item.getSku(), item.getQuantity(), Integer::sum));
+
+        ReserveRequest.Builder request = ReserveRequest.newBuilder().setReservationId(orderId.toString());
+        quantities.forEach((sku, quantity) ->
+                request.addLines(StockLine.newBuilder().setSku(sku).setQuantity(quantity)));
+
+        ReserveResponse response = inventory.withDeadlineAfter(deadlineMs, TimeUnit.MILLISECONDS)
+                .reserveStock(request.build());
+        return switch (response.getOutcome()) {
+            case RESERVED -> response.getReservationId();
+            case INSUFFICIENT_STOCK -> throw new DependencyRejectedException(
+                    "Insufficient stock for SKU " + response.getSku());
+            default -> throw new DependencyRejectedException(
+                    "Reservation rejected: " + response.getMessage());
+        };
+    }
+
+    @Override
+    public void returnStock(UUID orderId) {
+        ReturnResponse response = inventory.withDeadlineAfter(deadlineMs, TimeUnit.MILLISECONDS)
+                .returnStock(ReturnRequest.newBuilder().setReservationId(orderId.toString()).build());
+        log.debug("Returned reservation for order {} (found={}, status={})", orderId, response.getFound(),
+                response.getStatus());
+    }
+
+    @Override
+    public void commit(UUID orderId) {
+        try {
+            inventory.withDeadlineAfter(deadlineMs, TimeUnit.MILLISECONDS)
+                    .commitStock(CommitRequest.newBuilder().setReservationId(orderId.toString()).build());
+        } catch (StatusRuntimeException e) {
+            Status.Code code = e.getStatus().getCode();
+            if (code == Status.Code.NOT_FOUND || code == Status.Code.FAILED_PRECONDITION) {
+                throw new DependencyRejectedException("Commit rejected: " + e.getStatus().getDescription());
+            }
+            throw e;
+        }
+        log.debug("Committed reservation for order {}", orderId);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        channel.shutdown();
+        if (!channel.awaitTermination(5, TimeUnit.SECONDS)) {
+            channel.shutdownNow();
+        }
+    }
+
+    static Map<String, ?> serviceConfig(int maxAttempts) {
+        Map<String, Object> retryPolicy = Map.of(
+                "maxAttempts", (double) maxAttempts,
+                "initialBackoff", "0.05s",
+                "maxBackoff", "0.5s",
+                "backoffMultiplier", 2.0,
+                "retryableStatusCodes", List.of("UNAVAILABLE"));
+        return Map.of("methodConfig", List.of(Map.of(
+                "name", List.of(Map.of("service", InventoryGrpc.SERVICE_NAME)),
+                "retryPolicy", retryPolicy)));
+    }
+}
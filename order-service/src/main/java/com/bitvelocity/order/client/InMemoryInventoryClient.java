@@ -0,0 +1,56 @@
+package com.bitvelocity.order.client;
+
+import com.bitvelocity.order.domain.OrderItem;
+import com.bitvelocity.order.saga.SagaProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local stand-in for inventory-service: every reservation succeeds.
+ */
+@Component
+@ConditionalOnProperty(name = "order-service.saga.inventory-client", havingValue = "in-memory", matchIfMissing = true)
+@RequiredArgsConstructor
+public class InMemoryInventoryClient implements InventoryClient {
+
+    private final SagaProperties properties;
+    private final Map<UUID, String> reservations = new ConcurrentHashMap<>();
+    private final Set<UUID> committed = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public String reserve(UUID orderId, List<OrderItem> items) {
+        SimulatedLatency.pause(properties.getInMemory().getLatencyMs());
+        return reservations.computeIfAbsent(orderId, id -> "RSV-" + id);
+    }
+
+    @Override
+    public void returnStock(UUID orderId) {
+        SimulatedLatency.pause(properties.getInMemory().getLatencyMs());
+        reservations.remove(orderId);
+        committed.remove(orderId);
+    }
+
+    @Override
+    public void commit(UUID orderId) {
+        SimulatedLatency.pause(properties.getInMemory().getLatencyMs());
+        if (!reservations.containsKey(orderId)) {
+            throw new DependencyRejectedException("No reservation for order " + orderId);
+        }
+        committed.add(orderId);
+    }
+
+    public boolean isReserved(UUID orderId) {
+        return reservations.containsKey(orderId);
+    }
+
+    public boolean isCommitted(UUID orderId) {
+        return committed.contains(orderId);
+    }
+}
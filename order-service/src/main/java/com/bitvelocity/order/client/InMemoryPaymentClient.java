@@ -0,0 +1,42 @@
+package com.bitvelocity.order.client;
+
+import com.bitvelocity.order.saga.SagaProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local stand-in for payment-adapter-service: declines amounts above the configured limit.
+ */
+@Component
+@ConditionalOnProperty(name = "order-service.saga.clients", havingValue = "in-memory", matchIfMissing = true)
+@RequiredArgsConstructor
+public class InMemoryPaymentClient implements PaymentClient {
+
+    private final SagaProperties properties;
+    private final Map<UUID, String> authorizations = new ConcurrentHashMap<>();
+
+    @Override
+    public String authorize(UUID orderId, BigDecimal amount, String currency) {
+        SimulatedLatency.pause(properties.getInMemory().getLatencyMs());
+        if (amount.compareTo(BigDecimal.valueOf(properties.getInMemory().getPaymentLimit())) > 0) {
+            throw new DependencyRejectedException("Payment of " + amount + " " + currency + " declined");
+        }
+        return authorizations.computeIfAbsent(orderId, id -> "AUTH-" + id);
+    }
+
+    @Override
+    public void voidAuthorization(UUID orderId) {
+        SimulatedLatency.pause(properties.getInMemory().getLatencyMs());
+        authorizations.remove(orderId);
+    }
+
+    public boolean isAuthorized(UUID orderId) {
+        return authorizations.containsKey(orderId);
+    }
+}
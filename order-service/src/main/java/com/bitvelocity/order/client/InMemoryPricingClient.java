@@ -0,0 +1,31 @@
+package com.bitvelocity.order.client;
+
+import com.bitvelocity.order.domain.OrderItem;
+import com.bitvelocity.order.saga.SagaProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Local stand-in for pricing-service: accepts any positive price.
+ */
+@Component
+@ConditionalOnProperty(name = "order-service.saga.clients", havingValue = "in-memory", matchIfMissing = true)
+@RequiredArgsConstructor
+public class InMemoryPricingClient implements PricingClient {
+
+    private final SagaProperties properties;
+
+    @Override
+    public void validatePrices(List<OrderItem> items, String currency) {
+        SimulatedLatency.pause(properties.getInMemory().getLatencyMs());
+        for (OrderItem item : items) {
+            if (item.getUnitPrice().signum() <= 0) {
+                throw new DependencyRejectedException("No valid price for " + item.getSku() + " in " + currency);
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.bitvelocity.order.client;
+
+import com.bitvelocity.order.domain.OrderItem;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Stock reservations in inventory-service, keyed by order id so that retries are idempotent.
+ */
+public interface InventoryClient {
+
+    /**
+     * @return reservation id
+     * @throws DependencyRejectedException if stock is insufficient
+     */
+    String reserve(UUID orderId, List<OrderItem> items);
+
+    /**
+     * Undoes the order's reservation: releases it while held, or puts its units back in stock if
+     * it was committed (an order canceled after payment). A no-op if there is none or it was
+     * already returned.
+     */
+    void returnStock(UUID orderId);
+
+    /**
+     * Turns the order's reservation into a sale so it no longer expires; committing again is a
+     * no-op.
+     *
+     * @throws DependencyRejectedException if there is no reservation, or it was released or expired
+     */
+    void commit(UUID orderId);
+}
@@ -0,0 +1,22 @@
+package com.bitvelocity.order.client;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Payment authorizations through payment-adapter-service, keyed by order id so that retries are
+ * idempotent.
+ */
+public interface PaymentClient {
+
+    /**
+     * @return authorization id
+     * @throws DependencyRejectedException if the payment was declined
+     */
+    String authorize(UUID orderId, BigDecimal amount, String currency);
+
+    /**
+     * Voids the order's authorization; a no-op if there is none.
+     */
+    void voidAuthorization(UUID orderId);
+}
@@ -0,0 +1,16 @@
+package com.bitvelocity.order.client;
+
+import com.bitvelocity.order.domain.OrderItem;
+
+import java.util.List;
+
+/**
+ * Price checks against pricing-service.
+ */
+public interface PricingClient {
+
+    /**
+     * @throws DependencyRejectedException if a line's price is not the current price
+     */
+    void validatePrices(List<OrderItem> items, String currency);
+}
@@ -0,0 +1,22 @@
+package com.bitvelocity.order.client;
+
+/**
+ * Network delay of the in-memory stand-ins, so checkout timing resembles remote calls.
+ */
+final class SimulatedLatency {
+
+    private SimulatedLatency() {
+    }
+
+    static void pause(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during dependency call", e);
+        }
+    }
+}
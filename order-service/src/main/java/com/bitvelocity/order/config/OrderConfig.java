@@ -0,0 +1,22 @@
+package com.bitvelocity.order.config;
+
+import com.bitvelocity.order.idempotency.IdempotencyProperties;
+import com.bitvelocity.order.ingestion.OrderIngestionProperties;
+import com.bitvelocity.order.readmodel.OrdersByCustomerProperties;
+import com.bitvelocity.order.saga.SagaProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration
+@EnableConfigurationProperties({IdempotencyProperties.class, OrderIngestionProperties.class,
+        OrdersByCustomerProperties.class, SagaProperties.class})
+public class OrderConfig {
+
+    @Bean
+    public Clock clock() {
+        return Clock.systemUTC();
+    }
+}
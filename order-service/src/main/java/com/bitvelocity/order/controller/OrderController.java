@@ -0,0 +1,241 @@
+package com.bitvelocity.order.controller;
+
+import com.bitvelocity.order.dto.BulkOrderRequest;
+import com.bitvelocity.order.dto.BulkOrderResponse;
+import com.bitvelocity.order.dto.CreateOrderRequest;
+import com.bitvelocity.order.dto.OrderHistoryPageResponse;
+import com.bitvelocity.order.dto.OrderResponse;
+import com.bitvelocity.order.dto.OrderStatusChangeResponse;
+import com.bitvelocity.order.dto.SagaResponse;
+import com.bitvelocity.order.exception.ErrorResponse;
+import com.bitvelocity.order.exception.SagaNotFoundException;
+import com.bitvelocity.order.ingestion.OrderIngestionService;
+import com.bitvelocity.order.lifecycle.OrderLifecycleService;
+import com.bitvelocity.order.mapper.OrderMapper;
+import com.bitvelocity.order.readmodel.OrderCursor;
+import com.bitvelocity.order.readmodel.OrderHistoryPage;
+import com.bitvelocity.order.readmodel.OrdersByCustomerProjection;
+import com.bitvelocity.order.saga.SagaOrchestrator;
+import com.bitvelocity.order.service.OrderCreationResult;
+import com.bitvelocity.order.service.OrderService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/api/v1/orders")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Order Management", description = "APIs for creating and tracking orders")
+public class OrderController {
+
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private final OrderService orderService;
+    private final OrderLifecycleService orderLifecycleService;
+    private final OrderIngestionService orderIngestionService;
+    private final OrdersByCustomerProjection ordersByCustomer;
+    private final SagaOrchestrator sagaOrchestrator;
+    private final OrderMapper orderMapper;
+
+    @Operation(summary = "List a customer's orders",
+               description = "Order history of one customer, newest first. Pass nextCursor of a page as cursor to get the next one")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Page retrieved",
+                     content = @Content(schema = @Schema(implementation = OrderHistoryPageResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Missing userId or invalid cursor",
+                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping
+    public ResponseEntity<OrderHistoryPageResponse> getOrders(
+            @Parameter(description = "Customer id") @RequestParam String userId,
+            @Parameter(description = "nextCursor of the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (default 20, max 100)") @RequestParam(required = false) Integer limit) {
+
+        log.info("GET /api/v1/orders - userId: {}, cursor: {}, limit: {}", userId, cursor, limit);
+        OrderHistoryPage page = ordersByCustomer.getHistory(userId,
+                cursor == null || cursor.isBlank() ? null : OrderCursor.decode(cursor), limit);
+        return ResponseEntity.ok(orderMapper.toResponse(page));
+    }
+
+    @Operation(summary = "Create order",
+               description = "Create an order. Requests are deduplicated by Idempotency-Key + payload for 24 hours; "
+                       + "a duplicate returns the original order with header Idempotent-Replayed: true")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Order created (or replayed)",
+                     content = @Content(schema = @Schema(implementation = OrderResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid input or missing Idempotency-Key",
+                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "409", description = "A request with the same key is still in progress",
+                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "422", description = "Idempotency-Key reused with a different payload",
+                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping
+    public ResponseEntity<OrderResponse> createOrder(
+            @Parameter(description = "Client-generated key, unique per logical order") @RequestHeader(IDEMPOTENCY_KEY_HEADER) String idempotencyKey,
+            @Parameter(description = "Correlation id for tracing") @RequestHeader(value = "Correlation-Id", required = false) String correlationId,
+            @Valid @RequestBody CreateOrderRequest request) {
+
+        log.info("POST /api/v1/orders - userId: {}, items: {}, correlationId: {}",
+                request.getUserId(), request.getItems().size(), correlationId);
+        OrderCreationResult result = orderService.createOrder(idempotencyKey, request);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(result.replayed()))
+                .body(result.order());
+    }
+
+    @Operation(summary = "Create orders in bulk",
+               description = "Ingest up to order-service.ingestion.max-orders-per-request orders. Each entry has its own "
+                       + "idempotency key and gets its own result (CREATED, REPLAYED or REJECTED)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Per-order results",
+                     content = @Content(schema = @Schema(implementation = BulkOrderResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Empty or oversized request",
+                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkOrderResponse> createOrders(
+            @Parameter(description = "Correlation id for tracing") @RequestHeader(value = "Correlation-Id", required = false) String correlationId,
+            @Valid @RequestBody BulkOrderRequest request) {
+
+        log.info("POST /api/v1/orders/bulk - orders: {}, correlationId: {}", request.getOrders().size(), correlationId);
+        return ResponseEntity.ok(orderIngestionService.ingest(request));
+    }
+
+    @Operation(summary = "Get order by ID", description = "Retrieve an order with its items")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Order found",
+                     content = @Content(schema = @Schema(implementation = OrderResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Order not found",
+                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<OrderResponse> getOrderById(
+            @Parameter(description = "Order UUID") @PathVariable UUID id) {
+
+        log.info("GET /api/v1/orders/{}", id);
+        return ResponseEntity.ok(orderService.getOrderById(id));
+    }
+
+    @Operation(summary = "Pay order",
+               description = "Pay a PENDING order by running its checkout saga (see /checkout) and return the order: "
+                       + "PAID on success, CANCELED if a step failed. Repeating it returns the order unchanged")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Checkout finished",
+                     content = @Content(schema = @Schema(implementation = OrderResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Order not found",
+                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "409", description = "Order is not PENDING and has no checkout saga",
+                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/{id}/pay")
+    public CompletableFuture<ResponseEntity<OrderResponse>> payOrder(
+            @Parameter(description = "Order UUID") @PathVariable UUID id) {
+
+        log.info("POST /api/v1/orders/{}/pay", id);
+        return sagaOrchestrator.checkout(id).thenApply(saga -> ResponseEntity.ok(orderService.getOrderById(id)));
+    }
+
+    @Operation(summary = "Cancel order",
+               description = "Cancel a PENDING or PAID order; a PAID order's stock is returned and its payment "
+                       + "authorization voided by compensating its checkout saga")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Order canceled",
+                     content = @Content(schema = @Schema(implementation = OrderResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Order not found",
+                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "409", description = "Transition not allowed, or the checkout saga is still running",
+                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/{id}/cancel")
+    public CompletableFuture<ResponseEntity<OrderResponse>> cancelOrder(
+            @Parameter(description = "Order UUID") @PathVariable UUID id) {
+
+        log.info("POST /api/v1/orders/{}/cancel", id);
+        return sagaOrchestrator.cancel(id).thenApply(ResponseEntity::ok);
+    }
+
+    @Operation(summary = "Fulfill order", description = "Move a PAID order to FULFILLED")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Order fulfilled",
+                     content = @Content(schema = @Schema(implementation = OrderResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Order not found",
+                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "409", description = "Transition not allowed from the current status",
+                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/{id}/fulfill")
+    public CompletableFuture<ResponseEntity<OrderResponse>> fulfillOrder(
+            @Parameter(description = "Order UUID") @PathVariable UUID id) {
+
+        log.info("POST /api/v1/orders/{}/fulfill", id);
+        return orderLifecycleService.fulfill(id).thenApply(ResponseEntity::ok);
+    }
+
+    @Operation(summary = "Get order status history", description = "Append-only list of status changes, oldest first")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "History retrieved"),
+        @ApiResponse(responseCode = "404", description = "Order not found",
+                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/{id}/history")
+    public ResponseEntity<List<OrderStatusChangeResponse>> getOrderHistory(
+            @Parameter(description = "Order UUID") @PathVariable UUID id) {
+
+        log.info("GET /api/v1/orders/{}/history", id);
+        return ResponseEntity.ok(orderLifecycleService.getHistory(id));
+    }
+
+    @Operation(summary = "Check out order",
+               description = "Run the checkout saga of a PENDING order: reserve stock, authorize payment and validate "
+                       + "prices in parallel. COMPLETED pays the order; on failure the applied steps are compensated "
+                       + "and the order is canceled (COMPENSATED). Repeating it returns the existing saga")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Saga outcome",
+                     content = @Content(schema = @Schema(implementation = SagaResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Order not found",
+                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "409", description = "Order is not PENDING",
+                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/{id}/checkout")
+    public CompletableFuture<ResponseEntity<SagaResponse>> checkoutOrder(
+            @Parameter(description = "Order UUID") @PathVariable UUID id) {
+
+        log.info("POST /api/v1/orders/{}/checkout", id);
+        return sagaOrchestrator.checkout(id).thenApply(saga -> ResponseEntity.ok(orderMapper.toResponse(saga)));
+    }
+
+    @Operation(summary = "Get checkout saga", description = "Saga status and the persisted state of each step")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Saga retrieved",
+                     content = @Content(schema = @Schema(implementation = SagaResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Order has no saga",
+                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/{id}/saga")
+    public ResponseEntity<SagaResponse> getSaga(
+            @Parameter(description = "Order UUID") @PathVariable UUID id) {
+
+        log.info("GET /api/v1/orders/{}/saga", id);
+        return sagaOrchestrator.getSaga(id)
+                .map(saga -> ResponseEntity.ok(orderMapper.toResponse(saga)))
+                .orElseThrow(() -> new SagaNotFoundException(id));
+    }
+}
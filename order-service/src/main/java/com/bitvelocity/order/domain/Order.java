@@ -0,0 +1,32 @@
+package com.bitvelocity.order.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Order {
+
+    private UUID id;
+    private String userId;
+    private OrderStatus status;
+    private BigDecimal totalAmount;
+    private String currency;
+
+    @Builder.Default
+    private List<OrderItem> items = new ArrayList<>();
+
+    private Instant createdAt;
+    private Instant updatedAt;
+    private long version;
+}
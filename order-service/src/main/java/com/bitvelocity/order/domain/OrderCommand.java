@@ -0,0 +1,20 @@
+package com.bitvelocity.order.domain;
+
+/**
+ * Lifecycle commands accepted for an existing order and the state each one leads to.
+ */
+public enum OrderCommand {
+    PAY(OrderStatus.PAID),
+    CANCEL(OrderStatus.CANCELED),
+    FULFILL(OrderStatus.FULFILLED);
+
+    private final OrderStatus targetStatus;
+
+    OrderCommand(OrderStatus targetStatus) {
+        this.targetStatus = targetStatus;
+    }
+
+    public OrderStatus targetStatus() {
+        return targetStatus;
+    }
+}
@@ -0,0 +1,36 @@
+package com.bitvelocity.order.domain;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Order lifecycle states and their allowed transitions.
+ *
+ * <pre>
+ * PENDING --pay--> PAID --fulfill--> FULFILLED
+ *    |               |
+ *    +----cancel-----+--> CANCELED
+ * </pre>
+ */
+public enum OrderStatus {
+    PENDING,
+    PAID,
+    CANCELED,
+    FULFILLED;
+
+    public Set<OrderStatus> allowedTransitions() {
+        return switch (this) {
+            case PENDING -> EnumSet.of(PAID, CANCELED);
+            case PAID -> EnumSet.of(FULFILLED, CANCELED);
+            case CANCELED, FULFILLED -> EnumSet.noneOf(OrderStatus.class);
+        };
+    }
+
+    public boolean canTransitionTo(OrderStatus target) {
+        return allowedTransitions().contains(target);
+    }
+
+    public boolean isTerminal() {
+        return allowedTransitions().isEmpty();
+    }
+}
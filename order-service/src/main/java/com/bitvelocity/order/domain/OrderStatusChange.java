@@ -0,0 +1,17 @@
+package com.bitvelocity.order.domain;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One append-only row of order_status_history. Creation is recorded with a null fromStatus
+ * and command; sequence equals the order version the change produced.
+ */
+public record OrderStatusChange(UUID orderId, long sequence, OrderStatus fromStatus, OrderStatus toStatus,
+                                OrderCommand command, Instant changedAt) {
+
+    public static OrderStatusChange created(Order order) {
+        return new OrderStatusChange(order.getId(), order.getVersion(), null, order.getStatus(), null,
+                order.getCreatedAt());
+    }
+}
@@ -0,0 +1,21 @@
+package com.bitvelocity.order.domain;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Row of a customer's order history: the order header without its items.
+ */
+public record OrderSummary(UUID orderId, OrderStatus status, BigDecimal totalAmount, String currency,
+                           Instant createdAt, Instant updatedAt, long version) {
+
+    public static OrderSummary of(Order order) {
+        return new OrderSummary(order.getId(), order.getStatus(), order.getTotalAmount(), order.getCurrency(),
+                order.getCreatedAt(), order.getUpdatedAt(), order.getVersion());
+    }
+
+    public OrderSummary withStatus(OrderStatus status, long version, Instant updatedAt) {
+        return new OrderSummary(orderId, status, totalAmount, currency, createdAt, updatedAt, version);
+    }
+}
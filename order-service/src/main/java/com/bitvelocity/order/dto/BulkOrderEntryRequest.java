@@ -0,0 +1,25 @@
+package com.bitvelocity.order.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkOrderEntryRequest {
+
+    @NotBlank(message = "Idempotency key is required")
+    @Size(max = 255, message = "Idempotency key must not exceed 255 characters")
+    private String idempotencyKey;
+
+    @NotNull(message = "Order is required")
+    @Valid
+    private CreateOrderRequest order;
+}
@@ -0,0 +1,23 @@
+package com.bitvelocity.order.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Entries are validated one by one so that an invalid order is rejected in its own result
+ * instead of failing the whole request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkOrderRequest {
+
+    @NotEmpty(message = "At least one order is required")
+    private List<BulkOrderEntryRequest> orders;
+}
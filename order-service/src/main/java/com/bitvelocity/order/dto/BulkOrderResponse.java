@@ -0,0 +1,21 @@
+package com.bitvelocity.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkOrderResponse {
+
+    private int received;
+    private int created;
+    private int replayed;
+    private int rejected;
+    private List<BulkOrderResultResponse> results;
+}
@@ -0,0 +1,22 @@
+package com.bitvelocity.order.dto;
+
+import com.bitvelocity.order.ingestion.IngestionOutcome;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkOrderResultResponse {
+
+    private int index;
+    private String idempotencyKey;
+    private IngestionOutcome outcome;
+    private UUID orderId;
+    private String error;
+}
@@ -0,0 +1,19 @@
+package com.bitvelocity.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderHistoryPageResponse {
+
+    private String userId;
+    private List<OrderSummaryResponse> orders;
+    private String nextCursor;
+}
@@ -0,0 +1,33 @@
+package com.bitvelocity.order.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderItemRequest {
+
+    @NotBlank(message = "SKU is required")
+    @Size(max = 50, message = "SKU must not exceed 50 characters")
+    private String sku;
+
+    @Min(value = 1, message = "Quantity must be at least 1")
+    private int quantity;
+
+    @NotNull(message = "Unit price is required")
+    @DecimalMin(value = "0.0", message = "Unit price cannot be negative")
+    @Digits(integer = 8, fraction = 2, message = "Unit price must have at most 8 integer digits and 2 decimal places")
+    private BigDecimal unitPrice;
+}
@@ -0,0 +1,20 @@
+package com.bitvelocity.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderItemResponse {
+
+    private String sku;
+    private int quantity;
+    private BigDecimal unitPrice;
+    private BigDecimal lineTotal;
+}
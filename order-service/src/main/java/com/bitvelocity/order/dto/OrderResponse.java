@@ -0,0 +1,29 @@
+package com.bitvelocity.order.dto;
+
+import com.bitvelocity.order.domain.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderResponse {
+
+    private UUID id;
+    private String userId;
+    private OrderStatus status;
+    private BigDecimal totalAmount;
+    private String currency;
+    private List<OrderItemResponse> items;
+    private Instant createdAt;
+    private Instant updatedAt;
+    private long version;
+}
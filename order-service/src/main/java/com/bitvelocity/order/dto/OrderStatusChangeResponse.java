@@ -0,0 +1,23 @@
+package com.bitvelocity.order.dto;
+
+import com.bitvelocity.order.domain.OrderCommand;
+import com.bitvelocity.order.domain.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderStatusChangeResponse {
+
+    private long sequence;
+    private OrderStatus fromStatus;
+    private OrderStatus toStatus;
+    private OrderCommand command;
+    private Instant changedAt;
+}
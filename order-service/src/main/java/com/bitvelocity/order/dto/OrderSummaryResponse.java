@@ -0,0 +1,26 @@
+package com.bitvelocity.order.dto;
+
+import com.bitvelocity.order.domain.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderSummaryResponse {
+
+    private UUID id;
+    private OrderStatus status;
+    private BigDecimal totalAmount;
+    private String currency;
+    private Instant createdAt;
+    private Instant updatedAt;
+    private long version;
+}
@@ -0,0 +1,25 @@
+package com.bitvelocity.order.dto;
+
+import com.bitvelocity.order.saga.SagaStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SagaResponse {
+
+    private UUID orderId;
+    private SagaStatus status;
+    private String failureReason;
+    private List<SagaStepResponse> steps;
+    private Instant createdAt;
+    private Instant updatedAt;
+}
@@ -0,0 +1,24 @@
+package com.bitvelocity.order.dto;
+
+import com.bitvelocity.order.saga.SagaStep;
+import com.bitvelocity.order.saga.SagaStepStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SagaStepResponse {
+
+    private SagaStep step;
+    private SagaStepStatus status;
+    private String reference;
+    private String error;
+    private Instant startedAt;
+    private Instant finishedAt;
+}
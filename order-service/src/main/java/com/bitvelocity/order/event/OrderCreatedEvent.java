@@ -0,0 +1,10 @@
+package com.bitvelocity.order.event;
+
+import com.bitvelocity.order.domain.Order;
+
+/**
+ * Published once per new order, after the creating transaction committed. Not published for
+ * idempotent replays.
+ */
+public record OrderCreatedEvent(Order order) {
+}
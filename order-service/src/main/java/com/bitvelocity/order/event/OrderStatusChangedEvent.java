@@ -0,0 +1,9 @@
+package com.bitvelocity.order.event;
+
+import com.bitvelocity.order.domain.OrderStatusChange;
+
+/**
+ * Published once per applied transition, after its history row committed.
+ */
+public record OrderStatusChangedEvent(String userId, OrderStatusChange change) {
+}
@@ -0,0 +1,10 @@
+package com.bitvelocity.order.exception;
+
+import java.util.UUID;
+
+public class CheckoutInProgressException extends RuntimeException {
+
+    public CheckoutInProgressException(UUID orderId) {
+        super("Checkout saga of order " + orderId + " is still running; retry shortly");
+    }
+}
@@ -0,0 +1,8 @@
+package com.bitvelocity.order.exception;
+
+public class IdempotencyKeyConflictException extends RuntimeException {
+
+    public IdempotencyKeyConflictException(String key) {
+        super("Idempotency-Key '" + key + "' was already used with a different request payload");
+    }
+}
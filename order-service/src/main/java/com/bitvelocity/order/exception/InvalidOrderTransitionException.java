@@ -0,0 +1,13 @@
+package com.bitvelocity.order.exception;
+
+import com.bitvelocity.order.domain.OrderCommand;
+import com.bitvelocity.order.domain.OrderStatus;
+
+import java.util.UUID;
+
+public class InvalidOrderTransitionException extends RuntimeException {
+
+    public InvalidOrderTransitionException(UUID orderId, OrderStatus status, OrderCommand command) {
+        super("Order " + orderId + " cannot " + command.name().toLowerCase() + " in status " + status);
+    }
+}
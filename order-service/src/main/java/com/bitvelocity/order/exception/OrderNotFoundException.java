@@ -0,0 +1,10 @@
+package com.bitvelocity.order.exception;
+
+import java.util.UUID;
+
+public class OrderNotFoundException extends RuntimeException {
+
+    public OrderNotFoundException(UUID id) {
+        super("Order not found with id: " + id);
+    }
+}
@@ -0,0 +1,8 @@
+package com.bitvelocity.order.exception;
+
+public class RequestInProgressException extends RuntimeException {
+
+    public RequestInProgressException(String key) {
+        super("A request with Idempotency-Key '" + key + "' is still being processed");
+    }
+}
@@ -0,0 +1,10 @@
+package com.bitvelocity.order.exception;
+
+import java.util.UUID;
+
+public class SagaNotFoundException extends RuntimeException {
+
+    public SagaNotFoundException(UUID orderId) {
+        super("No checkout saga for order: " + orderId);
+    }
+}
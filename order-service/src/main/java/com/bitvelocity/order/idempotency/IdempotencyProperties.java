@@ -0,0 +1,31 @@
+package com.bitvelocity.order.idempotency;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "order-service.idempotency")
+public class IdempotencyProperties {
+
+    /**
+     * Duplicate window; a key can be reused with a new payload after it expires
+     */
+    private long ttlMs = 24 * 60 * 60 * 1000L;
+
+    /**
+     * Keys held in memory; beyond this, lookups go to the database only
+     */
+    private int maxEntries = 100_000;
+
+    /**
+     * Width of the expiry buckets swept together
+     */
+    private long bucketMs = 60_000;
+
+    /**
+     * How long a duplicate waits for the in-flight first request
+     */
+    private long inFlightWaitMs = 10_000;
+
+    private int sweepBatchSize = 1_000;
+}
@@ -0,0 +1,10 @@
+package com.bitvelocity.order.idempotency;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A processed Idempotency-Key: the payload hash it was first used with and the resource it created.
+ */
+public record IdempotencyRecord(String key, String requestHash, UUID resourceId, Instant createdAt, Instant expiresAt) {
+}
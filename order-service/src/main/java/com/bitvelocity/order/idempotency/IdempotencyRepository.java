@@ -0,0 +1,83 @@
+package com.bitvelocity.order.idempotency;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class IdempotencyRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Optional<IdempotencyRecord> find(String key, Instant now) {
+        return findAll(List.of(key), now).stream().findFirst();
+    }
+
+    /**
+     * Unexpired records for the given keys, in no particular order.
+     */
+    public List<IdempotencyRecord> findAll(Collection<String> keys, Instant now) {
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        List<Object> args = new ArrayList<>(keys);
+        args.add(Timestamp.from(now));
+        return jdbcTemplate.query(
+                "SELECT idempotency_key, request_hash, resource_id, created_at, expires_at FROM idempotency_keys "
+                        + "WHERE idempotency_key IN (" + String.join(", ", Collections.nCopies(keys.size(), "?")) + ") "
+                        + "AND expires_at > ?",
+                (rs, rowNum) -> new IdempotencyRecord(
+                        rs.getString("idempotency_key"),
+                        rs.getString("request_hash"),
+                        rs.getObject("resource_id", UUID.class),
+                        rs.getTimestamp("created_at").toInstant(),
+                        rs.getTimestamp("expires_at").toInstant()),
+                args.toArray());
+    }
+
+    /**
+     * Inserts the record, replacing an expired one for the same key.
+     *
+     * @throws org.springframework.dao.DuplicateKeyException if an unexpired record exists
+     */
+    public void insert(IdempotencyRecord record) {
+        insertAll(List.of(record));
+    }
+
+    /**
+     * Batch variant of {@link #insert(IdempotencyRecord)}.
+     *
+     * @throws org.springframework.dao.DuplicateKeyException if any key has an unexpired record
+     */
+    public void insertAll(List<IdempotencyRecord> records) {
+        jdbcTemplate.batchUpdate("DELETE FROM idempotency_keys WHERE idempotency_key = ? AND expires_at <= ?",
+                records.stream()
+                        .map(record -> new Object[] {record.key(), Timestamp.from(record.createdAt())})
+                        .toList());
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO idempotency_keys (idempotency_key, request_hash, resource_id, created_at, expires_at) "
+                        + "VALUES (?, ?, ?, ?, ?)",
+                records.stream()
+                        .map(record -> new Object[] {
+                                record.key(), record.requestHash(), record.resourceId(),
+                                Timestamp.from(record.createdAt()), Timestamp.from(record.expiresAt())})
+                        .toList());
+    }
+
+    public int deleteExpired(Instant now, int limit) {
+        return jdbcTemplate.update(
+                "DELETE FROM idempotency_keys WHERE idempotency_key IN "
+                        + "(SELECT idempotency_key FROM idempotency_keys WHERE expires_at <= ? LIMIT ?)",
+                Timestamp.from(now), limit);
+    }
+}
@@ -0,0 +1,232 @@
+package com.bitvelocity.order.idempotency;
+
+import com.bitvelocity.order.exception.IdempotencyKeyConflictException;
+import com.bitvelocity.order.exception.RequestInProgressException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Executes a request at most once per Idempotency-Key within the duplicate window.
+ *
+ * A key is bound to the SHA-256 of key + canonical payload. Keys are tracked in a bounded
+ * in-memory index whose entries hold the in-flight result, so a concurrent duplicate waits for
+ * the first execution instead of running again. The idempotency_keys table is the source of
+ * truth across restarts and instances: the action inserts its record in the same transaction as
+ * the resource it creates. Expired keys are swept per time bucket instead of scanning the index.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    private final IdempotencyRepository repository;
+    private final IdempotencyProperties properties;
+    private final Clock clock;
+    private final ObjectMapper canonicalMapper;
+    private final Map<String, Entry> index = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, Queue<String>> expiryBuckets = new ConcurrentSkipListMap<>();
+
+    public IdempotencyService(IdempotencyRepository repository, IdempotencyProperties properties, Clock clock) {
+        this.repository = repository;
+        this.properties = properties;
+        this.clock = clock;
+        this.canonicalMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+                .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+                .build();
+    }
+
+    /**
+     * Runs the action unless the key was already used.
+     *
+     * @param action creates the resource with id record.resourceId() and inserts the record via
+     *               IdempotencyRepository in the same transaction
+     * @throws IdempotencyKeyConflictException if the key was used with a different payload
+     * @throws RequestInProgressException      if the first request did not finish in time
+     */
+    public IdempotentResult execute(String key, Object payload, Consumer<IdempotencyRecord> action) {
+        if (key == null || key.isBlank() || key.length() > 255) {
+            throw new IllegalArgumentException("Idempotency-Key must be 1 to 255 characters");
+        }
+        String requestHash = hash(key, payload);
+        long now = clock.millis();
+        Entry mine = new Entry(requestHash, new CompletableFuture<>(), now + properties.getTtlMs());
+        while (true) {
+            Entry existing = index.get(key);
+            if (existing != null && !existing.isExpired(now)) {
+                return awaitDuplicate(key, requestHash, existing);
+            }
+            if (existing == null && index.size() >= properties.getMaxEntries()) {
+                // Index full: the database alone still guarantees a single execution
+                return executeOnce(key, requestHash, now, action, null);
+            }
+            boolean claimed = existing == null
+                    ? index.putIfAbsent(key, mine) == null
+                    : index.replace(key, existing, mine);
+            if (claimed) {
+                expiryBuckets.computeIfAbsent(bucketOf(mine.expiresAtMillis()), bucket -> new ConcurrentLinkedQueue<>())
+                        .add(key);
+                return executeOnce(key, requestHash, now, action, mine);
+            }
+        }
+    }
+
+    /**
+     * SHA-256 of key + canonical JSON payload; property order does not affect the result.
+     */
+    public String hash(String key, Object payload) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(key.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            digest.update(canonicalMapper.writeValueAsBytes(payload));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot hash request payload", e);
+        }
+    }
+
+    /**
+     * Drops expired keys from the in-memory index bucket by bucket, then from the database.
+     */
+    @Scheduled(fixedDelayString = "${order-service.idempotency.bucket-ms:60000}")
+    public void sweepExpired() {
+        long now = clock.millis();
+        int evicted = 0;
+        ConcurrentNavigableMap<Long, Queue<String>> due = expiryBuckets.headMap(now - properties.getBucketMs(), true);
+        for (Map.Entry<Long, Queue<String>> bucket : due.entrySet()) {
+            for (String key : bucket.getValue()) {
+                Entry removed = index.computeIfPresent(key,
+                        (k, entry) -> entry.isExpired(now) && entry.result().isDone() ? null : entry);
+                if (removed == null) {
+                    evicted++;
+                }
+            }
+            due.remove(bucket.getKey());
+        }
+
+        int deleted = 0;
+        try {
+            int batch;
+            do {
+                batch = repository.deleteExpired(Instant.ofEpochMilli(now), properties.getSweepBatchSize());
+                deleted += batch;
+            } while (batch == properties.getSweepBatchSize());
+        } catch (RuntimeException e) {
+            log.warn("Sweep of expired idempotency keys failed, will retry: {}", e.getMessage());
+        }
+        if (evicted > 0 || deleted > 0) {
+            log.debug("Expired idempotency keys: {} from memory, {} from database", evicted, deleted);
+        }
+    }
+
+    int indexSize() {
+        return index.size();
+    }
+
+    private IdempotentResult executeOnce(String key, String requestHash, long now,
+                                         Consumer<IdempotencyRecord> action, Entry entry) {
+        try {
+            IdempotentResult result = executeAgainstStore(key, requestHash, now, action);
+            if (entry != null) {
+                entry.result().complete(result.resourceId());
+                if (result.replayed()) {
+                    // Expiry is owned by the stored record; later duplicates re-read it
+                    index.remove(key, entry);
+                }
+            }
+            return result;
+        } catch (RuntimeException e) {
+            if (entry != null) {
+                index.remove(key, entry);
+                entry.result().completeExceptionally(e);
+            }
+            throw e;
+        }
+    }
+
+    private IdempotentResult executeAgainstStore(String key, String requestHash, long now,
+                                                 Consumer<IdempotencyRecord> action) {
+        Instant createdAt = Instant.ofEpochMilli(now);
+        Optional<IdempotencyRecord> stored = repository.find(key, createdAt);
+        if (stored.isPresent()) {
+            return replay(key, requestHash, stored.get());
+        }
+        IdempotencyRecord record = new IdempotencyRecord(key, requestHash, UUID.randomUUID(), createdAt,
+                createdAt.plusMillis(properties.getTtlMs()));
+        try {
+            action.accept(record);
+            return new IdempotentResult(record.resourceId(), false);
+        } catch (DuplicateKeyException e) {
+            // Another instance committed the same key first
+            return repository.find(key, createdAt)
+                    .map(winner -> replay(key, requestHash, winner))
+                    .orElseThrow(() -> e);
+        }
+    }
+
+    private IdempotentResult replay(String key, String requestHash, IdempotencyRecord record) {
+        if (!record.requestHash().equals(requestHash)) {
+            throw new IdempotencyKeyConflictException(key);
+        }
+        return new IdempotentResult(record.resourceId(), true);
+    }
+
+    private IdempotentResult awaitDuplicate(String key, String requestHash, Entry entry) {
+        if (!entry.requestHash().equals(requestHash)) {
+            throw new IdempotencyKeyConflictException(key);
+        }
+        try {
+            UUID resourceId = entry.result().get(properties.getInFlightWaitMs(), TimeUnit.MILLISECONDS);
+            return new IdempotentResult(resourceId, true);
+        } catch (TimeoutException e) {
+            throw new RequestInProgressException(key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RequestInProgressException(key);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private long bucketOf(long millis) {
+        return millis - Math.floorMod(millis, properties.getBucketMs());
+    }
+
+    private record Entry(String requestHash, CompletableFuture<UUID> result, long expiresAtMillis) {
+
+        boolean isExpired(long nowMillis) {
+            return expiresAtMillis <= nowMillis;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.bitvelocity.order.idempotency;
+
+import java.util.UUID;
+
+/**
+ * @param replayed true if the request was a duplicate and resourceId comes from the first execution
+ */
+public record IdempotentResult(UUID resourceId, boolean replayed) {
+}
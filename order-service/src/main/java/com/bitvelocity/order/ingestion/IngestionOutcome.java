@@ -0,0 +1,7 @@
+package com.bitvelocity.order.ingestion;
+
+public enum IngestionOutcome {
+    CREATED,
+    REPLAYED,
+    REJECTED
+}
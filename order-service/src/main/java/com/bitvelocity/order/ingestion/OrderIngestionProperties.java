@@ -0,0 +1,19 @@
+package com.bitvelocity.order.ingestion;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "order-service.ingestion")
+public class OrderIngestionProperties {
+
+    /**
+     * Largest accepted POST /api/v1/orders/bulk request
+     */
+    private int maxOrdersPerRequest = 1_000;
+
+    /**
+     * Orders written per transaction; a failed chunk does not roll back the others
+     */
+    private int chunkSize = 100;
+}
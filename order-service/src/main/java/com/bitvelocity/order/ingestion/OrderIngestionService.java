@@ -0,0 +1,223 @@
+package com.bitvelocity.order.ingestion;
+
+import com.bitvelocity.order.domain.Order;
+import com.bitvelocity.order.domain.OrderStatusChange;
+import com.bitvelocity.order.dto.BulkOrderEntryRequest;
+import com.bitvelocity.order.dto.BulkOrderRequest;
+import com.bitvelocity.order.dto.BulkOrderResponse;
+import com.bitvelocity.order.dto.BulkOrderResultResponse;
+import com.bitvelocity.order.event.OrderCreatedEvent;
+import com.bitvelocity.order.exception.IdempotencyKeyConflictException;
+import com.bitvelocity.order.exception.RequestInProgressException;
+import com.bitvelocity.order.idempotency.IdempotencyProperties;
+import com.bitvelocity.order.idempotency.IdempotencyRecord;
+import com.bitvelocity.order.idempotency.IdempotencyRepository;
+import com.bitvelocity.order.idempotency.IdempotencyService;
+import com.bitvelocity.order.mapper.OrderMapper;
+import com.bitvelocity.order.repository.OrderRepository;
+import com.bitvelocity.order.repository.OrderStatusHistoryRepository;
+import com.bitvelocity.order.service.OrderCreationResult;
+import com.bitvelocity.order.service.OrderService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk order ingestion for marketplace partners.
+ *
+ * Every entry carries its own idempotency key, with the same semantics as the Idempotency-Key
+ * header of a single POST. Valid entries are written in chunks: one key lookup, then one
+ * transaction with batched inserts of orders, items, history and keys per chunk. If a key of
+ * the chunk was claimed concurrently, the chunk falls back to the single-order path so each
+ * entry still gets an exact result. Invalid entries are rejected individually.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderIngestionService {
+
+    private final OrderIngestionProperties properties;
+    private final IdempotencyProperties idempotencyProperties;
+    private final IdempotencyService idempotencyService;
+    private final IdempotencyRepository idempotencyRepository;
+    private final OrderRepository orderRepository;
+    private final OrderStatusHistoryRepository historyRepository;
+    private final OrderService orderService;
+    private final OrderMapper orderMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final Clock clock;
+
+    public BulkOrderResponse ingest(BulkOrderRequest request) {
+        List<BulkOrderEntryRequest> entries = request.getOrders();
+        if (entries.size() > properties.getMaxOrdersPerRequest()) {
+            throw new IllegalArgumentException("A bulk request accepts at most "
+                    + properties.getMaxOrdersPerRequest() + " orders");
+        }
+
+        BulkOrderResultResponse[] results = new BulkOrderResultResponse[entries.size()];
+        String[] hashes = new String[entries.size()];
+        Map<String, Integer> firstIndexByKey = new HashMap<>();
+        List<Integer> pending = new ArrayList<>();
+        List<Integer> repeated = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            BulkOrderEntryRequest entry = entries.get(i);
+            String error = validate(entry);
+            if (error != null) {
+                results[i] = rejected(i, entry == null ? null : entry.getIdempotencyKey(), error);
+                continue;
+            }
+            hashes[i] = idempotencyService.hash(entry.getIdempotencyKey(), entry.getOrder());
+            if (firstIndexByKey.putIfAbsent(entry.getIdempotencyKey(), i) == null) {
+                pending.add(i);
+            } else {
+                repeated.add(i);
+            }
+        }
+
+        for (int from = 0; from < pending.size(); from += properties.getChunkSize()) {
+            ingestChunk(entries, hashes, pending.subList(from, Math.min(from + properties.getChunkSize(), pending.size())),
+                    results);
+        }
+        for (int i : repeated) {
+            results[i] = resolveRepeat(i, entries.get(i).getIdempotencyKey(), hashes,
+                    firstIndexByKey.get(entries.get(i).getIdempotencyKey()), results);
+        }
+
+        Map<IngestionOutcome, Long> counts = Arrays.stream(results)
+                .collect(Collectors.groupingBy(BulkOrderResultResponse::getOutcome, Collectors.counting()));
+        log.info("Bulk ingestion of {} orders: {}", entries.size(), counts);
+        return BulkOrderResponse.builder()
+                .received(entries.size())
+                .created(counts.getOrDefault(IngestionOutcome.CREATED, 0L).intValue())
+                .replayed(counts.getOrDefault(IngestionOutcome.REPLAYED, 0L).intValue())
+                .rejected(counts.getOrDefault(IngestionOutcome.REJECTED, 0L).intValue())
+                .results(List.of(results))
+                .build();
+    }
+
+    private void ingestChunk(List<BulkOrderEntryRequest> entries, String[] hashes, List<Integer> chunk,
+                             BulkOrderResultResponse[] results) {
+        Instant now = clock.instant().truncatedTo(ChronoUnit.MILLIS);
+        Map<String, IdempotencyRecord> existing = idempotencyRepository
+                .findAll(chunk.stream().map(i -> entries.get(i).getIdempotencyKey()).toList(), now)
+                .stream()
+                .collect(Collectors.toMap(IdempotencyRecord::key, Function.identity()));
+
+        List<Integer> toCreate = new ArrayList<>();
+        List<Order> orders = new ArrayList<>();
+        List<IdempotencyRecord> records = new ArrayList<>();
+        for (int i : chunk) {
+            String key = entries.get(i).getIdempotencyKey();
+            IdempotencyRecord record = existing.get(key);
+            if (record != null) {
+                results[i] = record.requestHash().equals(hashes[i])
+                        ? result(i, key, IngestionOutcome.REPLAYED, record.resourceId())
+                        : rejected(i, key, new IdempotencyKeyConflictException(key).getMessage());
+                continue;
+            }
+            Order order = orderMapper.toEntity(UUID.randomUUID(), entries.get(i).getOrder(), now);
+            toCreate.add(i);
+            orders.add(order);
+            records.add(new IdempotencyRecord(key, hashes[i], order.getId(), now,
+                    now.plusMillis(idempotencyProperties.getTtlMs())));
+        }
+        if (toCreate.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                orderRepository.insertAll(orders);
+                historyRepository.appendAll(orders.stream().map(OrderStatusChange::created).toList());
+                idempotencyRepository.insertAll(records);
+            });
+            for (int n = 0; n < toCreate.size(); n++) {
+                int i = toCreate.get(n);
+                results[i] = result(i, records.get(n).key(), IngestionOutcome.CREATED, orders.get(n).getId());
+                eventPublisher.publishEvent(new OrderCreatedEvent(orders.get(n)));
+            }
+        } catch (DuplicateKeyException e) {
+            log.info("Idempotency key claimed concurrently, retrying {} orders one by one", toCreate.size());
+            for (int i : toCreate) {
+                results[i] = ingestOne(i, entries.get(i));
+            }
+        }
+    }
+
+    private BulkOrderResultResponse ingestOne(int index, BulkOrderEntryRequest entry) {
+        try {
+            OrderCreationResult created = orderService.createOrder(entry.getIdempotencyKey(), entry.getOrder());
+            return result(index, entry.getIdempotencyKey(),
+                    created.replayed() ? IngestionOutcome.REPLAYED : IngestionOutcome.CREATED, created.order().getId());
+        } catch (IdempotencyKeyConflictException | RequestInProgressException | IllegalArgumentException e) {
+            return rejected(index, entry.getIdempotencyKey(), e.getMessage());
+        }
+    }
+
+    /**
+     * A key repeated within one request behaves like a duplicate single POST of its first use.
+     */
+    private BulkOrderResultResponse resolveRepeat(int index, String key, String[] hashes, int firstIndex,
+                                                  BulkOrderResultResponse[] results) {
+        BulkOrderResultResponse first = results[firstIndex];
+        if (!hashes[firstIndex].equals(hashes[index])) {
+            return rejected(index, key, new IdempotencyKeyConflictException(key).getMessage());
+        }
+        if (first.getOutcome() == IngestionOutcome.REJECTED) {
+            return rejected(index, key, first.getError());
+        }
+        return result(index, key, IngestionOutcome.REPLAYED, first.getOrderId());
+    }
+
+    private String validate(BulkOrderEntryRequest entry) {
+        if (entry == null) {
+            return "Order entry is required";
+        }
+        Set<ConstraintViolation<BulkOrderEntryRequest>> violations = validator.validate(entry);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static BulkOrderResultResponse result(int index, String key, IngestionOutcome outcome, UUID orderId) {
+        return BulkOrderResultResponse.builder()
+                .index(index)
+                .idempotencyKey(key)
+                .outcome(outcome)
+                .orderId(orderId)
+                .build();
+    }
+
+    private static BulkOrderResultResponse rejected(int index, String key, String error) {
+        return BulkOrderResultResponse.builder()
+                .index(index)
+                .idempotencyKey(key)
+                .outcome(IngestionOutcome.REJECTED)
+                .error(error)
+                .build();
+    }
+}
@@ -0,0 +1,98 @@
+package com.bitvelocity.order.lifecycle;
+
+import com.bitvelocity.order.domain.Order;
+import com.bitvelocity.order.domain.OrderCommand;
+import com.bitvelocity.order.domain.OrderStatus;
+import com.bitvelocity.order.domain.OrderStatusChange;
+import com.bitvelocity.order.dto.OrderResponse;
+import com.bitvelocity.order.dto.OrderStatusChangeResponse;
+import com.bitvelocity.order.event.OrderStatusChangedEvent;
+import com.bitvelocity.order.exception.InvalidOrderTransitionException;
+import com.bitvelocity.order.exception.OrderNotFoundException;
+import com.bitvelocity.order.mapper.OrderMapper;
+import com.bitvelocity.order.repository.OrderRepository;
+import com.bitvelocity.order.repository.OrderStatusHistoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Applies lifecycle commands to orders through their mailbox.
+ *
+ * Each transition is validated against OrderStatus, then written as a version-checked status
+ * update plus one appended order_status_history row in a single transaction. Because the mailbox
+ * is the only writer of an order in this instance, the version check only fails when another
+ * instance got there first, and no request ever waits on a row lock. Repeating a command that
+ * already took effect (e.g. a retried pay) returns the order unchanged.
+ *
+ * PAY and CANCEL of a paid order are submitted by SagaOrchestrator, which reserves stock and
+ * authorizes payment before paying and undoes both before canceling.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderLifecycleService {
+
+    private final OrderMailboxes mailboxes;
+    private final OrderRepository orderRepository;
+    private final OrderStatusHistoryRepository historyRepository;
+    private final OrderMapper orderMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+
+    public CompletableFuture<OrderResponse> fulfill(UUID orderId) {
+        return submit(orderId, OrderCommand.FULFILL);
+    }
+
+    public List<OrderStatusChangeResponse> getHistory(UUID orderId) {
+        List<OrderStatusChange> history = historyRepository.findByOrderId(orderId);
+        if (history.isEmpty()) {
+            throw new OrderNotFoundException(orderId);
+        }
+        return history.stream().map(orderMapper::toResponse).toList();
+    }
+
+    public CompletableFuture<OrderResponse> submit(UUID orderId, OrderCommand command) {
+        return mailboxes.submit(orderId, () -> orderMapper.toResponse(transition(orderId, command)));
+    }
+
+    private Order transition(UUID orderId, OrderCommand command) {
+        Order order = orderRepository.findById(orderId).orElseThrow(() -> new OrderNotFoundException(orderId));
+        OrderStatus from = order.getStatus();
+        OrderStatus to = command.targetStatus();
+        if (from == to) {
+            return order;
+        }
+        if (!from.canTransitionTo(to)) {
+            throw new InvalidOrderTransitionException(orderId, from, command);
+        }
+
+        Instant now = clock.instant().truncatedTo(ChronoUnit.MILLIS);
+        long nextVersion = order.getVersion() + 1;
+        OrderStatusChange change = new OrderStatusChange(orderId, nextVersion, from, to, command, now);
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!orderRepository.updateStatus(orderId, to, order.getVersion(), now)) {
+                throw new OptimisticLockingFailureException("Order " + orderId + " was changed concurrently");
+            }
+            historyRepository.append(change);
+        });
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(order.getUserId(), change));
+
+        order.setStatus(to);
+        order.setVersion(nextVersion);
+        order.setUpdatedAt(now);
+        log.info("Order {} {} -> {}", orderId, from, to);
+        return order;
+    }
+}
@@ -0,0 +1,87 @@
+package com.bitvelocity.order.lifecycle;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * One mailbox per order id, drained by a single virtual thread at a time.
+ *
+ * Commands for the same order run one after another in arrival order, so transitions never
+ * race and need no row lock; commands for different orders run in parallel. A mailbox exists
+ * only while it has work: it is created by the first submit and removed by the drainer when it
+ * runs empty. All queue access happens inside ConcurrentHashMap.compute for that order id.
+ */
+@Component
+public class OrderMailboxes implements DisposableBean {
+
+    private final Map<UUID, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("order-mailbox-", 0).factory());
+
+    public <T> CompletableFuture<T> submit(UUID orderId, Supplier<T> command) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Runnable task = () -> {
+            try {
+                result.complete(command.get());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        };
+        boolean[] startDrainer = new boolean[1];
+        mailboxes.compute(orderId, (id, mailbox) -> {
+            if (mailbox == null) {
+                mailbox = new Mailbox();
+                startDrainer[0] = true;
+            }
+            mailbox.queue.add(task);
+            return mailbox;
+        });
+        if (startDrainer[0]) {
+            executor.execute(() -> drain(orderId));
+        }
+        return result;
+    }
+
+    /**
+     * Orders that currently have queued or running commands.
+     */
+    public int activeMailboxes() {
+        return mailboxes.size();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private void drain(UUID orderId) {
+        Runnable next;
+        while ((next = takeNext(orderId)) != null) {
+            next.run();
+        }
+    }
+
+    private Runnable takeNext(UUID orderId) {
+        Runnable[] next = new Runnable[1];
+        mailboxes.computeIfPresent(orderId, (id, mailbox) -> {
+            next[0] = mailbox.queue.poll();
+            // Retire the empty mailbox; the next submit starts a new drainer
+            return next[0] == null ? null : mailbox;
+        });
+        return next[0];
+    }
+
+    private static final class Mailbox {
+        private final Queue<Runnable> queue = new ArrayDeque<>();
+    }
+}
@@ -0,0 +1,134 @@
+package com.bitvelocity.order.mapper;
+
+import com.bitvelocity.order.domain.Order;
+import com.bitvelocity.order.domain.OrderItem;
+import com.bitvelocity.order.domain.OrderStatus;
+import com.bitvelocity.order.domain.OrderStatusChange;
+import com.bitvelocity.order.domain.OrderSummary;
+import com.bitvelocity.order.dto.CreateOrderRequest;
+import com.bitvelocity.order.dto.OrderHistoryPageResponse;
+import com.bitvelocity.order.dto.OrderItemRequest;
+import com.bitvelocity.order.dto.OrderItemResponse;
+import com.bitvelocity.order.dto.OrderResponse;
+import com.bitvelocity.order.dto.OrderStatusChangeResponse;
+import com.bitvelocity.order.dto.OrderSummaryResponse;
+import com.bitvelocity.order.dto.SagaResponse;
+import com.bitvelocity.order.dto.SagaStepResponse;
+import com.bitvelocity.order.readmodel.OrderHistoryPage;
+import com.bitvelocity.order.saga.SagaState;
+import com.bitvelocity.order.saga.SagaStepState;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Component
+public class OrderMapper {
+
+    public OrderResponse toResponse(Order order) {
+        return OrderResponse.builder()
+                .id(order.getId())
+                .userId(order.getUserId())
+                .status(order.getStatus())
+                .totalAmount(order.getTotalAmount())
+                .currency(order.getCurrency())
+                .items(order.getItems().stream().map(this::toResponse).toList())
+                .createdAt(order.getCreatedAt())
+                .updatedAt(order.getUpdatedAt())
+                .version(order.getVersion())
+                .build();
+    }
+
+    public OrderItemResponse toResponse(OrderItem item) {
+        return OrderItemResponse.builder()
+                .sku(item.getSku())
+                .quantity(item.getQuantity())
+                .unitPrice(item.getUnitPrice())
+                .lineTotal(item.getLineTotal())
+                .build();
+    }
+
+    public OrderStatusChangeResponse toResponse(OrderStatusChange change) {
+        return OrderStatusChangeResponse.builder()
+                .sequence(change.sequence())
+                .fromStatus(change.fromStatus())
+                .toStatus(change.toStatus())
+                .command(change.command())
+                .changedAt(change.changedAt())
+                .build();
+    }
+
+    public SagaResponse toResponse(SagaState saga) {
+        return SagaResponse.builder()
+                .orderId(saga.orderId())
+                .status(saga.status())
+                .failureReason(saga.failureReason())
+                .steps(saga.steps().stream().map(this::toResponse).toList())
+                .createdAt(saga.createdAt())
+                .updatedAt(saga.updatedAt())
+                .build();
+    }
+
+    public SagaStepResponse toResponse(SagaStepState step) {
+        return SagaStepResponse.builder()
+                .step(step.step())
+                .status(step.status())
+                .reference(step.reference())
+                .error(step.error())
+                .startedAt(step.startedAt())
+                .finishedAt(step.finishedAt())
+                .build();
+    }
+
+    /**
+     * New PENDING order with the given id; the total is the sum of the line totals.
+     */
+    public Order toEntity(UUID id, CreateOrderRequest request, Instant createdAt) {
+        List<OrderItem> items = request.getItems().stream().map(this::toEntity).toList();
+        BigDecimal total = BigDecimal.ZERO;
+        for (OrderItem item : items) {
+            total = total.add(item.getLineTotal());
+        }
+        return Order.builder()
+                .id(id)
+                .userId(request.getUserId())
+                .status(OrderStatus.PENDING)
+                .totalAmount(total)
+                .currency(request.getCurrency())
+                .items(items)
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .version(0)
+                .build();
+    }
+
+    public OrderSummaryResponse toResponse(OrderSummary summary) {
+        return OrderSummaryResponse.builder()
+                .id(summary.orderId())
+                .status(summary.status())
+                .totalAmount(summary.totalAmount())
+                .currency(summary.currency())
+                .createdAt(summary.createdAt())
+                .updatedAt(summary.updatedAt())
+                .version(summary.version())
+                .build();
+    }
+
+    public OrderHistoryPageResponse toResponse(OrderHistoryPage page) {
+        return OrderHistoryPageResponse.builder()
+                .userId(page.userId())
+                .orders(page.orders().stream().map(this::toResponse).toList())
+                .nextCursor(page.nextCursor() == null ? null : page.nextCursor().encode())
+                .build();
+    }
+
+    public OrderItem toEntity(OrderItemRequest request) {
+        return OrderItem.builder()
+                .sku(request.getSku())
+                .quantity(request.getQuantity())
+                .unitPrice(request.getUnitPrice())
+                .build();
+    }
+}
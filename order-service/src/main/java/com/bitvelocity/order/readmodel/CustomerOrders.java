@@ -0,0 +1,117 @@
+package com.bitvelocity.order.readmodel;
+
+import com.bitvelocity.order.domain.OrderStatus;
+import com.bitvelocity.order.domain.OrderSummary;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * One customer's most recent orders: a timeline of cursors in creation order plus the latest
+ * summary per order. Status changes replace the summary and never move the timeline entry, so a
+ * cursor handed to a client stays valid while new orders are appended.
+ *
+ * At most window orders are held; appending beyond it drops the oldest. Once anything older
+ * than the timeline exists only in the database, the history is incomplete and pages reaching
+ * the start of the timeline continue from idx_orders_user_created.
+ */
+final class CustomerOrders {
+
+    private final int window;
+    private final long loadedAt;
+    private final List<OrderCursor> timeline = new ArrayList<>();
+    private final Map<UUID, OrderSummary> summaries = new HashMap<>();
+    private boolean complete = true;
+    private volatile long lastAccessedAt;
+
+    private CustomerOrders(int window, long loadedAt) {
+        this.window = window;
+        this.loadedAt = loadedAt;
+        this.lastAccessedAt = loadedAt;
+    }
+
+    /**
+     * @param newestFirst orders as read from idx_orders_user_created, newest first; one more
+     *                    than window signals that older orders exist
+     * @param loadedAt    epoch millis of the read
+     */
+    static CustomerOrders of(List<OrderSummary> newestFirst, int window, long loadedAt) {
+        CustomerOrders customer = new CustomerOrders(window, loadedAt);
+        for (int i = newestFirst.size() - 1; i >= 0; i--) {
+            customer.add(newestFirst.get(i));
+        }
+        return customer;
+    }
+
+    /**
+     * Appends the order unless it is already known. Orders committed slightly out of creation
+     * order are inserted at their position.
+     */
+    synchronized void add(OrderSummary summary) {
+        if (summaries.putIfAbsent(summary.orderId(), summary) != null) {
+            return;
+        }
+        OrderCursor cursor = OrderCursor.of(summary);
+        if (timeline.isEmpty() || timeline.get(timeline.size() - 1).compareTo(cursor) < 0) {
+            timeline.add(cursor);
+        } else {
+            timeline.add(lowerBound(cursor), cursor);
+        }
+        if (timeline.size() > window) {
+            summaries.remove(timeline.remove(0).orderId());
+            complete = false;
+        }
+    }
+
+    /**
+     * Applies a status change unless an equal or newer version was applied already.
+     */
+    synchronized void updateStatus(UUID orderId, OrderStatus status, long version, Instant updatedAt) {
+        summaries.computeIfPresent(orderId,
+                (id, summary) -> summary.version() >= version ? summary : summary.withStatus(status, version, updatedAt));
+    }
+
+    /**
+     * Up to limit held orders created before the cursor (or the newest ones), newest first.
+     * When the page reaches the start of an incomplete timeline, the remainder has to be read
+     * from the database and {@link Page#continuesInDatabase()} is set.
+     */
+    synchronized Page page(OrderCursor before, int limit) {
+        int end = before == null ? timeline.size() : lowerBound(before);
+        int start = Math.max(0, end - limit);
+        List<OrderSummary> orders = new ArrayList<>(end - start);
+        for (int i = end - 1; i >= start; i--) {
+            orders.add(summaries.get(timeline.get(i).orderId()));
+        }
+        return new Page(orders, start > 0 ? timeline.get(start) : null, start == 0 && !complete);
+    }
+
+    synchronized int size() {
+        return timeline.size();
+    }
+
+    long loadedAt() {
+        return loadedAt;
+    }
+
+    long lastAccessedAt() {
+        return lastAccessedAt;
+    }
+
+    void touch(long now) {
+        lastAccessedAt = now;
+    }
+
+    private int lowerBound(OrderCursor cursor) {
+        int index = Collections.binarySearch(timeline, cursor);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    record Page(List<OrderSummary> orders, OrderCursor nextCursor, boolean continuesInDatabase) {
+    }
+}
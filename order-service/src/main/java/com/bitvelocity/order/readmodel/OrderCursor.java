@@ -0,0 +1,50 @@
+package com.bitvelocity.order.readmodel;
+
+import com.bitvelocity.order.domain.OrderSummary;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a customer's order history: (createdAt, orderId), ordered like the
+ * idx_orders_user_created index. The id breaks ties between orders created in the same
+ * millisecond and is compared unsigned, as PostgreSQL and H2 compare UUIDs.
+ */
+public record OrderCursor(Instant createdAt, UUID orderId) implements Comparable<OrderCursor> {
+
+    public static OrderCursor of(OrderSummary summary) {
+        return new OrderCursor(summary.createdAt(), summary.orderId());
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode()}
+     */
+    public static OrderCursor decode(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.indexOf('_');
+            return new OrderCursor(Instant.ofEpochMilli(Long.parseLong(value.substring(0, separator))),
+                    UUID.fromString(value.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((createdAt.toEpochMilli() + "_" + orderId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public int compareTo(OrderCursor other) {
+        int byTime = createdAt.compareTo(other.createdAt);
+        if (byTime != 0) {
+            return byTime;
+        }
+        int byHigh = Long.compareUnsigned(orderId.getMostSignificantBits(), other.orderId.getMostSignificantBits());
+        return byHigh != 0 ? byHigh
+                : Long.compareUnsigned(orderId.getLeastSignificantBits(), other.orderId.getLeastSignificantBits());
+    }
+}
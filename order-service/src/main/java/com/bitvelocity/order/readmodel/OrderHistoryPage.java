@@ -0,0 +1,11 @@
+package com.bitvelocity.order.readmodel;
+
+import com.bitvelocity.order.domain.OrderSummary;
+
+import java.util.List;
+
+/**
+ * Newest-first page of a customer's orders; nextCursor is null on the last page.
+ */
+public record OrderHistoryPage(String userId, List<OrderSummary> orders, OrderCursor nextCursor) {
+}
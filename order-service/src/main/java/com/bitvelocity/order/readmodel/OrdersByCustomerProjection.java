@@ -0,0 +1,149 @@
+package com.bitvelocity.order.readmodel;
+
+import com.bitvelocity.order.domain.OrderStatusChange;
+import com.bitvelocity.order.domain.OrderSummary;
+import com.bitvelocity.order.event.OrderCreatedEvent;
+import com.bitvelocity.order.event.OrderStatusChangedEvent;
+import com.bitvelocity.order.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * orders_by_customer read model: per-customer, time-ordered order history kept in memory and
+ * maintained from order events.
+ *
+ * A customer is loaded on first access with one keyset read of idx_orders_user_created, then
+ * kept current by OrderCreatedEvent and OrderStatusChangedEvent, so account pages never query
+ * the orders table. Events for customers not loaded are ignored; the database has them. An
+ * event racing the initial load waits for it (same map key) and is deduplicated by order id.
+ *
+ * Only the newest maxOrdersPerCustomer orders are held; older pages continue from the index.
+ * Events only reach the instance that handled the order, so a loaded history is re-read once it
+ * is historyTtlMs old to pick up orders placed through other instances. When maxCustomers are
+ * loaded, a new customer first sweeps out expired histories and, if still full, evicts the
+ * tenth least recently read; customers arriving while the sweep is raced are paged straight
+ * from the index.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrdersByCustomerProjection {
+
+    private final OrderRepository orderRepository;
+    private final OrdersByCustomerProperties properties;
+    private final Clock clock;
+    private final Map<String, CustomerOrders> customers = new ConcurrentHashMap<>();
+
+    @EventListener
+    public void onOrderCreated(OrderCreatedEvent event) {
+        customers.computeIfPresent(event.order().getUserId(), (userId, orders) -> {
+            orders.add(OrderSummary.of(event.order()));
+            return orders;
+        });
+    }
+
+    @EventListener
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        OrderStatusChange change = event.change();
+        customers.computeIfPresent(event.userId(), (userId, orders) -> {
+            orders.updateStatus(change.orderId(), change.toStatus(), change.sequence(), change.changedAt());
+            return orders;
+        });
+    }
+
+    /**
+     * @param cursor nextCursor of the previous page, or null for the newest orders
+     * @param limit  page size, defaulted and capped by the read-model properties
+     */
+    public OrderHistoryPage getHistory(String userId, OrderCursor cursor, Integer limit) {
+        int pageSize = limit == null ? properties.getDefaultPageSize()
+                : Math.max(1, Math.min(limit, properties.getMaxPageSize()));
+        long now = clock.millis();
+        CustomerOrders orders = customers.get(userId);
+        if (orders != null && expired(orders, now)) {
+            customers.remove(userId, orders);
+            orders = null;
+        }
+        if (orders == null) {
+            if (customers.size() >= properties.getMaxCustomers()) {
+                evict(now);
+            }
+            if (customers.size() < properties.getMaxCustomers()) {
+                orders = customers.computeIfAbsent(userId, id -> load(id, now));
+            }
+        }
+        if (orders == null) {
+            return pageFromDatabase(userId, List.of(), cursor, pageSize);
+        }
+        orders.touch(now);
+        CustomerOrders.Page page = orders.page(cursor, pageSize);
+        if (page.continuesInDatabase()) {
+            OrderCursor after = page.orders().isEmpty() ? cursor : OrderCursor.of(page.orders().get(page.orders().size() - 1));
+            return pageFromDatabase(userId, page.orders(), after, pageSize);
+        }
+        return new OrderHistoryPage(userId, page.orders(), page.nextCursor());
+    }
+
+    int loadedCustomers() {
+        return customers.size();
+    }
+
+    /**
+     * Fills the page from idx_orders_user_created, after the orders already taken from memory.
+     */
+    private OrderHistoryPage pageFromDatabase(String userId, List<OrderSummary> held, OrderCursor cursor, int pageSize) {
+        int remaining = pageSize - held.size();
+        List<OrderSummary> page = new ArrayList<>(held);
+        boolean hasMore;
+        if (remaining > 0) {
+            List<OrderSummary> read = orderRepository.findSummariesByUserId(userId, cursor, remaining + 1);
+            hasMore = read.size() > remaining;
+            page.addAll(hasMore ? read.subList(0, remaining) : read);
+        } else {
+            hasMore = true;
+        }
+        return new OrderHistoryPage(userId, page, hasMore ? OrderCursor.of(page.get(page.size() - 1)) : null);
+    }
+
+    private boolean expired(CustomerOrders orders, long now) {
+        return now - orders.loadedAt() >= properties.getHistoryTtlMs();
+    }
+
+    private synchronized void evict(long now) {
+        if (customers.size() < properties.getMaxCustomers()) {
+            return;
+        }
+        List<Map.Entry<String, CustomerOrders>> entries = new ArrayList<>(customers.entrySet());
+        entries.removeIf(entry -> {
+            if (expired(entry.getValue(), now)) {
+                customers.remove(entry.getKey(), entry.getValue());
+                return true;
+            }
+            return false;
+        });
+        int maxCustomers = properties.getMaxCustomers();
+        int excess = customers.size() - (maxCustomers - Math.max(1, maxCustomers / 10));
+        if (excess > 0) {
+            entries.sort(Comparator.comparingLong(entry -> entry.getValue().lastAccessedAt()));
+            entries.subList(0, Math.min(excess, entries.size()))
+                    .forEach(entry -> customers.remove(entry.getKey(), entry.getValue()));
+        }
+        log.debug("Order history read model evicted down to {} customers", customers.size());
+    }
+
+    private CustomerOrders load(String userId, long now) {
+        int window = properties.getMaxOrdersPerCustomer();
+        CustomerOrders orders = CustomerOrders.of(orderRepository.findSummariesByUserId(userId, null, window + 1), window, now);
+        log.debug("Loaded {} orders of customer {}", orders.size(), userId);
+        return orders;
+    }
+}
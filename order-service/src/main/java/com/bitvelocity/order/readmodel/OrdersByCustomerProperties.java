@@ -0,0 +1,29 @@
+package com.bitvelocity.order.readmodel;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "order-service.read-model")
+public class OrdersByCustomerProperties {
+
+    /**
+     * Customers whose history is held in memory; beyond this, pages are read from the database
+     */
+    private int maxCustomers = 20_000;
+
+    /**
+     * Newest orders held per customer; older pages are read from the database
+     */
+    private int maxOrdersPerCustomer = 100;
+
+    /**
+     * Age after which a held history is re-read, bounding staleness from orders placed through
+     * other instances
+     */
+    private long historyTtlMs = 60_000;
+
+    private int defaultPageSize = 20;
+
+    private int maxPageSize = 100;
+}
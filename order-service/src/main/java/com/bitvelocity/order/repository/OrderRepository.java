@@ -0,0 +1,128 @@
+package com.bitvelocity.order.repository;
+
+import com.bitvelocity.order.domain.Order;
+import com.bitvelocity.order.domain.OrderItem;
+import com.bitvelocity.order.domain.OrderStatus;
+import com.bitvelocity.order.domain.OrderSummary;
+import com.bitvelocity.order.readmodel.OrderCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class OrderRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insert(Order order) {
+        insertAll(List.of(order));
+    }
+
+    /**
+     * Inserts orders and their items as two JDBC batches, so the round trips do not grow with
+     * the number of orders or lines (PostgreSQL rewrites them into multi-row inserts with
+     * reWriteBatchedInserts=true).
+     */
+    public void insertAll(List<Order> orders) {
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO orders (id, user_id, status, total_amount, currency, created_at, updated_at, version)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+                """,
+                orders.stream()
+                        .map(order -> new Object[] {
+                                order.getId(), order.getUserId(), order.getStatus().name(), order.getTotalAmount(),
+                                order.getCurrency(), Timestamp.from(order.getCreatedAt()),
+                                Timestamp.from(order.getUpdatedAt()), order.getVersion()})
+                        .toList());
+
+        List<Object[]> itemRows = new ArrayList<>();
+        for (Order order : orders) {
+            int lineNo = 0;
+            for (OrderItem item : order.getItems()) {
+                itemRows.add(new Object[] {
+                        order.getId(), lineNo++, item.getSku(), item.getQuantity(), item.getUnitPrice()});
+            }
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO order_items (order_id, line_no, sku, quantity, unit_price) VALUES (?, ?, ?, ?, ?)",
+                itemRows);
+    }
+
+    /**
+     * Moves an order to a new status if it is still at the expected version.
+     *
+     * @return false if another writer changed the order first
+     */
+    public boolean updateStatus(UUID id, OrderStatus status, long expectedVersion, Instant updatedAt) {
+        return jdbcTemplate.update(
+                "UPDATE orders SET status = ?, version = version + 1, updated_at = ? WHERE id = ? AND version = ?",
+                status.name(), Timestamp.from(updatedAt), id, expectedVersion) == 1;
+    }
+
+    public Optional<Order> findById(UUID id) {
+        List<Order> orders = jdbcTemplate.query(
+                "SELECT id, user_id, status, total_amount, currency, created_at, updated_at, version FROM orders WHERE id = ?",
+                (rs, rowNum) -> Order.builder()
+                        .id(rs.getObject("id", UUID.class))
+                        .userId(rs.getString("user_id"))
+                        .status(OrderStatus.valueOf(rs.getString("status")))
+                        .totalAmount(rs.getBigDecimal("total_amount"))
+                        .currency(rs.getString("currency"))
+                        .createdAt(rs.getTimestamp("created_at").toInstant())
+                        .updatedAt(rs.getTimestamp("updated_at").toInstant())
+                        .version(rs.getLong("version"))
+                        .build(),
+                id);
+        if (orders.isEmpty()) {
+            return Optional.empty();
+        }
+        Order order = orders.get(0);
+        order.setItems(jdbcTemplate.query(
+                "SELECT sku, quantity, unit_price FROM order_items WHERE order_id = ? ORDER BY line_no",
+                (rs, rowNum) -> OrderItem.builder()
+                        .sku(rs.getString("sku"))
+                        .quantity(rs.getInt("quantity"))
+                        .unitPrice(rs.getBigDecimal("unit_price"))
+                        .build(),
+                id));
+        return Optional.of(order);
+    }
+
+    /**
+     * One customer's order headers newest first, starting strictly before the cursor if given.
+     * Served by idx_orders_user_created as a backward range scan, without sorting.
+     */
+    public List<OrderSummary> findSummariesByUserId(String userId, OrderCursor before, int limit) {
+        String sql = "SELECT id, status, total_amount, currency, created_at, updated_at, version FROM orders "
+                + "WHERE user_id = ? "
+                + (before == null ? "" : "AND (created_at < ? OR (created_at = ? AND id < ?)) ")
+                + "ORDER BY created_at DESC, id DESC LIMIT ?";
+        List<Object> args = new ArrayList<>();
+        args.add(userId);
+        if (before != null) {
+            Timestamp createdAt = Timestamp.from(before.createdAt());
+            args.add(createdAt);
+            args.add(createdAt);
+            args.add(before.orderId());
+        }
+        args.add(limit);
+        return jdbcTemplate.query(sql,
+                (rs, rowNum) -> new OrderSummary(
+                        rs.getObject("id", UUID.class),
+                        OrderStatus.valueOf(rs.getString("status")),
+                        rs.getBigDecimal("total_amount"),
+                        rs.getString("currency"),
+                        rs.getTimestamp("created_at").toInstant(),
+                        rs.getTimestamp("updated_at").toInstant(),
+                        rs.getLong("version")),
+                args.toArray());
+    }
+}
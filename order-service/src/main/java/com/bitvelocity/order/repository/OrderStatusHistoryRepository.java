@@ -0,0 +1,57 @@
+package com.bitvelocity.order.repository;
+
+import com.bitvelocity.order.domain.OrderCommand;
+import com.bitvelocity.order.domain.OrderStatus;
+import com.bitvelocity.order.domain.OrderStatusChange;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Append-only store of order status changes. Rows are never updated; the primary key on
+ * (order_id, sequence) rejects a second writer for the same order version.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderStatusHistoryRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void append(OrderStatusChange change) {
+        appendAll(List.of(change));
+    }
+
+    public void appendAll(List<OrderStatusChange> changes) {
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO order_status_history (order_id, sequence, from_status, to_status, command, changed_at)
+                VALUES (?, ?, ?, ?, ?, ?)
+                """,
+                changes.stream()
+                        .map(change -> new Object[] {
+                                change.orderId(), change.sequence(),
+                                change.fromStatus() == null ? null : change.fromStatus().name(),
+                                change.toStatus().name(),
+                                change.command() == null ? null : change.command().name(),
+                                Timestamp.from(change.changedAt())})
+                        .toList());
+    }
+
+    public List<OrderStatusChange> findByOrderId(UUID orderId) {
+        return jdbcTemplate.query("""
+                SELECT order_id, sequence, from_status, to_status, command, changed_at
+                FROM order_status_history WHERE order_id = ? ORDER BY sequence
+                """,
+                (rs, rowNum) -> new OrderStatusChange(
+                        rs.getObject("order_id", UUID.class),
+                        rs.getLong("sequence"),
+                        rs.getString("from_status") == null ? null : OrderStatus.valueOf(rs.getString("from_status")),
+                        OrderStatus.valueOf(rs.getString("to_status")),
+                        rs.getString("command") == null ? null : OrderCommand.valueOf(rs.getString("command")),
+                        rs.getTimestamp("changed_at").toInstant()),
+                orderId);
+    }
+}
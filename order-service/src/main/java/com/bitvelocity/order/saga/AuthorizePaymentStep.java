@@ -0,0 +1,28 @@
+package com.bitvelocity.order.saga;
+
+import com.bitvelocity.order.client.PaymentClient;
+import com.bitvelocity.order.domain.Order;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class AuthorizePaymentStep implements SagaStepHandler {
+
+    private final PaymentClient paymentClient;
+
+    @Override
+    public SagaStep step() {
+        return SagaStep.AUTHORIZE_PAYMENT;
+    }
+
+    @Override
+    public String execute(Order order) {
+        return paymentClient.authorize(order.getId(), order.getTotalAmount(), order.getCurrency());
+    }
+
+    @Override
+    public void compensate(Order order) {
+        paymentClient.voidAuthorization(order.getId());
+    }
+}
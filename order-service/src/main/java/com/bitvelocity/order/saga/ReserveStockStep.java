@@ -0,0 +1,33 @@
+package com.bitvelocity.order.saga;
+
+import com.bitvelocity.order.client.InventoryClient;
+import com.bitvelocity.order.domain.Order;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class ReserveStockStep implements SagaStepHandler {
+
+    private final InventoryClient inventoryClient;
+
+    @Override
+    public SagaStep step() {
+        return SagaStep.RESERVE_STOCK;
+    }
+
+    @Override
+    public String execute(Order order) {
+        return inventoryClient.reserve(order.getId(), order.getItems());
+    }
+
+    @Override
+    public void compensate(Order order) {
+        inventoryClient.returnStock(order.getId());
+    }
+
+    @Override
+    public void confirm(Order order) {
+        inventoryClient.commit(order.getId());
+    }
+}
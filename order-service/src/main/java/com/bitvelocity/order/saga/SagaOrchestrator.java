@@ -0,0 +1,413 @@
+package com.bitvelocity.order.saga;
+
+import com.bitvelocity.order.client.DependencyRejectedException;
+import com.bitvelocity.order.domain.Order;
+import com.bitvelocity.order.domain.OrderCommand;
+import com.bitvelocity.order.domain.OrderStatus;
+import com.bitvelocity.order.dto.OrderResponse;
+import com.bitvelocity.order.exception.CheckoutInProgressException;
+import com.bitvelocity.order.exception.InvalidOrderTransitionException;
+import com.bitvelocity.order.exception.OrderNotFoundException;
+import com.bitvelocity.order.lifecycle.OrderLifecycleService;
+import com.bitvelocity.order.repository.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checkout saga: reserve stock, authorize payment and validate prices for a PENDING order.
+ *
+ * The steps are independent, so they run in parallel, one virtual thread each, inside a scope
+ * owned by the saga: checkout takes about as long as the slowest dependency. Each step has its
+ * own deadline. The first failure or missed deadline interrupts the steps still running, and
+ * every step that may have taken effect is compensated (release stock, void authorization),
+ * also in parallel. Success pays the order and then confirms the steps (commits the stock
+ * reservation); failure cancels it. Canceling a paid order reopens its completed saga and runs
+ * the same compensations, so payment goes only through the saga and never bypasses it.
+ *
+ * Every step start and outcome is written to order_saga_steps before the saga moves on, so a
+ * saga interrupted by a crash is picked up once it has stalled, on startup or by the periodic
+ * check (a saga updated more recently may still be driven by another instance), and continues
+ * from its persisted state: succeeded steps are not repeated, steps with unknown
+ * outcome are re-executed or compensated, which handlers make idempotent per order id.
+ */
+@Service
+@Slf4j
+public class SagaOrchestrator implements DisposableBean {
+
+    private final SagaRepository sagaRepository;
+    private final OrderRepository orderRepository;
+    private final OrderLifecycleService orderLifecycleService;
+    private final Map<SagaStep, SagaStepHandler> handlers = new EnumMap<>(SagaStep.class);
+    private final SagaProperties properties;
+    private final Clock clock;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("order-saga-", 0).factory());
+    private final Set<UUID> inFlight = ConcurrentHashMap.newKeySet();
+
+    public SagaOrchestrator(SagaRepository sagaRepository, OrderRepository orderRepository,
+                            OrderLifecycleService orderLifecycleService, List<SagaStepHandler> handlers,
+                            SagaProperties properties, Clock clock) {
+        this.sagaRepository = sagaRepository;
+        this.orderRepository = orderRepository;
+        this.orderLifecycleService = orderLifecycleService;
+        handlers.forEach(handler -> this.handlers.put(handler.step(), handler));
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    /**
+     * Starts the order's checkout saga, or returns the existing one. A saga already running on
+     * this instance is returned in its current state.
+     *
+     * @throws InvalidOrderTransitionException if the order is not PENDING and has no saga
+     */
+    public CompletableFuture<SagaState> checkout(UUID orderId) {
+        return CompletableFuture.supplyAsync(() -> run(orderId, true), executor);
+    }
+
+    /**
+     * Cancels the order. A paid order has sold stock and an authorized payment, so its completed
+     * saga is compensated first (units returned, authorization voided); an unpaid order is
+     * canceled directly, and a saga still running for it compensates once its PAY is refused.
+     * A compensation that fails leaves the saga COMPENSATING and is retried by the stall check.
+     *
+     * @throws InvalidOrderTransitionException if the order cannot be canceled
+     * @throws CheckoutInProgressException     if the order is paid but its saga is still confirming
+     */
+    public CompletableFuture<OrderResponse> cancel(UUID orderId) {
+        return CompletableFuture.runAsync(() -> compensatePaid(orderId), executor)
+                .thenCompose(ignored -> orderLifecycleService.submit(orderId, OrderCommand.CANCEL));
+    }
+
+    public Optional<SagaState> getSaga(UUID orderId) {
+        return sagaRepository.find(orderId);
+    }
+
+    /**
+     * Resumes stalled sagas without waiting for the first periodic check. Sagas updated within
+     * the stall timeout may be driven by another live instance and are left to it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeAfterStartup() {
+        resumeStalled();
+    }
+
+    /**
+     * Resumes sagas of crashed instances (or whose resumption failed) once they stall.
+     */
+    @Scheduled(fixedDelayString = "${order-service.saga.resume-interval-ms:30000}",
+               initialDelayString = "${order-service.saga.resume-interval-ms:30000}")
+    public void resumeStalled() {
+        resume(now().minusMillis(properties.getStallTimeoutMs()));
+    }
+
+    /**
+     * Drives every unfinished saga last updated before the given time; returns how many.
+     */
+    public int resume(Instant updatedBefore) {
+        List<UUID> unfinished = sagaRepository.findUnfinished(updatedBefore, properties.getResumeBatchSize());
+        List<CompletableFuture<SagaState>> resumed = new ArrayList<>();
+        for (UUID orderId : unfinished) {
+            if (!inFlight.contains(orderId)) {
+                log.info("Resuming checkout saga of order {}", orderId);
+                resumed.add(CompletableFuture.supplyAsync(() -> run(orderId, false), executor));
+            }
+        }
+        for (CompletableFuture<SagaState> saga : resumed) {
+            try {
+                saga.join();
+            } catch (CompletionException e) {
+                log.warn("Resuming saga failed, will retry: {}", e.getCause().getMessage());
+            }
+        }
+        return resumed.size();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private SagaState run(UUID orderId, boolean start) {
+        Optional<SagaState> existing = sagaRepository.find(orderId);
+        if (existing.isPresent() && existing.get().status().isTerminal()) {
+            return existing.get();
+        }
+        Order order = orderRepository.findById(orderId).orElseThrow(() -> new OrderNotFoundException(orderId));
+        if (existing.isEmpty()) {
+            if (!start) {
+                throw new IllegalStateException("No saga for order " + orderId);
+            }
+            if (order.getStatus() != OrderStatus.PENDING) {
+                throw new InvalidOrderTransitionException(orderId, order.getStatus(), OrderCommand.PAY);
+            }
+            try {
+                sagaRepository.create(orderId, List.copyOf(handlers.keySet()), now());
+            } catch (DuplicateKeyException e) {
+                return sagaRepository.find(orderId).orElseThrow();
+            }
+        }
+        if (!inFlight.add(orderId)) {
+            return sagaRepository.find(orderId).orElseThrow();
+        }
+        try {
+            return drive(order);
+        } finally {
+            inFlight.remove(orderId);
+        }
+    }
+
+    private void compensatePaid(UUID orderId) {
+        Order order = orderRepository.findById(orderId).orElseThrow(() -> new OrderNotFoundException(orderId));
+        Optional<SagaState> saga = sagaRepository.find(orderId);
+        if (order.getStatus() != OrderStatus.PAID || saga.isEmpty()) {
+            return;
+        }
+        switch (saga.get().status()) {
+            case RUNNING -> throw new CheckoutInProgressException(orderId);
+            case COMPLETED -> sagaRepository.updateStatus(orderId, SagaStatus.COMPENSATING, "Canceled after payment",
+                    now());
+            default -> {
+            }
+        }
+        run(orderId, false);
+    }
+
+    private SagaState drive(Order order) {
+        UUID orderId = order.getId();
+        SagaState saga = sagaRepository.find(orderId).orElseThrow();
+        if (saga.status() == SagaStatus.RUNNING) {
+            String failure = executeSteps(order, saga);
+            if (failure == null) {
+                failure = completeOrder(orderId, OrderCommand.PAY);
+            }
+            if (failure == null && !confirm(order)) {
+                return sagaRepository.find(orderId).orElseThrow();
+            }
+            if (failure == null) {
+                sagaRepository.updateStatus(orderId, SagaStatus.COMPLETED, null, now());
+                log.info("Checkout saga of order {} completed", orderId);
+                return sagaRepository.find(orderId).orElseThrow();
+            }
+            log.info("Checkout saga of order {} failed, compensating: {}", orderId, failure);
+            sagaRepository.updateStatus(orderId, SagaStatus.COMPENSATING, failure, now());
+            saga = sagaRepository.find(orderId).orElseThrow();
+        }
+        if (saga.status() == SagaStatus.COMPENSATING && compensate(order, saga)) {
+            String failure = completeOrder(orderId, OrderCommand.CANCEL);
+            if (failure != null) {
+                log.warn("Compensated saga of order {} could not cancel it: {}", orderId, failure);
+            }
+            sagaRepository.updateStatus(orderId, SagaStatus.COMPENSATED, null, now());
+            log.info("Checkout saga of order {} compensated", orderId);
+        }
+        return sagaRepository.find(orderId).orElseThrow();
+    }
+
+    /**
+     * Runs all steps that have not succeeded yet in parallel.
+     *
+     * @return the first failure, or null if every step succeeded
+     */
+    private String executeSteps(Order order, SagaState saga) {
+        List<SagaStepHandler> pending = new ArrayList<>();
+        for (SagaStepHandler handler : handlers.values()) {
+            SagaStepState state = saga.step(handler.step());
+            if (state == null || state.status() != SagaStepStatus.SUCCEEDED) {
+                pending.add(handler);
+            }
+        }
+        if (pending.isEmpty()) {
+            return null;
+        }
+
+        UUID orderId = order.getId();
+        String failure = null;
+        // Not try-with-resources: close() would wait for steps that ignore the interrupt
+        ExecutorService scope = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            ExecutorCompletionService<StepOutcome> completion = new ExecutorCompletionService<>(scope);
+            Map<SagaStep, Future<StepOutcome>> running = new EnumMap<>(SagaStep.class);
+            Map<SagaStep, Long> deadlines = new EnumMap<>(SagaStep.class);
+            for (SagaStepHandler handler : pending) {
+                sagaRepository.markStepRunning(orderId, handler.step(), now());
+                deadlines.put(handler.step(),
+                        System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.deadlineFor(handler.step())));
+                running.put(handler.step(), completion.submit(() -> execute(handler, order)));
+            }
+
+            while (!running.isEmpty() && failure == null) {
+                long nextDeadline = running.keySet().stream().mapToLong(deadlines::get).min().orElseThrow();
+                Future<StepOutcome> done = completion.poll(Math.max(0, nextDeadline - System.nanoTime()),
+                        TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    long now = System.nanoTime();
+                    for (SagaStep step : List.copyOf(running.keySet())) {
+                        if (deadlines.get(step) - now <= 0) {
+                            running.remove(step).cancel(true);
+                            String error = "Deadline of " + properties.deadlineFor(step) + " ms exceeded";
+                            sagaRepository.finishStep(orderId, step, SagaStepStatus.TIMED_OUT, null, error, now());
+                            failure = failure == null ? step + ": " + error : failure;
+                        }
+                    }
+                    continue;
+                }
+                if (done.isCancelled()) {
+                    continue;
+                }
+                StepOutcome outcome = done.get();
+                running.remove(outcome.step());
+                if (outcome.error() == null) {
+                    sagaRepository.finishStep(orderId, outcome.step(), SagaStepStatus.SUCCEEDED, outcome.reference(),
+                            null, now());
+                } else {
+                    sagaRepository.finishStep(orderId, outcome.step(), SagaStepStatus.FAILED, null, outcome.error(),
+                            now());
+                    failure = outcome.step() + ": " + outcome.error();
+                }
+            }
+
+            // Fail fast: interrupt the steps still running; they are compensated like timeouts
+            for (Map.Entry<SagaStep, Future<StepOutcome>> step : running.entrySet()) {
+                step.getValue().cancel(true);
+                sagaRepository.finishStep(orderId, step.getKey(), SagaStepStatus.ABORTED, null,
+                        "Aborted after " + failure, now());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Checkout of order " + orderId + " interrupted", e);
+        } catch (ExecutionException e) {
+            // execute() catches everything; kept for the checked signature
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            scope.shutdownNow();
+        }
+        return failure;
+    }
+
+    /**
+     * Undoes every step that may have taken effect, in parallel.
+     *
+     * @return true if all compensations succeeded
+     */
+    private boolean compensate(Order order, SagaState saga) {
+        UUID orderId = order.getId();
+        List<CompletableFuture<Boolean>> compensations = new ArrayList<>();
+        for (SagaStepState state : saga.steps()) {
+            SagaStepHandler handler = handlers.get(state.step());
+            if (handler == null || !handler.compensable() || !state.status().mayHaveApplied()) {
+                continue;
+            }
+            compensations.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    handler.compensate(order);
+                    sagaRepository.finishStep(orderId, state.step(), SagaStepStatus.COMPENSATED, null, state.error(),
+                            now());
+                    return true;
+                } catch (Exception e) {
+                    log.warn("Compensation of {} for order {} failed, will retry: {}", state.step(), orderId,
+                            e.getMessage());
+                    return false;
+                }
+            }, executor));
+        }
+        return compensations.stream().allMatch(CompletableFuture::join);
+    }
+
+    /**
+     * Confirms every step of a paid order, in parallel. A rejection (e.g. the reservation expired
+     * while the saga ran) cannot be undone by retrying and is only logged; any other failure
+     * leaves the saga RUNNING for the stall check, which repeats the confirmations.
+     *
+     * @return true if every step was confirmed or rejected
+     */
+    private boolean confirm(Order order) {
+        UUID orderId = order.getId();
+        List<CompletableFuture<Boolean>> confirmations = new ArrayList<>();
+        for (SagaStepHandler handler : handlers.values()) {
+            confirmations.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    handler.confirm(order);
+                    return true;
+                } catch (DependencyRejectedException e) {
+                    log.error("Confirmation of {} for paid order {} was rejected: {}", handler.step(), orderId,
+                            e.getMessage());
+                    return true;
+                } catch (Exception e) {
+                    log.warn("Confirmation of {} for order {} failed, will retry: {}", handler.step(), orderId,
+                            e.getMessage());
+                    return false;
+                }
+            }, executor));
+        }
+        return confirmations.stream().allMatch(CompletableFuture::join);
+    }
+
+    /**
+     * An order already in the command's target state counts as success: the transition was
+     * applied before a crash left the saga unfinished, or by a concurrent lifecycle request.
+     *
+     * @return null on success, otherwise why the transition failed (e.g. the order was canceled
+     *         while the saga ran)
+     */
+    private String completeOrder(UUID orderId, OrderCommand command) {
+        if (currentStatus(orderId) == command.targetStatus()) {
+            return null;
+        }
+        try {
+            orderLifecycleService.submit(orderId, command).join();
+            return null;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof InvalidOrderTransitionException cause) {
+                return currentStatus(orderId) == command.targetStatus() ? null : cause.getMessage();
+            }
+            throw e;
+        }
+    }
+
+    private OrderStatus currentStatus(UUID orderId) {
+        return orderRepository.findById(orderId).map(Order::getStatus)
+                .orElseThrow(() -> new OrderNotFoundException(orderId));
+    }
+
+    private static StepOutcome execute(SagaStepHandler handler, Order order) {
+        try {
+            return new StepOutcome(handler.step(), handler.execute(order), null);
+        } catch (Exception e) {
+            String message = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+            return new StepOutcome(handler.step(), null, message);
+        }
+    }
+
+    private Instant now() {
+        return clock.instant().truncatedTo(ChronoUnit.MILLIS);
+    }
+
+    private record StepOutcome(SagaStep step, String reference, String error) {
+    }
+}
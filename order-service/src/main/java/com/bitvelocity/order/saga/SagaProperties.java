@@ -0,0 +1,74 @@
+package com.bitvelocity.order.saga;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "order-service.saga")
+public class SagaProperties {
+
+    /**
+     * Payment and pricing client implementation; only in-memory is bundled
+     */
+    private String clients = "in-memory";
+
+    /**
+     * Inventory client: in-memory, or grpc to call inventory-service
+     */
+    private String inventoryClient = "in-memory";
+
+    private long defaultStepDeadlineMs = 2_000;
+
+    /**
+     * Per-step overrides of default-step-deadline-ms
+     */
+    private Map<SagaStep, Long> stepDeadlineMs = new EnumMap<>(SagaStep.class);
+
+    /**
+     * Unfinished sagas not updated for this long are resumed by the periodic check
+     */
+    private long stallTimeoutMs = 60_000;
+
+    private long resumeIntervalMs = 30_000;
+
+    private int resumeBatchSize = 100;
+
+    private InMemory inMemory = new InMemory();
+
+    private Grpc grpc = new Grpc();
+
+    public long deadlineFor(SagaStep step) {
+        return stepDeadlineMs.getOrDefault(step, defaultStepDeadlineMs);
+    }
+
+    @Data
+    public static class InMemory {
+
+        /**
+         * Simulated latency of every in-memory dependency call
+         */
+        private long latencyMs = 0;
+
+        /**
+         * Authorizations above this amount are declined
+         */
+        private long paymentLimit = 10_000;
+    }
+
+    @Data
+    public static class Grpc {
+
+        /**
+         * inventory-service gRPC address
+         */
+        private String inventoryTarget = "localhost:9084";
+
+        /**
+         * Attempts per call when inventory-service is UNAVAILABLE, within the step deadline
+         */
+        private int maxAttempts = 3;
+    }
+}
@@ -0,0 +1,108 @@
+package com.bitvelocity.order.saga;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * order_sagas / order_saga_steps. Every step writes only its own row, so parallel steps of one
+ * saga never contend; order_sagas.updated_at changes with the saga status only, which step
+ * deadlines bound, and is used for stall detection.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SagaRepository {
+
+    private static final int MAX_TEXT = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @throws org.springframework.dao.DuplicateKeyException if the order already has a saga
+     */
+    @Transactional
+    public void create(UUID orderId, List<SagaStep> steps, Instant now) {
+        jdbcTemplate.update(
+                "INSERT INTO order_sagas (order_id, status, created_at, updated_at) VALUES (?, ?, ?, ?)",
+                orderId, SagaStatus.RUNNING.name(), Timestamp.from(now), Timestamp.from(now));
+        jdbcTemplate.batchUpdate("INSERT INTO order_saga_steps (order_id, step, status) VALUES (?, ?, ?)",
+                steps.stream()
+                        .map(step -> new Object[] {orderId, step.name(), SagaStepStatus.PENDING.name()})
+                        .toList());
+    }
+
+    public Optional<SagaState> find(UUID orderId) {
+        List<SagaState> sagas = jdbcTemplate.query(
+                "SELECT order_id, status, failure_reason, created_at, updated_at FROM order_sagas WHERE order_id = ?",
+                (rs, rowNum) -> new SagaState(
+                        rs.getObject("order_id", UUID.class),
+                        SagaStatus.valueOf(rs.getString("status")),
+                        rs.getString("failure_reason"),
+                        List.of(),
+                        rs.getTimestamp("created_at").toInstant(),
+                        rs.getTimestamp("updated_at").toInstant()),
+                orderId);
+        if (sagas.isEmpty()) {
+            return Optional.empty();
+        }
+        List<SagaStepState> steps = jdbcTemplate.query(
+                "SELECT step, status, reference, error, started_at, finished_at FROM order_saga_steps "
+                        + "WHERE order_id = ? ORDER BY step",
+                (rs, rowNum) -> new SagaStepState(
+                        SagaStep.valueOf(rs.getString("step")),
+                        SagaStepStatus.valueOf(rs.getString("status")),
+                        rs.getString("reference"),
+                        rs.getString("error"),
+                        toInstant(rs.getTimestamp("started_at")),
+                        toInstant(rs.getTimestamp("finished_at"))),
+                orderId);
+        SagaState saga = sagas.get(0);
+        return Optional.of(new SagaState(saga.orderId(), saga.status(), saga.failureReason(), steps,
+                saga.createdAt(), saga.updatedAt()));
+    }
+
+    public void markStepRunning(UUID orderId, SagaStep step, Instant now) {
+        jdbcTemplate.update("UPDATE order_saga_steps SET status = ?, error = NULL, started_at = ?, finished_at = NULL "
+                        + "WHERE order_id = ? AND step = ?",
+                SagaStepStatus.RUNNING.name(), Timestamp.from(now), orderId, step.name());
+    }
+
+    public void finishStep(UUID orderId, SagaStep step, SagaStepStatus status, String reference, String error,
+                           Instant now) {
+        jdbcTemplate.update("UPDATE order_saga_steps SET status = ?, reference = COALESCE(?, reference), error = ?, "
+                        + "finished_at = ? WHERE order_id = ? AND step = ?",
+                status.name(), reference, truncate(error), Timestamp.from(now), orderId, step.name());
+    }
+
+    public void updateStatus(UUID orderId, SagaStatus status, String failureReason, Instant now) {
+        jdbcTemplate.update(
+                "UPDATE order_sagas SET status = ?, failure_reason = COALESCE(?, failure_reason), updated_at = ? "
+                        + "WHERE order_id = ?",
+                status.name(), truncate(failureReason), Timestamp.from(now), orderId);
+    }
+
+    /**
+     * Sagas still running or compensating that were last updated before the given time.
+     */
+    public List<UUID> findUnfinished(Instant updatedBefore, int limit) {
+        return jdbcTemplate.queryForList(
+                "SELECT order_id FROM order_sagas WHERE status IN (?, ?) AND updated_at < ? ORDER BY updated_at LIMIT ?",
+                UUID.class,
+                SagaStatus.RUNNING.name(), SagaStatus.COMPENSATING.name(), Timestamp.from(updatedBefore), limit);
+    }
+
+    private static String truncate(String text) {
+        return text == null || text.length() <= MAX_TEXT ? text : text.substring(0, MAX_TEXT);
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toInstant();
+    }
+}
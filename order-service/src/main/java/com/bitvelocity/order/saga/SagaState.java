@@ -0,0 +1,16 @@
+package com.bitvelocity.order.saga;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Persisted progress of an order's checkout saga.
+ */
+public record SagaState(UUID orderId, SagaStatus status, String failureReason, List<SagaStepState> steps,
+                        Instant createdAt, Instant updatedAt) {
+
+    public SagaStepState step(SagaStep step) {
+        return steps.stream().filter(state -> state.step() == step).findFirst().orElse(null);
+    }
+}
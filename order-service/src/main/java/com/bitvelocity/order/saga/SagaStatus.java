@@ -0,0 +1,16 @@
+package com.bitvelocity.order.saga;
+
+public enum SagaStatus {
+    /** Steps are being executed */
+    RUNNING,
+    /** A step failed; completed steps are being undone */
+    COMPENSATING,
+    /** All steps succeeded and the order was paid */
+    COMPLETED,
+    /** All compensations ran and the order was canceled */
+    COMPENSATED;
+
+    public boolean isTerminal() {
+        return this == COMPLETED || this == COMPENSATED;
+    }
+}
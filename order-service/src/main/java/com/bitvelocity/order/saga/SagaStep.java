@@ -0,0 +1,10 @@
+package com.bitvelocity.order.saga;
+
+/**
+ * Independent steps of order checkout, executed in parallel.
+ */
+public enum SagaStep {
+    RESERVE_STOCK,
+    AUTHORIZE_PAYMENT,
+    VALIDATE_PRICES
+}
@@ -0,0 +1,36 @@
+package com.bitvelocity.order.saga;
+
+import com.bitvelocity.order.domain.Order;
+
+/**
+ * One checkout step and its compensation. Both must be idempotent per order id: after a crash a
+ * step whose outcome is unknown is executed or compensated again.
+ */
+public interface SagaStepHandler {
+
+    SagaStep step();
+
+    /**
+     * @return reference of the created resource (reservation, authorization), kept for audit
+     * @throws Exception if the dependency rejected the step or failed
+     */
+    String execute(Order order) throws Exception;
+
+    void compensate(Order order) throws Exception;
+
+    /**
+     * Finalizes the step once the order is paid (e.g. commits the reservation). Repeated when a
+     * saga is resumed before it completed, so it must be idempotent as well.
+     *
+     * @throws Exception if the dependency failed; the saga stays RUNNING and is retried
+     */
+    default void confirm(Order order) throws Exception {
+    }
+
+    /**
+     * False for read-only steps, which are skipped during compensation.
+     */
+    default boolean compensable() {
+        return true;
+    }
+}
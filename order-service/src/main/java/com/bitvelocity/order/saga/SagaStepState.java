@@ -0,0 +1,7 @@
+package com.bitvelocity.order.saga;
+
+import java.time.Instant;
+
+public record SagaStepState(SagaStep step, SagaStepStatus status, String reference, String error,
+                            Instant startedAt, Instant finishedAt) {
+}
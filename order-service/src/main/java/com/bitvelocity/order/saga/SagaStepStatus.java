@@ -0,0 +1,21 @@
+package com.bitvelocity.order.saga;
+
+public enum SagaStepStatus {
+    PENDING,
+    /** Started; if the saga is resumed in this state the outcome is unknown */
+    RUNNING,
+    SUCCEEDED,
+    FAILED,
+    /** Deadline passed; the dependency may still have applied it */
+    TIMED_OUT,
+    /** Interrupted because another step failed */
+    ABORTED,
+    COMPENSATED;
+
+    /**
+     * Whether the step may have taken effect and must be undone on failure.
+     */
+    public boolean mayHaveApplied() {
+        return this == RUNNING || this == SUCCEEDED || this == TIMED_OUT || this == ABORTED;
+    }
+}
@@ -0,0 +1,34 @@
+package com.bitvelocity.order.saga;
+
+import com.bitvelocity.order.client.PricingClient;
+import com.bitvelocity.order.domain.Order;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class ValidatePricesStep implements SagaStepHandler {
+
+    private final PricingClient pricingClient;
+
+    @Override
+    public SagaStep step() {
+        return SagaStep.VALIDATE_PRICES;
+    }
+
+    @Override
+    public String execute(Order order) {
+        pricingClient.validatePrices(order.getItems(), order.getCurrency());
+        return null;
+    }
+
+    @Override
+    public void compensate(Order order) {
+        // Read-only check, nothing to undo
+    }
+
+    @Override
+    public boolean compensable() {
+        return false;
+    }
+}
@@ -0,0 +1,9 @@
+package com.bitvelocity.order.service;
+
+import com.bitvelocity.order.dto.OrderResponse;
+
+/**
+ * @param replayed true if the order was created by an earlier request with the same Idempotency-Key
+ */
+public record OrderCreationResult(OrderResponse order, boolean replayed) {
+}
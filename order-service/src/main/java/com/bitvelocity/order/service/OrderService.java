@@ -0,0 +1,74 @@
+package com.bitvelocity.order.service;
+
+import com.bitvelocity.order.domain.Order;
+import com.bitvelocity.order.domain.OrderStatusChange;
+import com.bitvelocity.order.dto.CreateOrderRequest;
+import com.bitvelocity.order.dto.OrderResponse;
+import com.bitvelocity.order.event.OrderCreatedEvent;
+import com.bitvelocity.order.exception.OrderNotFoundException;
+import com.bitvelocity.order.idempotency.IdempotencyRecord;
+import com.bitvelocity.order.idempotency.IdempotencyRepository;
+import com.bitvelocity.order.idempotency.IdempotencyService;
+import com.bitvelocity.order.idempotency.IdempotentResult;
+import com.bitvelocity.order.mapper.OrderMapper;
+import com.bitvelocity.order.repository.OrderRepository;
+import com.bitvelocity.order.repository.OrderStatusHistoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderService {
+
+    private final OrderRepository orderRepository;
+    private final OrderStatusHistoryRepository historyRepository;
+    private final IdempotencyRepository idempotencyRepository;
+    private final IdempotencyService idempotencyService;
+    private final OrderMapper orderMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+
+    /**
+     * Creates an order at most once per Idempotency-Key. A duplicate returns the original order.
+     */
+    public OrderCreationResult createOrder(String idempotencyKey, CreateOrderRequest request) {
+        AtomicReference<Order> created = new AtomicReference<>();
+        IdempotentResult result = idempotencyService.execute(idempotencyKey, request, record -> {
+            Order order = orderMapper.toEntity(record.resourceId(), request,
+                    clock.instant().truncatedTo(ChronoUnit.MILLIS));
+            transactionTemplate.executeWithoutResult(status -> {
+                orderRepository.insert(order);
+                historyRepository.append(OrderStatusChange.created(order));
+                idempotencyRepository.insert(record);
+            });
+            created.set(order);
+        });
+
+        Order order = created.get() != null ? created.get() : findOrder(result.resourceId());
+        if (result.replayed()) {
+            log.info("Replayed order {} for Idempotency-Key {}", order.getId(), idempotencyKey);
+        } else {
+            log.info("Created order {} for user {} with {} items", order.getId(), order.getUserId(), order.getItems().size());
+            eventPublisher.publishEvent(new OrderCreatedEvent(order));
+        }
+        return new OrderCreationResult(orderMapper.toResponse(order), result.replayed());
+    }
+
+    public OrderResponse getOrderById(UUID id) {
+        return orderMapper.toResponse(findOrder(id));
+    }
+
+    private Order findOrder(UUID id) {
+        return orderRepository.findById(id).orElseThrow(() -> new OrderNotFoundException(id));
+    }
+}
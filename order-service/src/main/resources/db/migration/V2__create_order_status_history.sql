@@ -0,0 +1,10 @@
+-- Append-only audit of order state transitions; sequence is the order version after the change
+CREATE TABLE IF NOT EXISTS order_status_history (
+    order_id UUID NOT NULL REFERENCES orders (id) ON DELETE CASCADE,
+    sequence BIGINT NOT NULL,
+    from_status VARCHAR(20),
+    to_status VARCHAR(20) NOT NULL,
+    command VARCHAR(20),
+    changed_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (order_id, sequence)
+);
@@ -0,0 +1,2 @@
+-- Keyset access path for one customer's orders (read model hydration), newest first
+CREATE INDEX IF NOT EXISTS idx_orders_user_created ON orders (user_id, created_at, id);
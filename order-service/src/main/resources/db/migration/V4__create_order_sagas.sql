@@ -0,0 +1,21 @@
+-- Checkout saga progress, persisted per step so that in-flight sagas resume after a crash
+CREATE TABLE IF NOT EXISTS order_sagas (
+    order_id UUID PRIMARY KEY REFERENCES orders (id) ON DELETE CASCADE,
+    status VARCHAR(20) NOT NULL,
+    failure_reason VARCHAR(500),
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS order_saga_steps (
+    order_id UUID NOT NULL REFERENCES order_sagas (order_id) ON DELETE CASCADE,
+    step VARCHAR(30) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    reference VARCHAR(100),
+    error VARCHAR(500),
+    started_at TIMESTAMP,
+    finished_at TIMESTAMP,
+    PRIMARY KEY (order_id, step)
+);
+
+CREATE INDEX IF NOT EXISTS idx_order_sagas_status_updated ON order_sagas (status, updated_at);
@@ -0,0 +1,186 @@
+package com.bitvelocity.order.client;
+
+import com.bitvelocity.inventory.grpc.v1.CommitRequest;
+import com.bitvelocity.inventory.grpc.v1.CommitResponse;
+import com.bitvelocity.inventory.grpc.v1.InventoryGrpc;
+import com.bitvelocity.inventory.grpc.v1.ReserveOutcome;
+import com.bitvelocity.inventory.grpc.v1.ReserveRequest;
+import com.bitvelocity.inventory.grpc.v1.ReservationStatus;
+import com.bitvelocity.inventory.grpc.v1.ReserveResponse;
+import com.bitvelocity.inventory.grpc.v1.ReturnRequest;
+import com.bitvelocity.inventory.grpc.v1.ReturnResponse;
+import com.bitvelocity.order.domain.OrderItem;
+import com.bitvelocity.order.saga.SagaProperties;
+import io.grpc.Deadline;
+import io.grpc.Context;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("gRPC Inventory Client Tests")
+class GrpcInventoryClientTest {
+
+    private final FakeInventory fake = new FakeInventory();
+    private Server server;
+    private GrpcInventoryClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name).directExecutor().addService(fake).build().start();
+        SagaProperties properties = new SagaProperties();
+        properties.setDefaultStepDeadlineMs(1500);
+        client = new GrpcInventoryClient(InProcessChannelBuilder.forName(name)
+                .directExecutor()
+                .defaultServiceConfig(GrpcInventoryClient.serviceConfig(3))
+                .enableRetry()
+                .build(), properties);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        client.destroy();
+        server.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Reserve should send one line per SKU keyed by order id, with the step deadline")
+    void reserveSendsLinesAndDeadline() {
+        // Given
+        UUID orderId = UUID.randomUUID();
+
+        // When
+        String reservationId = client.reserve(orderId, List.of(item("SKU-1", 2), item("SKU-2", 1), item("SKU-1", 3)));
+
+        // Then
+        ReserveRequest request = fake.lastReserve.get();
+        assertThat(reservationId).isEqualTo(orderId.toString());
+        assertThat(request.getReservationId()).isEqualTo(orderId.toString());
+        assertThat(request.getLinesList())
+                .extracting(line -> line.getSku() + "x" + line.getQuantity())
+                .containsExactly("SKU-1x5", "SKU-2x1");
+        assertThat(fake.lastDeadline.get().timeRemaining(TimeUnit.MILLISECONDS)).isBetween(1L, 1500L);
+    }
+
+    @Test
+    @DisplayName("Insufficient stock should be reported as a rejection, not a failure")
+    void insufficientStockIsRejection() {
+        // Given
+        fake.outcome = ReserveOutcome.INSUFFICIENT_STOCK;
+
+        // When / Then
+        assertThatThrownBy(() -> client.reserve(UUID.randomUUID(), List.of(item("SKU-9", 1))))
+                .isInstanceOf(DependencyRejectedException.class)
+                .hasMessageContaining("SKU-9");
+    }
+
+    @Test
+    @DisplayName("UNAVAILABLE should be retried, and returning stock should reach the service")
+    void unavailableIsRetried() {
+        // Given
+        fake.unavailableCalls.set(2);
+        UUID orderId = UUID.randomUUID();
+
+        // When
+        client.reserve(orderId, List.of(item("SKU-1", 1)));
+        client.returnStock(orderId);
+
+        // Then
+        assertThat(fake.reserveCalls.get()).isEqualTo(3);
+        assertThat(fake.lastReturn.get().getReservationId()).isEqualTo(orderId.toString());
+    }
+
+    @Test
+    @DisplayName("Commit should reach the service, and a missing reservation should be a rejection")
+    void commitReachesServiceAndReportsRejection() {
+        // Given
+        UUID orderId = UUID.randomUUID();
+
+        // When
+        client.commit(orderId);
+
+        // Then
+        assertThat(fake.lastCommit.get().getReservationId()).isEqualTo(orderId.toString());
+
+        // Given
+        fake.commitStatus = Status.NOT_FOUND.withDescription("Reservation not found");
+
+        // When / Then
+        assertThatThrownBy(() -> client.commit(orderId))
+                .isInstanceOf(DependencyRejectedException.class)
+                .hasMessageContaining("Reservation not found");
+    }
+
+    private static OrderItem item(String sku, int quantity) {
+        OrderItem item = new OrderItem();
+        item.setSku(sku);
+        item.setQuantity(quantity);
+        item.setUnitPrice(BigDecimal.ONE);
+        return item;
+    }
+
+    private static class FakeInventory extends InventoryGrpc.InventoryImplBase {
+
+        private final AtomicReference<ReserveRequest> lastReserve = new AtomicReference<>();
+        private final AtomicReference<ReturnRequest> lastReturn = new AtomicReference<>();
+        private final AtomicReference<Deadline> lastDeadline = new AtomicReference<>();
+        private final AtomicInteger unavailableCalls = new AtomicInteger();
+        private final AtomicInteger reserveCalls = new AtomicInteger();
+        private final AtomicReference<CommitRequest> lastCommit = new AtomicReference<>();
+        private volatile ReserveOutcome outcome = ReserveOutcome.RESERVED;
+        private volatile Status commitStatus = Status.OK;
+
+        @Override
+        public void reserveStock(ReserveRequest request, StreamObserver<ReserveResponse> responseObserver) {
+            reserveCalls.incrementAndGet();
+            if (unavailableCalls.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                responseObserver.onError(Status.UNAVAILABLE.asRuntimeException());
+                return;
+            }
+            lastReserve.set(request);
+            lastDeadline.set(Context.current().getDeadline());
+            ReserveResponse.Builder response = ReserveResponse.newBuilder()
+                    .setReservationId(request.getReservationId())
+                    .setOutcome(outcome);
+            if (outcome == ReserveOutcome.INSUFFICIENT_STOCK) {
+                response.setSku(request.getLines(0).getSku());
+            }
+            responseObserver.onNext(response.build());
+            responseObserver.onCompleted();
+        }
+
+        @Override
+        public void returnStock(ReturnRequest request, StreamObserver<ReturnResponse> responseObserver) {
+            lastReturn.set(request);
+            responseObserver.onNext(ReturnResponse.newBuilder().setFound(true).build());
+            responseObserver.onCompleted();
+        }
+
+        @Override
+        public void commitStock(CommitRequest request, StreamObserver<CommitResponse> responseObserver) {
+            lastCommit.set(request);
+            if (!commitStatus.isOk()) {
+                responseObserver.onError(commitStatus.asRuntimeException());
+                return;
+            }
+            responseObserver.onNext(CommitResponse.newBuilder().setStatus(ReservationStatus.COMMITTED).build());
+            responseObserver.onCompleted();
+        }
+    }
+}
@@ -0,0 +1,381 @@
+package com.bitvelocity.order.controller;
+
+import com.bitvelocity.order.client.InMemoryInventoryClient;
+import com.bitvelocity.order.client.InMemoryPaymentClient;
+import com.bitvelocity.order.domain.OrderCommand;
+import com.bitvelocity.order.lifecycle.OrderLifecycleService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Order Controller H2 Integration Tests")
+class OrderControllerH2IntegrationTest {
+
+    private static final String ORDER_JSON = """
+            {"userId":"user-1","currency":"USD","items":[
+              {"sku":"LAPTOP-001","quantity":2,"unitPrice":999.99},
+              {"sku":"MOUSE-001","quantity":1,"unitPrice":25.00}]}
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OrderLifecycleService orderLifecycleService;
+
+    @Autowired
+    private InMemoryInventoryClient inventoryClient;
+
+    @Autowired
+    private InMemoryPaymentClient paymentClient;
+
+    @Test
+    @DisplayName("Should create an order and replay it for the same Idempotency-Key")
+    void testCreateOrderIsIdempotent() throws Exception {
+        // When
+        MvcResult first = mockMvc.perform(post("/api/v1/orders")
+                        .header("Idempotency-Key", "create-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(ORDER_JSON))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "false"))
+                .andExpect(jsonPath("$.status", is("PENDING")))
+                .andExpect(jsonPath("$.totalAmount", is(2024.98)))
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andReturn();
+        JsonNode created = objectMapper.readTree(first.getResponse().getContentAsString());
+
+        MvcResult second = mockMvc.perform(post("/api/v1/orders")
+                        .header("Idempotency-Key", "create-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(ORDER_JSON))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andReturn();
+        JsonNode replayed = objectMapper.readTree(second.getResponse().getContentAsString());
+
+        // Then
+        assertThat(replayed).isEqualTo(created);
+        Integer orders = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM orders WHERE id = ?", Integer.class,
+                UUID.fromString(created.get("id").asText()));
+        assertThat(orders).isEqualTo(1);
+
+        mockMvc.perform(get("/api/v1/orders/" + created.get("id").asText()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userId", is("user-1")));
+    }
+
+    @Test
+    @DisplayName("Should return 422 when a key is reused with a different payload")
+    void testKeyReuseWithDifferentPayload() throws Exception {
+        mockMvc.perform(post("/api/v1/orders")
+                        .header("Idempotency-Key", "create-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(ORDER_JSON))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/v1/orders")
+                        .header("Idempotency-Key", "create-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(ORDER_JSON.replace("user-1", "user-2")))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    @DisplayName("Should return 400 without an Idempotency-Key")
+    void testMissingIdempotencyKey() throws Exception {
+        mockMvc.perform(post("/api/v1/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(ORDER_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should return 404 for an unknown order")
+    void testOrderNotFound() throws Exception {
+        mockMvc.perform(get("/api/v1/orders/" + UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should pay and fulfill an order and record each transition")
+    void testOrderLifecycle() throws Exception {
+        // Given
+        String id = createOrder("lifecycle-1");
+
+        // When / Then
+        perform(post("/api/v1/orders/" + id + "/pay"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("PAID")))
+                .andExpect(jsonPath("$.version", is(1)));
+        perform(post("/api/v1/orders/" + id + "/pay"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version", is(1)));
+        perform(post("/api/v1/orders/" + id + "/fulfill"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("FULFILLED")));
+        perform(post("/api/v1/orders/" + id + "/cancel"))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(get("/api/v1/orders/" + id + "/history"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].toStatus", is("PENDING")))
+                .andExpect(jsonPath("$[1].command", is("PAY")))
+                .andExpect(jsonPath("$[2].fromStatus", is("PAID")))
+                .andExpect(jsonPath("$[2].toStatus", is("FULFILLED")));
+    }
+
+    @Test
+    @DisplayName("Concurrent pay and cancel should leave exactly one consistent outcome")
+    void testConcurrentPayAndCancel() throws Exception {
+        // Given
+        String id = createOrder("lifecycle-2");
+        UUID orderId = UUID.fromString(id);
+
+        // When
+        List<CompletableFuture<?>> results = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            results.add(orderLifecycleService.submit(orderId, OrderCommand.PAY).exceptionally(e -> null));
+            results.add(orderLifecycleService.submit(orderId, OrderCommand.CANCEL).exceptionally(e -> null));
+        }
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+
+        // Then
+        List<Map<String, Object>> history = jdbcTemplate.queryForList(
+                "SELECT sequence, from_status, to_status FROM order_status_history WHERE order_id = ? ORDER BY sequence",
+                orderId);
+        Map<String, Object> order = jdbcTemplate.queryForMap("SELECT status, version FROM orders WHERE id = ?", orderId);
+        assertThat(((Number) order.get("version")).longValue()).isEqualTo(history.size() - 1);
+        assertThat(history.get(history.size() - 1).get("to_status")).isEqualTo(order.get("status"));
+        assertThat(order.get("status")).isEqualTo("CANCELED");
+        for (int i = 1; i < history.size(); i++) {
+            assertThat(history.get(i).get("from_status")).isEqualTo(history.get(i - 1).get("to_status"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should ingest orders in bulk with a result per order")
+    void testBulkIngestion() throws Exception {
+        // Given
+        String order = ORDER_JSON.strip();
+        String otherOrder = order.replace("user-1", "user-9");
+        String invalidOrder = order.replace("\"USD\"", "\"usd\"");
+        String body = """
+                {"orders":[
+                  {"idempotencyKey":"bulk-1","order":%s},
+                  {"idempotencyKey":"bulk-2","order":%s},
+                  {"idempotencyKey":"bulk-3","order":%s},
+                  {"idempotencyKey":"bulk-1","order":%s},
+                  {"idempotencyKey":"bulk-1","order":%s}]}
+                """.formatted(order, otherOrder, invalidOrder, order, otherOrder);
+
+        // When / Then
+        MvcResult result = mockMvc.perform(post("/api/v1/orders/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received", is(5)))
+                .andExpect(jsonPath("$.created", is(2)))
+                .andExpect(jsonPath("$.replayed", is(1)))
+                .andExpect(jsonPath("$.rejected", is(2)))
+                .andExpect(jsonPath("$.results[0].outcome", is("CREATED")))
+                .andExpect(jsonPath("$.results[2].outcome", is("REJECTED")))
+                .andExpect(jsonPath("$.results[2].error", containsString("currency")))
+                .andExpect(jsonPath("$.results[3].outcome", is("REPLAYED")))
+                .andExpect(jsonPath("$.results[4].outcome", is("REJECTED")))
+                .andReturn();
+        JsonNode results = objectMapper.readTree(result.getResponse().getContentAsString()).get("results");
+        assertThat(results.get(3).get("orderId")).isEqualTo(results.get(0).get("orderId"));
+
+        // A single POST with a bulk key replays the bulk-created order
+        mockMvc.perform(post("/api/v1/orders")
+                        .header("Idempotency-Key", "bulk-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(otherOrder))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.id", is(results.get(1).get("orderId").asText())));
+
+        mockMvc.perform(get("/api/v1/orders/" + results.get(0).get("orderId").asText() + "/history"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    @DisplayName("Should reject an empty bulk request")
+    void testEmptyBulkRequest() throws Exception {
+        mockMvc.perform(post("/api/v1/orders/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"orders\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should page a customer's orders newest first and reflect status changes")
+    void testOrderHistoryPages() throws Exception {
+        // Given
+        String body = ORDER_JSON.replace("user-1", "history-user");
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(objectMapper.readTree(mockMvc.perform(post("/api/v1/orders")
+                            .header("Idempotency-Key", "history-" + i)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andReturn().getResponse().getContentAsString()).get("id").asText());
+            Thread.sleep(2);
+        }
+        perform(post("/api/v1/orders/" + ids.get(2) + "/pay")).andExpect(status().isOk());
+
+        // When
+        MvcResult first = mockMvc.perform(get("/api/v1/orders").param("userId", "history-user").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orders", hasSize(2)))
+                .andExpect(jsonPath("$.orders[0].id", is(ids.get(2))))
+                .andExpect(jsonPath("$.orders[0].status", is("PAID")))
+                .andExpect(jsonPath("$.orders[1].id", is(ids.get(1))))
+                .andExpect(jsonPath("$.nextCursor", notNullValue()))
+                .andReturn();
+        String cursor = objectMapper.readTree(first.getResponse().getContentAsString()).get("nextCursor").asText();
+
+        // Then
+        mockMvc.perform(get("/api/v1/orders").param("userId", "history-user").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orders", hasSize(1)))
+                .andExpect(jsonPath("$.orders[0].id", is(ids.get(0))))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+        mockMvc.perform(get("/api/v1/orders").param("userId", "history-user").param("cursor", "garbage"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/orders"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should check out an order, pay it and return the same saga when repeated")
+    void testCheckout() throws Exception {
+        // Given
+        String id = createOrder("checkout-1");
+
+        // When / Then
+        perform(post("/api/v1/orders/" + id + "/checkout"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("COMPLETED")))
+                .andExpect(jsonPath("$.steps", hasSize(3)))
+                .andExpect(jsonPath("$.steps[*].status", everyItem(is("SUCCEEDED"))));
+        perform(post("/api/v1/orders/" + id + "/checkout"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("COMPLETED")));
+
+        mockMvc.perform(get("/api/v1/orders/" + id))
+                .andExpect(jsonPath("$.status", is("PAID")));
+        mockMvc.perform(get("/api/v1/orders/" + id + "/saga"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderId", is(id)));
+    }
+
+    @Test
+    @DisplayName("Should compensate and cancel when payment is declined")
+    void testCheckoutDeclined() throws Exception {
+        // Given - above the in-memory payment limit
+        String id = objectMapper.readTree(mockMvc.perform(post("/api/v1/orders")
+                        .header("Idempotency-Key", "checkout-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(ORDER_JSON.replace("\"quantity\":2", "\"quantity\":20")))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString()).get("id").asText();
+
+        // When / Then
+        perform(post("/api/v1/orders/" + id + "/checkout"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("COMPENSATED")))
+                .andExpect(jsonPath("$.failureReason", containsString("AUTHORIZE_PAYMENT")));
+        mockMvc.perform(get("/api/v1/orders/" + id))
+                .andExpect(jsonPath("$.status", is("CANCELED")));
+    }
+
+    @Test
+    @DisplayName("Canceling a paid order should compensate its saga: stock returned, authorization voided")
+    void testCancelPaidOrder() throws Exception {
+        // Given
+        String id = createOrder("checkout-4");
+        UUID orderId = UUID.fromString(id);
+        perform(post("/api/v1/orders/" + id + "/pay"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("PAID")));
+        assertThat(inventoryClient.isCommitted(orderId)).isTrue();
+        assertThat(paymentClient.isAuthorized(orderId)).isTrue();
+
+        // When / Then
+        perform(post("/api/v1/orders/" + id + "/cancel"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("CANCELED")));
+        mockMvc.perform(get("/api/v1/orders/" + id + "/saga"))
+                .andExpect(jsonPath("$.status", is("COMPENSATED")))
+                .andExpect(jsonPath("$.failureReason", is("Canceled after payment")));
+        assertThat(inventoryClient.isCommitted(orderId)).isFalse();
+        assertThat(inventoryClient.isReserved(orderId)).isFalse();
+        assertThat(paymentClient.isAuthorized(orderId)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject checkout of an order that is no longer PENDING")
+    void testCheckoutCanceledOrder() throws Exception {
+        String id = createOrder("checkout-3");
+        perform(post("/api/v1/orders/" + id + "/cancel")).andExpect(status().isOk());
+
+        perform(post("/api/v1/orders/" + id + "/checkout"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(get("/api/v1/orders/" + id + "/saga"))
+                .andExpect(status().isNotFound());
+    }
+
+    private String createOrder(String idempotencyKey) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/v1/orders")
+                        .header("Idempotency-Key", idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(ORDER_JSON))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asText();
+    }
+
+    private ResultActions perform(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+}
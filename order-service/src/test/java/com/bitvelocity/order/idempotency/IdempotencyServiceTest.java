@@ -0,0 +1,164 @@
+package com.bitvelocity.order.idempotency;
+
+import com.bitvelocity.order.exception.IdempotencyKeyConflictException;
+import com.bitvelocity.testsupport.MutableClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DisplayName("IdempotencyService Unit Tests")
+class IdempotencyServiceTest {
+
+    private IdempotencyRepository repository;
+    private MutableClock clock;
+    private IdempotencyProperties properties;
+    private IdempotencyService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(IdempotencyRepository.class);
+        when(repository.find(anyString(), any())).thenReturn(Optional.empty());
+        clock = new MutableClock();
+        properties = new IdempotencyProperties();
+        service = new IdempotencyService(repository, properties, clock);
+    }
+
+    @Test
+    @DisplayName("Concurrent duplicates should execute the action once and replay its result")
+    void testConcurrentDuplicatesExecuteOnce() throws Exception {
+        // Given
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 8;
+
+        // When
+        List<Future<IdempotentResult>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(callers)) {
+            for (int i = 0; i < callers; i++) {
+                futures.add(executor.submit(() -> service.execute("key-1", Map.of("userId", "u1"), record -> {
+                    executions.incrementAndGet();
+                    awaitQuietly(release);
+                })));
+            }
+            Thread.sleep(100);
+            release.countDown();
+        }
+
+        // Then
+        List<IdempotentResult> results = new ArrayList<>();
+        for (Future<IdempotentResult> future : futures) {
+            results.add(future.get(5, TimeUnit.SECONDS));
+        }
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(results).extracting(IdempotentResult::resourceId).containsOnly(results.get(0).resourceId());
+        assertThat(results).filteredOn(IdempotentResult::replayed).hasSize(callers - 1);
+    }
+
+    @Test
+    @DisplayName("Should reject a reused key with a different payload")
+    void testDifferentPayloadConflicts() {
+        // Given
+        service.execute("key-1", Map.of("userId", "u1"), record -> { });
+
+        // When / Then
+        assertThatThrownBy(() -> service.execute("key-1", Map.of("userId", "u2"), record -> { }))
+                .isInstanceOf(IdempotencyKeyConflictException.class);
+    }
+
+    @Test
+    @DisplayName("Hash should not depend on payload property order")
+    void testHashIsCanonical() {
+        // Given
+        Map<String, Object> first = new java.util.LinkedHashMap<>();
+        first.put("a", 1);
+        first.put("b", 2);
+        Map<String, Object> second = new java.util.LinkedHashMap<>();
+        second.put("b", 2);
+        second.put("a", 1);
+
+        // When / Then
+        assertThat(service.hash("key-1", first)).isEqualTo(service.hash("key-1", second));
+        assertThat(service.hash("key-1", first)).isNotEqualTo(service.hash("key-2", first));
+    }
+
+    @Test
+    @DisplayName("A failed execution should release the key for a retry")
+    void testFailureReleasesKey() {
+        // Given
+        assertThatThrownBy(() -> service.execute("key-1", "payload", record -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        // When
+        AtomicInteger executions = new AtomicInteger();
+        IdempotentResult result = service.execute("key-1", "payload", record -> executions.incrementAndGet());
+
+        // Then
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(result.replayed()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should replay a record found in the database")
+    void testReplayFromStore() {
+        // Given
+        UUID orderId = UUID.randomUUID();
+        IdempotencyRecord stored = new IdempotencyRecord("key-1", service.hash("key-1", "payload"), orderId,
+                clock.instant(), clock.instant().plusMillis(properties.getTtlMs()));
+        when(repository.find(eq("key-1"), any())).thenReturn(Optional.of(stored));
+
+        // When
+        IdempotentResult result = service.execute("key-1", "payload", record -> {
+            throw new AssertionError("must not execute");
+        });
+
+        // Then
+        assertThat(result).isEqualTo(new IdempotentResult(orderId, true));
+    }
+
+    @Test
+    @DisplayName("Sweep should drop expired keys from memory and the database")
+    void testSweepExpired() {
+        // Given
+        service.execute("key-1", "payload", record -> { });
+        when(repository.deleteExpired(any(), anyInt())).thenReturn(1, 0);
+
+        // When
+        service.sweepExpired();
+        int beforeExpiry = service.indexSize();
+        clock.advance(properties.getTtlMs() + 2 * properties.getBucketMs());
+        service.sweepExpired();
+
+        // Then
+        assertThat(beforeExpiry).isEqualTo(1);
+        assertThat(service.indexSize()).isZero();
+        verify(repository, atLeastOnce()).deleteExpired(any(), eq(properties.getSweepBatchSize()));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.bitvelocity.order.lifecycle;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("OrderMailboxes Unit Tests")
+class OrderMailboxesTest {
+
+    private final OrderMailboxes mailboxes = new OrderMailboxes();
+
+    @AfterEach
+    void tearDown() {
+        mailboxes.destroy();
+    }
+
+    @Test
+    @DisplayName("Commands for one order should run one at a time in submission order")
+    void testSameOrderIsSerialized() throws Exception {
+        // Given
+        UUID orderId = UUID.randomUUID();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Integer> executed = new ArrayList<>();
+
+        // When
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            int n = i;
+            futures.add(mailboxes.submit(orderId, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                executed.add(n);
+                running.decrementAndGet();
+                return n;
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(maxRunning.get()).isEqualTo(1);
+        assertThat(executed).isSorted().hasSize(200);
+        assertThat(mailboxes.activeMailboxes()).isZero();
+    }
+
+    @Test
+    @DisplayName("Different orders should not wait for each other")
+    void testDifferentOrdersRunInParallel() throws Exception {
+        // Given
+        CountDownLatch blocked = new CountDownLatch(1);
+        CompletableFuture<String> slow = mailboxes.submit(UUID.randomUUID(), () -> {
+            await(blocked);
+            return "slow";
+        });
+
+        // When
+        String fast = mailboxes.submit(UUID.randomUUID(), () -> "fast").get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(fast).isEqualTo("fast");
+        assertThat(slow).isNotDone();
+        blocked.countDown();
+        assertThat(slow.get(5, TimeUnit.SECONDS)).isEqualTo("slow");
+    }
+
+    @Test
+    @DisplayName("A failing command should not block later commands of the same order")
+    void testFailureDoesNotStallMailbox() throws Exception {
+        // Given
+        UUID orderId = UUID.randomUUID();
+
+        // When
+        CompletableFuture<String> failed = mailboxes.submit(orderId, () -> {
+            throw new IllegalStateException("boom");
+        });
+        CompletableFuture<String> next = mailboxes.submit(orderId, () -> "ok");
+
+        // Then
+        assertThat(next.get(5, TimeUnit.SECONDS)).isEqualTo("ok");
+        assertThatThrownBy(failed::join).hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.bitvelocity.order.readmodel;
+
+import com.bitvelocity.order.domain.Order;
+import com.bitvelocity.order.domain.OrderCommand;
+import com.bitvelocity.order.domain.OrderStatus;
+import com.bitvelocity.order.domain.OrderStatusChange;
+import com.bitvelocity.order.domain.OrderSummary;
+import com.bitvelocity.order.event.OrderCreatedEvent;
+import com.bitvelocity.order.event.OrderStatusChangedEvent;
+import com.bitvelocity.order.repository.OrderRepository;
+import com.bitvelocity.testsupport.MutableClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("OrdersByCustomerProjection Unit Tests")
+class OrdersByCustomerProjectionTest {
+
+    private static final Instant T0 = Instant.parse("2024-01-01T00:00:00Z");
+
+    private OrderRepository orderRepository;
+    private OrdersByCustomerProperties properties;
+    private MutableClock clock;
+    private OrdersByCustomerProjection projection;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = mock(OrderRepository.class);
+        when(orderRepository.findSummariesByUserId(anyString(), any(), anyInt())).thenReturn(List.of());
+        properties = new OrdersByCustomerProperties();
+        clock = new MutableClock();
+        projection = new OrdersByCustomerProjection(orderRepository, properties, clock);
+    }
+
+    @Test
+    @DisplayName("Should load a customer once and then serve pages from memory")
+    void testLoadOnceThenServeFromMemory() {
+        // Given
+        List<OrderSummary> stored = List.of(summary(T0.plusSeconds(2)), summary(T0.plusSeconds(1)));
+        when(orderRepository.findSummariesByUserId(eq("user-1"), isNull(), anyInt())).thenReturn(stored);
+
+        // When
+        OrderHistoryPage first = projection.getHistory("user-1", null, 10);
+        OrderHistoryPage second = projection.getHistory("user-1", null, 10);
+
+        // Then
+        assertThat(first.orders()).containsExactlyElementsOf(stored);
+        assertThat(second.orders()).containsExactlyElementsOf(stored);
+        verify(orderRepository, times(1)).findSummariesByUserId(eq("user-1"), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should page newest first with cursors that survive new orders and same-millisecond ties")
+    void testCursorPagination() {
+        // Given
+        projection.getHistory("user-1", null, 1);
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            // Bulk-created orders share one timestamp
+            Order order = order("user-1", T0);
+            orders.add(order);
+            projection.onOrderCreated(new OrderCreatedEvent(order));
+        }
+
+        // When
+        OrderHistoryPage page1 = projection.getHistory("user-1", null, 2);
+        projection.onOrderCreated(new OrderCreatedEvent(order("user-1", T0.plusSeconds(60))));
+        OrderHistoryPage page2 = projection.getHistory("user-1", page1.nextCursor(), 2);
+        OrderHistoryPage page3 = projection.getHistory("user-1", page2.nextCursor(), 2);
+
+        // Then
+        List<UUID> seen = new ArrayList<>();
+        for (OrderHistoryPage page : List.of(page1, page2, page3)) {
+            page.orders().forEach(summary -> seen.add(summary.orderId()));
+        }
+        assertThat(seen).containsExactlyInAnyOrderElementsOf(orders.stream().map(Order::getId).toList());
+        assertThat(page3.nextCursor()).isNull();
+        assertThat(projection.getHistory("user-1", null, 10).orders().get(0).createdAt())
+                .isEqualTo(T0.plusSeconds(60));
+    }
+
+    @Test
+    @DisplayName("Should apply status changes in version order and ignore customers not loaded")
+    void testStatusChanges() {
+        // Given
+        projection.getHistory("user-1", null, 10);
+        Order order = order("user-1", T0);
+        projection.onOrderCreated(new OrderCreatedEvent(order));
+        projection.onOrderCreated(new OrderCreatedEvent(order("user-2", T0)));
+
+        // When
+        projection.onOrderStatusChanged(new OrderStatusChangedEvent("user-1",
+                new OrderStatusChange(order.getId(), 2, OrderStatus.PAID, OrderStatus.FULFILLED, OrderCommand.FULFILL, T0)));
+        projection.onOrderStatusChanged(new OrderStatusChangedEvent("user-1",
+                new OrderStatusChange(order.getId(), 1, OrderStatus.PENDING, OrderStatus.PAID, OrderCommand.PAY, T0)));
+
+        // Then
+        assertThat(projection.getHistory("user-1", null, 10).orders().get(0).status()).isEqualTo(OrderStatus.FULFILLED);
+        assertThat(projection.loadedCustomers()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently read customer once the customer limit is reached")
+    void testCapacityEviction() {
+        // Given
+        properties.setMaxCustomers(2);
+        projection.getHistory("user-1", null, 10);
+        clock.advance(1);
+        projection.getHistory("user-2", null, 10);
+        clock.advance(1);
+        projection.getHistory("user-1", null, 10);
+
+        // When
+        projection.getHistory("user-3", null, 10);
+        projection.getHistory("user-1", null, 10);
+        projection.getHistory("user-2", null, 10);
+
+        // Then
+        assertThat(projection.loadedCustomers()).isEqualTo(2);
+        verify(orderRepository, times(1)).findSummariesByUserId(eq("user-1"), any(), anyInt());
+        verify(orderRepository, times(2)).findSummariesByUserId(eq("user-2"), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should hold only the newest orders and continue older pages from the database")
+    void testWindowContinuesInDatabase() {
+        // Given
+        properties.setMaxOrdersPerCustomer(2);
+        List<OrderSummary> stored = List.of(summary(T0.plusSeconds(4)), summary(T0.plusSeconds(3)),
+                summary(T0.plusSeconds(2)), summary(T0.plusSeconds(1)));
+        when(orderRepository.findSummariesByUserId(eq("user-1"), isNull(), eq(3))).thenReturn(stored.subList(0, 3));
+        when(orderRepository.findSummariesByUserId(eq("user-1"), eq(OrderCursor.of(stored.get(1))), eq(2)))
+                .thenReturn(stored.subList(2, 4));
+        when(orderRepository.findSummariesByUserId(eq("user-1"), eq(OrderCursor.of(stored.get(2))), eq(4)))
+                .thenReturn(stored.subList(3, 4));
+
+        // When
+        OrderHistoryPage first = projection.getHistory("user-1", null, 3);
+        OrderHistoryPage second = projection.getHistory("user-1", first.nextCursor(), 3);
+
+        // Then
+        assertThat(first.orders()).containsExactlyElementsOf(stored.subList(0, 3));
+        assertThat(first.nextCursor()).isEqualTo(OrderCursor.of(stored.get(2)));
+        assertThat(second.orders()).containsExactly(stored.get(3));
+        assertThat(second.nextCursor()).isNull();
+        assertThat(projection.loadedCustomers()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should re-read a held history once it outlives the TTL")
+    void testHistoryTtl() {
+        // Given
+        projection.getHistory("user-1", null, 10);
+        OrderSummary placedElsewhere = summary(T0);
+        when(orderRepository.findSummariesByUserId(eq("user-1"), isNull(), anyInt())).thenReturn(List.of(placedElsewhere));
+
+        // When
+        OrderHistoryPage cached = projection.getHistory("user-1", null, 10);
+        clock.advance(properties.getHistoryTtlMs());
+        OrderHistoryPage reloaded = projection.getHistory("user-1", null, 10);
+
+        // Then
+        assertThat(cached.orders()).isEmpty();
+        assertThat(reloaded.orders()).containsExactly(placedElsewhere);
+    }
+
+    @Test
+    @DisplayName("Cursor tokens should round-trip and reject garbage")
+    void testCursorEncoding() {
+        OrderCursor cursor = new OrderCursor(T0, UUID.randomUUID());
+
+        assertThat(OrderCursor.decode(cursor.encode())).isEqualTo(cursor);
+        assertThatThrownBy(() -> OrderCursor.decode("not-a-cursor")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static OrderSummary summary(Instant createdAt) {
+        return new OrderSummary(UUID.randomUUID(), OrderStatus.PENDING, BigDecimal.TEN, "USD", createdAt, createdAt, 0);
+    }
+
+    private static Order order(String userId, Instant createdAt) {
+        return Order.builder()
+                .id(UUID.randomUUID())
+                .userId(userId)
+                .status(OrderStatus.PENDING)
+                .totalAmount(BigDecimal.TEN)
+                .currency("USD")
+                .items(List.of())
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .version(0)
+                .build();
+    }
+}
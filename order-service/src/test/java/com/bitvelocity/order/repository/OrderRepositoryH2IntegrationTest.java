@@ -0,0 +1,132 @@
+package com.bitvelocity.order.repository;
+
+import com.bitvelocity.order.domain.Order;
+import com.bitvelocity.order.domain.OrderItem;
+import com.bitvelocity.order.domain.OrderStatus;
+import com.bitvelocity.order.domain.OrderSummary;
+import com.bitvelocity.order.readmodel.OrderCursor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the Flyway schema and the batched OrderRepository writes against H2.
+ */
+@JdbcTest
+@ActiveProfiles("test")
+@Import(OrderRepository.class)
+@DisplayName("OrderRepository H2 Integration Tests")
+class OrderRepositoryH2IntegrationTest {
+
+    private static final String USER_ID = "repository-user";
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+    @Test
+    @DisplayName("Should batch insert orders and round-trip items in line order")
+    void shouldInsertAllAndRoundTrip() {
+        // Given
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            orders.add(order(i + 1));
+        }
+
+        // When
+        orderRepository.insertAll(orders);
+
+        // Then
+        // Scoped to this test's user: the H2 database is shared with tests that commit
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM orders WHERE user_id = ?", Integer.class, USER_ID)).isEqualTo(25);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_items i JOIN orders o ON o.id = i.order_id "
+                + "WHERE o.user_id = ?", Integer.class, USER_ID)).isEqualTo(25 * 26 / 2);
+        Order loaded = orderRepository.findById(orders.get(2).getId()).orElseThrow();
+        assertThat(loaded.getItems()).extracting(OrderItem::getSku).containsExactly("SKU-0", "SKU-1", "SKU-2");
+        assertThat(loaded.getTotalAmount()).isEqualByComparingTo("30.00");
+    }
+
+    @Test
+    @DisplayName("Should update status only at the expected version")
+    void shouldUpdateStatusWithVersionCheck() {
+        // Given
+        Order order = order(1);
+        orderRepository.insert(order);
+
+        // When
+        boolean first = orderRepository.updateStatus(order.getId(), OrderStatus.PAID, 0, now);
+        boolean stale = orderRepository.updateStatus(order.getId(), OrderStatus.CANCELED, 0, now);
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(stale).isFalse();
+        Order loaded = orderRepository.findById(order.getId()).orElseThrow();
+        assertThat(loaded.getStatus()).isEqualTo(OrderStatus.PAID);
+        assertThat(loaded.getVersion()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should page one customer's orders by keyset in cursor order, including timestamp ties")
+    void shouldPageSummariesByKeyset() {
+        // Given
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            orders.add(order(1));
+        }
+        orderRepository.insertAll(orders);
+        List<OrderCursor> expected = orders.stream()
+                .map(order -> new OrderCursor(order.getCreatedAt(), order.getId()))
+                .sorted(Comparator.reverseOrder())
+                .toList();
+
+        // When
+        List<OrderCursor> paged = new ArrayList<>();
+        OrderCursor cursor = null;
+        List<OrderSummary> page;
+        do {
+            page = orderRepository.findSummariesByUserId(USER_ID, cursor, 3);
+            page.forEach(summary -> paged.add(OrderCursor.of(summary)));
+            cursor = page.isEmpty() ? null : OrderCursor.of(page.get(page.size() - 1));
+        } while (page.size() == 3);
+
+        // Then
+        assertThat(paged).containsExactlyElementsOf(expected);
+    }
+
+    private Order order(int lines) {
+        List<OrderItem> items = new ArrayList<>();
+        for (int i = 0; i < lines; i++) {
+            items.add(OrderItem.builder().sku("SKU-" + i).quantity(1).unitPrice(new BigDecimal("10.00")).build());
+        }
+        return Order.builder()
+                .id(UUID.randomUUID())
+                .userId(USER_ID)
+                .status(OrderStatus.PENDING)
+                .totalAmount(new BigDecimal("10.00").multiply(BigDecimal.valueOf(lines)))
+                .currency("USD")
+                .items(items)
+                .createdAt(now)
+                .updatedAt(now)
+                .version(0)
+                .build();
+    }
+}
@@ -0,0 +1,338 @@
+package com.bitvelocity.order.saga;
+
+import com.bitvelocity.order.domain.Order;
+import com.bitvelocity.order.domain.OrderCommand;
+import com.bitvelocity.order.domain.OrderStatus;
+import com.bitvelocity.order.dto.CreateOrderRequest;
+import com.bitvelocity.order.dto.OrderItemRequest;
+import com.bitvelocity.order.lifecycle.OrderLifecycleService;
+import com.bitvelocity.order.repository.OrderRepository;
+import com.bitvelocity.order.service.OrderService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Saga Orchestrator H2 Integration Tests")
+class SagaOrchestratorH2IntegrationTest {
+
+    @Autowired
+    private SagaRepository sagaRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderLifecycleService orderLifecycleService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Test
+    @DisplayName("Steps should run in parallel: checkout takes about the slowest step, not the sum")
+    void testStepsRunInParallel() throws Exception {
+        // Given
+        UUID orderId = createOrder();
+        SagaOrchestrator orchestrator = orchestrator(new SagaProperties(),
+                new StubStep(SagaStep.RESERVE_STOCK, 300),
+                new StubStep(SagaStep.AUTHORIZE_PAYMENT, 300),
+                new StubStep(SagaStep.VALIDATE_PRICES, 300));
+
+        // When
+        long start = System.nanoTime();
+        SagaState saga = orchestrator.checkout(orderId).get(10, TimeUnit.SECONDS);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Then
+        assertThat(saga.status()).isEqualTo(SagaStatus.COMPLETED);
+        assertThat(saga.steps()).allSatisfy(step -> {
+            assertThat(step.status()).isEqualTo(SagaStepStatus.SUCCEEDED);
+            assertThat(step.reference()).isEqualTo(step.step() + "-" + orderId);
+        });
+        assertThat(elapsedMs).isLessThan(800);
+        assertThat(status(orderId)).isEqualTo(OrderStatus.PAID);
+        orchestrator.destroy();
+    }
+
+    @Test
+    @DisplayName("A failed step should abort the others and compensate every step that may have applied")
+    void testFailureCompensates() throws Exception {
+        // Given
+        UUID orderId = createOrder();
+        StubStep reserve = new StubStep(SagaStep.RESERVE_STOCK, 0);
+        StubStep authorize = new StubStep(SagaStep.AUTHORIZE_PAYMENT, 5_000);
+        StubStep prices = new StubStep(SagaStep.VALIDATE_PRICES, 50).failing();
+        SagaOrchestrator orchestrator = orchestrator(new SagaProperties(), reserve, authorize, prices);
+
+        // When
+        long start = System.nanoTime();
+        SagaState saga = orchestrator.checkout(orderId).get(10, TimeUnit.SECONDS);
+
+        // Then - the slow authorization was interrupted, not awaited
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(2_000);
+        assertThat(saga.status()).isEqualTo(SagaStatus.COMPENSATED);
+        assertThat(saga.failureReason()).contains("VALIDATE_PRICES");
+        assertThat(saga.step(SagaStep.RESERVE_STOCK).status()).isEqualTo(SagaStepStatus.COMPENSATED);
+        assertThat(saga.step(SagaStep.AUTHORIZE_PAYMENT).status()).isEqualTo(SagaStepStatus.COMPENSATED);
+        assertThat(saga.step(SagaStep.VALIDATE_PRICES).status()).isEqualTo(SagaStepStatus.FAILED);
+        assertThat(reserve.compensations).hasValue(1);
+        assertThat(authorize.compensations).hasValue(1);
+        assertThat(prices.compensations).hasValue(0);
+        assertThat(status(orderId)).isEqualTo(OrderStatus.CANCELED);
+        orchestrator.destroy();
+    }
+
+    @Test
+    @DisplayName("A step missing its deadline should time out and be compensated")
+    void testStepDeadline() throws Exception {
+        // Given
+        UUID orderId = createOrder();
+        SagaProperties properties = new SagaProperties();
+        properties.getStepDeadlineMs().put(SagaStep.AUTHORIZE_PAYMENT, 100L);
+        StubStep authorize = new StubStep(SagaStep.AUTHORIZE_PAYMENT, 5_000);
+        SagaOrchestrator orchestrator = orchestrator(properties,
+                new StubStep(SagaStep.RESERVE_STOCK, 0), authorize, new StubStep(SagaStep.VALIDATE_PRICES, 0));
+
+        // When
+        SagaState saga = orchestrator.checkout(orderId).get(10, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(saga.status()).isEqualTo(SagaStatus.COMPENSATED);
+        assertThat(saga.failureReason()).contains("AUTHORIZE_PAYMENT").contains("Deadline");
+        assertThat(saga.step(SagaStep.AUTHORIZE_PAYMENT).error()).contains("Deadline of 100 ms exceeded");
+        assertThat(authorize.compensations).hasValue(1);
+        orchestrator.destroy();
+    }
+
+    @Test
+    @DisplayName("A saga left RUNNING by a crash should resume without repeating succeeded steps")
+    void testResumeAfterCrash() throws Exception {
+        // Given - reservation succeeded, authorization was in flight when the instance died
+        UUID orderId = createOrder();
+        Instant crashedAt = Instant.now().minusSeconds(600);
+        sagaRepository.create(orderId, List.of(SagaStep.values()), crashedAt);
+        sagaRepository.markStepRunning(orderId, SagaStep.RESERVE_STOCK, crashedAt);
+        sagaRepository.finishStep(orderId, SagaStep.RESERVE_STOCK, SagaStepStatus.SUCCEEDED, "reservation-1", null,
+                crashedAt);
+        sagaRepository.markStepRunning(orderId, SagaStep.AUTHORIZE_PAYMENT, crashedAt);
+        StubStep reserve = new StubStep(SagaStep.RESERVE_STOCK, 0);
+        StubStep authorize = new StubStep(SagaStep.AUTHORIZE_PAYMENT, 0);
+        SagaOrchestrator orchestrator = orchestrator(new SagaProperties(),
+                reserve, authorize, new StubStep(SagaStep.VALIDATE_PRICES, 0));
+
+        // When
+        orchestrator.resume(Instant.now().minusSeconds(60));
+
+        // Then
+        SagaState saga = sagaRepository.find(orderId).orElseThrow();
+        assertThat(saga.status()).isEqualTo(SagaStatus.COMPLETED);
+        assertThat(saga.step(SagaStep.RESERVE_STOCK).reference()).isEqualTo("reservation-1");
+        assertThat(reserve.executions).hasValue(0);
+        assertThat(authorize.executions).hasValue(1);
+        assertThat(status(orderId)).isEqualTo(OrderStatus.PAID);
+        orchestrator.destroy();
+    }
+
+    @Test
+    @DisplayName("A saga left RUNNING after the order was paid should complete without compensating")
+    void testResumeAfterCrashBetweenPayAndCompleted() throws Exception {
+        // Given - every step succeeded and PAY was applied, the instance died before COMPLETED
+        UUID orderId = createOrder();
+        Instant crashedAt = Instant.now().minusSeconds(600);
+        sagaRepository.create(orderId, List.of(SagaStep.values()), crashedAt);
+        for (SagaStep step : SagaStep.values()) {
+            sagaRepository.markStepRunning(orderId, step, crashedAt);
+            sagaRepository.finishStep(orderId, step, SagaStepStatus.SUCCEEDED, step + "-1", null, crashedAt);
+        }
+        orderLifecycleService.submit(orderId, OrderCommand.PAY).join();
+        StubStep reserve = new StubStep(SagaStep.RESERVE_STOCK, 0);
+        StubStep authorize = new StubStep(SagaStep.AUTHORIZE_PAYMENT, 0);
+        SagaOrchestrator orchestrator = orchestrator(new SagaProperties(),
+                reserve, authorize, new StubStep(SagaStep.VALIDATE_PRICES, 0));
+
+        // When
+        orchestrator.resume(Instant.now().minusSeconds(60));
+
+        // Then
+        SagaState saga = sagaRepository.find(orderId).orElseThrow();
+        assertThat(saga.status()).isEqualTo(SagaStatus.COMPLETED);
+        assertThat(saga.failureReason()).isNull();
+        assertThat(reserve.executions).hasValue(0);
+        assertThat(reserve.compensations).hasValue(0);
+        assertThat(authorize.compensations).hasValue(0);
+        assertThat(status(orderId)).isEqualTo(OrderStatus.PAID);
+        orchestrator.destroy();
+    }
+
+    @Test
+    @DisplayName("Startup should resume only stalled sagas, not ones another instance may be driving")
+    void testStartupSkipsRecentlyUpdatedSagas() throws Exception {
+        // Given
+        UUID stalledId = createOrder();
+        sagaRepository.create(stalledId, List.of(SagaStep.values()), Instant.now().minusSeconds(600));
+        UUID activeId = createOrder();
+        sagaRepository.create(activeId, List.of(SagaStep.values()), Instant.now());
+        SagaOrchestrator orchestrator = orchestrator(new SagaProperties(), new StubStep(SagaStep.RESERVE_STOCK, 0),
+                new StubStep(SagaStep.AUTHORIZE_PAYMENT, 0), new StubStep(SagaStep.VALIDATE_PRICES, 0));
+
+        // When
+        orchestrator.resumeAfterStartup();
+
+        // Then
+        assertThat(sagaRepository.find(stalledId).orElseThrow().status()).isEqualTo(SagaStatus.COMPLETED);
+        assertThat(sagaRepository.find(activeId).orElseThrow().status()).isEqualTo(SagaStatus.RUNNING);
+        assertThat(status(activeId)).isEqualTo(OrderStatus.PENDING);
+        orchestrator.destroy();
+    }
+
+    @Test
+    @DisplayName("A failed confirmation should leave the paid saga RUNNING until a later resume confirms it")
+    void testConfirmationRetry() throws Exception {
+        // Given
+        UUID orderId = createOrder();
+        StubStep reserve = new StubStep(SagaStep.RESERVE_STOCK, 0).failingConfirmation(1);
+        SagaOrchestrator orchestrator = orchestrator(new SagaProperties(), reserve,
+                new StubStep(SagaStep.AUTHORIZE_PAYMENT, 0), new StubStep(SagaStep.VALIDATE_PRICES, 0));
+
+        // When
+        SagaState saga = orchestrator.checkout(orderId).get(10, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(saga.status()).isEqualTo(SagaStatus.RUNNING);
+        assertThat(status(orderId)).isEqualTo(OrderStatus.PAID);
+
+        // When
+        orchestrator.resume(Instant.now().plusSeconds(1));
+
+        // Then
+        saga = sagaRepository.find(orderId).orElseThrow();
+        assertThat(saga.status()).isEqualTo(SagaStatus.COMPLETED);
+        assertThat(reserve.executions).hasValue(1);
+        assertThat(reserve.confirmations).hasValue(2);
+        assertThat(reserve.compensations).hasValue(0);
+        assertThat(status(orderId)).isEqualTo(OrderStatus.PAID);
+        orchestrator.destroy();
+    }
+
+    @Test
+    @DisplayName("A failed compensation should leave the saga COMPENSATING until a later resume succeeds")
+    void testCompensationRetry() throws Exception {
+        // Given
+        UUID orderId = createOrder();
+        StubStep reserve = new StubStep(SagaStep.RESERVE_STOCK, 0).failingCompensation(1);
+        SagaOrchestrator orchestrator = orchestrator(new SagaProperties(), reserve,
+                new StubStep(SagaStep.AUTHORIZE_PAYMENT, 50).failing(), new StubStep(SagaStep.VALIDATE_PRICES, 0));
+
+        // When
+        SagaState saga = orchestrator.checkout(orderId).get(10, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(saga.status()).isEqualTo(SagaStatus.COMPENSATING);
+        assertThat(saga.step(SagaStep.RESERVE_STOCK).status()).isEqualTo(SagaStepStatus.SUCCEEDED);
+        assertThat(status(orderId)).isEqualTo(OrderStatus.PENDING);
+
+        // When
+        orchestrator.resume(Instant.now().plusSeconds(1));
+
+        // Then
+        saga = sagaRepository.find(orderId).orElseThrow();
+        assertThat(saga.status()).isEqualTo(SagaStatus.COMPENSATED);
+        assertThat(saga.step(SagaStep.RESERVE_STOCK).status()).isEqualTo(SagaStepStatus.COMPENSATED);
+        assertThat(reserve.compensations).hasValue(2);
+        assertThat(status(orderId)).isEqualTo(OrderStatus.CANCELED);
+        orchestrator.destroy();
+    }
+
+    private SagaOrchestrator orchestrator(SagaProperties properties, SagaStepHandler... handlers) {
+        return new SagaOrchestrator(sagaRepository, orderRepository, orderLifecycleService, List.of(handlers),
+                properties, Clock.systemUTC());
+    }
+
+    private UUID createOrder() {
+        CreateOrderRequest request = CreateOrderRequest.builder()
+                .userId("saga-user")
+                .currency("USD")
+                .items(List.of(OrderItemRequest.builder()
+                        .sku("LAPTOP-001").quantity(1).unitPrice(new BigDecimal("999.99")).build()))
+                .build();
+        return orderService.createOrder(UUID.randomUUID().toString(), request).order().getId();
+    }
+
+    private OrderStatus status(UUID orderId) {
+        return orderRepository.findById(orderId).map(Order::getStatus).orElseThrow();
+    }
+
+    private static class StubStep implements SagaStepHandler {
+
+        private final SagaStep step;
+        private final long latencyMs;
+        private final AtomicInteger executions = new AtomicInteger();
+        private final AtomicInteger compensations = new AtomicInteger();
+        private final AtomicInteger confirmations = new AtomicInteger();
+        private boolean fail;
+        private int failedCompensations;
+        private int failedConfirmations;
+
+        StubStep(SagaStep step, long latencyMs) {
+            this.step = step;
+            this.latencyMs = latencyMs;
+        }
+
+        StubStep failing() {
+            fail = true;
+            return this;
+        }
+
+        StubStep failingCompensation(int times) {
+            failedCompensations = times;
+            return this;
+        }
+
+        StubStep failingConfirmation(int times) {
+            failedConfirmations = times;
+            return this;
+        }
+
+        @Override
+        public SagaStep step() {
+            return step;
+        }
+
+        @Override
+        public String execute(Order order) throws Exception {
+            executions.incrementAndGet();
+            Thread.sleep(latencyMs);
+            if (fail) {
+                throw new IllegalStateException(step + " rejected");
+            }
+            return step + "-" + order.getId();
+        }
+
+        @Override
+        public void compensate(Order order) {
+            if (compensations.incrementAndGet() <= failedCompensations) {
+                throw new IllegalStateException("dependency unavailable");
+            }
+        }
+
+        @Override
+        public void confirm(Order order) {
+            if (confirmations.incrementAndGet() <= failedConfirmations) {
+                throw new IllegalStateException("dependency unavailable");
+            }
+        }
+    }
+}
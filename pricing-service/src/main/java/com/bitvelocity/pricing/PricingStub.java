@@ -1,9 +0,0 @@
-package com.bitvelocity.pricing;
-
-import org.springframework.stereotype.Service;
-
-@Service
-public class PricingStub {
-    // Placeholder for pricing logic
-}
-
@@ -0,0 +1,22 @@
+package com.bitvelocity.pricing.config;
+
+import com.bitvelocity.pricing.coupon.CouponProperties;
+import com.bitvelocity.pricing.currency.CurrencyProperties;
+import com.bitvelocity.pricing.flashsale.FlashSaleProperties;
+import com.bitvelocity.pricing.repricing.RepricingProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration
+@EnableConfigurationProperties({FlashSaleProperties.class, RepricingProperties.class, CouponProperties.class,
+        CurrencyProperties.class})
+public class PricingConfig {
+
+    @Bean
+    public Clock clock() {
+        return Clock.systemUTC();
+    }
+}
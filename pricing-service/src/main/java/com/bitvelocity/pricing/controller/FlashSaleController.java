@@ -0,0 +1,96 @@
+package com.bitvelocity.pricing.controller;
+
+import com.bitvelocity.pricing.dto.FlashSaleRequest;
+import com.bitvelocity.pricing.dto.FlashSaleResponse;
+import com.bitvelocity.pricing.exception.ErrorResponse;
+import com.bitvelocity.pricing.exception.FlashSaleNotFoundException;
+import com.bitvelocity.pricing.flashsale.FlashSale;
+import com.bitvelocity.pricing.flashsale.FlashSaleBroadcaster;
+import com.bitvelocity.pricing.flashsale.FlashSalePriceMap;
+import com.bitvelocity.pricing.flashsale.FlashSaleState;
+import com.bitvelocity.pricing.flashsale.FlashSaleStatus;
+import com.bitvelocity.pricing.mapper.PricingMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Flash Sales", description = "Scheduled flash-sale prices and their start/end notifications")
+public class FlashSaleController {
+
+    private final FlashSalePriceMap flashSalePriceMap;
+    private final FlashSaleBroadcaster flashSaleBroadcaster;
+    private final PricingMapper pricingMapper;
+
+    @Operation(summary = "Schedule flash sale",
+               description = "Schedule a sale, replacing one with the same id; a sale whose window has begun starts immediately")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Sale scheduled",
+                     content = @Content(schema = @Schema(implementation = FlashSaleResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid sale or already over",
+                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/api/v1/prices/flash-sales")
+    public ResponseEntity<FlashSaleResponse> schedule(@Valid @RequestBody FlashSaleRequest request) {
+        log.info("POST /api/v1/prices/flash-sales - id: {}, items: {}", request.getId(), request.getItems().size());
+        FlashSale sale = pricingMapper.toSale(request);
+        FlashSaleStatus status = flashSalePriceMap.schedule(sale);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(pricingMapper.toResponse(new FlashSaleState(sale, status)));
+    }
+
+    @Operation(summary = "Get flash sale")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Sale found",
+                     content = @Content(schema = @Schema(implementation = FlashSaleResponse.class))),
+        @ApiResponse(responseCode = "404", description = "No scheduled or running sale with this id",
+                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/api/v1/prices/flash-sales/{id}")
+    public ResponseEntity<FlashSaleResponse> getSale(@Parameter(description = "Flash sale id") @PathVariable String id) {
+        return flashSalePriceMap.find(id)
+                .map(state -> ResponseEntity.ok(pricingMapper.toResponse(state)))
+                .orElseThrow(() -> new FlashSaleNotFoundException(id));
+    }
+
+    @Operation(summary = "Cancel flash sale", description = "Withdraw the sale's prices at once")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Sale cancelled"),
+        @ApiResponse(responseCode = "404", description = "No scheduled or running sale with this id",
+                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @DeleteMapping("/api/v1/prices/flash-sales/{id}")
+    public ResponseEntity<Void> cancel(@Parameter(description = "Flash sale id") @PathVariable String id) {
+        log.info("DELETE /api/v1/prices/flash-sales/{}", id);
+        if (!flashSalePriceMap.cancel(id)) {
+            throw new FlashSaleNotFoundException(id);
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Subscribe to flash-sale events",
+               description = "Server-sent events flash-sale-started and flash-sale-ended")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Event stream"),
+        @ApiResponse(responseCode = "503", description = "Too many subscribers",
+                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping(path = "/sse/flash-sales", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe() {
+        return flashSaleBroadcaster.subscribe();
+    }
+}
@@ -0,0 +1,37 @@
+package com.bitvelocity.pricing.controller;
+
+import com.bitvelocity.pricing.currency.ConvertedPriceCache;
+import com.bitvelocity.pricing.dto.FxRatesResponse;
+import com.bitvelocity.pricing.mapper.PricingMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/prices/fx-rates")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "FX Rates", description = "Exchange rates used for prices in other currencies")
+public class FxRateController {
+
+    private final ConvertedPriceCache convertedPriceCache;
+    private final PricingMapper pricingMapper;
+
+    @Operation(summary = "Get FX rates", description = "The rate table prices are currently converted with")
+    @GetMapping
+    public ResponseEntity<FxRatesResponse> getRates() {
+        return ResponseEntity.ok(pricingMapper.toResponse(convertedPriceCache.rates(), convertedPriceCache.hotSkus()));
+    }
+
+    @Operation(summary = "Reload FX rates",
+               description = "Reload the rate table now instead of at the next refresh; prices are recomputed if it changed")
+    @PostMapping("/refresh")
+    public ResponseEntity<FxRatesResponse> refresh() {
+        log.info("POST /api/v1/prices/fx-rates/refresh");
+        convertedPriceCache.refresh();
+        return getRates();
+    }
+}
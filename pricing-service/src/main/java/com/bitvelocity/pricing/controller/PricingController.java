@@ -0,0 +1,160 @@
+package com.bitvelocity.pricing.controller;
+
+import com.bitvelocity.pricing.currency.ConvertedPriceCache;
+import com.bitvelocity.pricing.currency.CurrencyConversion;
+import com.bitvelocity.pricing.dto.PriceLookupRequest;
+import com.bitvelocity.pricing.dto.PriceLookupResponse;
+import com.bitvelocity.pricing.dto.PriceRuleRequest;
+import com.bitvelocity.pricing.dto.PriceRuleResponse;
+import com.bitvelocity.pricing.dto.QuoteRequest;
+import com.bitvelocity.pricing.dto.QuoteResponse;
+import com.bitvelocity.pricing.dto.RuleSetRequest;
+import com.bitvelocity.pricing.dto.RuleSetResponse;
+import com.bitvelocity.pricing.exception.ErrorResponse;
+import com.bitvelocity.pricing.exception.RuleNotFoundException;
+import com.bitvelocity.pricing.flashsale.FlashSaleLookup;
+import com.bitvelocity.pricing.flashsale.FlashSalePriceMap;
+import com.bitvelocity.pricing.flashsale.FlashSaleProperties;
+import com.bitvelocity.pricing.mapper.PricingMapper;
+import com.bitvelocity.pricing.repricing.EffectivePrice;
+import com.bitvelocity.pricing.repricing.EffectivePriceReader;
+import com.bitvelocity.pricing.rule.PriceRule;
+import com.bitvelocity.pricing.rule.PriceRuleEngine;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/prices")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Pricing", description = "Price quotes and price rules")
+public class PricingController {
+
+    private final PriceRuleEngine priceRuleEngine;
+    private final FlashSalePriceMap flashSalePriceMap;
+    private final FlashSaleProperties flashSaleProperties;
+    private final EffectivePriceReader effectivePriceReader;
+    private final ConvertedPriceCache convertedPriceCache;
+    private final PricingMapper pricingMapper;
+
+    @Operation(summary = "Quote prices",
+               description = "Price every line against the rules active at the given instant (now by default) for the segment; a flash sale covering that instant wins where it is cheaper")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Prices in request order",
+                     content = @Content(schema = @Schema(implementation = QuoteResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid input",
+                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/quote")
+    public ResponseEntity<QuoteResponse> quote(@Valid @RequestBody QuoteRequest request) {
+        log.debug("POST /api/v1/prices/quote - lines: {}, segment: {}", request.getLines().size(), request.getSegment());
+        return ResponseEntity.ok(pricingMapper.toResponse(flashSalePriceMap.applyTo(priceRuleEngine.quote(
+                pricingMapper.toLines(request.getLines()), request.getSegment(), request.getAt()), request.getAt())));
+    }
+
+    @Operation(summary = "Look up prices",
+               description = "Current price of many SKUs at once, in the requested currency: the flash-sale price where a sale runs, else the precomputed effective price (repriced if the rules changed since); the answer may be cached until validUntil")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Prices in request order",
+                     content = @Content(schema = @Schema(implementation = PriceLookupResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid input, unsupported currency or too many SKUs",
+                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/lookup")
+    public ResponseEntity<PriceLookupResponse> lookup(@Valid @RequestBody PriceLookupRequest request) {
+        log.debug("POST /api/v1/prices/lookup - skus: {}, currency: {}", request.getSkus().size(), request.getCurrency());
+        if (request.getSkus().size() > flashSaleProperties.getMaxLookupSkus()) {
+            throw new IllegalArgumentException(
+                    "Lookup must not exceed " + flashSaleProperties.getMaxLookupSkus() + " SKUs");
+        }
+        CurrencyConversion conversion = convertedPriceCache.forCurrency(request.getCurrency());
+        FlashSaleLookup lookup = flashSalePriceMap.lookup(request.getSkus());
+        List<EffectivePrice> effective = effectivePriceReader.findAll(request.getSkus(), lookup.asOf());
+        Instant validUntil = EffectivePriceReader.validUntil(effective, lookup.validUntil());
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.between(lookup.asOf(), validUntil)))
+                .body(pricingMapper.toResponse(request.getSkus(), lookup, effective, validUntil, conversion));
+    }
+
+    @Operation(summary = "List price rules")
+    @GetMapping("/rules")
+    public ResponseEntity<List<PriceRuleResponse>> getRules() {
+        return ResponseEntity.ok(priceRuleEngine.rules().stream().map(pricingMapper::toResponse).toList());
+    }
+
+    @Operation(summary = "Get price rule")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Rule found",
+                     content = @Content(schema = @Schema(implementation = PriceRuleResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Rule not found",
+                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/rules/{id}")
+    public ResponseEntity<PriceRuleResponse> getRule(@Parameter(description = "Rule id") @PathVariable String id) {
+        return priceRuleEngine.find(id)
+                .map(rule -> ResponseEntity.ok(pricingMapper.toResponse(rule)))
+                .orElseThrow(() -> new RuleNotFoundException(id));
+    }
+
+    @Operation(summary = "Replace all price rules", description = "Swap in a whole rule set at once; nothing changes if any rule is invalid")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Rule set replaced",
+                     content = @Content(schema = @Schema(implementation = RuleSetResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid rule or duplicate id",
+                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PutMapping("/rules")
+    public ResponseEntity<RuleSetResponse> replaceRules(@Valid @RequestBody RuleSetRequest request) {
+        log.info("PUT /api/v1/prices/rules - rules: {}", request.getRules().size());
+        long version = priceRuleEngine.replaceAll(request.getRules().stream().map(pricingMapper::toRule).toList());
+        return ResponseEntity.ok(RuleSetResponse.builder()
+                .version(version)
+                .ruleCount(request.getRules().size())
+                .build());
+    }
+
+    @Operation(summary = "Create or replace price rule")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Rule saved",
+                     content = @Content(schema = @Schema(implementation = PriceRuleResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid rule",
+                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/rules")
+    public ResponseEntity<PriceRuleResponse> putRule(@Valid @RequestBody PriceRuleRequest request) {
+        log.info("POST /api/v1/prices/rules - id: {}", request.getId());
+        PriceRule rule = pricingMapper.toRule(request);
+        priceRuleEngine.put(rule);
+        return ResponseEntity.ok(pricingMapper.toResponse(rule));
+    }
+
+    @Operation(summary = "Delete price rule")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Rule deleted"),
+        @ApiResponse(responseCode = "404", description = "Rule not found",
+                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @DeleteMapping("/rules/{id}")
+    public ResponseEntity<Void> deleteRule(@Parameter(description = "Rule id") @PathVariable String id) {
+        log.info("DELETE /api/v1/prices/rules/{}", id);
+        if (!priceRuleEngine.remove(id)) {
+            throw new RuleNotFoundException(id);
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
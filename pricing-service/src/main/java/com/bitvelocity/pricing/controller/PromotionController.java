@@ -0,0 +1,76 @@
+package com.bitvelocity.pricing.controller;
+
+import com.bitvelocity.pricing.coupon.PromotionCounters;
+import com.bitvelocity.pricing.dto.PromotionLimitRequest;
+import com.bitvelocity.pricing.dto.PromotionResponse;
+import com.bitvelocity.pricing.dto.RedemptionRequest;
+import com.bitvelocity.pricing.dto.RedemptionResponse;
+import com.bitvelocity.pricing.exception.ErrorResponse;
+import com.bitvelocity.pricing.mapper.PricingMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/prices/promotions")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Promotions", description = "Coupon redemption against global promotion limits")
+public class PromotionController {
+
+    private final PromotionCounters promotionCounters;
+    private final PricingMapper pricingMapper;
+
+    @Operation(summary = "Create promotion or change its limit")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Limit saved",
+                     content = @Content(schema = @Schema(implementation = PromotionResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid input",
+                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping
+    public ResponseEntity<PromotionResponse> setLimit(@Valid @RequestBody PromotionLimitRequest request) {
+        log.info("POST /api/v1/prices/promotions - code: {}, limit: {}", request.getCode(), request.getLimit());
+        promotionCounters.setLimit(request.getCode(), request.getLimit());
+        return ResponseEntity.ok(pricingMapper.toResponse(promotionCounters.usage(request.getCode())));
+    }
+
+    @Operation(summary = "Get promotion usage", description = "Global counters as reconciled, with this instance's share")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Promotion found",
+                     content = @Content(schema = @Schema(implementation = PromotionResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Promotion not found",
+                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/{code}")
+    public ResponseEntity<PromotionResponse> getPromotion(@Parameter(description = "Promotion code") @PathVariable String code) {
+        return ResponseEntity.ok(pricingMapper.toResponse(promotionCounters.usage(code)));
+    }
+
+    @Operation(summary = "Redeem promotion")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Redeemed",
+                     content = @Content(schema = @Schema(implementation = RedemptionResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Promotion not found",
+                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "409", description = "No redemptions left",
+                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/{code}/redemptions")
+    public ResponseEntity<RedemptionResponse> redeem(@Parameter(description = "Promotion code") @PathVariable String code,
+                                                     @Valid @RequestBody(required = false) RedemptionRequest request) {
+        log.debug("POST /api/v1/prices/promotions/{}/redemptions", code);
+        return ResponseEntity.status(HttpStatus.CREATED).body(pricingMapper.toResponse(
+                promotionCounters.redeem(code, request == null ? null : request.getCustomerId())));
+    }
+}
@@ -0,0 +1,62 @@
+package com.bitvelocity.pricing.controller;
+
+import com.bitvelocity.pricing.dto.RepricingRequest;
+import com.bitvelocity.pricing.dto.RepricingResponse;
+import com.bitvelocity.pricing.exception.ErrorResponse;
+import com.bitvelocity.pricing.exception.RepricingRunNotFoundException;
+import com.bitvelocity.pricing.mapper.PricingMapper;
+import com.bitvelocity.pricing.repricing.RepricingPipeline;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/prices/repricing")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Repricing", description = "Precompute effective prices for the catalog")
+public class RepricingController {
+
+    private final RepricingPipeline repricingPipeline;
+    private final PricingMapper pricingMapper;
+
+    @Operation(summary = "Start repricing",
+               description = "Reprice the named categories, or the whole catalog, against the rules active now")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Run started",
+                     content = @Content(schema = @Schema(implementation = RepricingResponse.class))),
+        @ApiResponse(responseCode = "409", description = "Another run has not finished",
+                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping
+    public ResponseEntity<RepricingResponse> start(@Valid @RequestBody(required = false) RepricingRequest request) {
+        log.info("POST /api/v1/prices/repricing - categories: {}",
+                request == null || request.getCategories() == null ? "all" : request.getCategories().size());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(pricingMapper.toResponse(
+                repricingPipeline.start(request == null ? null : request.getCategories())));
+    }
+
+    @Operation(summary = "Get repricing progress")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Run found",
+                     content = @Content(schema = @Schema(implementation = RepricingResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Run not found",
+                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<RepricingResponse> getRun(@Parameter(description = "Run id") @PathVariable String id) {
+        return repricingPipeline.find(id)
+                .map(progress -> ResponseEntity.ok(pricingMapper.toResponse(progress)))
+                .orElseThrow(() -> new RepricingRunNotFoundException(id));
+    }
+}
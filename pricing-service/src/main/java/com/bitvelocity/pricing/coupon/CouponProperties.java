@@ -0,0 +1,50 @@
+package com.bitvelocity.pricing.coupon;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "pricing-service.coupon")
+public class CouponProperties {
+
+    /**
+     * Recorded with every redemption this instance makes
+     */
+    private String nodeId = "pricing-service";
+
+    /**
+     * Redemptions claimed from a promotion's global limit at a time
+     */
+    private int slabSize = 100;
+
+    /**
+     * Redemptions a promotion may exceed its limit by, granted only while other instances hold
+     * unused slabs; 0 never exceeds the limit
+     */
+    private long maxOvershoot = 0;
+
+    /**
+     * Counter stripes per promotion (rounded up to a power of two); 0 for two per core
+     */
+    private int stripes = 0;
+
+    /**
+     * How often redemptions are written to the database
+     */
+    private long flushIntervalMs = 200;
+
+    /**
+     * Redemptions written per database transaction
+     */
+    private int maxFlushBatch = 5_000;
+
+    /**
+     * Unused slab tokens of a promotion without redemptions for this long go back to the global limit
+     */
+    private long idleReleaseMs = 5_000;
+
+    /**
+     * How long an exhausted promotion is refused without asking the database again
+     */
+    private long exhaustedRecheckMs = 1_000;
+}
@@ -0,0 +1,218 @@
+package com.bitvelocity.pricing.coupon;
+
+import com.bitvelocity.pricing.exception.PromotionExhaustedException;
+import com.bitvelocity.pricing.exception.PromotionNotFoundException;
+import com.bitvelocity.pricing.repository.PromotionLimitRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Redeems promotions with global limits ("first 10,000 redemptions") without a database row
+ * lock per redemption.
+ *
+ * Each instance claims redemptions from a promotion's promotion_limit row in slabs of slab-size,
+ * one locked update per slab, and spends them from a {@link StripedBudget}: redeeming is a
+ * compare-and-set on one of several cache-line-padded stripes. Only when this instance's slab is
+ * used up does a redemption go to the database for the next one; a promotion found exhausted is
+ * refused locally for exhausted-recheck-ms. Redemptions are queued and reconciled to the database
+ * every flush-interval-ms, max-flush-batch per transaction. Tokens of a promotion idle for
+ * idle-release-ms go back to the global limit so other instances can claim them.
+ *
+ * Slabs never exceed the limit, so with max-overshoot 0 it is never exceeded; the price is that
+ * near the end a customer may be refused while another instance still holds unused tokens.
+ * A positive max-overshoot lets claims exceed the limit by that much while tokens are out on other
+ * instances: redemptions then never exceed limit + max-overshoot.
+ */
+@Component
+@Slf4j
+public class PromotionCounters implements DisposableBean {
+
+    private final PromotionLimitRepository limitRepository;
+    private final RedemptionLedger ledger;
+    private final CouponProperties properties;
+    private final Clock clock;
+    private final int stripes;
+    private final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Redemption> pending = new ConcurrentLinkedQueue<>();
+    // Touched by the flushing thread only
+    private List<Redemption> unwritten = new ArrayList<>();
+
+    public PromotionCounters(PromotionLimitRepository limitRepository, RedemptionLedger ledger,
+                             CouponProperties properties, Clock clock) {
+        this.limitRepository = limitRepository;
+        this.ledger = ledger;
+        this.properties = properties;
+        this.clock = clock;
+        this.stripes = properties.getStripes() > 0
+                ? properties.getStripes() : 2 * Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Creates the promotion or changes its limit. Slabs already claimed stay valid.
+     */
+    public void setLimit(String code, long limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Redemption limit must not be negative");
+        }
+        limitRepository.saveLimit(code, limit, clock.instant());
+        Counter counter = counters.get(code);
+        if (counter != null) {
+            counter.exhaustedUntil = 0;
+        }
+    }
+
+    /**
+     * @throws PromotionNotFoundException  if the promotion does not exist
+     * @throws PromotionExhaustedException if its limit is reached
+     */
+    public Redemption redeem(String code, String customerId) {
+        Counter counter = counters.computeIfAbsent(code, this::load);
+        if (!counter.budget.tryAcquire() && !refill(counter)) {
+            throw new PromotionExhaustedException(code);
+        }
+        counter.lastRedeemedAt = clock.millis();
+        counter.pending.increment();
+        Redemption redemption = new Redemption(UUID.randomUUID(), code, customerId, clock.instant());
+        pending.add(redemption);
+        return redemption;
+    }
+
+    /**
+     * @throws PromotionNotFoundException if the promotion does not exist
+     */
+    public PromotionUsage usage(String code) {
+        PromotionLimit limit = limitRepository.find(code).orElseThrow(() -> new PromotionNotFoundException(code));
+        Counter counter = counters.get(code);
+        return new PromotionUsage(code, limit.limit(), limit.allocated(), limit.redeemed(),
+                counter == null ? 0 : counter.budget.available(), counter == null ? 0 : counter.pending.sum());
+    }
+
+    /**
+     * Writes queued redemptions to the database and gives back the tokens of idle promotions.
+     * A batch that fails is kept and written first next time.
+     *
+     * @return redemptions written
+     */
+    @Scheduled(fixedDelayString = "${pricing-service.coupon.flush-interval-ms:200}")
+    public synchronized int flush() {
+        int batchSize = Math.max(1, properties.getMaxFlushBatch());
+        int written = 0;
+        try {
+            while (true) {
+                while (unwritten.size() < batchSize) {
+                    Redemption redemption = pending.poll();
+                    if (redemption == null) {
+                        break;
+                    }
+                    unwritten.add(redemption);
+                }
+                if (unwritten.isEmpty()) {
+                    break;
+                }
+                ledger.record(unwritten, properties.getNodeId());
+                for (Redemption redemption : unwritten) {
+                    counters.get(redemption.promotionCode()).pending.decrement();
+                }
+                written += unwritten.size();
+                unwritten = new ArrayList<>();
+            }
+            releaseIdle();
+        } catch (DataAccessException e) {
+            log.warn("Reconciling {} redemptions failed, retrying next flush: {}", unwritten.size(), e.getMessage());
+        }
+        return written;
+    }
+
+    @Override
+    public void destroy() {
+        flush();
+        for (Counter counter : counters.values()) {
+            release(counter);
+        }
+    }
+
+    private Counter load(String code) {
+        if (limitRepository.find(code).isEmpty()) {
+            throw new PromotionNotFoundException(code);
+        }
+        return new Counter(code, new StripedBudget(stripes));
+    }
+
+    /**
+     * Claims the next slab; the caller keeps one token of it.
+     *
+     * @return false if the promotion is exhausted
+     */
+    private boolean refill(Counter counter) {
+        synchronized (counter) {
+            if (counter.budget.tryAcquire()) {
+                return true;
+            }
+            long now = clock.millis();
+            if (now < counter.exhaustedUntil) {
+                return false;
+            }
+            long granted = limitRepository.claim(counter.code, properties.getSlabSize(),
+                    properties.getMaxOvershoot(), counter.pending.sum(), clock.instant());
+            if (granted == 0) {
+                counter.exhaustedUntil = now + properties.getExhaustedRecheckMs();
+                log.debug("Promotion {} is exhausted", counter.code);
+                return false;
+            }
+            counter.budget.add(granted - 1);
+            counter.lastRedeemedAt = now;
+            return true;
+        }
+    }
+
+    private void releaseIdle() {
+        long idleSince = clock.millis() - properties.getIdleReleaseMs();
+        for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+            Counter counter = entry.getValue();
+            if (counter.lastRedeemedAt <= idleSince && counter.budget.available() > 0) {
+                release(counter);
+            }
+        }
+    }
+
+    private void release(Counter counter) {
+        synchronized (counter) {
+            long tokens = counter.budget.drain();
+            if (tokens > 0) {
+                try {
+                    limitRepository.release(counter.code, tokens, clock.instant());
+                    log.debug("Returned {} unused redemptions of promotion {}", tokens, counter.code);
+                } catch (DataAccessException e) {
+                    counter.budget.add(tokens);
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private static final class Counter {
+
+        private final String code;
+        private final StripedBudget budget;
+        private final LongAdder pending = new LongAdder();
+        private volatile long lastRedeemedAt;
+        private volatile long exhaustedUntil;
+
+        Counter(String code, StripedBudget budget) {
+            this.code = code;
+            this.budget = budget;
+        }
+    }
+}
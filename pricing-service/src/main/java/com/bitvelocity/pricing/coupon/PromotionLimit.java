@@ -0,0 +1,10 @@
+package com.bitvelocity.pricing.coupon;
+
+/**
+ * A promotion_limit row.
+ *
+ * @param allocated redemptions handed to instances in slabs, used or not
+ * @param redeemed  redemptions reconciled to the database
+ */
+public record PromotionLimit(String code, long limit, long allocated, long redeemed) {
+}
@@ -0,0 +1,11 @@
+package com.bitvelocity.pricing.coupon;
+
+/**
+ * A promotion's global counters with this instance's share.
+ *
+ * @param localTokens  redemptions this instance may still make from its slabs
+ * @param localPending redemptions made here and not yet written to the database
+ */
+public record PromotionUsage(String code, long limit, long allocated, long redeemed, long localTokens,
+                             long localPending) {
+}
@@ -0,0 +1,7 @@
+package com.bitvelocity.pricing.coupon;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record Redemption(UUID id, String promotionCode, String customerId, Instant redeemedAt) {
+}
@@ -0,0 +1,36 @@
+package com.bitvelocity.pricing.coupon;
+
+import com.bitvelocity.pricing.repository.CouponRedemptionRepository;
+import com.bitvelocity.pricing.repository.PromotionLimitRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Writes a batch of redemptions: their coupon_redemption rows and the promotions' redeemed
+ * counters, all or nothing.
+ */
+@Component
+@RequiredArgsConstructor
+public class RedemptionLedger {
+
+    private final CouponRedemptionRepository redemptionRepository;
+    private final PromotionLimitRepository limitRepository;
+    private final Clock clock;
+
+    @Transactional
+    public void record(List<Redemption> redemptions, String nodeId) {
+        // Sorted, so concurrent instances lock promotion rows in the same order
+        Map<String, Long> redeemedByCode = new TreeMap<>();
+        for (Redemption redemption : redemptions) {
+            redeemedByCode.merge(redemption.promotionCode(), 1L, Long::sum);
+        }
+        redemptionRepository.insertAll(redemptions, nodeId);
+        limitRepository.addRedeemed(redeemedByCode, clock.instant());
+    }
+}
@@ -0,0 +1,86 @@
+package com.bitvelocity.pricing.coupon;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A count of tokens spread over stripes, each on its own cache line, in the manner of
+ * {@link java.util.concurrent.atomic.LongAdder}: a thread takes tokens from the stripe its id
+ * hashes to and only moves on to other stripes when that one is empty, so concurrent redemptions
+ * of one promotion rarely touch the same cache line. Unlike a LongAdder the total can never go
+ * below zero: every token is taken with a compare-and-set on a positive stripe.
+ */
+final class StripedBudget {
+
+    // 8 longs = 64 bytes between stripes
+    private static final int PADDING = 8;
+
+    private final AtomicLongArray cells;
+    private final int stripes;
+
+    StripedBudget(int stripes) {
+        this.stripes = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.cells = new AtomicLongArray(this.stripes * PADDING);
+    }
+
+    boolean tryAcquire() {
+        int home = home();
+        for (int i = 0; i < stripes; i++) {
+            int cell = ((home + i) & (stripes - 1)) * PADDING;
+            long tokens;
+            while ((tokens = cells.get(cell)) > 0) {
+                if (cells.compareAndSet(cell, tokens, tokens - 1)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Spreads the tokens evenly over the stripes.
+     */
+    void add(long tokens) {
+        long share = tokens / stripes;
+        long remainder = tokens % stripes;
+        for (int i = 0; i < stripes; i++) {
+            long added = share + (i < remainder ? 1 : 0);
+            if (added > 0) {
+                cells.addAndGet(i * PADDING, added);
+            }
+        }
+    }
+
+    /**
+     * Takes every token.
+     *
+     * @return tokens taken
+     */
+    long drain() {
+        long drained = 0;
+        for (int i = 0; i < stripes; i++) {
+            drained += cells.getAndSet(i * PADDING, 0);
+        }
+        return drained;
+    }
+
+    /**
+     * Tokens left; not a snapshot while tokens are being taken.
+     */
+    long available() {
+        long sum = 0;
+        for (int i = 0; i < stripes; i++) {
+            sum += cells.get(i * PADDING);
+        }
+        return sum;
+    }
+
+    int stripes() {
+        return stripes;
+    }
+
+    private int home() {
+        long id = Thread.currentThread().threadId();
+        int hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,195 @@
+package com.bitvelocity.pricing.currency;
+
+import com.bitvelocity.pricing.rule.MinorUnits;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Prices in the storefront's currency for SKUs that are being looked up, so a render does not
+ * convert or format anything.
+ *
+ * The rate table and the converted prices form one snapshot. For each hot SKU the snapshot holds
+ * its base price converted to every currency of the table, computed with {@link CurrencyRate}'s
+ * long arithmetic when the SKU is first looked up or its base price changes, and the display
+ * string per currency, built on first use. At most max-hot-skus SKUs are kept; past that prices
+ * are converted per request.
+ *
+ * Every refresh-interval-ms the rates are reloaded from the {@link FxRateSource}. When they
+ * changed, the converted prices of every SKU looked up since the last refresh are recomputed into
+ * a new snapshot, which then replaces the old one in a single write: a reader sees either the old
+ * rates and prices or the new ones, never a mix. SKUs not looked up since the last refresh are
+ * dropped either way.
+ */
+@Component
+@Slf4j
+public class ConvertedPriceCache {
+
+    private final FxRateSource source;
+    private final Clock clock;
+    private final String base;
+    private final int maxHotSkus;
+    private volatile Snapshot snapshot;
+
+    /**
+     * @throws IllegalStateException if the base currency does not have two decimals or the rates
+     *                               cannot be loaded
+     */
+    public ConvertedPriceCache(FxRateSource source, CurrencyProperties properties, Clock clock) {
+        this.source = source;
+        this.clock = clock;
+        this.base = properties.getBase();
+        this.maxHotSkus = Math.max(0, properties.getMaxHotSkus());
+        if (Currency.getInstance(base).getDefaultFractionDigits() != MinorUnits.SCALE) {
+            throw new IllegalStateException("Base currency " + base + " must have " + MinorUnits.SCALE + " decimals");
+        }
+        FxRateTable table = new FxRateTable(1, base, clock.instant(), load());
+        this.snapshot = new Snapshot(table, new ConcurrentHashMap<>());
+        log.info("Loaded FX rates for {} currencies", table.rates().size());
+    }
+
+    public FxRateTable rates() {
+        return snapshot.table();
+    }
+
+    /**
+     * Binds the current snapshot: every price converted through the result uses the same rates.
+     *
+     * @param code ISO 4217 code, or null for the base currency
+     * @throws IllegalArgumentException if there is no rate for the currency
+     */
+    public CurrencyConversion forCurrency(String code) {
+        Snapshot current = snapshot;
+        int index = current.table().indexOf(code == null ? base : code);
+        if (index < 0) {
+            throw new IllegalArgumentException("Unsupported currency: " + code);
+        }
+        return new CurrencyConversion(this, current, index);
+    }
+
+    public int hotSkus() {
+        return snapshot.prices().size();
+    }
+
+    /**
+     * Reloads the rates and swaps in a recomputed snapshot if they changed. A failed reload keeps
+     * the current rates.
+     *
+     * @return true if the rates changed
+     */
+    @Scheduled(fixedDelayString = "${pricing-service.currency.refresh-interval-ms:60000}",
+               initialDelayString = "${pricing-service.currency.refresh-interval-ms:60000}")
+    public synchronized boolean refresh() {
+        Snapshot current = snapshot;
+        List<CurrencyRate> rates;
+        try {
+            rates = load();
+        } catch (RuntimeException e) {
+            log.warn("Reloading FX rates failed, keeping v{}: {}", current.table().version(), e.getMessage());
+            dropIdle(current);
+            return false;
+        }
+        if (current.table().sameRates(rates)) {
+            dropIdle(current);
+            return false;
+        }
+        FxRateTable table = new FxRateTable(current.table().version() + 1, base, clock.instant(), rates);
+        ConcurrentHashMap<String, Entry> prices = new ConcurrentHashMap<>();
+        current.prices().forEach((sku, entry) -> {
+            if (entry.used) {
+                prices.put(sku, new Entry(entry.basePrice, table.convertAll(entry.basePrice), false));
+            }
+        });
+        snapshot = new Snapshot(table, prices);
+        log.info("FX rates updated to v{}: {} hot SKUs repriced", table.version(), prices.size());
+        return true;
+    }
+
+    long convert(Snapshot current, int index, String sku, long basePrice) {
+        Entry entry = entry(current, sku, basePrice);
+        return entry == null ? current.table().rates().get(index).convert(basePrice) : entry.converted[index];
+    }
+
+    String format(Snapshot current, int index, String sku, long basePrice) {
+        CurrencyRate rate = current.table().rates().get(index);
+        Entry entry = entry(current, sku, basePrice);
+        if (entry == null) {
+            return rate.format(rate.convert(basePrice));
+        }
+        String formatted = entry.formatted[index];
+        if (formatted == null) {
+            // Racing renders build equal strings; any of them may stay
+            formatted = rate.format(entry.converted[index]);
+            entry.formatted[index] = formatted;
+        }
+        return formatted;
+    }
+
+    /**
+     * @return the SKU's entry for this base price, or null if there is no room for it
+     */
+    private Entry entry(Snapshot current, String sku, long basePrice) {
+        Entry entry = current.prices().get(sku);
+        if (entry == null || entry.basePrice != basePrice) {
+            if (entry == null && current.prices().size() >= maxHotSkus) {
+                return null;
+            }
+            entry = new Entry(basePrice, current.table().convertAll(basePrice), true);
+            current.prices().put(sku, entry);
+        } else if (!entry.used) {
+            entry.used = true;
+        }
+        return entry;
+    }
+
+    private void dropIdle(Snapshot current) {
+        current.prices().values().removeIf(entry -> !entry.used);
+        current.prices().values().forEach(entry -> entry.used = false);
+    }
+
+    /**
+     * The source's rates with the base currency first at rate 1, then the others by code.
+     */
+    private List<CurrencyRate> load() {
+        Map<String, BigDecimal> loaded = new TreeMap<>(source.rates());
+        BigDecimal baseRate = loaded.remove(base);
+        if (baseRate != null && baseRate.compareTo(BigDecimal.ONE) != 0) {
+            throw new IllegalStateException("Rate of the base currency " + base + " must be 1 but is " + baseRate);
+        }
+        List<CurrencyRate> rates = new ArrayList<>(loaded.size() + 1);
+        rates.add(new CurrencyRate(base, BigDecimal.ONE));
+        try {
+            loaded.forEach((code, rate) -> rates.add(new CurrencyRate(code, rate)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        return rates;
+    }
+
+    record Snapshot(FxRateTable table, ConcurrentHashMap<String, Entry> prices) {
+    }
+
+    private static final class Entry {
+
+        private final long basePrice;
+        private final long[] converted;
+        private final String[] formatted;
+        private volatile boolean used;
+
+        Entry(long basePrice, long[] converted, boolean used) {
+            this.basePrice = basePrice;
+            this.converted = converted;
+            this.formatted = new String[converted.length];
+            this.used = used;
+        }
+    }
+}
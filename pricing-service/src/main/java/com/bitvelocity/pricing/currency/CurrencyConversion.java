@@ -0,0 +1,49 @@
+package com.bitvelocity.pricing.currency;
+
+import java.math.BigDecimal;
+
+/**
+ * Prices in one currency at one version of the rates; obtained per request from
+ * {@link ConvertedPriceCache#forCurrency(String)}.
+ */
+public final class CurrencyConversion {
+
+    private final ConvertedPriceCache cache;
+    private final ConvertedPriceCache.Snapshot snapshot;
+    private final int index;
+    private final CurrencyRate rate;
+
+    CurrencyConversion(ConvertedPriceCache cache, ConvertedPriceCache.Snapshot snapshot, int index) {
+        this.cache = cache;
+        this.snapshot = snapshot;
+        this.index = index;
+        this.rate = snapshot.table().rates().get(index);
+    }
+
+    public String currency() {
+        return rate.code();
+    }
+
+    public long rateVersion() {
+        return snapshot.table().version();
+    }
+
+    /**
+     * @param basePrice the SKU's price in cents of the base currency
+     * @return the price in minor units of this currency
+     */
+    public long convert(String sku, long basePrice) {
+        return cache.convert(snapshot, index, sku, basePrice);
+    }
+
+    /**
+     * The SKU's price in this currency as displayed, e.g. €1,234.50.
+     */
+    public String format(String sku, long basePrice) {
+        return cache.format(snapshot, index, sku, basePrice);
+    }
+
+    public BigDecimal toDecimal(long amount) {
+        return rate.toDecimal(amount);
+    }
+}
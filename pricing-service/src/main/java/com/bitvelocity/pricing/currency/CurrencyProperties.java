@@ -0,0 +1,34 @@
+package com.bitvelocity.pricing.currency;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "pricing-service.currency")
+public class CurrencyProperties {
+
+    /**
+     * Currency all stored and quoted prices are in; it must have two decimals
+     */
+    private String base = "USD";
+
+    /**
+     * FX rate source: file (the local stand-in for a rate provider)
+     */
+    private String source = "file";
+
+    /**
+     * Rate table read by the file source, as a Spring resource location
+     */
+    private String ratesLocation = "classpath:fx-rates.csv";
+
+    /**
+     * How often rates are reloaded and idle SKUs dropped from the converted price cache
+     */
+    private long refreshIntervalMs = 60_000;
+
+    /**
+     * SKUs whose converted prices are kept precomputed
+     */
+    private int maxHotSkus = 100_000;
+}
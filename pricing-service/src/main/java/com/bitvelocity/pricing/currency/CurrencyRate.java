@@ -0,0 +1,130 @@
+package com.bitvelocity.pricing.currency;
+
+import com.bitvelocity.pricing.rule.MinorUnits;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Locale;
+
+/**
+ * One currency of a rate table, compiled for conversion and display without BigDecimal.
+ *
+ * The rate is kept as a long in millionths. Converting a base amount in cents to this currency's
+ * minor units is then one multiplication and one division with half-up rounding:
+ * amount * multiplier / divisor, where multiplier and divisor fold in the rate scale and the
+ * difference in decimals (JPY has none, KWD three). Only a product that overflows a long, which
+ * takes a price in the tens of millions, falls back to BigDecimal.
+ */
+public final class CurrencyRate {
+
+    public static final int RATE_SCALE = 6;
+
+    private static final long[] POWERS_OF_TEN = {1, 10, 100, 1_000, 10_000, 100_000, 1_000_000,
+            10_000_000, 100_000_000};
+
+    private final String code;
+    private final BigDecimal rate;
+    private final int fractionDigits;
+    private final String symbol;
+    private final long multiplier;
+    private final long divisor;
+
+    /**
+     * @throws IllegalArgumentException if the code is not an ISO 4217 currency with decimals, or
+     *                                  the rate is not positive
+     */
+    public CurrencyRate(String code, BigDecimal rate) {
+        Currency currency;
+        try {
+            currency = Currency.getInstance(code);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Unknown currency: " + code);
+        }
+        if (currency.getDefaultFractionDigits() < 0 || currency.getDefaultFractionDigits() > 4) {
+            throw new IllegalArgumentException("Currency " + code + " has no minor unit to price in");
+        }
+        long scaled;
+        try {
+            scaled = rate.setScale(RATE_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("FX rate of " + code + " is out of range: " + rate);
+        }
+        if (scaled <= 0) {
+            throw new IllegalArgumentException("FX rate of " + code + " must be positive: " + rate);
+        }
+        this.code = code;
+        this.rate = rate.stripTrailingZeros();
+        this.fractionDigits = currency.getDefaultFractionDigits();
+        this.symbol = currency.getSymbol(Locale.US);
+        int shift = fractionDigits - MinorUnits.SCALE;
+        this.multiplier = scaled * POWERS_OF_TEN[Math.max(0, shift)];
+        this.divisor = POWERS_OF_TEN[RATE_SCALE] * POWERS_OF_TEN[Math.max(0, -shift)];
+    }
+
+    public String code() {
+        return code;
+    }
+
+    public BigDecimal rate() {
+        return rate;
+    }
+
+    public int fractionDigits() {
+        return fractionDigits;
+    }
+
+    public String symbol() {
+        return symbol;
+    }
+
+    /**
+     * @param amount non-negative amount in cents of the base currency
+     * @return the amount in minor units of this currency, rounded half up
+     */
+    public long convert(long amount) {
+        try {
+            return Math.addExact(Math.multiplyExact(amount, multiplier), divisor / 2) / divisor;
+        } catch (ArithmeticException e) {
+            return BigDecimal.valueOf(amount).multiply(BigDecimal.valueOf(multiplier))
+                    .divide(BigDecimal.valueOf(divisor), 0, RoundingMode.HALF_UP).longValueExact();
+        }
+    }
+
+    public BigDecimal toDecimal(long amount) {
+        return BigDecimal.valueOf(amount, fractionDigits);
+    }
+
+    /**
+     * Renders an amount in minor units for display, e.g. €1,234.50 or ¥15,137.
+     */
+    public String format(long amount) {
+        long unit = POWERS_OF_TEN[fractionDigits];
+        String whole = Long.toString(Math.abs(amount / unit));
+        StringBuilder text = new StringBuilder(symbol.length() + whole.length() + whole.length() / 3
+                + fractionDigits + 2);
+        if (amount < 0) {
+            text.append('-');
+        }
+        text.append(symbol);
+        for (int i = 0; i < whole.length(); i++) {
+            if (i > 0 && (whole.length() - i) % 3 == 0) {
+                text.append(',');
+            }
+            text.append(whole.charAt(i));
+        }
+        if (fractionDigits > 0) {
+            String fraction = Long.toString(Math.abs(amount % unit));
+            text.append('.');
+            for (int i = fraction.length(); i < fractionDigits; i++) {
+                text.append('0');
+            }
+            text.append(fraction);
+        }
+        return text.toString();
+    }
+
+    boolean sameRate(CurrencyRate other) {
+        return code.equals(other.code) && multiplier == other.multiplier;
+    }
+}
@@ -0,0 +1,64 @@
+package com.bitvelocity.pricing.currency;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Local stand-in for an FX rate provider: reads rates-location, a CSV of currency,rate lines
+ * (rate in units per one unit of the base currency). Blank lines, # comments and a
+ * currency,rate header are skipped. A file: location can be edited while the service runs.
+ */
+@Component
+@ConditionalOnProperty(name = "pricing-service.currency.source", havingValue = "file", matchIfMissing = true)
+public class FileFxRateSource implements FxRateSource {
+
+    private final Resource resource;
+
+    public FileFxRateSource(ResourceLoader resourceLoader, CurrencyProperties properties) {
+        this.resource = resourceLoader.getResource(properties.getRatesLocation());
+    }
+
+    /**
+     * @throws IllegalStateException if a line is malformed
+     * @throws UncheckedIOException  if the file cannot be read
+     */
+    @Override
+    public Map<String, BigDecimal> rates() {
+        Map<String, BigDecimal> rates = new LinkedHashMap<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int number = 0;
+            while ((line = reader.readLine()) != null) {
+                number++;
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#") || line.equalsIgnoreCase("currency,rate")) {
+                    continue;
+                }
+                String[] fields = line.split(",");
+                try {
+                    if (fields.length != 2 || rates.put(fields[0].strip(), new BigDecimal(fields[1].strip())) != null) {
+                        throw new NumberFormatException();
+                    }
+                } catch (NumberFormatException e) {
+                    throw new IllegalStateException(resource.getDescription() + " line " + number
+                            + ": expected one currency,rate per currency but got '" + line + "'");
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read FX rates from " + resource.getDescription(), e);
+        }
+        return rates;
+    }
+}
@@ -0,0 +1,16 @@
+package com.bitvelocity.pricing.currency;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Where FX rates come from.
+ */
+public interface FxRateSource {
+
+    /**
+     * Current rates as units of each currency per one unit of the base currency, keyed by ISO 4217
+     * code. Called on every refresh, off the request path.
+     */
+    Map<String, BigDecimal> rates();
+}
@@ -0,0 +1,77 @@
+package com.bitvelocity.pricing.currency;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable set of rates from the base currency, one version of what the {@link FxRateSource}
+ * returned. Each currency has a fixed index into the per-SKU arrays of converted prices.
+ */
+public final class FxRateTable {
+
+    private final long version;
+    private final String base;
+    private final Instant loadedAt;
+    private final List<CurrencyRate> rates;
+    private final Map<String, Integer> indexes;
+
+    FxRateTable(long version, String base, Instant loadedAt, List<CurrencyRate> rates) {
+        this.version = version;
+        this.base = base;
+        this.loadedAt = loadedAt;
+        this.rates = List.copyOf(rates);
+        this.indexes = new HashMap<>();
+        for (int i = 0; i < rates.size(); i++) {
+            indexes.put(rates.get(i).code(), i);
+        }
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public String base() {
+        return base;
+    }
+
+    public Instant loadedAt() {
+        return loadedAt;
+    }
+
+    public List<CurrencyRate> rates() {
+        return rates;
+    }
+
+    /**
+     * @return the currency's index, or -1 if it has no rate
+     */
+    int indexOf(String code) {
+        Integer index = indexes.get(code);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * The given amount converted to every currency, in index order.
+     */
+    long[] convertAll(long amount) {
+        long[] converted = new long[rates.size()];
+        for (int i = 0; i < converted.length; i++) {
+            converted[i] = rates.get(i).convert(amount);
+        }
+        return converted;
+    }
+
+    boolean sameRates(List<CurrencyRate> others) {
+        if (others.size() != rates.size()) {
+            return false;
+        }
+        for (int i = 0; i < rates.size(); i++) {
+            if (!rates.get(i).sameRate(others.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,38 @@
+package com.bitvelocity.pricing.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FlashSaleRequest {
+
+    @NotBlank(message = "Flash sale id is required")
+    @Size(max = 100, message = "Flash sale id must not exceed 100 characters")
+    private String id;
+
+    @Size(max = 200, message = "Name must not exceed 200 characters")
+    private String name;
+
+    @NotNull(message = "Start is required")
+    private Instant startsAt;
+
+    @NotNull(message = "End is required")
+    private Instant endsAt;
+
+    @NotEmpty(message = "Flash sale must contain at least one item")
+    @Valid
+    private List<FlashSaleItemRequest> items;
+}
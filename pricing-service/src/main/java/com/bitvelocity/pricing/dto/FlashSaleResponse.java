@@ -0,0 +1,23 @@
+package com.bitvelocity.pricing.dto;
+
+import com.bitvelocity.pricing.flashsale.FlashSaleStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FlashSaleResponse {
+
+    private String id;
+    private String name;
+    private Instant startsAt;
+    private Instant endsAt;
+    private FlashSaleStatus status;
+    private int itemCount;
+}
@@ -0,0 +1,25 @@
+package com.bitvelocity.pricing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FxRateResponse {
+
+    private String currency;
+
+    /**
+     * Units of this currency per one unit of the base currency
+     */
+    private BigDecimal rate;
+
+    private int fractionDigits;
+    private String symbol;
+}
@@ -0,0 +1,27 @@
+package com.bitvelocity.pricing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FxRatesResponse {
+
+    private long version;
+    private String base;
+    private Instant loadedAt;
+
+    /**
+     * SKUs whose converted prices are precomputed
+     */
+    private int hotSkus;
+
+    private List<FxRateResponse> rates;
+}
@@ -0,0 +1,29 @@
+package com.bitvelocity.pricing.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PriceLookupRequest {
+
+    /**
+     * SKUs to look up, at most max-lookup-skus of them
+     */
+    @NotEmpty(message = "Lookup must contain at least one SKU")
+    private List<String> skus;
+
+    /**
+     * ISO 4217 code to price in; the base currency when absent
+     */
+    @Pattern(regexp = "[A-Z]{3}", message = "Currency must be an ISO 4217 code")
+    private String currency;
+}
@@ -0,0 +1,35 @@
+package com.bitvelocity.pricing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PriceLookupResponse {
+
+    private Instant asOf;
+
+    /**
+     * Until when these prices hold; also sent as Cache-Control max-age
+     */
+    private Instant validUntil;
+
+    private String currency;
+
+    /**
+     * Version of the FX rates the prices were converted with
+     */
+    private long fxRateVersion;
+
+    /**
+     * One entry per requested SKU, in request order
+     */
+    private List<SkuPriceResponse> prices;
+}
@@ -0,0 +1,62 @@
+package com.bitvelocity.pricing.dto;
+
+import com.bitvelocity.pricing.rule.AdjustmentType;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PriceRuleRequest {
+
+    @NotBlank(message = "Rule id is required")
+    @Size(max = 100, message = "Rule id must not exceed 100 characters")
+    private String id;
+
+    /**
+     * The SKU the rule applies to; takes precedence over category
+     */
+    @Size(max = 100, message = "SKU must not exceed 100 characters")
+    private String sku;
+
+    /**
+     * The category the rule applies to when no SKU is given; neither means every SKU
+     */
+    @Size(max = 100, message = "Category must not exceed 100 characters")
+    private String category;
+
+    /**
+     * Customer segment the rule is limited to; absent for every customer
+     */
+    @Size(max = 50, message = "Segment must not exceed 50 characters")
+    private String segment;
+
+    private Instant startsAt;
+
+    /**
+     * Exclusive
+     */
+    private Instant endsAt;
+
+    private int priority;
+
+    @NotNull(message = "Adjustment type is required")
+    private AdjustmentType type;
+
+    /**
+     * The price, the percentage or the amount off, depending on type
+     */
+    @NotNull(message = "Value is required")
+    @DecimalMin(value = "0", message = "Value must not be negative")
+    private BigDecimal value;
+}
@@ -0,0 +1,27 @@
+package com.bitvelocity.pricing.dto;
+
+import com.bitvelocity.pricing.rule.AdjustmentType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PriceRuleResponse {
+
+    private String id;
+    private String sku;
+    private String category;
+    private String segment;
+    private Instant startsAt;
+    private Instant endsAt;
+    private int priority;
+    private AdjustmentType type;
+    private BigDecimal value;
+}
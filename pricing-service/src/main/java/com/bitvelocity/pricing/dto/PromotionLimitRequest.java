@@ -0,0 +1,28 @@
+package com.bitvelocity.pricing.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PromotionLimitRequest {
+
+    @NotBlank(message = "Promotion code is required")
+    @Size(max = 100, message = "Promotion code must not exceed 100 characters")
+    private String code;
+
+    /**
+     * Redemptions allowed across all instances
+     */
+    @NotNull(message = "Limit is required")
+    @Min(value = 0, message = "Limit must not be negative")
+    private Long limit;
+}
@@ -0,0 +1,36 @@
+package com.bitvelocity.pricing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PromotionResponse {
+
+    private String code;
+    private long limit;
+
+    /**
+     * Redemptions handed to instances in slabs, used or not
+     */
+    private long allocated;
+
+    /**
+     * Redemptions reconciled to the database
+     */
+    private long redeemed;
+
+    /**
+     * Redemptions this instance may still make from its slabs
+     */
+    private long localTokens;
+
+    /**
+     * Redemptions made by this instance and not yet reconciled
+     */
+    private long localPending;
+}
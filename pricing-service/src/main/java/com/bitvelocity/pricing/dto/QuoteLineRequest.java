@@ -0,0 +1,30 @@
+package com.bitvelocity.pricing.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuoteLineRequest {
+
+    @NotBlank(message = "SKU is required")
+    @Size(max = 100, message = "SKU must not exceed 100 characters")
+    private String sku;
+
+    @Size(max = 100, message = "Category must not exceed 100 characters")
+    private String category;
+
+    @NotNull(message = "Base price is required")
+    @DecimalMin(value = "0", message = "Base price must not be negative")
+    private BigDecimal basePrice;
+}
@@ -0,0 +1,24 @@
+package com.bitvelocity.pricing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuoteLineResponse {
+
+    private String sku;
+    private BigDecimal basePrice;
+    private BigDecimal price;
+
+    /**
+     * The rule that set the price; absent if none applied
+     */
+    private String ruleId;
+}
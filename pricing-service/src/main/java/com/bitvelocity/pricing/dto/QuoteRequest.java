@@ -0,0 +1,35 @@
+package com.bitvelocity.pricing.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuoteRequest {
+
+    @NotEmpty(message = "Quote must contain at least one line")
+    @Size(max = 1000, message = "Quote must not exceed 1000 lines")
+    @Valid
+    private List<QuoteLineRequest> lines;
+
+    /**
+     * Customer segment; absent for customers without one
+     */
+    @Size(max = 50, message = "Segment must not exceed 50 characters")
+    private String segment;
+
+    /**
+     * Instant to price at; now when absent
+     */
+    private Instant at;
+}
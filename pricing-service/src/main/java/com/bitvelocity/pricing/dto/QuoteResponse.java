@@ -0,0 +1,21 @@
+package com.bitvelocity.pricing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuoteResponse {
+
+    /**
+     * Version of the rule set every line was priced with
+     */
+    private long ruleSetVersion;
+    private List<QuoteLineResponse> lines;
+}
@@ -0,0 +1,17 @@
+package com.bitvelocity.pricing.dto;
+
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RedemptionRequest {
+
+    @Size(max = 100, message = "Customer id must not exceed 100 characters")
+    private String customerId;
+}
@@ -0,0 +1,21 @@
+package com.bitvelocity.pricing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RedemptionResponse {
+
+    private UUID id;
+    private String promotionCode;
+    private String customerId;
+    private Instant redeemedAt;
+}
@@ -0,0 +1,22 @@
+package com.bitvelocity.pricing.dto;
+
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RepricingRequest {
+
+    /**
+     * Categories to reprice, e.g. those of a new category-wide promotion; the whole catalog when absent
+     */
+    @Size(max = 1000, message = "Repricing must not name more than 1000 categories")
+    private List<String> categories;
+}
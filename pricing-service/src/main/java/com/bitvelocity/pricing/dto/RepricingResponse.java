@@ -0,0 +1,37 @@
+package com.bitvelocity.pricing.dto;
+
+import com.bitvelocity.pricing.repricing.RepricingStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RepricingResponse {
+
+    private String id;
+    private RepricingStatus status;
+
+    /**
+     * Rule set version and instant every product of the run is priced at
+     */
+    private long ruleSetVersion;
+    private Instant pricedAt;
+
+    private int categories;
+    private int categoriesDone;
+
+    /**
+     * Products priced and written so far
+     */
+    private long priced;
+    private long batches;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private String error;
+}
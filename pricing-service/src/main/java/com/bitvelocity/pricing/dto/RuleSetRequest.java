@@ -0,0 +1,21 @@
+package com.bitvelocity.pricing.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RuleSetRequest {
+
+    @NotNull(message = "Rules are required")
+    @Valid
+    private List<PriceRuleRequest> rules;
+}
@@ -0,0 +1,19 @@
+package com.bitvelocity.pricing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RuleSetResponse {
+
+    /**
+     * Increases with every change to the rules
+     */
+    private long version;
+    private int ruleCount;
+}
@@ -0,0 +1,40 @@
+package com.bitvelocity.pricing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SkuPriceResponse {
+
+    private String sku;
+
+    /**
+     * Flash-sale price while a sale runs for the SKU, otherwise the effective price of the last
+     * repricing run, in the requested currency; absent when there is neither
+     */
+    private BigDecimal price;
+
+    /**
+     * The price as displayed, e.g. €1,234.50
+     */
+    private String formattedPrice;
+
+    /**
+     * Set for a flash-sale price
+     */
+    private String saleId;
+    private Instant saleEndsAt;
+
+    /**
+     * The rule that set an effective price; absent if none applied
+     */
+    private String ruleId;
+}
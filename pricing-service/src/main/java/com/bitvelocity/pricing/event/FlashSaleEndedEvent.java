@@ -0,0 +1,9 @@
+package com.bitvelocity.pricing.event;
+
+import java.time.Instant;
+
+/**
+ * Published when a flash sale's prices are withdrawn, at its end or when it is cancelled.
+ */
+public record FlashSaleEndedEvent(String saleId, Instant endedAt, boolean cancelled) {
+}
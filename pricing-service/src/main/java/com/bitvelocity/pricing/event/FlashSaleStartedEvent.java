@@ -0,0 +1,9 @@
+package com.bitvelocity.pricing.event;
+
+import java.time.Instant;
+
+/**
+ * Published when a flash sale's prices go live (ecommerce.pricing.flash_sale.started.v1).
+ */
+public record FlashSaleStartedEvent(String saleId, String name, Instant startsAt, Instant endsAt, int skuCount) {
+}
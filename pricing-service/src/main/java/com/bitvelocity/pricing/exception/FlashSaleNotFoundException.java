@@ -0,0 +1,8 @@
+package com.bitvelocity.pricing.exception;
+
+public class FlashSaleNotFoundException extends RuntimeException {
+
+    public FlashSaleNotFoundException(String saleId) {
+        super("Flash sale not found with id: " + saleId);
+    }
+}
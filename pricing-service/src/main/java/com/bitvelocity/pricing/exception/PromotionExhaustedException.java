@@ -0,0 +1,15 @@
+package com.bitvelocity.pricing.exception;
+
+public class PromotionExhaustedException extends RuntimeException {
+
+    private final String code;
+
+    public PromotionExhaustedException(String code) {
+        super("Promotion " + code + " has no redemptions left");
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+}
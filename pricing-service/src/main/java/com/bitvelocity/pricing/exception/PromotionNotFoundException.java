@@ -0,0 +1,8 @@
+package com.bitvelocity.pricing.exception;
+
+public class PromotionNotFoundException extends RuntimeException {
+
+    public PromotionNotFoundException(String code) {
+        super("Promotion not found with code: " + code);
+    }
+}
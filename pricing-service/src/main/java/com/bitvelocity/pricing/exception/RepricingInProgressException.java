@@ -0,0 +1,15 @@
+package com.bitvelocity.pricing.exception;
+
+public class RepricingInProgressException extends RuntimeException {
+
+    private final String runId;
+
+    public RepricingInProgressException(String runId) {
+        super("Repricing run " + runId + " is still running");
+        this.runId = runId;
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+}
@@ -0,0 +1,8 @@
+package com.bitvelocity.pricing.exception;
+
+public class RepricingRunNotFoundException extends RuntimeException {
+
+    public RepricingRunNotFoundException(String runId) {
+        super("Repricing run not found with id: " + runId);
+    }
+}
@@ -0,0 +1,8 @@
+package com.bitvelocity.pricing.exception;
+
+public class RuleNotFoundException extends RuntimeException {
+
+    public RuleNotFoundException(String ruleId) {
+        super("Price rule not found with id: " + ruleId);
+    }
+}
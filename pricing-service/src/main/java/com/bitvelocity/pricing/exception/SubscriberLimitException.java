@@ -0,0 +1,8 @@
+package com.bitvelocity.pricing.exception;
+
+public class SubscriberLimitException extends RuntimeException {
+
+    public SubscriberLimitException(int limit) {
+        super("Too many flash-sale subscribers (limit " + limit + ")");
+    }
+}
@@ -0,0 +1,10 @@
+package com.bitvelocity.pricing.flashsale;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Sale prices for a set of SKUs, in minor units, from startsAt (inclusive) to endsAt (exclusive).
+ */
+public record FlashSale(String id, String name, Instant startsAt, Instant endsAt, Map<String, Long> prices) {
+}
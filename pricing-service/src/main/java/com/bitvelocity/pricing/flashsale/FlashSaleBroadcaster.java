@@ -0,0 +1,88 @@
+package com.bitvelocity.pricing.flashsale;
+
+import com.bitvelocity.pricing.event.FlashSaleEndedEvent;
+import com.bitvelocity.pricing.event.FlashSaleStartedEvent;
+import com.bitvelocity.pricing.exception.SubscriberLimitException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Pushes flash-sale starts and ends to storefronts over server-sent events (/sse/flash-sales).
+ *
+ * Events are written to subscribers on a thread of their own, so a slow connection never delays
+ * the sale scheduler; a subscriber whose connection fails is dropped.
+ */
+@Component
+@Slf4j
+public class FlashSaleBroadcaster implements DisposableBean {
+
+    private final FlashSaleProperties properties;
+    private final Set<SseEmitter> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService sender = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "flash-sale-sse");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public FlashSaleBroadcaster(FlashSaleProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * @throws SubscriberLimitException if max-subscribers connections are open
+     */
+    public SseEmitter subscribe() {
+        if (subscribers.size() >= properties.getMaxSubscribers()) {
+            throw new SubscriberLimitException(properties.getMaxSubscribers());
+        }
+        SseEmitter emitter = new SseEmitter(properties.getSseTimeoutMs());
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> subscribers.remove(emitter));
+        emitter.onError(error -> subscribers.remove(emitter));
+        subscribers.add(emitter);
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @EventListener
+    public void onStarted(FlashSaleStartedEvent event) {
+        broadcast("flash-sale-started", event.saleId(), event);
+    }
+
+    @EventListener
+    public void onEnded(FlashSaleEndedEvent event) {
+        broadcast("flash-sale-ended", event.saleId(), event);
+    }
+
+    @Override
+    public void destroy() {
+        sender.shutdownNow();
+        subscribers.forEach(SseEmitter::complete);
+    }
+
+    private void broadcast(String name, String saleId, Object event) {
+        sender.execute(() -> {
+            for (SseEmitter emitter : subscribers) {
+                try {
+                    emitter.send(SseEmitter.event().name(name).id(saleId).data(event, MediaType.APPLICATION_JSON));
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Dropping flash-sale subscriber: {}", e.getMessage());
+                    subscribers.remove(emitter);
+                }
+            }
+        });
+    }
+}
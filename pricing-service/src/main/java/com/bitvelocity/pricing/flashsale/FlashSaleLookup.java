@@ -0,0 +1,10 @@
+package com.bitvelocity.pricing.flashsale;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Flash-sale prices in lookup order (null where no sale is running) and how long they hold.
+ */
+public record FlashSaleLookup(Instant asOf, Instant validUntil, List<FlashSalePrice> prices) {
+}
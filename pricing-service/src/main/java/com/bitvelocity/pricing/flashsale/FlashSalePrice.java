@@ -0,0 +1,11 @@
+package com.bitvelocity.pricing.flashsale;
+
+/**
+ * The flash-sale price of a SKU while its sale runs; the window is in epoch millis.
+ */
+public record FlashSalePrice(String sku, String saleId, long price, long startsAt, long endsAt) {
+
+    boolean covers(long at) {
+        return startsAt <= at && at < endsAt;
+    }
+}
@@ -0,0 +1,308 @@
+package com.bitvelocity.pricing.flashsale;
+
+import com.bitvelocity.pricing.event.FlashSaleEndedEvent;
+import com.bitvelocity.pricing.event.FlashSaleStartedEvent;
+import com.bitvelocity.pricing.rule.PriceQuote;
+import com.bitvelocity.pricing.rule.Quotation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The authority for flash-sale prices (flash_sale_price_map): SKU to the price of the cheapest
+ * sale running for it.
+ *
+ * Each scheduled sale gets two timer tasks, one that puts its prices in the map at startsAt and
+ * one that withdraws them at endsAt; nothing polls. Every entry also carries its window and is
+ * served only inside it, so a late timer can never extend a sale. Readers only touch the
+ * concurrent map; schedule changes are serialized.
+ *
+ * Lookups report how long their answer stays valid: until the earliest end among the returned
+ * sale prices or the next scheduled start, capped at max-cache-ttl-ms, so callers and edge caches
+ * can hold a price list through the traffic spike of a sale start without asking again.
+ */
+@Component
+@Slf4j
+public class FlashSalePriceMap implements DisposableBean {
+
+    private final Clock clock;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FlashSaleProperties properties;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "flash-sale-scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ConcurrentHashMap<String, FlashSalePrice> prices = new ConcurrentHashMap<>();
+    private final Map<String, ScheduledSale> sales = new HashMap<>();
+    private volatile long nextStartAt = Long.MAX_VALUE;
+
+    public FlashSalePriceMap(Clock clock, ApplicationEventPublisher eventPublisher, FlashSaleProperties properties) {
+        this.clock = clock;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+    }
+
+    /**
+     * Schedules the sale, replacing a sale with the same id. A sale whose window has begun goes
+     * live before this returns.
+     *
+     * @throws IllegalArgumentException if the sale is invalid or already over
+     */
+    public FlashSaleStatus schedule(FlashSale sale) {
+        validate(sale);
+        cancel(sale.id());
+        ScheduledSale scheduled = new ScheduledSale(sale);
+        long now = clock.millis();
+        synchronized (this) {
+            sales.put(sale.id(), scheduled);
+            if (sale.startsAt().toEpochMilli() > now) {
+                scheduled.start = scheduler.schedule(() -> start(scheduled),
+                        sale.startsAt().toEpochMilli() - now, TimeUnit.MILLISECONDS);
+            }
+            scheduled.end = scheduler.schedule(() -> end(scheduled, false),
+                    sale.endsAt().toEpochMilli() - now, TimeUnit.MILLISECONDS);
+            updateNextStart();
+        }
+        if (scheduled.start == null) {
+            start(scheduled);
+        }
+        log.info("Scheduled flash sale {} ({} SKUs) from {} to {}", sale.id(), sale.prices().size(),
+                sale.startsAt(), sale.endsAt());
+        return scheduled.active ? FlashSaleStatus.ACTIVE : FlashSaleStatus.SCHEDULED;
+    }
+
+    /**
+     * Withdraws the sale's prices if it is running and forgets it.
+     *
+     * @return false if there was no such sale
+     */
+    public boolean cancel(String saleId) {
+        ScheduledSale scheduled;
+        synchronized (this) {
+            scheduled = sales.get(saleId);
+        }
+        return scheduled != null && end(scheduled, true);
+    }
+
+    public synchronized Optional<FlashSaleState> find(String saleId) {
+        return Optional.ofNullable(sales.get(saleId)).map(ScheduledSale::state);
+    }
+
+    /**
+     * @return the SKU's flash-sale price now, or null if no sale is running for it
+     */
+    public FlashSalePrice current(String sku) {
+        return live(prices.get(sku), clock.millis());
+    }
+
+    /**
+     * Flash-sale prices of many SKUs, in request order, null where no sale is running.
+     */
+    public FlashSaleLookup lookup(List<String> skus) {
+        long now = clock.millis();
+        long validUntil = Math.min(nextStartAt, now + properties.getMaxCacheTtlMs());
+        List<FlashSalePrice> found = new ArrayList<>(skus.size());
+        for (String sku : skus) {
+            FlashSalePrice price = live(prices.get(sku), now);
+            if (price != null) {
+                validUntil = Math.min(validUntil, price.endsAt());
+            }
+            found.add(price);
+        }
+        return new FlashSaleLookup(Instant.ofEpochMilli(now), Instant.ofEpochMilli(validUntil), found);
+    }
+
+    /**
+     * Replaces rule-based prices with flash-sale prices where a sale whose window covers the
+     * quotation's instant is cheaper; the rule id of such a line is flash-sale:{saleId}. A future
+     * instant sees the sales scheduled for it, not only the ones running now.
+     */
+    public Quotation applyTo(Quotation quotation, Instant at) {
+        long instant = (at == null ? clock.instant() : at).toEpochMilli();
+        List<PriceQuote> quotes = null;
+        for (int i = 0; i < quotation.quotes().size(); i++) {
+            PriceQuote quote = quotation.quotes().get(i);
+            FlashSalePrice sale = priceAt(quote.sku(), instant);
+            if (sale != null && sale.price() < quote.price()) {
+                if (quotes == null) {
+                    quotes = new ArrayList<>(quotation.quotes());
+                }
+                quotes.set(i, new PriceQuote(quote.sku(), quote.basePrice(), sale.price(),
+                        "flash-sale:" + sale.saleId()));
+            }
+        }
+        return quotes == null ? quotation : new Quotation(quotation.ruleSetVersion(), quotes);
+    }
+
+    public int size() {
+        return prices.size();
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    private void start(ScheduledSale scheduled) {
+        FlashSale sale = scheduled.sale;
+        synchronized (this) {
+            if (sales.get(sale.id()) != scheduled || scheduled.active) {
+                return;
+            }
+            long startsAt = sale.startsAt().toEpochMilli();
+            long endsAt = sale.endsAt().toEpochMilli();
+            sale.prices().forEach((sku, price) -> prices.merge(sku,
+                    new FlashSalePrice(sku, sale.id(), price, startsAt, endsAt), FlashSalePriceMap::cheaper));
+            scheduled.active = true;
+            updateNextStart();
+        }
+        log.info("Flash sale {} started", sale.id());
+        eventPublisher.publishEvent(new FlashSaleStartedEvent(sale.id(), sale.name(), sale.startsAt(),
+                sale.endsAt(), sale.prices().size()));
+    }
+
+    private boolean end(ScheduledSale scheduled, boolean cancelled) {
+        FlashSale sale = scheduled.sale;
+        boolean wasActive;
+        synchronized (this) {
+            if (!sales.remove(sale.id(), scheduled)) {
+                return false;
+            }
+            if (scheduled.start != null) {
+                scheduled.start.cancel(false);
+            }
+            scheduled.end.cancel(false);
+            wasActive = scheduled.active;
+            if (wasActive) {
+                for (String sku : sale.prices().keySet()) {
+                    prices.computeIfPresent(sku, (key, current) ->
+                            current.saleId().equals(sale.id()) ? cheapestRunning(key) : current);
+                }
+                scheduled.active = false;
+            }
+            updateNextStart();
+        }
+        log.info("Flash sale {} {}", sale.id(), cancelled ? "cancelled" : "ended");
+        if (wasActive) {
+            eventPublisher.publishEvent(new FlashSaleEndedEvent(sale.id(), clock.instant(), cancelled));
+        }
+        return true;
+    }
+
+    /**
+     * The map answers for any instant before the next scheduled start, unless its entry's window
+     * misses the instant (another running sale may still cover it); otherwise every known sale is
+     * checked against its own window.
+     */
+    private FlashSalePrice priceAt(String sku, long at) {
+        FlashSalePrice price = prices.get(sku);
+        if (at < nextStartAt && (price == null || price.covers(at))) {
+            return price;
+        }
+        return cheapestAt(sku, at);
+    }
+
+    private synchronized FlashSalePrice cheapestAt(String sku, long at) {
+        FlashSalePrice best = null;
+        for (ScheduledSale scheduled : sales.values()) {
+            FlashSale sale = scheduled.sale;
+            Long price = sale.prices().get(sku);
+            if (price != null) {
+                FlashSalePrice candidate = new FlashSalePrice(sku, sale.id(), price,
+                        sale.startsAt().toEpochMilli(), sale.endsAt().toEpochMilli());
+                if (candidate.covers(at)) {
+                    best = cheaper(best, candidate);
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Caller holds the lock.
+     */
+    private FlashSalePrice cheapestRunning(String sku) {
+        FlashSalePrice best = null;
+        for (ScheduledSale other : sales.values()) {
+            Long price = other.active ? other.sale.prices().get(sku) : null;
+            if (price != null) {
+                best = cheaper(best, new FlashSalePrice(sku, other.sale.id(), price,
+                        other.sale.startsAt().toEpochMilli(), other.sale.endsAt().toEpochMilli()));
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Caller holds the lock.
+     */
+    private void updateNextStart() {
+        long next = Long.MAX_VALUE;
+        for (ScheduledSale scheduled : sales.values()) {
+            if (!scheduled.active) {
+                next = Math.min(next, scheduled.sale.startsAt().toEpochMilli());
+            }
+        }
+        nextStartAt = next;
+    }
+
+    private void validate(FlashSale sale) {
+        if (sale.id() == null || sale.id().isBlank()) {
+            throw new IllegalArgumentException("Flash sale needs an id");
+        }
+        if (sale.startsAt() == null || sale.endsAt() == null || !sale.startsAt().isBefore(sale.endsAt())) {
+            throw new IllegalArgumentException("Flash sale " + sale.id() + " must start before it ends");
+        }
+        if (!sale.endsAt().isAfter(clock.instant())) {
+            throw new IllegalArgumentException("Flash sale " + sale.id() + " is already over");
+        }
+        if (sale.prices() == null || sale.prices().isEmpty() || sale.prices().size() > properties.getMaxItemsPerSale()) {
+            throw new IllegalArgumentException(
+                    "Flash sale must have between 1 and " + properties.getMaxItemsPerSale() + " SKUs");
+        }
+        sale.prices().forEach((sku, price) -> {
+            if (sku == null || sku.isBlank() || price == null || price < 0) {
+                throw new IllegalArgumentException("Every flash sale SKU needs a non-negative price");
+            }
+        });
+    }
+
+    private static FlashSalePrice live(FlashSalePrice price, long at) {
+        return price != null && price.covers(at) ? price : null;
+    }
+
+    private static FlashSalePrice cheaper(FlashSalePrice current, FlashSalePrice candidate) {
+        return current == null || candidate.price() < current.price() ? candidate : current;
+    }
+
+    private static final class ScheduledSale {
+
+        private final FlashSale sale;
+        private ScheduledFuture<?> start;
+        private ScheduledFuture<?> end;
+        private volatile boolean active;
+
+        ScheduledSale(FlashSale sale) {
+            this.sale = sale;
+        }
+
+        FlashSaleState state() {
+            return new FlashSaleState(sale, active ? FlashSaleStatus.ACTIVE : FlashSaleStatus.SCHEDULED);
+        }
+    }
+}
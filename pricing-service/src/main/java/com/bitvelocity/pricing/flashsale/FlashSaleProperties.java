@@ -0,0 +1,29 @@
+package com.bitvelocity.pricing.flashsale;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "pricing-service.flash-sale")
+public class FlashSaleProperties {
+
+    private int maxItemsPerSale = 100_000;
+
+    /**
+     * SKUs per bulk price lookup
+     */
+    private int maxLookupSkus = 1_000;
+
+    /**
+     * Upper bound on how long a lookup answer is declared valid, so unscheduled changes
+     * (cancellations, new sales starting at once) reach cached answers within this time
+     */
+    private long maxCacheTtlMs = 5_000;
+
+    /**
+     * SSE connections are closed after this long; clients reconnect
+     */
+    private long sseTimeoutMs = 1_800_000;
+
+    private int maxSubscribers = 10_000;
+}
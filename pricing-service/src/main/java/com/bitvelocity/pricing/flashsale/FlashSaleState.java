@@ -0,0 +1,4 @@
+package com.bitvelocity.pricing.flashsale;
+
+public record FlashSaleState(FlashSale sale, FlashSaleStatus status) {
+}
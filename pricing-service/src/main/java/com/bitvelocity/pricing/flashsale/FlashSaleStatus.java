@@ -0,0 +1,6 @@
+package com.bitvelocity.pricing.flashsale;
+
+public enum FlashSaleStatus {
+    SCHEDULED,
+    ACTIVE
+}
@@ -0,0 +1,196 @@
+package com.bitvelocity.pricing.mapper;
+
+import com.bitvelocity.pricing.coupon.PromotionUsage;
+import com.bitvelocity.pricing.coupon.Redemption;
+import com.bitvelocity.pricing.currency.CurrencyConversion;
+import com.bitvelocity.pricing.currency.FxRateTable;
+import com.bitvelocity.pricing.dto.FlashSaleItemRequest;
+import com.bitvelocity.pricing.dto.FlashSaleRequest;
+import com.bitvelocity.pricing.dto.FlashSaleResponse;
+import com.bitvelocity.pricing.dto.FxRateResponse;
+import com.bitvelocity.pricing.dto.FxRatesResponse;
+import com.bitvelocity.pricing.dto.PriceLookupResponse;
+import com.bitvelocity.pricing.dto.PriceRuleRequest;
+import com.bitvelocity.pricing.dto.PriceRuleResponse;
+import com.bitvelocity.pricing.dto.PromotionResponse;
+import com.bitvelocity.pricing.dto.QuoteLineRequest;
+import com.bitvelocity.pricing.dto.QuoteLineResponse;
+import com.bitvelocity.pricing.dto.QuoteResponse;
+import com.bitvelocity.pricing.dto.RedemptionResponse;
+import com.bitvelocity.pricing.dto.RepricingResponse;
+import com.bitvelocity.pricing.dto.SkuPriceResponse;
+import com.bitvelocity.pricing.flashsale.FlashSale;
+import com.bitvelocity.pricing.flashsale.FlashSaleLookup;
+import com.bitvelocity.pricing.flashsale.FlashSalePrice;
+import com.bitvelocity.pricing.flashsale.FlashSaleState;
+import com.bitvelocity.pricing.repricing.EffectivePrice;
+import com.bitvelocity.pricing.repricing.RepricingProgress;
+import com.bitvelocity.pricing.rule.MinorUnits;
+import com.bitvelocity.pricing.rule.PriceLine;
+import com.bitvelocity.pricing.rule.PriceRule;
+import com.bitvelocity.pricing.rule.Quotation;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class PricingMapper {
+
+    public PriceRule toRule(PriceRuleRequest request) {
+        return new PriceRule(request.getId(), request.getSku(), request.getCategory(), request.getSegment(),
+                request.getStartsAt(), request.getEndsAt(), request.getPriority(), request.getType(),
+                request.getValue());
+    }
+
+    public PriceRuleResponse toResponse(PriceRule rule) {
+        return PriceRuleResponse.builder()
+                .id(rule.id())
+                .sku(rule.sku())
+                .category(rule.category())
+                .segment(rule.segment())
+                .startsAt(rule.startsAt())
+                .endsAt(rule.endsAt())
+                .priority(rule.priority())
+                .type(rule.type())
+                .value(rule.value())
+                .build();
+    }
+
+    public List<PriceLine> toLines(List<QuoteLineRequest> lines) {
+        return lines.stream()
+                .map(line -> new PriceLine(line.getSku(), line.getCategory(), MinorUnits.of(line.getBasePrice())))
+                .toList();
+    }
+
+    public QuoteResponse toResponse(Quotation quotation) {
+        return QuoteResponse.builder()
+                .ruleSetVersion(quotation.ruleSetVersion())
+                .lines(quotation.quotes().stream()
+                        .map(quote -> QuoteLineResponse.builder()
+                                .sku(quote.sku())
+                                .basePrice(MinorUnits.toDecimal(quote.basePrice()))
+                                .price(MinorUnits.toDecimal(quote.price()))
+                                .ruleId(quote.ruleId())
+                                .build())
+                        .toList())
+                .build();
+    }
+
+    public FlashSale toSale(FlashSaleRequest request) {
+        Map<String, Long> prices = new LinkedHashMap<>();
+        for (FlashSaleItemRequest item : request.getItems()) {
+            if (prices.put(item.getSku(), MinorUnits.of(item.getPrice())) != null) {
+                throw new IllegalArgumentException("SKU " + item.getSku() + " is listed twice");
+            }
+        }
+        return new FlashSale(request.getId(), request.getName(), request.getStartsAt(), request.getEndsAt(), prices);
+    }
+
+    public FlashSaleResponse toResponse(FlashSaleState state) {
+        FlashSale sale = state.sale();
+        return FlashSaleResponse.builder()
+                .id(sale.id())
+                .name(sale.name())
+                .startsAt(sale.startsAt())
+                .endsAt(sale.endsAt())
+                .status(state.status())
+                .itemCount(sale.prices().size())
+                .build();
+    }
+
+    /**
+     * @param effective  effective prices in SKU order, used where no flash sale is running
+     * @param validUntil until when the flash-sale and effective prices hold
+     * @param conversion the currency to price in
+     */
+    public PriceLookupResponse toResponse(List<String> skus, FlashSaleLookup lookup, List<EffectivePrice> effective,
+                                          Instant validUntil, CurrencyConversion conversion) {
+        List<SkuPriceResponse> prices = new ArrayList<>(skus.size());
+        for (int i = 0; i < skus.size(); i++) {
+            FlashSalePrice sale = lookup.prices().get(i);
+            EffectivePrice price = effective.get(i);
+            if (sale != null) {
+                prices.add(SkuPriceResponse.builder()
+                        .sku(sale.sku())
+                        .price(conversion.toDecimal(conversion.convert(sale.sku(), sale.price())))
+                        .formattedPrice(conversion.format(sale.sku(), sale.price()))
+                        .saleId(sale.saleId())
+                        .saleEndsAt(Instant.ofEpochMilli(sale.endsAt()))
+                        .build());
+            } else if (price != null) {
+                prices.add(SkuPriceResponse.builder()
+                        .sku(price.sku())
+                        .price(conversion.toDecimal(conversion.convert(price.sku(), price.price())))
+                        .formattedPrice(conversion.format(price.sku(), price.price()))
+                        .ruleId(price.ruleId())
+                        .build());
+            } else {
+                prices.add(SkuPriceResponse.builder().sku(skus.get(i)).build());
+            }
+        }
+        return PriceLookupResponse.builder()
+                .asOf(lookup.asOf())
+                .validUntil(validUntil)
+                .currency(conversion.currency())
+                .fxRateVersion(conversion.rateVersion())
+                .prices(prices)
+                .build();
+    }
+
+    public RepricingResponse toResponse(RepricingProgress progress) {
+        return RepricingResponse.builder()
+                .id(progress.id())
+                .status(progress.status())
+                .ruleSetVersion(progress.ruleSetVersion())
+                .pricedAt(progress.pricedAt())
+                .categories(progress.categories())
+                .categoriesDone(progress.categoriesDone())
+                .priced(progress.priced())
+                .batches(progress.batches())
+                .startedAt(progress.startedAt())
+                .finishedAt(progress.finishedAt())
+                .error(progress.error())
+                .build();
+    }
+
+    public PromotionResponse toResponse(PromotionUsage usage) {
+        return PromotionResponse.builder()
+                .code(usage.code())
+                .limit(usage.limit())
+                .allocated(usage.allocated())
+                .redeemed(usage.redeemed())
+                .localTokens(usage.localTokens())
+                .localPending(usage.localPending())
+                .build();
+    }
+
+    public RedemptionResponse toResponse(Redemption redemption) {
+        return RedemptionResponse.builder()
+                .id(redemption.id())
+                .promotionCode(redemption.promotionCode())
+                .customerId(redemption.customerId())
+                .redeemedAt(redemption.redeemedAt())
+                .build();
+    }
+
+    public FxRatesResponse toResponse(FxRateTable table, int hotSkus) {
+        return FxRatesResponse.builder()
+                .version(table.version())
+                .base(table.base())
+                .loadedAt(table.loadedAt())
+                .hotSkus(hotSkus)
+                .rates(table.rates().stream()
+                        .map(rate -> FxRateResponse.builder()
+                                .currency(rate.code())
+                                .rate(rate.rate())
+                                .fractionDigits(rate.fractionDigits())
+                                .symbol(rate.symbol())
+                                .build())
+                        .toList())
+                .build();
+    }
+}
@@ -0,0 +1,38 @@
+package com.bitvelocity.pricing.repository;
+
+import com.bitvelocity.pricing.coupon.Redemption;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class CouponRedemptionRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the rows as one JDBC batch (a multi-row insert on PostgreSQL with
+     * reWriteBatchedInserts=true).
+     */
+    public void insertAll(List<Redemption> redemptions, String nodeId) {
+        jdbcTemplate.batchUpdate("""
+                        INSERT INTO coupon_redemption (id, promotion_code, customer_id, node_id, redeemed_at)
+                        VALUES (?, ?, ?, ?, ?)
+                        """,
+                redemptions.stream()
+                        .map(redemption -> new Object[] {
+                                redemption.id(), redemption.promotionCode(), redemption.customerId(), nodeId,
+                                Timestamp.from(redemption.redeemedAt())})
+                        .toList());
+    }
+
+    public long countByPromotion(String code) {
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM coupon_redemption WHERE promotion_code = ?", Long.class, code);
+        return count == null ? 0 : count;
+    }
+}
@@ -0,0 +1,103 @@
+package com.bitvelocity.pricing.repository;
+
+import com.bitvelocity.pricing.coupon.PromotionLimit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class PromotionLimitRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Optional<PromotionLimit> find(String code) {
+        return jdbcTemplate.query(
+                "SELECT promotion_code, redemption_limit, allocated, redeemed FROM promotion_limit WHERE promotion_code = ?",
+                (rs, row) -> new PromotionLimit(rs.getString("promotion_code"), rs.getLong("redemption_limit"),
+                        rs.getLong("allocated"), rs.getLong("redeemed")),
+                code).stream().findFirst();
+    }
+
+    /**
+     * Creates the promotion or changes its limit; counters are kept.
+     */
+    public void saveLimit(String code, long limit, Instant now) {
+        if (updateLimit(code, limit, now) > 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.update(
+                    "INSERT INTO promotion_limit (promotion_code, redemption_limit, updated_at) VALUES (?, ?, ?)",
+                    code, limit, Timestamp.from(now));
+        } catch (DuplicateKeyException e) {
+            updateLimit(code, limit, now);
+        }
+    }
+
+    /**
+     * Hands out up to wanted more redemptions of the promotion, holding its row lock only for this
+     * claim. allocated stays within the limit, except that it may exceed it by up to
+     * maxOvershoot while tokens allocated to other instances are not yet reconciled as redeemed.
+     *
+     * @param ownPending redemptions the caller made that are not reconciled yet
+     * @return redemptions granted, 0 if the promotion is exhausted or unknown
+     */
+    @Transactional
+    public long claim(String code, long wanted, long maxOvershoot, long ownPending, Instant now) {
+        List<long[]> rows = jdbcTemplate.query(
+                "SELECT redemption_limit, allocated, redeemed FROM promotion_limit WHERE promotion_code = ? FOR UPDATE",
+                (rs, row) -> new long[] {rs.getLong(1), rs.getLong(2), rs.getLong(3)},
+                code);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        long limit = rows.get(0)[0];
+        long allocated = rows.get(0)[1];
+        long redeemed = rows.get(0)[2];
+        long heldElsewhere = Math.max(0, allocated - redeemed - ownPending);
+        long ceiling = limit + Math.min(maxOvershoot, heldElsewhere);
+        long granted = Math.max(0, Math.min(wanted, ceiling - allocated));
+        if (granted > 0) {
+            jdbcTemplate.update(
+                    "UPDATE promotion_limit SET allocated = allocated + ?, updated_at = ? WHERE promotion_code = ?",
+                    granted, Timestamp.from(now), code);
+        }
+        return granted;
+    }
+
+    /**
+     * Returns unused redemptions to the promotion's limit.
+     */
+    public void release(String code, long tokens, Instant now) {
+        jdbcTemplate.update(
+                "UPDATE promotion_limit SET allocated = allocated - ?, updated_at = ? WHERE promotion_code = ?",
+                tokens, Timestamp.from(now), code);
+    }
+
+    /**
+     * Adds reconciled redemptions, one batched statement for all promotions.
+     */
+    public void addRedeemed(Map<String, Long> redeemedByCode, Instant now) {
+        Timestamp updatedAt = Timestamp.from(now);
+        jdbcTemplate.batchUpdate(
+                "UPDATE promotion_limit SET redeemed = redeemed + ?, updated_at = ? WHERE promotion_code = ?",
+                redeemedByCode.entrySet().stream()
+                        .map(entry -> new Object[] {entry.getValue(), updatedAt, entry.getKey()})
+                        .toList());
+    }
+
+    private int updateLimit(String code, long limit, Instant now) {
+        return jdbcTemplate.update(
+                "UPDATE promotion_limit SET redemption_limit = ?, updated_at = ? WHERE promotion_code = ?",
+                limit, Timestamp.from(now), code);
+    }
+}
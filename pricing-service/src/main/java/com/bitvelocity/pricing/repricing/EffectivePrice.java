@@ -0,0 +1,33 @@
+package com.bitvelocity.pricing.repricing;
+
+import com.bitvelocity.pricing.rule.PriceLine;
+import com.bitvelocity.pricing.rule.PriceQuote;
+import com.bitvelocity.pricing.rule.RuleSetSnapshot;
+
+import java.time.Instant;
+
+/**
+ * A SKU's precomputed price for customers without a segment, in minor units, and the rule that
+ * set it (null if none applied). The price holds under its rule set version until validUntil
+ * (null if no rule window ends or starts after pricedAt); category and basePrice allow pricing
+ * the SKU again without the catalog.
+ */
+public record EffectivePrice(String sku, String category, long basePrice, long price, String ruleId,
+                             long ruleSetVersion, Instant pricedAt, Instant validUntil) {
+
+    /**
+     * @param quote the line's price for customers without a segment at pricedAt, from ruleSet
+     */
+    public static EffectivePrice of(PriceLine line, PriceQuote quote, RuleSetSnapshot ruleSet, Instant pricedAt) {
+        long changesAt = ruleSet.changesAt(line, null, pricedAt.toEpochMilli());
+        return new EffectivePrice(line.sku(), line.category(), quote.basePrice(), quote.price(), quote.ruleId(),
+                ruleSet.version(), pricedAt, changesAt == Long.MAX_VALUE ? null : Instant.ofEpochMilli(changesAt));
+    }
+
+    /**
+     * False once the rule set changed or the price's window passed.
+     */
+    public boolean holds(long ruleSetVersion, Instant at) {
+        return this.ruleSetVersion == ruleSetVersion && (validUntil == null || at.isBefore(validUntil));
+    }
+}
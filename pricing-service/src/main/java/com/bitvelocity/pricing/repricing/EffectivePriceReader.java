@@ -0,0 +1,64 @@
+package com.bitvelocity.pricing.repricing;
+
+import com.bitvelocity.pricing.rule.PriceLine;
+import com.bitvelocity.pricing.rule.PriceRuleEngine;
+import com.bitvelocity.pricing.rule.RuleSetSnapshot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Effective prices for lookups. A stored price that no longer holds, because the rule set changed
+ * since it was computed or its rule window passed, is priced again against the current rule set
+ * from its stored base price and category, written back and served; so until the next repricing
+ * run a rule change costs one quote per SKU looked up, never a stale price.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EffectivePriceReader {
+
+    private final EffectivePriceStore store;
+    private final PriceRuleEngine priceRuleEngine;
+
+    /**
+     * @return the prices at the instant in request order, null for SKUs without one
+     */
+    public List<EffectivePrice> findAll(List<String> skus, Instant at) {
+        List<EffectivePrice> prices = new ArrayList<>(store.findAll(skus));
+        RuleSetSnapshot ruleSet = priceRuleEngine.snapshot();
+        List<EffectivePrice> repriced = new ArrayList<>();
+        for (int i = 0; i < prices.size(); i++) {
+            EffectivePrice price = prices.get(i);
+            if (price == null || price.holds(ruleSet.version(), at)) {
+                continue;
+            }
+            PriceLine line = new PriceLine(price.sku(), price.category(), price.basePrice());
+            EffectivePrice current = EffectivePrice.of(line, ruleSet.price(line, null, at.toEpochMilli()), ruleSet, at);
+            prices.set(i, current);
+            repriced.add(current);
+        }
+        if (!repriced.isEmpty()) {
+            store.write(repriced);
+            log.debug("Repriced {} stale effective prices at rule set v{}", repriced.size(), ruleSet.version());
+        }
+        return prices;
+    }
+
+    /**
+     * @return the earliest validUntil of the prices, but no later than limit
+     */
+    public static Instant validUntil(List<EffectivePrice> prices, Instant limit) {
+        Instant validUntil = limit;
+        for (EffectivePrice price : prices) {
+            if (price != null && price.validUntil() != null && price.validUntil().isBefore(validUntil)) {
+                validUntil = price.validUntil();
+            }
+        }
+        return validUntil;
+    }
+}
@@ -0,0 +1,22 @@
+package com.bitvelocity.pricing.repricing;
+
+import java.util.List;
+
+/**
+ * Where repricing writes effective prices; written in batches, read in bulk by price lookups.
+ */
+public interface EffectivePriceStore {
+
+    /**
+     * Stores the prices, replacing what is stored for their SKUs. Called concurrently for
+     * disjoint batches.
+     */
+    void write(List<EffectivePrice> batch);
+
+    /**
+     * @return the stored prices in request order, null for SKUs without one
+     */
+    List<EffectivePrice> findAll(List<String> skus);
+
+    long size();
+}
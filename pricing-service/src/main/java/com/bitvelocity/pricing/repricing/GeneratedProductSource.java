@@ -0,0 +1,59 @@
+package com.bitvelocity.pricing.repricing;
+
+import com.bitvelocity.pricing.rule.PriceLine;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Local stand-in for the product catalog: catalog-size products SKU-0000000, SKU-0000001, ...
+ * dealt round-robin into category-count categories CAT-000, CAT-001, ..., each with a fixed
+ * pseudo-random list price between 1.00 and 1000.00. Nothing is stored; products are generated as
+ * they are streamed.
+ */
+@Component
+@ConditionalOnProperty(name = "pricing-service.repricing.source", havingValue = "generated", matchIfMissing = true)
+public class GeneratedProductSource implements ProductSource {
+
+    private final int catalogSize;
+    private final List<String> categories;
+
+    public GeneratedProductSource(RepricingProperties properties) {
+        this.catalogSize = properties.getGenerated().getCatalogSize();
+        int categoryCount = Math.max(1, properties.getGenerated().getCategoryCount());
+        this.categories = IntStream.range(0, categoryCount).mapToObj(GeneratedProductSource::category).toList();
+    }
+
+    public static String sku(int product) {
+        return "SKU-%07d".formatted(product);
+    }
+
+    public static String category(int category) {
+        return "CAT-%03d".formatted(category);
+    }
+
+    @Override
+    public List<String> categories() {
+        return categories;
+    }
+
+    @Override
+    public Stream<PriceLine> products(String category) {
+        int index = categories.indexOf(category);
+        if (index < 0) {
+            return Stream.empty();
+        }
+        int stride = categories.size();
+        return IntStream.range(0, (catalogSize - index + stride - 1) / stride)
+                .map(i -> i * stride + index)
+                .mapToObj(product -> new PriceLine(sku(product), category, listPrice(product)));
+    }
+
+    private static long listPrice(int product) {
+        long mixed = (product + 1) * 0x9E3779B97F4A7C15L;
+        return 100 + Math.floorMod(mixed ^ (mixed >>> 29), 99_901L);
+    }
+}
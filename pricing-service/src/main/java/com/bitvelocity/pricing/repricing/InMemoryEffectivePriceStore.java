@@ -0,0 +1,40 @@
+package com.bitvelocity.pricing.repricing;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Effective prices held in this instance's memory; they are lost on restart until the next
+ * repricing run.
+ */
+@Component
+@ConditionalOnProperty(name = "pricing-service.repricing.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryEffectivePriceStore implements EffectivePriceStore {
+
+    private final ConcurrentHashMap<String, EffectivePrice> prices = new ConcurrentHashMap<>();
+
+    @Override
+    public void write(List<EffectivePrice> batch) {
+        for (EffectivePrice price : batch) {
+            prices.put(price.sku(), price);
+        }
+    }
+
+    @Override
+    public List<EffectivePrice> findAll(List<String> skus) {
+        List<EffectivePrice> found = new ArrayList<>(skus.size());
+        for (String sku : skus) {
+            found.add(prices.get(sku));
+        }
+        return found;
+    }
+
+    @Override
+    public long size() {
+        return prices.size();
+    }
+}
@@ -0,0 +1,21 @@
+package com.bitvelocity.pricing.repricing;
+
+import com.bitvelocity.pricing.rule.PriceLine;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Where repricing reads the catalog from: every product's SKU, category and list price (the
+ * base price rules apply to), one category at a time.
+ */
+public interface ProductSource {
+
+    List<String> categories();
+
+    /**
+     * Streams the products of one category; empty for an unknown category. The caller closes the
+     * stream, so an implementation may hold a cursor open while it is read.
+     */
+    Stream<PriceLine> products(String category);
+}
@@ -0,0 +1,197 @@
+package com.bitvelocity.pricing.repricing;
+
+import com.bitvelocity.pricing.exception.RepricingInProgressException;
+import com.bitvelocity.pricing.rule.PriceLine;
+import com.bitvelocity.pricing.rule.PriceQuote;
+import com.bitvelocity.pricing.rule.PriceRuleEngine;
+import com.bitvelocity.pricing.rule.RuleSetSnapshot;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Recomputes the effective price of every product in the catalog, or in some categories, after a
+ * promotion changes.
+ *
+ * A run pins one rule set version and one instant, then prices the categories as a parallel
+ * stream on a dedicated fork-join pool. Each category's products are read from the
+ * {@link ProductSource} in one pass and cut into batches; every batch is forked as its own task
+ * that prices the batch and writes it to the {@link EffectivePriceStore} in one call, so idle
+ * workers steal batches of a large category while a small one finishes. At most a few batches per
+ * category are in flight, which keeps memory bounded whatever the catalog size.
+ *
+ * One run at a time; its progress is counted as batches complete.
+ */
+@Component
+@Slf4j
+public class RepricingPipeline implements DisposableBean {
+
+    private static final int MAX_PENDING_BATCHES = 4;
+
+    private final ProductSource source;
+    private final EffectivePriceStore store;
+    private final PriceRuleEngine priceRuleEngine;
+    private final Clock clock;
+    private final int batchSize;
+    private final ForkJoinPool pool;
+    private final Map<String, Run> runs;
+    private Run current;
+
+    public RepricingPipeline(ProductSource source, EffectivePriceStore store, PriceRuleEngine priceRuleEngine,
+                             RepricingProperties properties, Clock clock) {
+        this.source = source;
+        this.store = store;
+        this.priceRuleEngine = priceRuleEngine;
+        this.clock = clock;
+        this.batchSize = Math.max(1, properties.getBatchSize());
+        int parallelism = properties.getParallelism() > 0
+                ? properties.getParallelism() : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(parallelism, pool -> {
+            var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("repricing-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+        int retainedRuns = Math.max(1, properties.getRetainedRuns());
+        this.runs = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Run> eldest) {
+                return size() > retainedRuns;
+            }
+        };
+    }
+
+    /**
+     * Starts repricing the given categories, or the whole catalog when none are given, against
+     * the rule set active now.
+     *
+     * @throws RepricingInProgressException if a run has not finished yet
+     */
+    public synchronized RepricingProgress start(List<String> categories) {
+        if (current != null && current.status == RepricingStatus.RUNNING) {
+            throw new RepricingInProgressException(current.id);
+        }
+        List<String> partitions = categories == null || categories.isEmpty()
+                ? source.categories() : List.copyOf(categories);
+        RuleSetSnapshot ruleSet = priceRuleEngine.snapshot();
+        Run run = new Run(UUID.randomUUID().toString(), ruleSet.version(), clock.instant(), partitions.size());
+        runs.put(run.id, run);
+        current = run;
+        log.info("Repricing run {} started: {} categories at rule set v{}", run.id, partitions.size(),
+                ruleSet.version());
+        pool.execute(() -> execute(run, ruleSet, partitions));
+        return run.progress();
+    }
+
+    public synchronized Optional<RepricingProgress> find(String runId) {
+        return Optional.ofNullable(runs.get(runId)).map(Run::progress);
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+
+    private void execute(Run run, RuleSetSnapshot ruleSet, List<String> categories) {
+        long start = System.nanoTime();
+        try {
+            // Runs on a pool worker, so the parallel stream splits over this pool
+            categories.parallelStream().forEach(category -> reprice(run, ruleSet, category));
+            run.finish(RepricingStatus.COMPLETED, null, clock.instant());
+            log.info("Repricing run {} completed: {} products in {} ms", run.id, run.priced.get(),
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            run.finish(RepricingStatus.FAILED, e.getMessage(), clock.instant());
+            log.error("Repricing run {} failed after {} products", run.id, run.priced.get(), e);
+        }
+    }
+
+    private void reprice(Run run, RuleSetSnapshot ruleSet, String category) {
+        Deque<ForkJoinTask<?>> pending = new ArrayDeque<>();
+        List<PriceLine> batch = new ArrayList<>(batchSize);
+        try (Stream<PriceLine> products = source.products(category)) {
+            Iterator<PriceLine> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == batchSize) {
+                    List<PriceLine> full = batch;
+                    pending.add(ForkJoinTask.adapt(() -> write(run, ruleSet, full)).fork());
+                    batch = new ArrayList<>(batchSize);
+                    if (pending.size() > MAX_PENDING_BATCHES) {
+                        pending.poll().join();
+                    }
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(run, ruleSet, batch);
+        }
+        while (!pending.isEmpty()) {
+            pending.poll().join();
+        }
+        run.categoriesDone.incrementAndGet();
+    }
+
+    private void write(Run run, RuleSetSnapshot ruleSet, List<PriceLine> batch) {
+        long at = run.pricedAt.toEpochMilli();
+        List<EffectivePrice> prices = new ArrayList<>(batch.size());
+        for (PriceLine line : batch) {
+            PriceQuote quote = ruleSet.price(line, null, at);
+            prices.add(EffectivePrice.of(line, quote, ruleSet, run.pricedAt));
+        }
+        store.write(prices);
+        run.priced.addAndGet(batch.size());
+        run.batches.incrementAndGet();
+    }
+
+    private static final class Run {
+
+        private final String id;
+        private final long ruleSetVersion;
+        private final Instant pricedAt;
+        private final Instant startedAt;
+        private final int categories;
+        private final AtomicInteger categoriesDone = new AtomicInteger();
+        private final AtomicLong priced = new AtomicLong();
+        private final AtomicLong batches = new AtomicLong();
+        private volatile RepricingStatus status = RepricingStatus.RUNNING;
+        private volatile Instant finishedAt;
+        private volatile String error;
+
+        Run(String id, long ruleSetVersion, Instant startedAt, int categories) {
+            this.id = id;
+            this.ruleSetVersion = ruleSetVersion;
+            this.pricedAt = startedAt;
+            this.startedAt = startedAt;
+            this.categories = categories;
+        }
+
+        void finish(RepricingStatus finalStatus, String failure, Instant at) {
+            error = failure;
+            finishedAt = at;
+            status = finalStatus;
+        }
+
+        RepricingProgress progress() {
+            return new RepricingProgress(id, status, ruleSetVersion, pricedAt, categories, categoriesDone.get(),
+                    priced.get(), batches.get(), startedAt, finishedAt, error);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.bitvelocity.pricing.repricing;
+
+import java.time.Instant;
+
+/**
+ * Where a repricing run stands.
+ *
+ * @param ruleSetVersion  the rule set every product of the run is priced with
+ * @param pricedAt        the instant products are priced at
+ * @param categories      categories to reprice
+ * @param categoriesDone  categories priced and written completely
+ * @param priced          products priced and written
+ * @param batches         batches written
+ * @param error           why the run failed; null unless FAILED
+ */
+public record RepricingProgress(String id, RepricingStatus status, long ruleSetVersion, Instant pricedAt,
+                                int categories, int categoriesDone, long priced, long batches,
+                                Instant startedAt, Instant finishedAt, String error) {
+}
@@ -0,0 +1,43 @@
+package com.bitvelocity.pricing.repricing;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "pricing-service.repricing")
+public class RepricingProperties {
+
+    /**
+     * Product source: generated (the local stand-in)
+     */
+    private String source = "generated";
+
+    /**
+     * Effective price store: memory
+     */
+    private String store = "memory";
+
+    /**
+     * Threads pricing and writing batches; 0 for one per core
+     */
+    private int parallelism = 0;
+
+    /**
+     * Products priced and written together
+     */
+    private int batchSize = 5_000;
+
+    /**
+     * Finished runs kept for progress queries
+     */
+    private int retainedRuns = 20;
+
+    private Generated generated = new Generated();
+
+    @Data
+    public static class Generated {
+
+        private int catalogSize = 100_000;
+        private int categoryCount = 200;
+    }
+}
@@ -0,0 +1,7 @@
+package com.bitvelocity.pricing.repricing;
+
+public enum RepricingStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,16 @@
+package com.bitvelocity.pricing.rule;
+
+public enum AdjustmentType {
+    /**
+     * The rule's value is the price
+     */
+    FIXED_PRICE,
+    /**
+     * The rule's value is a percentage taken off the base price
+     */
+    PERCENT_OFF,
+    /**
+     * The rule's value is an amount taken off the base price, floored at zero
+     */
+    AMOUNT_OFF
+}
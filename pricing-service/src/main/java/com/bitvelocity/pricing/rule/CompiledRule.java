@@ -0,0 +1,57 @@
+package com.bitvelocity.pricing.rule;
+
+import java.math.BigDecimal;
+
+/**
+ * A validated rule with its window as epoch millis and its value as a long: minor units for
+ * prices and amounts, basis points for percentages.
+ */
+final class CompiledRule {
+
+    private static final long BASIS_POINTS = 10_000;
+
+    final String id;
+    final String category;
+    final String segment;
+    final long start;
+    final long end;
+    final int priority;
+    final AdjustmentType type;
+    final long value;
+
+    CompiledRule(PriceRule rule) {
+        if (rule.id() == null || rule.id().isBlank()) {
+            throw new IllegalArgumentException("Every rule needs an id");
+        }
+        if (rule.type() == null || rule.value() == null || rule.value().signum() < 0) {
+            throw new IllegalArgumentException("Rule " + rule.id() + " needs a type and a non-negative value");
+        }
+        this.id = rule.id();
+        this.category = rule.sku() == null ? null : rule.category();
+        this.segment = rule.segment();
+        this.start = rule.startsAt() == null ? Long.MIN_VALUE : rule.startsAt().toEpochMilli();
+        this.end = rule.endsAt() == null ? Long.MAX_VALUE : rule.endsAt().toEpochMilli();
+        if (start >= end) {
+            throw new IllegalArgumentException("Rule " + rule.id() + " must start before it ends");
+        }
+        this.priority = rule.priority();
+        this.type = rule.type();
+        if (type == AdjustmentType.PERCENT_OFF && rule.value().compareTo(BigDecimal.valueOf(100)) > 0) {
+            throw new IllegalArgumentException("Rule " + rule.id() + " cannot take off more than 100%");
+        }
+        // Two decimals either way: cents, or a percentage in basis points
+        this.value = MinorUnits.of(rule.value());
+    }
+
+    /**
+     * @return the price this rule gives a line with the base price, both in minor units
+     */
+    long apply(long basePrice) {
+        return switch (type) {
+            case FIXED_PRICE -> value;
+            case AMOUNT_OFF -> Math.max(0, basePrice - value);
+            // Rounded half up
+            case PERCENT_OFF -> (basePrice * (BASIS_POINTS - value) + BASIS_POINTS / 2) / BASIS_POINTS;
+        };
+    }
+}
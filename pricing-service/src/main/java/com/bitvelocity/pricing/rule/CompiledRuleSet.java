@@ -0,0 +1,198 @@
+package com.bitvelocity.pricing.rule;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable evaluation structure for one version of the rule set: SKU rules bucketed by SKU,
+ * category rules by category and the rest in one global bucket, each bucket an
+ * {@link IntervalIndex} over the rules' windows. Pricing a line looks at three buckets and only
+ * the rules in them active at that instant, however many rules exist.
+ */
+final class CompiledRuleSet {
+
+    static final CompiledRuleSet EMPTY = compile(List.of(), 0);
+
+    private final long version;
+    private final int size;
+    private final Map<String, IntervalIndex> bySku;
+    private final Map<String, IntervalIndex> byCategory;
+    private final IntervalIndex global;
+
+    private CompiledRuleSet(long version, int size, Map<String, IntervalIndex> bySku,
+                            Map<String, IntervalIndex> byCategory, IntervalIndex global) {
+        this.version = version;
+        this.size = size;
+        this.bySku = bySku;
+        this.byCategory = byCategory;
+        this.global = global;
+    }
+
+    /**
+     * @throws IllegalArgumentException if a rule is invalid
+     */
+    static CompiledRuleSet compile(Collection<PriceRule> rules, long version) {
+        Map<String, List<CompiledRule>> skuBuckets = new HashMap<>();
+        Map<String, List<CompiledRule>> categoryBuckets = new HashMap<>();
+        List<CompiledRule> globalBucket = new ArrayList<>();
+        for (PriceRule rule : rules) {
+            CompiledRule compiled = new CompiledRule(rule);
+            if (rule.sku() != null) {
+                skuBuckets.computeIfAbsent(rule.sku(), sku -> new ArrayList<>()).add(compiled);
+            } else if (rule.category() != null) {
+                categoryBuckets.computeIfAbsent(rule.category(), category -> new ArrayList<>()).add(compiled);
+            } else {
+                globalBucket.add(compiled);
+            }
+        }
+        return new CompiledRuleSet(version, rules.size(), index(skuBuckets), index(categoryBuckets),
+                new IntervalIndex(globalBucket));
+    }
+
+    /**
+     * Returns a copy with one rule removed and/or one added, rebuilding only the buckets they
+     * belong to.
+     *
+     * @throws IllegalArgumentException if the added rule is invalid
+     */
+    CompiledRuleSet change(PriceRule removed, PriceRule added, long version) {
+        CompiledRule compiled = added == null ? null : new CompiledRule(added);
+        Map<String, IntervalIndex> skus = bySku;
+        Map<String, IntervalIndex> categories = byCategory;
+        IntervalIndex all = global;
+        if (removed != null) {
+            if (removed.sku() != null) {
+                skus = rebuilt(skus, removed.sku(), removed.id(), null);
+            } else if (removed.category() != null) {
+                categories = rebuilt(categories, removed.category(), removed.id(), null);
+            } else {
+                all = rebuilt(all, removed.id(), null);
+            }
+        }
+        if (compiled != null) {
+            if (added.sku() != null) {
+                skus = rebuilt(skus, added.sku(), null, compiled);
+            } else if (added.category() != null) {
+                categories = rebuilt(categories, added.category(), null, compiled);
+            } else {
+                all = rebuilt(all, null, compiled);
+            }
+        }
+        int changedSize = size - (removed == null ? 0 : 1) + (added == null ? 0 : 1);
+        return new CompiledRuleSet(version, changedSize, skus, categories, all);
+    }
+
+    long version() {
+        return version;
+    }
+
+    int size() {
+        return size;
+    }
+
+    PriceQuote price(PriceLine line, String segment, long at) {
+        Evaluation evaluation = new Evaluation(line, segment);
+        IntervalIndex skuRules = bySku.get(line.sku());
+        if (skuRules != null) {
+            skuRules.stab(at, evaluation);
+        }
+        IntervalIndex categoryRules = line.category() == null ? null : byCategory.get(line.category());
+        if (categoryRules != null) {
+            categoryRules.stab(at, evaluation);
+        }
+        global.stab(at, evaluation);
+        return evaluation.quote();
+    }
+
+    /**
+     * The first instant after at when the line's price may change: the end of a matching rule
+     * active at that instant, or the start of a later rule in its buckets (whatever its segment,
+     * so possibly earlier than needed).
+     *
+     * @return epoch millis, or Long.MAX_VALUE if the price holds indefinitely
+     */
+    long changesAt(PriceLine line, String segment, long at) {
+        long[] next = {Long.MAX_VALUE};
+        IntervalIndex.Visitor ends = rule -> {
+            if (matches(rule, line, segment)) {
+                next[0] = Math.min(next[0], rule.end);
+            }
+        };
+        for (IntervalIndex rules : new IntervalIndex[] {bySku.get(line.sku()),
+                line.category() == null ? null : byCategory.get(line.category()), global}) {
+            if (rules != null) {
+                rules.stab(at, ends);
+                next[0] = Math.min(next[0], rules.nextStartAfter(at));
+            }
+        }
+        return next[0];
+    }
+
+    private static boolean matches(CompiledRule rule, PriceLine line, String segment) {
+        return (rule.segment == null || rule.segment.equals(segment))
+                && (rule.category == null || rule.category.equals(line.category()));
+    }
+
+    private static Map<String, IntervalIndex> rebuilt(Map<String, IntervalIndex> indexes, String key,
+                                                      String removedId, CompiledRule added) {
+        Map<String, IntervalIndex> copy = new HashMap<>(indexes);
+        IntervalIndex index = rebuilt(indexes.get(key), removedId, added);
+        if (index.size() == 0) {
+            copy.remove(key);
+        } else {
+            copy.put(key, index);
+        }
+        return copy;
+    }
+
+    private static IntervalIndex rebuilt(IntervalIndex index, String removedId, CompiledRule added) {
+        List<CompiledRule> rules = new ArrayList<>(index == null ? List.of() : index.rules());
+        if (removedId != null) {
+            rules.removeIf(rule -> rule.id.equals(removedId));
+        }
+        if (added != null) {
+            rules.add(added);
+        }
+        return new IntervalIndex(rules);
+    }
+
+    private static Map<String, IntervalIndex> index(Map<String, List<CompiledRule>> buckets) {
+        Map<String, IntervalIndex> indexes = new HashMap<>(buckets.size() * 4 / 3 + 1);
+        buckets.forEach((key, bucket) -> indexes.put(key, new IntervalIndex(bucket)));
+        return indexes;
+    }
+
+    private static final class Evaluation implements IntervalIndex.Visitor {
+
+        private final PriceLine line;
+        private final String segment;
+        private CompiledRule winner;
+        private long price;
+
+        Evaluation(PriceLine line, String segment) {
+            this.line = line;
+            this.segment = segment;
+            this.price = line.basePrice();
+        }
+
+        @Override
+        public void visit(CompiledRule rule) {
+            if (!matches(rule, line, segment)) {
+                return;
+            }
+            long candidate = rule.apply(line.basePrice());
+            if (winner == null || rule.priority > winner.priority
+                    || (rule.priority == winner.priority && candidate < price)) {
+                winner = rule;
+                price = candidate;
+            }
+        }
+
+        PriceQuote quote() {
+            return new PriceQuote(line.sku(), line.basePrice(), price, winner == null ? null : winner.id);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.bitvelocity.pricing.rule;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Static interval tree over the time windows of one bucket of rules: the rules sorted by start,
+ * read as an implicit balanced tree (each range's middle element is its root) where every node
+ * also stores the latest end in its subtree. A stabbing query visits only the rules active at
+ * the instant plus O(log n) nodes, so a bucket with thousands of scheduled rules costs about as
+ * much as one with a few.
+ */
+final class IntervalIndex {
+
+    interface Visitor {
+        void visit(CompiledRule rule);
+    }
+
+    private final CompiledRule[] rules;
+    private final long[] starts;
+    private final long[] ends;
+    private final long[] maxEnds;
+
+    IntervalIndex(List<CompiledRule> bucket) {
+        rules = bucket.toArray(CompiledRule[]::new);
+        Arrays.sort(rules, Comparator.comparingLong(rule -> rule.start));
+        starts = new long[rules.length];
+        ends = new long[rules.length];
+        maxEnds = new long[rules.length];
+        for (int i = 0; i < rules.length; i++) {
+            starts[i] = rules[i].start;
+            ends[i] = rules[i].end;
+        }
+        build(0, rules.length);
+    }
+
+    int size() {
+        return rules.length;
+    }
+
+    List<CompiledRule> rules() {
+        return Arrays.asList(rules);
+    }
+
+    /**
+     * Visits every rule whose window contains the instant.
+     */
+    void stab(long at, Visitor visitor) {
+        stab(0, rules.length, at, visitor);
+    }
+
+    /**
+     * @return the earliest start after the instant, or Long.MAX_VALUE if no rule starts later
+     */
+    long nextStartAfter(long at) {
+        int lo = 0;
+        int hi = starts.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (starts[mid] <= at) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo < starts.length ? starts[lo] : Long.MAX_VALUE;
+    }
+
+    private void stab(int lo, int hi, long at, Visitor visitor) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (maxEnds[mid] <= at) {
+                // Every window in this subtree has ended
+                return;
+            }
+            stab(lo, mid, at, visitor);
+            if (starts[mid] > at) {
+                // Neither this rule nor any to its right has started
+                return;
+            }
+            if (at < ends[mid]) {
+                visitor.visit(rules[mid]);
+            }
+            lo = mid + 1;
+        }
+    }
+
+    private long build(int lo, int hi) {
+        if (lo >= hi) {
+            return Long.MIN_VALUE;
+        }
+        int mid = (lo + hi) >>> 1;
+        maxEnds[mid] = Math.max(ends[mid], Math.max(build(lo, mid), build(mid + 1, hi)));
+        return maxEnds[mid];
+    }
+}
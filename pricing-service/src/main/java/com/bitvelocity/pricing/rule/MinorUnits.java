@@ -0,0 +1,30 @@
+package com.bitvelocity.pricing.rule;
+
+import java.math.BigDecimal;
+
+/**
+ * Prices are evaluated as longs in minor units (cents) so the hot path does no BigDecimal math;
+ * amounts are converted at the API boundary.
+ */
+public final class MinorUnits {
+
+    public static final int SCALE = 2;
+
+    private MinorUnits() {
+    }
+
+    /**
+     * @throws IllegalArgumentException if the amount has more than two decimals or does not fit
+     */
+    public static long of(BigDecimal amount) {
+        try {
+            return amount.movePointRight(SCALE).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount must have at most " + SCALE + " decimals: " + amount);
+        }
+    }
+
+    public static BigDecimal toDecimal(long minor) {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+}
@@ -0,0 +1,7 @@
+package com.bitvelocity.pricing.rule;
+
+/**
+ * A line to price; basePrice is in minor units (cents).
+ */
+public record PriceLine(String sku, String category, long basePrice) {
+}
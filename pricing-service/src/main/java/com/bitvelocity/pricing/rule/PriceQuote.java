@@ -0,0 +1,7 @@
+package com.bitvelocity.pricing.rule;
+
+/**
+ * The price of one line, in minor units, and the rule that set it (null if none applied).
+ */
+public record PriceQuote(String sku, long basePrice, long price, String ruleId) {
+}
@@ -0,0 +1,16 @@
+package com.bitvelocity.pricing.rule;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * A price override. A rule applies to one SKU if sku is set, otherwise to one category if
+ * category is set, otherwise to every SKU; segment, if set, limits it to that customer segment,
+ * and startsAt/endsAt (either may be open) to that time window, end exclusive.
+ *
+ * Of the rules that apply to a line the one with the highest priority wins; among equals, the
+ * one giving the lowest price.
+ */
+public record PriceRule(String id, String sku, String category, String segment, Instant startsAt, Instant endsAt,
+                        int priority, AdjustmentType type, BigDecimal value) {
+}
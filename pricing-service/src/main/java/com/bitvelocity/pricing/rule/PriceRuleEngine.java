@@ -0,0 +1,121 @@
+package com.bitvelocity.pricing.rule;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Prices lines against the active rule set.
+ *
+ * Every change builds a new {@link CompiledRuleSet} and publishes it with one volatile write, so
+ * pricing never takes a lock and a request sees either the old rule set or the new one, never a
+ * mix. Changes are serialized; replacing the rule set compiles it from scratch, while changing
+ * one rule rebuilds only the buckets that rule is in.
+ */
+@Service
+@Slf4j
+public class PriceRuleEngine {
+
+    private final Clock clock;
+    private Map<String, PriceRule> rules = new LinkedHashMap<>();
+    private volatile CompiledRuleSet ruleSet = CompiledRuleSet.EMPTY;
+
+    public PriceRuleEngine(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Prices the lines against one version of the rule set.
+     *
+     * @param segment the customer segment; null matches only rules without one
+     * @param at      the instant to price at; null for now
+     */
+    public Quotation quote(List<PriceLine> lines, String segment, Instant at) {
+        CompiledRuleSet current = ruleSet;
+        long instant = (at == null ? clock.instant() : at).toEpochMilli();
+        List<PriceQuote> quotes = new ArrayList<>(lines.size());
+        for (PriceLine line : lines) {
+            quotes.add(current.price(line, segment, instant));
+        }
+        return new Quotation(current.version(), quotes);
+    }
+
+    public PriceQuote quote(PriceLine line, String segment, Instant at) {
+        return ruleSet.price(line, segment, (at == null ? clock.instant() : at).toEpochMilli());
+    }
+
+    public RuleSetSnapshot snapshot() {
+        return new RuleSetSnapshot(ruleSet);
+    }
+
+    /**
+     * Replaces every rule; nothing changes if any rule is invalid.
+     *
+     * @return the new rule set version
+     * @throws IllegalArgumentException if a rule is invalid or two share an id
+     */
+    public synchronized long replaceAll(Collection<PriceRule> replacement) {
+        Map<String, PriceRule> next = new LinkedHashMap<>();
+        for (PriceRule rule : replacement) {
+            if (next.put(rule.id(), rule) != null) {
+                throw new IllegalArgumentException("Duplicate rule id: " + rule.id());
+            }
+        }
+        long start = System.nanoTime();
+        CompiledRuleSet compiled = CompiledRuleSet.compile(next.values(), ruleSet.version() + 1);
+        log.info("Compiled {} price rules in {} ms", next.size(), (System.nanoTime() - start) / 1_000_000);
+        return publish(next, compiled);
+    }
+
+    /**
+     * Adds the rule or replaces the rule with its id.
+     *
+     * @return the new rule set version
+     * @throws IllegalArgumentException if the rule is invalid
+     */
+    public synchronized long put(PriceRule rule) {
+        Map<String, PriceRule> next = new LinkedHashMap<>(rules);
+        PriceRule previous = next.put(rule.id(), rule);
+        return publish(next, ruleSet.change(previous, rule, ruleSet.version() + 1));
+    }
+
+    /**
+     * @return false if there was no such rule
+     */
+    public synchronized boolean remove(String ruleId) {
+        if (!rules.containsKey(ruleId)) {
+            return false;
+        }
+        Map<String, PriceRule> next = new LinkedHashMap<>(rules);
+        PriceRule removed = next.remove(ruleId);
+        publish(next, ruleSet.change(removed, null, ruleSet.version() + 1));
+        return true;
+    }
+
+    public synchronized Optional<PriceRule> find(String ruleId) {
+        return Optional.ofNullable(rules.get(ruleId));
+    }
+
+    public synchronized List<PriceRule> rules() {
+        return List.copyOf(rules.values());
+    }
+
+    public long version() {
+        return ruleSet.version();
+    }
+
+    private long publish(Map<String, PriceRule> next, CompiledRuleSet compiled) {
+        rules = next;
+        ruleSet = compiled;
+        log.debug("Published price rule set v{} with {} rules", compiled.version(), compiled.size());
+        return compiled.version();
+    }
+}
@@ -0,0 +1,9 @@
+package com.bitvelocity.pricing.rule;
+
+import java.util.List;
+
+/**
+ * The prices of several lines, all evaluated against one version of the rule set.
+ */
+public record Quotation(long ruleSetVersion, List<PriceQuote> quotes) {
+}
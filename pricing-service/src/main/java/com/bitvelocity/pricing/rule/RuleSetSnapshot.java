@@ -0,0 +1,35 @@
+package com.bitvelocity.pricing.rule;
+
+/**
+ * One version of the rule set, for jobs that price many lines and must price all of them against
+ * the same rules while changes keep being published.
+ */
+public final class RuleSetSnapshot {
+
+    private final CompiledRuleSet ruleSet;
+
+    RuleSetSnapshot(CompiledRuleSet ruleSet) {
+        this.ruleSet = ruleSet;
+    }
+
+    public long version() {
+        return ruleSet.version();
+    }
+
+    /**
+     * @param segment the customer segment; null matches only rules without one
+     * @param at      the instant to price at, in epoch millis
+     */
+    public PriceQuote price(PriceLine line, String segment, long at) {
+        return ruleSet.price(line, segment, at);
+    }
+
+    /**
+     * The first instant after at when the line's price may change.
+     *
+     * @return epoch millis, or Long.MAX_VALUE if the price holds indefinitely
+     */
+    public long changesAt(PriceLine line, String segment, long at) {
+        return ruleSet.changesAt(line, segment, at);
+    }
+}
@@ -0,0 +1,21 @@
+-- Global redemption limit per promotion. allocated counts tokens handed to nodes in slabs;
+-- redeemed counts redemptions reconciled from the nodes. Nodes lock this row once per slab, never
+-- per redemption.
+CREATE TABLE IF NOT EXISTS promotion_limit (
+    promotion_code VARCHAR(100) PRIMARY KEY,
+    redemption_limit BIGINT NOT NULL,
+    allocated BIGINT NOT NULL DEFAULT 0,
+    redeemed BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL
+);
+
+-- One row per redemption, inserted in batches; append-only
+CREATE TABLE IF NOT EXISTS coupon_redemption (
+    id UUID PRIMARY KEY,
+    promotion_code VARCHAR(100) NOT NULL,
+    customer_id VARCHAR(100),
+    node_id VARCHAR(100) NOT NULL,
+    redeemed_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_coupon_redemption_promotion ON coupon_redemption (promotion_code, redeemed_at);
@@ -0,0 +1,128 @@
+package com.bitvelocity.pricing.benchmark;
+
+import com.bitvelocity.pricing.currency.ConvertedPriceCache;
+import com.bitvelocity.pricing.currency.CurrencyConversion;
+import com.bitvelocity.pricing.currency.CurrencyProperties;
+import com.bitvelocity.pricing.currency.CurrencyRate;
+import com.bitvelocity.pricing.currency.FxRateTable;
+import com.bitvelocity.testsupport.MutableClock;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.NumberFormat;
+import java.util.Currency;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cost of rendering one price in a storefront currency: converting it and formatting it for
+ * display. The converted price cache is measured against BigDecimal conversion and NumberFormat
+ * per render, the straightforward way.
+ *
+ * RENDERS renders pick one of SKUS SKUs, each with a fixed base price, and one of the currencies
+ * at random. Nanoseconds per render are printed, and the two ways must agree on every amount.
+ *
+ * To run: mvn test -pl pricing-service -Dtest=CurrencyConversionBenchmarkTest -Dbenchmark=true -Dsurefire.failIfNoSpecifiedTests=false
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Currency conversion benchmark (cache vs BigDecimal per render)")
+class CurrencyConversionBenchmarkTest {
+
+    private static final int SKUS = Integer.getInteger("benchmark.skus", 20_000);
+    private static final int RENDERS = Integer.getInteger("benchmark.renders", 2_000_000);
+
+    @Test
+    @DisplayName("Cached prices should render faster than converting with BigDecimal")
+    void compareWithBigDecimal() {
+        CurrencyProperties properties = new CurrencyProperties();
+        properties.setMaxHotSkus(SKUS);
+        ConvertedPriceCache cache = new ConvertedPriceCache(() -> Map.of(
+                "EUR", new BigDecimal("0.9215"), "GBP", new BigDecimal("0.7871"), "JPY", new BigDecimal("151.37"),
+                "INR", new BigDecimal("83.42"), "KWD", new BigDecimal("0.3078")), properties, new MutableClock());
+        FxRateTable table = cache.rates();
+        List<CurrencyRate> rates = table.rates();
+        NumberFormat[] formats = new NumberFormat[rates.size()];
+        for (int c = 0; c < rates.size(); c++) {
+            formats[c] = NumberFormat.getCurrencyInstance(Locale.US);
+            formats[c].setCurrency(Currency.getInstance(rates.get(c).code()));
+        }
+
+        Random random = new Random(42);
+        String[] skus = new String[SKUS];
+        long[] prices = new long[SKUS];
+        for (int s = 0; s < SKUS; s++) {
+            skus[s] = "SKU-" + s;
+            prices[s] = 100 + random.nextInt(500_000);
+        }
+        int[] renderSkus = new int[RENDERS];
+        int[] renderCurrencies = new int[RENDERS];
+        for (int r = 0; r < RENDERS; r++) {
+            renderSkus[r] = random.nextInt(SKUS);
+            renderCurrencies[r] = random.nextInt(rates.size());
+        }
+
+        long checksum = 0;
+        for (int warmup = 0; warmup < 3; warmup++) {
+            checksum += cached(cache, rates, skus, prices, renderSkus, renderCurrencies);
+            checksum += bigDecimal(rates, formats, prices, renderSkus, renderCurrencies, RENDERS / 10);
+        }
+        long start = System.nanoTime();
+        checksum += cached(cache, rates, skus, prices, renderSkus, renderCurrencies);
+        double cachedNs = (System.nanoTime() - start) / (double) RENDERS;
+        start = System.nanoTime();
+        checksum += bigDecimal(rates, formats, prices, renderSkus, renderCurrencies, RENDERS);
+        double bigDecimalNs = (System.nanoTime() - start) / (double) RENDERS;
+
+        for (int r = 0; r < RENDERS; r += 97) {
+            CurrencyRate rate = rates.get(renderCurrencies[r]);
+            long expected = BigDecimal.valueOf(prices[renderSkus[r]], 2).multiply(rate.rate())
+                    .setScale(rate.fractionDigits(), RoundingMode.HALF_UP).unscaledValue().longValueExact();
+            assertThat(cache.forCurrency(rate.code()).convert(skus[renderSkus[r]], prices[renderSkus[r]]))
+                    .isEqualTo(expected);
+        }
+
+        System.out.printf("Currency conversion: %d SKUs, %d currencies, %d renders (%d SKUs cached)%n",
+                SKUS, rates.size(), RENDERS, cache.hotSkus());
+        System.out.printf("  cached                %8.0f ns/render%n", cachedNs);
+        System.out.printf("  BigDecimal per render %8.0f ns/render (%.1fx slower)%n", bigDecimalNs,
+                bigDecimalNs / cachedNs);
+        System.out.println("  (checksum " + checksum + ")");
+        assertThat(cachedNs).isLessThan(bigDecimalNs);
+    }
+
+    private static long cached(ConvertedPriceCache cache, List<CurrencyRate> rates, String[] skus, long[] prices,
+                               int[] renderSkus, int[] renderCurrencies) {
+        CurrencyConversion[] conversions = new CurrencyConversion[rates.size()];
+        for (int c = 0; c < conversions.length; c++) {
+            conversions[c] = cache.forCurrency(rates.get(c).code());
+        }
+        long sum = 0;
+        for (int r = 0; r < renderSkus.length; r++) {
+            CurrencyConversion conversion = conversions[renderCurrencies[r]];
+            String sku = skus[renderSkus[r]];
+            sum += conversion.convert(sku, prices[renderSkus[r]]);
+            sum += conversion.format(sku, prices[renderSkus[r]]).length();
+        }
+        return sum;
+    }
+
+    private static long bigDecimal(List<CurrencyRate> rates, NumberFormat[] formats, long[] prices,
+                                   int[] renderSkus, int[] renderCurrencies, int renders) {
+        long sum = 0;
+        for (int r = 0; r < renders; r++) {
+            CurrencyRate rate = rates.get(renderCurrencies[r]);
+            BigDecimal amount = BigDecimal.valueOf(prices[renderSkus[r]], 2).multiply(rate.rate())
+                    .setScale(rate.fractionDigits(), RoundingMode.HALF_UP);
+            sum += amount.unscaledValue().longValue();
+            sum += formats[renderCurrencies[r]].format(amount).length();
+        }
+        return sum;
+    }
+}
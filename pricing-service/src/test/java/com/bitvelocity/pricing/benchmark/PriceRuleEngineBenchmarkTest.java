@@ -0,0 +1,142 @@
+package com.bitvelocity.pricing.benchmark;
+
+import com.bitvelocity.pricing.rule.AdjustmentType;
+import com.bitvelocity.pricing.rule.MinorUnits;
+import com.bitvelocity.pricing.rule.PriceLine;
+import com.bitvelocity.pricing.rule.PriceQuote;
+import com.bitvelocity.pricing.rule.PriceRule;
+import com.bitvelocity.pricing.rule.PriceRuleEngine;
+import com.bitvelocity.testsupport.MutableClock;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cost of pricing one cart line with RULES active rules: the compiled engine against a loop over
+ * every rule.
+ *
+ * Rules are spread over SKUs, categories and a few global segment rules, each with a time window
+ * somewhere in one day; lines are priced at random instants of that day. Compile time and
+ * nanoseconds per line are printed, and the two ways must agree on every price.
+ *
+ * To run: mvn test -pl pricing-service -Dtest=PriceRuleEngineBenchmarkTest -Dbenchmark=true -Dsurefire.failIfNoSpecifiedTests=false
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Price rule engine benchmark (compiled vs linear scan)")
+class PriceRuleEngineBenchmarkTest {
+
+    private static final int RULES = Integer.getInteger("benchmark.rules", 50_000);
+    private static final int SKUS = 20_000;
+    private static final int CATEGORIES = 500;
+    private static final int LINES = 200_000;
+    private static final Instant DAY = Instant.parse("2024-06-01T00:00:00Z");
+    private static final String[] SEGMENTS = {null, "VIP", "STUDENT", "EMPLOYEE"};
+
+    @Test
+    @DisplayName("Compiled evaluation should price a line in microseconds")
+    void compareWithLinearScan() {
+        Random random = new Random(42);
+        List<PriceRule> rules = new ArrayList<>(RULES);
+        for (int i = 0; i < RULES; i++) {
+            int kind = random.nextInt(100);
+            String sku = kind < 60 ? sku(random.nextInt(SKUS)) : null;
+            String category = kind >= 60 && kind < 99 ? category(random.nextInt(CATEGORIES)) : null;
+            Instant start = DAY.plusSeconds(random.nextInt(86_400));
+            rules.add(new PriceRule("rule-" + i, sku, category, SEGMENTS[random.nextInt(SEGMENTS.length)], start,
+                    start.plusSeconds(600 + random.nextInt(7_200)), random.nextInt(5),
+                    AdjustmentType.values()[random.nextInt(3)], BigDecimal.valueOf(1 + random.nextInt(50))));
+        }
+        PriceRuleEngine engine = new PriceRuleEngine(new MutableClock());
+        long start = System.nanoTime();
+        engine.replaceAll(rules);
+        long compileMs = (System.nanoTime() - start) / 1_000_000;
+
+        List<PriceLine> lines = new ArrayList<>(LINES);
+        List<Instant> instants = new ArrayList<>(LINES);
+        List<String> segments = new ArrayList<>(LINES);
+        for (int i = 0; i < LINES; i++) {
+            int sku = random.nextInt(SKUS);
+            lines.add(new PriceLine(sku(sku), category(sku % CATEGORIES), 1_000 + random.nextInt(100_000)));
+            instants.add(DAY.plusSeconds(random.nextInt(86_400)));
+            segments.add(SEGMENTS[random.nextInt(SEGMENTS.length)]);
+        }
+
+        long checksum = 0;
+        for (int warmup = 0; warmup < 3; warmup++) {
+            checksum += compiled(engine, lines, instants, segments);
+        }
+        start = System.nanoTime();
+        long compiledSum = compiled(engine, lines, instants, segments);
+        double compiledNs = (System.nanoTime() - start) / (double) LINES;
+
+        int scanned = LINES / 100;
+        start = System.nanoTime();
+        long scanSum = 0;
+        for (int i = 0; i < scanned; i++) {
+            long price = linearScan(rules, lines.get(i), segments.get(i), instants.get(i));
+            assertThat(price).isEqualTo(engine.quote(lines.get(i), segments.get(i), instants.get(i)).price());
+            scanSum += price;
+        }
+        double scanNs = (System.nanoTime() - start) / (double) scanned;
+
+        System.out.printf("Price rules: %d rules compiled in %d ms%n", RULES, compileMs);
+        System.out.printf("  compiled      %10.0f ns/line%n", compiledNs);
+        System.out.printf("  linear scan   %10.0f ns/line (%.0fx slower)%n", scanNs, scanNs / compiledNs);
+        System.out.println("  (checksum " + (checksum + compiledSum + scanSum) + ")");
+        assertThat(compiledNs).isLessThan(scanNs);
+    }
+
+    private static long compiled(PriceRuleEngine engine, List<PriceLine> lines, List<Instant> instants,
+                                 List<String> segments) {
+        long sum = 0;
+        for (int i = 0; i < lines.size(); i++) {
+            PriceQuote quote = engine.quote(lines.get(i), segments.get(i), instants.get(i));
+            sum += quote.price();
+        }
+        return sum;
+    }
+
+    /**
+     * What pricing looks like without compilation: every rule checked on every line.
+     */
+    private static long linearScan(List<PriceRule> rules, PriceLine line, String segment, Instant at) {
+        PriceRule winner = null;
+        long best = line.basePrice();
+        for (PriceRule rule : rules) {
+            boolean applies = rule.sku() != null ? rule.sku().equals(line.sku())
+                    : rule.category() == null || rule.category().equals(line.category());
+            if (!applies || (rule.segment() != null && !rule.segment().equals(segment))
+                    || at.isBefore(rule.startsAt()) || !at.isBefore(rule.endsAt())) {
+                continue;
+            }
+            long value = MinorUnits.of(rule.value());
+            long price = switch (rule.type()) {
+                case FIXED_PRICE -> value;
+                case AMOUNT_OFF -> Math.max(0, line.basePrice() - value);
+                case PERCENT_OFF -> (line.basePrice() * (10_000 - value) + 5_000) / 10_000;
+            };
+            if (winner == null || rule.priority() > winner.priority()
+                    || (rule.priority() == winner.priority() && price < best)) {
+                winner = rule;
+                best = price;
+            }
+        }
+        return best;
+    }
+
+    private static String sku(int i) {
+        return "SKU-" + i;
+    }
+
+    private static String category(int i) {
+        return "CAT-" + i;
+    }
+}
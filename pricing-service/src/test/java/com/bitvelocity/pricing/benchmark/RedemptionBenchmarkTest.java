@@ -0,0 +1,128 @@
+package com.bitvelocity.pricing.benchmark;
+
+import com.bitvelocity.pricing.coupon.CouponProperties;
+import com.bitvelocity.pricing.coupon.PromotionCounters;
+import com.bitvelocity.pricing.coupon.RedemptionLedger;
+import com.bitvelocity.pricing.exception.PromotionExhaustedException;
+import com.bitvelocity.pricing.repository.PromotionLimitRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A campaign of LIMIT redemptions hammered by THREADS threads: slab-claimed striped counters
+ * against the row-lock approach, where every redemption increments the promotion row and inserts
+ * its coupon_redemption row in one transaction.
+ *
+ * Both run until the promotion is exhausted; redemptions per second and how many were granted
+ * (which must equal LIMIT) are printed.
+ *
+ * To run: mvn test -pl pricing-service -Dtest=RedemptionBenchmarkTest -Dbenchmark=true -Dsurefire.failIfNoSpecifiedTests=false
+ */
+@SpringBootTest(properties = "logging.level.com.bitvelocity.pricing=INFO")
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Coupon redemption benchmark (striped slabs vs row lock per redemption)")
+class RedemptionBenchmarkTest {
+
+    private static final int LIMIT = Integer.getInteger("benchmark.limit", 200_000);
+    private static final int THREADS = Integer.getInteger("benchmark.threads", 16);
+
+    @Autowired
+    private PromotionLimitRepository limits;
+
+    @Autowired
+    private RedemptionLedger ledger;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("Striped slabs should redeem faster than a row lock per redemption")
+    void compareRedemption() throws Exception {
+        CouponProperties properties = new CouponProperties();
+        properties.setNodeId("bench");
+        PromotionCounters counters = new PromotionCounters(limits, ledger, properties, Clock.systemUTC());
+        String striped = "BENCH-" + UUID.randomUUID();
+        counters.setLimit(striped, LIMIT);
+        long start = System.nanoTime();
+        long stripedGranted = hammer(() -> {
+            try {
+                counters.redeem(striped, null);
+                return true;
+            } catch (PromotionExhaustedException e) {
+                return false;
+            }
+        });
+        double stripedSeconds = (System.nanoTime() - start) / 1e9;
+        start = System.nanoTime();
+        counters.flush();
+        double reconcileSeconds = (System.nanoTime() - start) / 1e9;
+
+        String locked = "BENCH-" + UUID.randomUUID();
+        counters.setLimit(locked, LIMIT);
+        start = System.nanoTime();
+        long lockedGranted = hammer(() -> Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            int updated = jdbcTemplate.update("""
+                    UPDATE promotion_limit SET redeemed = redeemed + 1
+                    WHERE promotion_code = ? AND redeemed < redemption_limit
+                    """, locked);
+            if (updated == 0) {
+                return false;
+            }
+            jdbcTemplate.update("""
+                    INSERT INTO coupon_redemption (id, promotion_code, node_id, redeemed_at) VALUES (?, ?, ?, ?)
+                    """, UUID.randomUUID(), locked, "bench", Timestamp.from(Instant.now()));
+            return true;
+        })));
+        double lockedSeconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("Redeeming a %d-redemption promotion with %d threads%n", LIMIT, THREADS);
+        System.out.printf("  striped slabs   %10.0f redemptions/s  (granted %d, reconciled in %.2f s)%n",
+                stripedGranted / stripedSeconds, stripedGranted, reconcileSeconds);
+        System.out.printf("  row lock        %10.0f redemptions/s  (granted %d)%n",
+                lockedGranted / lockedSeconds, lockedGranted);
+        assertThat(stripedGranted).isEqualTo(LIMIT);
+        assertThat(lockedGranted).isEqualTo(LIMIT);
+        assertThat(counters.usage(striped).redeemed()).isEqualTo(LIMIT);
+        assertThat(stripedSeconds).isLessThan(lockedSeconds);
+    }
+
+    private long hammer(Attempt attempt) throws InterruptedException {
+        AtomicLong granted = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            Thread.ofPlatform().start(() -> {
+                while (attempt.redeem()) {
+                    granted.incrementAndGet();
+                }
+                done.countDown();
+            });
+        }
+        assertThat(done.await(5, TimeUnit.MINUTES)).isTrue();
+        return granted.get();
+    }
+
+    @FunctionalInterface
+    private interface Attempt {
+        boolean redeem();
+    }
+}
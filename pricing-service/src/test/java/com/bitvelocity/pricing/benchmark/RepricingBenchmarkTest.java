@@ -0,0 +1,134 @@
+package com.bitvelocity.pricing.benchmark;
+
+import com.bitvelocity.pricing.repricing.EffectivePrice;
+import com.bitvelocity.pricing.repricing.EffectivePriceStore;
+import com.bitvelocity.pricing.repricing.GeneratedProductSource;
+import com.bitvelocity.pricing.repricing.RepricingPipeline;
+import com.bitvelocity.pricing.repricing.RepricingProgress;
+import com.bitvelocity.pricing.repricing.RepricingProperties;
+import com.bitvelocity.pricing.repricing.RepricingStatus;
+import com.bitvelocity.pricing.rule.AdjustmentType;
+import com.bitvelocity.pricing.rule.PriceLine;
+import com.bitvelocity.pricing.rule.PriceQuote;
+import com.bitvelocity.pricing.rule.PriceRule;
+import com.bitvelocity.pricing.rule.PriceRuleEngine;
+import com.bitvelocity.testsupport.MutableClock;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Time to reprice a catalog of SKUS products in CATEGORIES categories against RULES rules, with
+ * the batched parallel pipeline and with a loop that prices and writes one SKU at a time.
+ *
+ * Writes go to a store that charges WRITE_LATENCY_US per call, standing in for the round trip of
+ * a remote store. The per-SKU loop is timed over a sample and extrapolated to the catalog.
+ *
+ * To run: mvn test -pl pricing-service -Dtest=RepricingBenchmarkTest -Dbenchmark=true -Dsurefire.failIfNoSpecifiedTests=false
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Repricing benchmark (batched parallel pipeline vs per-SKU loop)")
+class RepricingBenchmarkTest {
+
+    private static final int SKUS = Integer.getInteger("benchmark.skus", 1_000_000);
+    private static final int CATEGORIES = 1_000;
+    private static final int RULES = 20_000;
+    private static final int WRITE_LATENCY_US = Integer.getInteger("benchmark.writeLatencyUs", 200);
+    private static final int LOOP_SAMPLE = 10_000;
+
+    @Test
+    @DisplayName("The pipeline should reprice a million SKUs in seconds")
+    void compareWithPerSkuLoop() throws Exception {
+        Random random = new Random(42);
+        MutableClock clock = new MutableClock();
+        Instant now = clock.instant();
+        List<PriceRule> rules = new ArrayList<>(RULES);
+        for (int i = 0; i < RULES; i++) {
+            boolean category = i % 10 == 0;
+            rules.add(new PriceRule("rule-" + i,
+                    category ? null : GeneratedProductSource.sku(random.nextInt(SKUS)),
+                    category ? GeneratedProductSource.category(random.nextInt(CATEGORIES)) : null,
+                    null, now.minusSeconds(3_600), now.plusSeconds(3_600), random.nextInt(3),
+                    AdjustmentType.PERCENT_OFF, BigDecimal.valueOf(1 + random.nextInt(40))));
+        }
+        PriceRuleEngine engine = new PriceRuleEngine(clock);
+        engine.replaceAll(rules);
+
+        RepricingProperties properties = new RepricingProperties();
+        properties.getGenerated().setCatalogSize(SKUS);
+        properties.getGenerated().setCategoryCount(CATEGORIES);
+        GeneratedProductSource source = new GeneratedProductSource(properties);
+        RemoteStore store = new RemoteStore();
+        RepricingPipeline pipeline = new RepricingPipeline(source, store, engine, properties, clock);
+
+        long start = System.nanoTime();
+        String runId = pipeline.start(null).id();
+        RepricingProgress progress = pipeline.find(runId).orElseThrow();
+        while (progress.status() == RepricingStatus.RUNNING) {
+            Thread.sleep(10);
+            progress = pipeline.find(runId).orElseThrow();
+        }
+        double pipelineSeconds = (System.nanoTime() - start) / 1e9;
+        pipeline.destroy();
+
+        RemoteStore loopStore = new RemoteStore();
+        int looped = 0;
+        start = System.nanoTime();
+        try (Stream<PriceLine> products = source.products(GeneratedProductSource.category(0))) {
+            Iterator<PriceLine> iterator = products.iterator();
+            while (iterator.hasNext() && looped < LOOP_SAMPLE) {
+                PriceLine line = iterator.next();
+                PriceQuote quote = engine.quote(line, null, now);
+                loopStore.write(List.of(EffectivePrice.of(line, quote, engine.snapshot(), now)));
+                looped++;
+            }
+        }
+        double loopSeconds = (System.nanoTime() - start) / 1e9 * SKUS / looped;
+
+        System.out.printf("Repricing %d SKUs in %d categories, %d rules, %d µs per store write%n",
+                SKUS, CATEGORIES, RULES, WRITE_LATENCY_US);
+        System.out.printf("  pipeline       %8.2f s  (%d batches, %.0f SKUs/s)%n", pipelineSeconds,
+                progress.batches(), SKUS / pipelineSeconds);
+        System.out.printf("  per-SKU loop   %8.2f s  (extrapolated from %d SKUs)%n", loopSeconds, looped);
+        assertThat(progress.status()).isEqualTo(RepricingStatus.COMPLETED);
+        assertThat(progress.priced()).isEqualTo(store.written.get()).isEqualTo(SKUS);
+        assertThat(pipelineSeconds).isLessThan(loopSeconds);
+    }
+
+    /**
+     * Counts what is written and charges a fixed latency per call.
+     */
+    private static final class RemoteStore implements EffectivePriceStore {
+
+        private final AtomicLong written = new AtomicLong();
+
+        @Override
+        public void write(List<EffectivePrice> batch) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(WRITE_LATENCY_US));
+            written.addAndGet(batch.size());
+        }
+
+        @Override
+        public List<EffectivePrice> findAll(List<String> skus) {
+            return new ArrayList<>();
+        }
+
+        @Override
+        public long size() {
+            return written.get();
+        }
+    }
+}
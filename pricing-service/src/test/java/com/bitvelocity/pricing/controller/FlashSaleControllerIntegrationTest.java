@@ -0,0 +1,106 @@
+package com.bitvelocity.pricing.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Flash Sale Controller Integration Tests")
+class FlashSaleControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("A running flash sale should show up in lookups and quotes until cancelled")
+    void testFlashSaleLifecycle() throws Exception {
+        // Given
+        Instant now = Instant.now();
+        mockMvc.perform(post("/api/v1/prices/flash-sales")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"id":"midnight","name":"Midnight Madness","startsAt":"%s","endsAt":"%s",
+                                 "items":[{"sku":"TV-001","price":"199.00"},{"sku":"TV-002","price":"299.00"}]}
+                                """.formatted(now.minusSeconds(60), now.plusSeconds(3_600))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.status", is("ACTIVE")))
+                .andExpect(jsonPath("$.itemCount", is(2)));
+
+        // When / Then
+        mockMvc.perform(post("/api/v1/prices/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"skus":["TV-001","RADIO-001"]}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", startsWith("max-age=")))
+                .andExpect(jsonPath("$.prices[0].price", is(199.00)))
+                .andExpect(jsonPath("$.prices[0].saleId", is("midnight")))
+                .andExpect(jsonPath("$.prices[1].sku", is("RADIO-001")))
+                .andExpect(jsonPath("$.prices[1].price").doesNotExist());
+        mockMvc.perform(post("/api/v1/prices/quote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"lines":[{"sku":"TV-002","basePrice":"499.00"}]}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lines[0].price", is(299.00)))
+                .andExpect(jsonPath("$.lines[0].ruleId", is("flash-sale:midnight")));
+
+        mockMvc.perform(delete("/api/v1/prices/flash-sales/midnight"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/v1/prices/flash-sales/midnight"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post("/api/v1/prices/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"skus":["TV-001"]}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.prices[0].price").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should return 400 for invalid sales and oversized lookups")
+    void testValidation() throws Exception {
+        Instant now = Instant.now();
+        mockMvc.perform(post("/api/v1/prices/flash-sales")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"id":"twice","startsAt":"%s","endsAt":"%s",
+                                 "items":[{"sku":"TV-001","price":1},{"sku":"TV-001","price":2}]}
+                                """.formatted(now, now.plusSeconds(60))))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/v1/prices/flash-sales")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"id":"no-items","startsAt":"%s","endsAt":"%s","items":[]}
+                                """.formatted(now, now.plusSeconds(60))))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/v1/prices/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"skus\":[" + "\"X\",".repeat(1_000) + "\"X\"]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should open a server-sent event stream for flash-sale notifications")
+    void testSubscribe() throws Exception {
+        mockMvc.perform(get("/sse/flash-sales").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+    }
+}
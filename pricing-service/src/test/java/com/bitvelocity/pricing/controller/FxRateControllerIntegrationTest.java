@@ -0,0 +1,88 @@
+package com.bitvelocity.pricing.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("FX Rate Controller Integration Tests")
+class FxRateControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Lookups should return prices converted and formatted in the requested currency")
+    void testLookupInCurrency() throws Exception {
+        // Given
+        Instant now = Instant.now();
+        mockMvc.perform(post("/api/v1/prices/flash-sales")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"id":"fx-sale","name":"Worldwide Sale","startsAt":"%s","endsAt":"%s",
+                                 "items":[{"sku":"FX-TV-001","price":"1999.00"}]}
+                                """.formatted(now.minusSeconds(60), now.plusSeconds(3_600))))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/api/v1/prices/fx-rates"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.base", is("USD")))
+                .andExpect(jsonPath("$.rates[0].currency", is("USD")))
+                .andExpect(jsonPath("$.rates[?(@.currency == 'JPY')].fractionDigits", contains(0)));
+
+        // When / Then
+        mockMvc.perform(post("/api/v1/prices/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"skus":["FX-TV-001"],"currency":"EUR"}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.currency", is("EUR")))
+                .andExpect(jsonPath("$.fxRateVersion", is(1)))
+                .andExpect(jsonPath("$.prices[0].price", is(1842.08)))
+                .andExpect(jsonPath("$.prices[0].formattedPrice", is("€1,842.08")));
+        mockMvc.perform(post("/api/v1/prices/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"skus":["FX-TV-001"],"currency":"JPY"}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.prices[0].price", is(302589)))
+                .andExpect(jsonPath("$.prices[0].formattedPrice", is("¥302,589")));
+        mockMvc.perform(post("/api/v1/prices/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"skus":["FX-TV-001"]}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.currency", is("USD")))
+                .andExpect(jsonPath("$.prices[0].formattedPrice", is("$1,999.00")));
+        mockMvc.perform(post("/api/v1/prices/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"skus":["FX-TV-001"],"currency":"SEK"}
+                                """))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/v1/prices/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"skus":["FX-TV-001"],"currency":"euro"}
+                                """))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(delete("/api/v1/prices/flash-sales/fx-sale"))
+                .andExpect(status().isNoContent());
+    }
+}
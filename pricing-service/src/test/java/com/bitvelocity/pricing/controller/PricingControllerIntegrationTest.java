@@ -0,0 +1,88 @@
+package com.bitvelocity.pricing.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Pricing Controller Integration Tests")
+class PricingControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Should quote cart lines against the published rules")
+    void testRulesAndQuote() throws Exception {
+        // Given
+        mockMvc.perform(put("/api/v1/prices/rules")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"rules":[
+                                  {"id":"laptops","category":"LAPTOPS","type":"PERCENT_OFF","value":10},
+                                  {"id":"vip-mouse","sku":"MOUSE-001","segment":"VIP","priority":1,"type":"FIXED_PRICE","value":"9.99"}]}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ruleCount", is(2)));
+
+        // When / Then
+        mockMvc.perform(post("/api/v1/prices/quote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"segment":"VIP","lines":[
+                                  {"sku":"LAPTOP-001","category":"LAPTOPS","basePrice":"999.00"},
+                                  {"sku":"MOUSE-001","category":"ACCESSORIES","basePrice":"29.99"},
+                                  {"sku":"CABLE-001","basePrice":"5.00"}]}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ruleSetVersion", greaterThan(0)))
+                .andExpect(jsonPath("$.lines[0].price", is(899.10)))
+                .andExpect(jsonPath("$.lines[0].ruleId", is("laptops")))
+                .andExpect(jsonPath("$.lines[1].price", is(9.99)))
+                .andExpect(jsonPath("$.lines[2].price", is(5.00)))
+                .andExpect(jsonPath("$.lines[2].ruleId").doesNotExist());
+
+        mockMvc.perform(delete("/api/v1/prices/rules/vip-mouse"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/v1/prices/rules/vip-mouse"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/v1/prices/rules/laptops"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.type", is("PERCENT_OFF")));
+    }
+
+    @Test
+    @DisplayName("Should return 400 for invalid rules and quotes")
+    void testValidation() throws Exception {
+        mockMvc.perform(post("/api/v1/prices/rules")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"id":"bad","type":"PERCENT_OFF","value":150}
+                                """))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/v1/prices/rules")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"id":"bad","type":"HALF_PRICE","value":1}
+                                """))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/v1/prices/quote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"lines":[{"sku":"X","basePrice":-1}]}
+                                """))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.validationErrors", hasSize(1)));
+    }
+}
@@ -0,0 +1,71 @@
+package com.bitvelocity.pricing.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Promotion Controller Integration Tests")
+class PromotionControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Should redeem a promotion until its limit and then refuse")
+    void testRedeemUntilLimit() throws Exception {
+        // Given
+        mockMvc.perform(post("/api/v1/prices/promotions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"code":"FIRST-2","limit":2}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.limit", is(2)));
+
+        // When / Then
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/v1/prices/promotions/FIRST-2/redemptions")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                    {"customerId":"CUST-001"}
+                                    """))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.id", notNullValue()))
+                    .andExpect(jsonPath("$.customerId", is("CUST-001")));
+        }
+        mockMvc.perform(post("/api/v1/prices/promotions/FIRST-2/redemptions"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.additionalInfo.promotionCode", is("FIRST-2")));
+        mockMvc.perform(get("/api/v1/prices/promotions/FIRST-2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.allocated", is(2)))
+                .andExpect(jsonPath("$.localTokens", is(0)));
+    }
+
+    @Test
+    @DisplayName("Should return 404 for unknown promotions and 400 for invalid limits")
+    void testErrors() throws Exception {
+        mockMvc.perform(post("/api/v1/prices/promotions/NOPE/redemptions"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/v1/prices/promotions/NOPE"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post("/api/v1/prices/promotions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"code":"NEGATIVE","limit":-1}
+                                """))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,76 @@
+package com.bitvelocity.pricing.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Repricing Controller Integration Tests")
+class RepricingControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("A category promotion should reach price lookups after repricing its category")
+    void testRepriceCategory() throws Exception {
+        // Given
+        mockMvc.perform(post("/api/v1/prices/rules")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"id":"cat-002-fixed","category":"CAT-002","type":"FIXED_PRICE","value":"4.99"}
+                                """))
+                .andExpect(status().isOk());
+
+        // When
+        String body = mockMvc.perform(post("/api/v1/prices/repricing")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"categories":["CAT-002"]}
+                                """))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.categories", is(1)))
+                .andReturn().getResponse().getContentAsString();
+        String runId = objectMapper.readTree(body).get("id").asText();
+
+        // Then
+        JsonNode run = objectMapper.readTree(body);
+        for (int attempt = 0; attempt < 200 && "RUNNING".equals(run.get("status").asText()); attempt++) {
+            Thread.sleep(10);
+            run = objectMapper.readTree(mockMvc.perform(get("/api/v1/prices/repricing/" + runId))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+        }
+        assertThat(run.get("status").asText()).isEqualTo("COMPLETED");
+        assertThat(run.get("priced").asLong()).isEqualTo(200);
+
+        mockMvc.perform(post("/api/v1/prices/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"skus":["SKU-0000002","SKU-0000003"]}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.prices[0].price", is(4.99)))
+                .andExpect(jsonPath("$.prices[0].ruleId", is("cat-002-fixed")))
+                .andExpect(jsonPath("$.prices[1].price").doesNotExist());
+        mockMvc.perform(get("/api/v1/prices/repricing/missing"))
+                .andExpect(status().isNotFound());
+    }
+}
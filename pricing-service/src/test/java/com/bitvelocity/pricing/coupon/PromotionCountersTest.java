@@ -0,0 +1,168 @@
+package com.bitvelocity.pricing.coupon;
+
+import com.bitvelocity.pricing.exception.PromotionExhaustedException;
+import com.bitvelocity.pricing.exception.PromotionNotFoundException;
+import com.bitvelocity.pricing.repository.CouponRedemptionRepository;
+import com.bitvelocity.pricing.repository.PromotionLimitRepository;
+import com.bitvelocity.testsupport.MutableClock;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Promotion Counters Tests")
+class PromotionCountersTest {
+
+    @Autowired
+    private PromotionLimitRepository limits;
+
+    @Autowired
+    private CouponRedemptionRepository redemptions;
+
+    @Autowired
+    private RedemptionLedger ledger;
+
+    private final MutableClock clock = new MutableClock();
+
+    @Test
+    @DisplayName("Concurrent redemptions on several instances should stop exactly at the limit")
+    void shouldEnforceGlobalLimit() throws Exception {
+        // Given: 3 instances, 8 threads each, limit 1000 claimed in slabs of 37
+        String code = code();
+        List<PromotionCounters> nodes = List.of(node(37, 0), node(37, 0), node(37, 0));
+        nodes.get(0).setLimit(code, 1_000);
+
+        // When: every thread redeems until its instance refuses
+        ExecutorService executor = Executors.newFixedThreadPool(24);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (PromotionCounters node : nodes) {
+            for (int t = 0; t < 8; t++) {
+                results.add(executor.submit(() -> redeemUntilRefused(node, code)));
+            }
+        }
+        int redeemed = 0;
+        for (Future<Integer> result : results) {
+            redeemed += result.get();
+        }
+        executor.shutdown();
+        nodes.forEach(PromotionCounters::flush);
+
+        // Then
+        assertThat(redeemed).isEqualTo(1_000);
+        PromotionUsage usage = nodes.get(0).usage(code);
+        assertThat(usage.redeemed()).isEqualTo(1_000);
+        assertThat(usage.allocated()).isEqualTo(1_000);
+        assertThat(usage.localPending()).isZero();
+        assertThat(redemptions.countByPromotion(code)).isEqualTo(1_000);
+    }
+
+    @Test
+    @DisplayName("Overshoot should be granted only while other instances hold tokens, and never beyond the bound")
+    void shouldBoundOvershoot() {
+        // Given: instance A holds a slab it has barely used
+        String code = code();
+        PromotionCounters a = node(30, 10);
+        PromotionCounters b = node(30, 10);
+        a.setLimit(code, 100);
+        a.redeem(code, "early");
+
+        // When
+        int redeemedByB = redeemUntilRefused(b, code);
+        int redeemedByA = 1 + redeemUntilRefused(a, code);
+
+        // Then: B went 10 past the 70 left to it while A held 29 unused; A spent its slab
+        assertThat(redeemedByB).isEqualTo(80);
+        assertThat(redeemedByA + redeemedByB).isEqualTo(110);
+        a.flush();
+        b.flush();
+        assertThat(a.usage(code).redeemed()).isEqualTo(110);
+    }
+
+    @Test
+    @DisplayName("Without overshoot the limit should hold even while another instance holds tokens")
+    void shouldNotOvershootByDefault() {
+        String code = code();
+        PromotionCounters a = node(30, 0);
+        PromotionCounters b = node(30, 0);
+        a.setLimit(code, 100);
+        a.redeem(code, "early");
+
+        assertThat(redeemUntilRefused(b, code)).isEqualTo(70);
+        assertThat(1 + redeemUntilRefused(a, code)).isEqualTo(30);
+    }
+
+    @Test
+    @DisplayName("Unused tokens of an idle instance should go back to the global limit")
+    void shouldReleaseIdleTokens() {
+        // Given
+        String code = code();
+        PromotionCounters a = node(50, 0);
+        PromotionCounters b = node(50, 0);
+        a.setLimit(code, 60);
+        a.redeem(code, "early");
+        assertThat(a.usage(code).allocated()).isEqualTo(50);
+
+        // When
+        clock.advance(new CouponProperties().getIdleReleaseMs());
+        a.flush();
+
+        // Then
+        PromotionUsage usage = a.usage(code);
+        assertThat(usage.allocated()).isEqualTo(1);
+        assertThat(usage.redeemed()).isEqualTo(1);
+        assertThat(usage.localTokens()).isZero();
+        assertThat(redeemUntilRefused(b, code)).isEqualTo(59);
+    }
+
+    @Test
+    @DisplayName("A raised limit should be picked up after the promotion was exhausted")
+    void shouldRecheckExhaustedPromotion() {
+        String code = code();
+        PromotionCounters node = node(10, 0);
+        node.setLimit(code, 3);
+        assertThat(redeemUntilRefused(node, code)).isEqualTo(3);
+
+        node.setLimit(code, 5);
+
+        assertThat(redeemUntilRefused(node, code)).isEqualTo(2);
+        assertThatThrownBy(() -> node.redeem("NO-SUCH-PROMOTION", null))
+                .isInstanceOf(PromotionNotFoundException.class);
+    }
+
+    private PromotionCounters node(int slabSize, long maxOvershoot) {
+        CouponProperties properties = new CouponProperties();
+        properties.setNodeId("node-" + UUID.randomUUID());
+        properties.setSlabSize(slabSize);
+        properties.setMaxOvershoot(maxOvershoot);
+        properties.setStripes(4);
+        return new PromotionCounters(limits, ledger, properties, clock);
+    }
+
+    private static int redeemUntilRefused(PromotionCounters node, String code) {
+        int redeemed = 0;
+        while (true) {
+            try {
+                node.redeem(code, null);
+                redeemed++;
+            } catch (PromotionExhaustedException e) {
+                return redeemed;
+            }
+        }
+    }
+
+    private static String code() {
+        return "PROMO-" + UUID.randomUUID();
+    }
+}
@@ -0,0 +1,152 @@
+package com.bitvelocity.pricing.currency;
+
+import com.bitvelocity.testsupport.MutableClock;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ConvertedPriceCache Unit Tests")
+class ConvertedPriceCacheTest {
+
+    private final AtomicReference<Map<String, BigDecimal>> rates = new AtomicReference<>(Map.of(
+            "EUR", new BigDecimal("0.9215"),
+            "JPY", new BigDecimal("151.37"),
+            "KWD", new BigDecimal("0.3078")));
+
+    @Test
+    @DisplayName("Should convert into each currency's minor units, rounding half up")
+    void shouldConvertWithMinorUnits() {
+        // Given
+        ConvertedPriceCache cache = cache(100);
+
+        // When / Then
+        assertThat(cache.forCurrency("EUR").convert("SKU-1", 1_999)).isEqualTo(1_842);
+        assertThat(cache.forCurrency("JPY").convert("SKU-1", 1_999)).isEqualTo(3_026);
+        assertThat(cache.forCurrency("KWD").convert("SKU-1", 1_999)).isEqualTo(6_153);
+        assertThat(cache.forCurrency(null).convert("SKU-1", 1_999)).isEqualTo(1_999);
+        assertThat(cache.forCurrency("KWD").toDecimal(6_153)).isEqualByComparingTo("6.153");
+
+        rates.set(Map.of("EUR", new BigDecimal("0.5")));
+        cache.refresh();
+        assertThat(cache.forCurrency("EUR").convert("SKU-2", 1)).isEqualTo(1);
+        assertThat(cache.forCurrency("EUR").convert("SKU-3", 3)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should format prices with symbol, grouping and the currency's decimals")
+    void shouldFormat() {
+        // Given
+        ConvertedPriceCache cache = cache(100);
+
+        // When / Then
+        assertThat(cache.forCurrency("USD").format("SKU-1", 123_456_789)).isEqualTo("$1,234,567.89");
+        assertThat(cache.forCurrency("USD").format("SKU-2", 5)).isEqualTo("$0.05");
+        assertThat(cache.forCurrency("EUR").format("SKU-2", 100_000)).isEqualTo("€921.50");
+        assertThat(cache.forCurrency("JPY").format("SKU-3", 1_000_000)).isEqualTo("¥1,513,700");
+    }
+
+    @Test
+    @DisplayName("A rate update should swap in recomputed prices without touching conversions in flight")
+    void shouldRefreshAtomically() {
+        // Given
+        ConvertedPriceCache cache = cache(100);
+        CurrencyConversion before = cache.forCurrency("EUR");
+        assertThat(before.format("SKU-1", 10_000)).isEqualTo("€92.15");
+
+        // When
+        boolean unchanged = cache.refresh();
+        before.convert("SKU-1", 10_000);
+        rates.set(Map.of("EUR", new BigDecimal("1.10"), "JPY", new BigDecimal("151.37"),
+                "KWD", new BigDecimal("0.3078")));
+        boolean changed = cache.refresh();
+
+        // Then
+        assertThat(unchanged).isFalse();
+        assertThat(changed).isTrue();
+        assertThat(cache.rates().version()).isEqualTo(2);
+        assertThat(cache.hotSkus()).isEqualTo(1);
+        assertThat(before.rateVersion()).isEqualTo(1);
+        assertThat(before.convert("SKU-1", 10_000)).isEqualTo(9_215);
+        CurrencyConversion after = cache.forCurrency("EUR");
+        assertThat(after.rateVersion()).isEqualTo(2);
+        assertThat(after.convert("SKU-1", 10_000)).isEqualTo(11_000);
+        assertThat(after.format("SKU-1", 10_000)).isEqualTo("€110.00");
+        assertThat(after.convert("SKU-1", 20_000)).isEqualTo(22_000);
+    }
+
+    @Test
+    @DisplayName("Should keep the current rates when a reload is invalid and reject unknown currencies")
+    void shouldRejectInvalidRates() {
+        // Given
+        ConvertedPriceCache cache = cache(100);
+
+        // When
+        rates.set(Map.of("EUR", new BigDecimal("-1")));
+        boolean negative = cache.refresh();
+        rates.set(Map.of("XXX", BigDecimal.ONE));
+        boolean noMinorUnit = cache.refresh();
+        rates.set(Map.of("USD", BigDecimal.TEN));
+        boolean base = cache.refresh();
+
+        // Then
+        assertThat(negative).isFalse();
+        assertThat(noMinorUnit).isFalse();
+        assertThat(base).isFalse();
+        assertThat(cache.rates().version()).isEqualTo(1);
+        assertThat(cache.forCurrency("EUR").convert("SKU-1", 10_000)).isEqualTo(9_215);
+        assertThatThrownBy(() -> cache.forCurrency("CHF"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("CHF");
+    }
+
+    @Test
+    @DisplayName("Should keep at most max-hot-skus SKUs and drop those not looked up since the last refresh")
+    void shouldBoundHotSkus() {
+        // Given
+        ConvertedPriceCache cache = cache(2);
+        CurrencyConversion jpy = cache.forCurrency("JPY");
+
+        // When
+        jpy.convert("SKU-1", 1_000);
+        jpy.convert("SKU-2", 1_000);
+        long uncached = jpy.convert("SKU-3", 1_000);
+
+        // Then
+        assertThat(uncached).isEqualTo(1_514);
+        assertThat(cache.hotSkus()).isEqualTo(2);
+        cache.refresh();
+        assertThat(cache.hotSkus()).isEqualTo(2);
+        jpy.convert("SKU-1", 1_000);
+        cache.refresh();
+        assertThat(cache.hotSkus()).isEqualTo(1);
+        cache.refresh();
+        assertThat(cache.hotSkus()).isZero();
+    }
+
+    @Test
+    @DisplayName("Amounts too large for long arithmetic should convert exactly")
+    void shouldConvertLargeAmounts() {
+        // Given
+        CurrencyRate jpy = new CurrencyRate("JPY", new BigDecimal("151.37"));
+        long amount = Long.MAX_VALUE / 1_000;
+
+        // When
+        long converted = jpy.convert(amount);
+
+        // Then
+        assertThat(converted).isEqualTo(BigDecimal.valueOf(amount).multiply(new BigDecimal("151.37"))
+                .divide(BigDecimal.valueOf(100), 0, RoundingMode.HALF_UP).longValueExact());
+    }
+
+    private ConvertedPriceCache cache(int maxHotSkus) {
+        CurrencyProperties properties = new CurrencyProperties();
+        properties.setMaxHotSkus(maxHotSkus);
+        return new ConvertedPriceCache(rates::get, properties, new MutableClock());
+    }
+}
@@ -0,0 +1,208 @@
+package com.bitvelocity.pricing.flashsale;
+
+import com.bitvelocity.pricing.event.FlashSaleEndedEvent;
+import com.bitvelocity.pricing.event.FlashSaleStartedEvent;
+import com.bitvelocity.pricing.rule.PriceQuote;
+import com.bitvelocity.pricing.rule.Quotation;
+import com.bitvelocity.testsupport.MutableClock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("FlashSalePriceMap Unit Tests")
+class FlashSalePriceMapTest {
+
+    private final List<Object> events = new CopyOnWriteArrayList<>();
+    private FlashSalePriceMap priceMap;
+
+    @AfterEach
+    void tearDown() {
+        priceMap.destroy();
+    }
+
+    @Test
+    @DisplayName("Should put prices live at the sale start and withdraw them at its end")
+    void shouldActivateOnSchedule() throws Exception {
+        // Given
+        priceMap = priceMap(Clock.systemUTC());
+        Instant now = Instant.now();
+        FlashSale sale = sale("sale-1", now.plusMillis(200), now.plusMillis(600), Map.of("SKU-1", 500L));
+
+        // When
+        FlashSaleStatus status = priceMap.schedule(sale);
+
+        // Then
+        assertThat(status).isEqualTo(FlashSaleStatus.SCHEDULED);
+        assertThat(priceMap.current("SKU-1")).isNull();
+        await(() -> priceMap.current("SKU-1") != null);
+        assertThat(priceMap.current("SKU-1").price()).isEqualTo(500L);
+        assertThat(priceMap.find("sale-1")).map(FlashSaleState::status).contains(FlashSaleStatus.ACTIVE);
+        await(() -> priceMap.find("sale-1").isEmpty());
+        assertThat(priceMap.current("SKU-1")).isNull();
+        assertThat(priceMap.size()).isZero();
+        assertThat(events).hasSize(2);
+        assertThat(events.get(0)).isInstanceOfSatisfying(FlashSaleStartedEvent.class,
+                e -> assertThat(e.skuCount()).isEqualTo(1));
+        assertThat(events.get(1)).isInstanceOfSatisfying(FlashSaleEndedEvent.class,
+                e -> assertThat(e.cancelled()).isFalse());
+    }
+
+    @Test
+    @DisplayName("An entry should never be served outside its sale window, even before its end timer fires")
+    void shouldHonorWindowWithoutTimer() {
+        // Given
+        MutableClock clock = new MutableClock();
+        priceMap = priceMap(clock);
+        priceMap.schedule(sale("sale-1", clock.instant().minusSeconds(1), clock.instant().plusSeconds(60),
+                Map.of("SKU-1", 500L)));
+        assertThat(priceMap.current("SKU-1")).isNotNull();
+
+        // When - the wall clock has not moved, so the end timer is still a minute away
+        clock.advance(60_000);
+
+        // Then
+        assertThat(priceMap.current("SKU-1")).isNull();
+        assertThat(priceMap.lookup(List.of("SKU-1")).prices()).containsExactly((FlashSalePrice) null);
+    }
+
+    @Test
+    @DisplayName("Overlapping sales should serve the cheapest price and fall back when it ends")
+    void shouldServeCheapestOverlappingSale() {
+        // Given
+        MutableClock clock = new MutableClock();
+        priceMap = priceMap(clock);
+        Instant now = clock.instant();
+        priceMap.schedule(sale("big", now, now.plusSeconds(3_600), Map.of("SKU-1", 800L, "SKU-2", 900L)));
+        priceMap.schedule(sale("deep", now, now.plusSeconds(600), Map.of("SKU-1", 500L)));
+
+        // When / Then
+        assertThat(priceMap.current("SKU-1").saleId()).isEqualTo("deep");
+        assertThat(priceMap.current("SKU-2").saleId()).isEqualTo("big");
+
+        assertThat(priceMap.cancel("deep")).isTrue();
+        assertThat(priceMap.current("SKU-1").saleId()).isEqualTo("big");
+        assertThat(priceMap.current("SKU-1").price()).isEqualTo(800L);
+        assertThat(priceMap.cancel("deep")).isFalse();
+        assertThat(events).filteredOn(FlashSaleEndedEvent.class::isInstance)
+                .singleElement()
+                .satisfies(e -> assertThat(((FlashSaleEndedEvent) e).cancelled()).isTrue());
+    }
+
+    @Test
+    @DisplayName("Lookup should be valid until the earliest returned end or the next start, capped by the TTL")
+    void shouldBoundLookupValidity() {
+        // Given
+        MutableClock clock = new MutableClock();
+        priceMap = priceMap(clock);
+        Instant now = clock.instant();
+        priceMap.schedule(sale("running", now, now.plusSeconds(2), Map.of("SKU-1", 500L)));
+        priceMap.schedule(sale("later", now.plusSeconds(3), now.plusSeconds(60), Map.of("SKU-2", 100L)));
+
+        // When
+        FlashSaleLookup withRunning = priceMap.lookup(List.of("SKU-1", "SKU-2"));
+        FlashSaleLookup withoutRunning = priceMap.lookup(List.of("SKU-2"));
+        priceMap.cancel("later");
+        FlashSaleLookup quiet = priceMap.lookup(List.of("SKU-2"));
+
+        // Then
+        assertThat(withRunning.prices()).extracting(price -> price == null ? null : price.saleId())
+                .containsExactly("running", null);
+        assertThat(withRunning.validUntil()).isEqualTo(now.plusSeconds(2));
+        assertThat(withoutRunning.validUntil()).isEqualTo(now.plusSeconds(3));
+        assertThat(quiet.validUntil()).isEqualTo(now.plusMillis(new FlashSaleProperties().getMaxCacheTtlMs()));
+    }
+
+    @Test
+    @DisplayName("Quotes should take a running flash-sale price only where it is cheaper")
+    void shouldApplyToQuotation() {
+        // Given
+        MutableClock clock = new MutableClock();
+        priceMap = priceMap(clock);
+        Instant now = clock.instant();
+        priceMap.schedule(sale("sale-1", now, now.plusSeconds(60), Map.of("SKU-1", 500L, "SKU-2", 900L)));
+        Quotation quotation = new Quotation(3, List.of(
+                new PriceQuote("SKU-1", 1_000, 700, "rule-1"),
+                new PriceQuote("SKU-2", 1_000, 800, "rule-2"),
+                new PriceQuote("SKU-3", 1_000, 1_000, null)));
+
+        // When
+        Quotation applied = priceMap.applyTo(quotation, null);
+        Quotation afterSale = priceMap.applyTo(quotation, now.plusSeconds(60));
+
+        // Then
+        assertThat(applied.quotes()).extracting(PriceQuote::price).containsExactly(500L, 800L, 1_000L);
+        assertThat(applied.quotes().get(0).ruleId()).isEqualTo("flash-sale:sale-1");
+        assertThat(applied.ruleSetVersion()).isEqualTo(3);
+        assertThat(afterSale).isSameAs(quotation);
+    }
+
+    @Test
+    @DisplayName("Quotes for a future instant should take the sales scheduled for it")
+    void shouldApplyScheduledSaleToFutureQuotation() {
+        // Given
+        MutableClock clock = new MutableClock();
+        priceMap = priceMap(clock);
+        Instant now = clock.instant();
+        priceMap.schedule(sale("now", now, now.plusSeconds(60), Map.of("SKU-1", 900L)));
+        priceMap.schedule(sale("tonight", now.plusSeconds(3_600), now.plusSeconds(7_200), Map.of("SKU-1", 500L)));
+        Quotation quotation = new Quotation(1, List.of(new PriceQuote("SKU-1", 1_000, 1_000, null)));
+
+        // When
+        Quotation current = priceMap.applyTo(quotation, null);
+        Quotation between = priceMap.applyTo(quotation, now.plusSeconds(600));
+        Quotation tonight = priceMap.applyTo(quotation, now.plusSeconds(3_600));
+        Quotation afterwards = priceMap.applyTo(quotation, now.plusSeconds(7_200));
+
+        // Then
+        assertThat(current.quotes().get(0).ruleId()).isEqualTo("flash-sale:now");
+        assertThat(between).isSameAs(quotation);
+        assertThat(tonight.quotes().get(0).price()).isEqualTo(500L);
+        assertThat(tonight.quotes().get(0).ruleId()).isEqualTo("flash-sale:tonight");
+        assertThat(afterwards).isSameAs(quotation);
+        assertThat(priceMap.current("SKU-1").saleId()).isEqualTo("now");
+    }
+
+    @Test
+    @DisplayName("Should reject invalid or finished sales")
+    void shouldRejectInvalidSales() {
+        MutableClock clock = new MutableClock();
+        priceMap = priceMap(clock);
+        Instant now = clock.instant();
+
+        assertThatThrownBy(() -> priceMap.schedule(sale("ended", now.minusSeconds(60), now, Map.of("SKU-1", 1L))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("over");
+        assertThatThrownBy(() -> priceMap.schedule(sale("backwards", now.plusSeconds(60), now.plusSeconds(1),
+                Map.of("SKU-1", 1L))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> priceMap.schedule(sale("empty", now, now.plusSeconds(60), Map.of())))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(events).isEmpty();
+    }
+
+    private FlashSalePriceMap priceMap(Clock clock) {
+        return new FlashSalePriceMap(clock, events::add, new FlashSaleProperties());
+    }
+
+    private static FlashSale sale(String id, Instant startsAt, Instant endsAt, Map<String, Long> prices) {
+        return new FlashSale(id, id, startsAt, endsAt, prices);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.bitvelocity.pricing.repricing;
+
+import com.bitvelocity.pricing.exception.RepricingInProgressException;
+import com.bitvelocity.pricing.rule.AdjustmentType;
+import com.bitvelocity.pricing.rule.PriceLine;
+import com.bitvelocity.pricing.rule.PriceRule;
+import com.bitvelocity.pricing.rule.PriceRuleEngine;
+import com.bitvelocity.testsupport.MutableClock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("RepricingPipeline Unit Tests")
+class RepricingPipelineTest {
+
+    private static final int CATALOG = 10_000;
+    private static final int CATEGORIES = 7;
+
+    private final MutableClock clock = new MutableClock();
+    private final InMemoryEffectivePriceStore store = new InMemoryEffectivePriceStore();
+    private PriceRuleEngine engine;
+    private RepricingProperties properties;
+    private RepricingPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        engine = new PriceRuleEngine(clock);
+        properties = new RepricingProperties();
+        properties.setBatchSize(100);
+        properties.setParallelism(4);
+        properties.getGenerated().setCatalogSize(CATALOG);
+        properties.getGenerated().setCategoryCount(CATEGORIES);
+        pipeline = new RepricingPipeline(new GeneratedProductSource(properties), store, engine, properties, clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.destroy();
+    }
+
+    @Test
+    @DisplayName("Every product should get the price a quote would give it, against one rule set version")
+    void shouldRepriceWholeCatalog() throws Exception {
+        // Given
+        engine.replaceAll(List.of(
+                rule("cat-1", null, GeneratedProductSource.category(1), AdjustmentType.PERCENT_OFF, "10"),
+                rule("sku-8", GeneratedProductSource.sku(8), null, AdjustmentType.FIXED_PRICE, "0.50")));
+        long version = engine.version();
+
+        // When
+        RepricingProgress progress = await(pipeline.start(null).id());
+
+        // Then
+        assertThat(progress.status()).isEqualTo(RepricingStatus.COMPLETED);
+        assertThat(progress.ruleSetVersion()).isEqualTo(version);
+        assertThat(progress.priced()).isEqualTo(CATALOG);
+        assertThat(progress.categoriesDone()).isEqualTo(CATEGORIES);
+        assertThat(store.size()).isEqualTo(CATALOG);
+        GeneratedProductSource source = new GeneratedProductSource(properties);
+        for (String category : source.categories()) {
+            try (Stream<PriceLine> products = source.products(category)) {
+                products.forEach(line -> {
+                    EffectivePrice price = store.findAll(List.of(line.sku())).get(0);
+                    assertThat(price.price()).isEqualTo(engine.quote(line, null, clock.instant()).price());
+                    assertThat(price.ruleSetVersion()).isEqualTo(version);
+                });
+            }
+        }
+        assertThat(store.findAll(List.of(GeneratedProductSource.sku(1), GeneratedProductSource.sku(8),
+                GeneratedProductSource.sku(2))))
+                .extracting(EffectivePrice::ruleId)
+                .containsExactly("cat-1", "sku-8", null);
+    }
+
+    @Test
+    @DisplayName("Naming categories should reprice only their products")
+    void shouldRepriceNamedCategories() throws Exception {
+        RepricingProgress progress = await(pipeline.start(List.of(GeneratedProductSource.category(3), "UNKNOWN")).id());
+
+        assertThat(progress.status()).isEqualTo(RepricingStatus.COMPLETED);
+        assertThat(progress.categories()).isEqualTo(2);
+        assertThat(progress.priced()).isEqualTo(store.size()).isEqualTo((CATALOG - 3 + CATEGORIES - 1) / CATEGORIES);
+        assertThat(store.findAll(List.of(GeneratedProductSource.sku(3), GeneratedProductSource.sku(4))))
+                .extracting(price -> price != null)
+                .containsExactly(true, false);
+    }
+
+    @Test
+    @DisplayName("Lookups should reprice a stored price once the rule set changes or its rule window ends")
+    void shouldRepriceStalePricesOnRead() throws Exception {
+        // Given
+        String sku = GeneratedProductSource.sku(8);
+        Instant saleEnds = clock.instant().plus(Duration.ofHours(1));
+        engine.put(new PriceRule("sku-8", sku, null, null, null, saleEnds, 0, AdjustmentType.FIXED_PRICE,
+                new BigDecimal("0.50")));
+        await(pipeline.start(null).id());
+        EffectivePriceReader reader = new EffectivePriceReader(store, engine);
+
+        // When
+        EffectivePrice stored = reader.findAll(List.of(sku), clock.instant()).get(0);
+        engine.put(new PriceRule("sku-8", sku, null, null, null, saleEnds, 0, AdjustmentType.FIXED_PRICE,
+                new BigDecimal("0.40")));
+        EffectivePrice afterRuleChange = reader.findAll(List.of(sku), clock.instant()).get(0);
+        EffectivePrice writtenBack = store.findAll(List.of(sku)).get(0);
+        clock.advance(Duration.ofHours(1).toMillis());
+        EffectivePrice afterWindow = reader.findAll(List.of(sku), clock.instant()).get(0);
+
+        // Then
+        assertThat(stored.price()).isEqualTo(50);
+        assertThat(stored.validUntil()).isEqualTo(saleEnds);
+        assertThat(EffectivePriceReader.validUntil(List.of(stored), saleEnds.plusSeconds(1))).isEqualTo(saleEnds);
+        assertThat(afterRuleChange.price()).isEqualTo(40);
+        assertThat(afterRuleChange.ruleSetVersion()).isEqualTo(engine.version());
+        assertThat(writtenBack).isEqualTo(afterRuleChange);
+        assertThat(afterWindow.price()).isEqualTo(stored.basePrice());
+        assertThat(afterWindow.ruleId()).isNull();
+        assertThat(afterWindow.validUntil()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should refuse a second run while one is in progress and report a failed source")
+    void shouldRunOneAtATime() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        ProductSource blocking = new ProductSource() {
+            @Override
+            public List<String> categories() {
+                return List.of("SLOW");
+            }
+
+            @Override
+            public Stream<PriceLine> products(String category) {
+                return IntStream.range(0, 1).mapToObj(i -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    throw new IllegalStateException("catalog unavailable");
+                });
+            }
+        };
+        pipeline.destroy();
+        pipeline = new RepricingPipeline(blocking, store, engine, properties, clock);
+        String runId = pipeline.start(null).id();
+
+        // When / Then
+        assertThatThrownBy(() -> pipeline.start(null))
+                .isInstanceOf(RepricingInProgressException.class)
+                .hasMessageContaining(runId);
+        release.countDown();
+        RepricingProgress progress = await(runId);
+        assertThat(progress.status()).isEqualTo(RepricingStatus.FAILED);
+        assertThat(progress.error()).contains("catalog unavailable");
+        assertThat(pipeline.find("missing")).isEmpty();
+    }
+
+    private RepricingProgress await(String runId) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        RepricingProgress progress = pipeline.find(runId).orElseThrow();
+        while (progress.status() == RepricingStatus.RUNNING) {
+            assertThat(System.nanoTime()).as("run did not finish in time").isLessThan(deadline);
+            Thread.sleep(5);
+            progress = pipeline.find(runId).orElseThrow();
+        }
+        return progress;
+    }
+
+    private static PriceRule rule(String id, String sku, String category, AdjustmentType type, String value) {
+        return new PriceRule(id, sku, category, null, null, null, 0, type, new BigDecimal(value));
+    }
+}
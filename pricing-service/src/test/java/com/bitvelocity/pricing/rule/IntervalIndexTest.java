@@ -0,0 +1,55 @@
+package com.bitvelocity.pricing.rule;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("IntervalIndex Unit Tests")
+class IntervalIndexTest {
+
+    @Test
+    @DisplayName("A stabbing query should return exactly the rules whose window contains the instant")
+    void shouldMatchBruteForce() {
+        // Given - overlapping windows, some open-ended
+        Random random = new Random(7);
+        List<CompiledRule> rules = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            long start = random.nextInt(10_000);
+            Instant startsAt = random.nextInt(10) == 0 ? null : Instant.ofEpochMilli(start);
+            Instant endsAt = random.nextInt(10) == 0 ? null : Instant.ofEpochMilli(start + 1 + random.nextInt(500));
+            rules.add(new CompiledRule(new PriceRule("rule-" + i, "SKU-1", null, null, startsAt, endsAt, 0,
+                    AdjustmentType.AMOUNT_OFF, BigDecimal.ONE)));
+        }
+        IntervalIndex index = new IntervalIndex(rules);
+
+        for (long at = -10; at < 11_000; at += 37) {
+            // When
+            List<String> found = new ArrayList<>();
+            index.stab(at, rule -> found.add(rule.id));
+
+            // Then
+            long instant = at;
+            assertThat(found).containsExactlyInAnyOrderElementsOf(rules.stream()
+                    .filter(rule -> rule.start <= instant && instant < rule.end)
+                    .map(rule -> rule.id)
+                    .toList());
+        }
+    }
+
+    @Test
+    @DisplayName("An empty index should find nothing")
+    void shouldHandleEmptyIndex() {
+        IntervalIndex index = new IntervalIndex(List.of());
+
+        index.stab(0, rule -> fail("unexpected rule " + rule.id));
+
+        assertThat(index.size()).isZero();
+    }
+}
@@ -0,0 +1,197 @@
+package com.bitvelocity.pricing.rule;
+
+import com.bitvelocity.testsupport.MutableClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("PriceRuleEngine Unit Tests")
+class PriceRuleEngineTest {
+
+    private static final Instant NOON = Instant.parse("2024-01-01T12:00:00Z");
+
+    private final MutableClock clock = new MutableClock();
+    private PriceRuleEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new PriceRuleEngine(clock);
+    }
+
+    @Test
+    @DisplayName("The highest-priority rule for the SKU, its category or everything should set the price")
+    void shouldApplyHighestPriorityRule() {
+        // Given
+        engine.replaceAll(List.of(
+                rule("all-5", null, null, 0, AdjustmentType.PERCENT_OFF, "5"),
+                rule("laptops-10", null, "LAPTOPS", 1, AdjustmentType.PERCENT_OFF, "10"),
+                rule("laptop-fixed", "LAPTOP-001", null, 2, AdjustmentType.FIXED_PRICE, "799.00")));
+
+        // When
+        Quotation quotation = engine.quote(List.of(
+                new PriceLine("LAPTOP-001", "LAPTOPS", 99_900),
+                new PriceLine("LAPTOP-002", "LAPTOPS", 99_900),
+                new PriceLine("MOUSE-001", "ACCESSORIES", 2_999),
+                new PriceLine("MOUSE-002", null, 1_000)), null, NOON);
+
+        // Then
+        assertThat(quotation.quotes()).extracting(quote -> quote.ruleId() + "=" + quote.price())
+                .containsExactly("laptop-fixed=79900", "laptops-10=89910", "all-5=2849", "all-5=950");
+        assertThat(quotation.ruleSetVersion()).isEqualTo(engine.version());
+    }
+
+    @Test
+    @DisplayName("Equal priorities should give the customer the lower price")
+    void shouldPreferLowerPriceOnTie() {
+        engine.replaceAll(List.of(
+                rule("ten-off", null, "LAPTOPS", 0, AdjustmentType.AMOUNT_OFF, "10"),
+                rule("pct-off", null, "LAPTOPS", 0, AdjustmentType.PERCENT_OFF, "2.5")));
+
+        PriceQuote cheap = engine.quote(new PriceLine("LAPTOP-001", "LAPTOPS", 10_000), null, NOON);
+        PriceQuote expensive = engine.quote(new PriceLine("LAPTOP-002", "LAPTOPS", 100_000), null, NOON);
+
+        assertThat(cheap.ruleId()).isEqualTo("ten-off");
+        assertThat(cheap.price()).isEqualTo(9_000);
+        assertThat(expensive.ruleId()).isEqualTo("pct-off");
+        assertThat(expensive.price()).isEqualTo(97_500);
+    }
+
+    @Test
+    @DisplayName("Rules should only apply inside their window and to their segment")
+    void shouldRespectWindowAndSegment() {
+        // Given - a flash sale from 12:00 to 13:00 for VIP customers
+        engine.put(new PriceRule("flash", "TV-001", null, "VIP", NOON, NOON.plusSeconds(3600), 5,
+                AdjustmentType.FIXED_PRICE, new BigDecimal("199.99")));
+        PriceLine tv = new PriceLine("TV-001", "TV", 49_999);
+
+        // When / Then
+        assertThat(engine.quote(tv, "VIP", NOON).price()).isEqualTo(19_999);
+        assertThat(engine.quote(tv, "VIP", NOON.plusSeconds(3599)).price()).isEqualTo(19_999);
+        assertThat(engine.quote(tv, "VIP", NOON.plusSeconds(3600)).ruleId()).isNull();
+        assertThat(engine.quote(tv, "VIP", NOON.minusMillis(1)).price()).isEqualTo(49_999);
+        assertThat(engine.quote(tv, null, NOON).ruleId()).isNull();
+        assertThat(engine.quote(tv, "STUDENT", NOON).ruleId()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should price at the clock's instant when none is given")
+    void shouldPriceNow() {
+        Instant now = clock.instant();
+        engine.put(new PriceRule("later", "SKU-1", null, null, now.plusSeconds(60), null, 0,
+                AdjustmentType.AMOUNT_OFF, BigDecimal.ONE));
+        PriceLine line = new PriceLine("SKU-1", null, 500);
+
+        assertThat(engine.quote(line, null, null).price()).isEqualTo(500);
+        clock.advance(60_000);
+        assertThat(engine.quote(line, null, null).price()).isEqualTo(400);
+    }
+
+    @Test
+    @DisplayName("An invalid rule set should be rejected as a whole")
+    void shouldRejectInvalidRuleSet() {
+        // Given
+        long version = engine.replaceAll(List.of(rule("ok", "SKU-1", null, 0, AdjustmentType.AMOUNT_OFF, "1")));
+
+        // When / Then
+        assertThatThrownBy(() -> engine.replaceAll(List.of(
+                rule("fine", "SKU-2", null, 0, AdjustmentType.AMOUNT_OFF, "1"),
+                rule("too-much", "SKU-3", null, 0, AdjustmentType.PERCENT_OFF, "120"))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("too-much");
+        assertThatThrownBy(() -> engine.put(new PriceRule("backwards", "SKU-1", null, null, NOON, NOON, 0,
+                AdjustmentType.AMOUNT_OFF, BigDecimal.ONE)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> engine.put(rule("sub-cent", "SKU-1", null, 0, AdjustmentType.AMOUNT_OFF, "0.001")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(engine.version()).isEqualTo(version);
+        assertThat(engine.rules()).extracting(PriceRule::id).containsExactly("ok");
+    }
+
+    @Test
+    @DisplayName("Changing rules one at a time should price like compiling the result from scratch")
+    void shouldChangeIncrementally() {
+        // Given
+        Random random = new Random(3);
+        String[] skus = {"SKU-1", "SKU-2", null};
+        String[] categories = {"CAT-1", null};
+        List<PriceLine> lines = List.of(new PriceLine("SKU-1", "CAT-1", 10_000),
+                new PriceLine("SKU-2", "CAT-1", 10_000), new PriceLine("SKU-3", null, 10_000));
+
+        for (int step = 0; step < 300; step++) {
+            // When - rules are added, moved between buckets and removed
+            String id = "rule-" + random.nextInt(20);
+            if (random.nextInt(4) == 0) {
+                engine.remove(id);
+            } else {
+                engine.put(new PriceRule(id, skus[random.nextInt(3)], categories[random.nextInt(2)], null,
+                        NOON.minusSeconds(random.nextInt(100)), NOON.plusSeconds(1 + random.nextInt(100)),
+                        random.nextInt(3), AdjustmentType.AMOUNT_OFF, BigDecimal.valueOf(random.nextInt(50))));
+            }
+
+            // Then
+            PriceRuleEngine rebuilt = new PriceRuleEngine(clock);
+            rebuilt.replaceAll(engine.rules());
+            Instant at = NOON.plusSeconds(random.nextInt(100) - 50);
+            assertThat(engine.quote(lines, null, at).quotes()).isEqualTo(rebuilt.quote(lines, null, at).quotes());
+        }
+    }
+
+    @Test
+    @DisplayName("A quote should never mix two versions of the rule set")
+    void shouldSwapAtomically() throws Exception {
+        // Given - two rule sets pricing every SKU at 1.00 or at 2.00
+        List<PriceRule> ones = new ArrayList<>();
+        List<PriceRule> twos = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            ones.add(rule("r-" + i, "SKU-" + i, null, 0, AdjustmentType.FIXED_PRICE, "1.00"));
+            twos.add(rule("r-" + i, "SKU-" + i, null, 0, AdjustmentType.FIXED_PRICE, "2.00"));
+        }
+        engine.replaceAll(ones);
+        List<PriceLine> cart = List.of(new PriceLine("SKU-0", null, 999), new PriceLine("SKU-499", null, 999));
+        AtomicBoolean running = new AtomicBoolean(true);
+
+        // When - one thread flips between them while others quote
+        try (ExecutorService executor = Executors.newFixedThreadPool(3)) {
+            Future<?> writer = executor.submit(() -> {
+                for (int i = 0; i < 200; i++) {
+                    engine.replaceAll(i % 2 == 0 ? twos : ones);
+                }
+                running.set(false);
+            });
+            List<Future<Integer>> readers = new ArrayList<>();
+            for (int r = 0; r < 2; r++) {
+                readers.add(executor.submit(() -> {
+                    int quotes = 0;
+                    do {
+                        List<PriceQuote> prices = engine.quote(cart, null, NOON).quotes();
+                        // Then
+                        assertThat(prices.get(0).price()).isEqualTo(prices.get(1).price());
+                        quotes++;
+                    } while (running.get());
+                    return quotes;
+                }));
+            }
+            writer.get();
+            for (Future<Integer> reader : readers) {
+                assertThat(reader.get()).isPositive();
+            }
+        }
+    }
+
+    private static PriceRule rule(String id, String sku, String category, int priority, AdjustmentType type,
+                                  String value) {
+        return new PriceRule(id, sku, category, null, null, null, priority, type, new BigDecimal(value));
+    }
+}
@@ -0,0 +1,98 @@
+package com.bitvelocity.product.config;
+
+import com.bitvelocity.product.datasource.ReadYourWritesTracker;
+import com.bitvelocity.product.datasource.ReplicaHealthMonitor;
+import com.bitvelocity.product.datasource.ReplicaRoutingDataSource;
+import com.bitvelocity.product.datasource.ReplicaRoutingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Read-replica routing, enabled with product-service.datasource.routing.enabled=true.
+ *
+ * The primary pool is still configured from spring.datasource; each replica gets its own
+ * read-only Hikari pool. The exposed DataSource is the routing data source behind a
+ * LazyConnectionDataSourceProxy, so Flyway, JPA and JDBC all go through it.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "product-service.datasource.routing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaRoutingProperties.class)
+@Slf4j
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("product-primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaHealthMonitor replicaHealthMonitor(ReplicaRoutingProperties properties) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            ReplicaRoutingProperties.Replica replica = properties.getReplicas().get(i);
+            String name = replica.getName() != null ? replica.getName() : "replica-" + (i + 1);
+            replicas.put(name, replicaDataSource(name, replica));
+        }
+        log.info("Read replica routing enabled with replicas: {}", replicas.keySet());
+        return new ReplicaHealthMonitor(replicas, properties.getLagQuery(), properties.getMaxLagMs());
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(ReplicaRoutingProperties properties) {
+        // A shorter window would send a client's reads to a replica that may not have its write yet
+        long worstLagMs = properties.getMaxLagMs() + properties.getHealthCheckIntervalMs();
+        if (properties.getReadYourWritesWindowMs() <= worstLagMs) {
+            throw new IllegalStateException("product-service.datasource.routing.read-your-writes-window-ms ("
+                    + properties.getReadYourWritesWindowMs() + ") must exceed max-lag-ms + health-check-interval-ms ("
+                    + worstLagMs + ")");
+        }
+        return new ReadYourWritesTracker(properties.getReadYourWritesWindowMs());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource,
+                                 ReplicaHealthMonitor replicaHealthMonitor,
+                                 ReadYourWritesTracker readYourWritesTracker) {
+        Map<Object, Object> targets = new HashMap<>(replicaHealthMonitor.getReplicas());
+        targets.put(ReplicaRoutingDataSource.PRIMARY, primaryDataSource);
+
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(replicaHealthMonitor, readYourWritesTracker);
+        routingDataSource.setTargetDataSources(targets);
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        routingDataSource.afterPropertiesSet();
+
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    private static HikariDataSource replicaDataSource(String name, ReplicaRoutingProperties.Replica replica) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("product-" + name);
+        dataSource.setJdbcUrl(replica.getUrl());
+        dataSource.setUsername(replica.getUsername());
+        dataSource.setPassword(replica.getPassword());
+        dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+        dataSource.setReadOnly(true);
+        // Do not block startup on an unreachable replica; the health monitor keeps it out of rotation
+        dataSource.setInitializationFailTimeout(-1);
+        return dataSource;
+    }
+}
@@ -0,0 +1,101 @@
+package com.bitvelocity.product.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * Verifies at startup that the indexes backing the hot product queries exist.
+ *
+ * Missing indexes are logged as warnings, or fail startup when
+ * product-service.schema.fail-on-missing-index is true.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SchemaIndexVerifier {
+
+    static final String PRODUCTS_TABLE = "products";
+
+    static final List<String> REQUIRED_INDEXES = List.of(
+            "idx_product_sku",
+            "idx_product_status_created_at",
+            "idx_product_category_name",
+            "idx_product_category_price",
+            "idx_product_created_at",
+            "idx_product_price");
+
+    /**
+     * Partial indexes only exist on PostgreSQL (created by Flyway)
+     */
+    static final List<String> REQUIRED_POSTGRES_INDEXES = List.of(
+            "idx_product_active_created_at");
+
+    private final DataSource dataSource;
+
+    @Value("${product-service.schema.verify-indexes:true}")
+    private boolean verifyIndexes = true;
+
+    @Value("${product-service.schema.fail-on-missing-index:false}")
+    private boolean failOnMissingIndex;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verifyOnStartup() {
+        if (!verifyIndexes) {
+            return;
+        }
+
+        List<String> missing = findMissingIndexes();
+        if (missing.isEmpty()) {
+            log.info("Schema index check passed for table '{}'", PRODUCTS_TABLE);
+            return;
+        }
+
+        String message = "Missing indexes on table '" + PRODUCTS_TABLE + "': " + missing;
+        if (failOnMissingIndex) {
+            throw new IllegalStateException(message);
+        }
+        log.warn("{} - product queries will fall back to sequential scans/sorts", message);
+    }
+
+    /**
+     * Names of required indexes not present in the connected database
+     */
+    public List<String> findMissingIndexes() {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+
+            List<String> required = new ArrayList<>(REQUIRED_INDEXES);
+            if (metaData.getDatabaseProductName().toLowerCase(Locale.ROOT).contains("postgres")) {
+                required.addAll(REQUIRED_POSTGRES_INDEXES);
+            }
+
+            Set<String> existing = new HashSet<>();
+            try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(),
+                    PRODUCTS_TABLE, false, true)) {
+                while (indexes.next()) {
+                    String name = indexes.getString("INDEX_NAME");
+                    if (name != null) {
+                        existing.add(name.toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+
+            return required.stream()
+                    .filter(name -> !existing.contains(name))
+                    .toList();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Unable to read index metadata for table '" + PRODUCTS_TABLE + "'", e);
+        }
+    }
+}
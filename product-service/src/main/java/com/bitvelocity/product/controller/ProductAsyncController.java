@@ -0,0 +1,96 @@
+package com.bitvelocity.product.controller;
+
+import com.bitvelocity.product.dto.PageResponse;
+import com.bitvelocity.product.dto.ProductResponse;
+import com.bitvelocity.product.service.ProductAsyncService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking variants of the product read endpoints, served side by side with
+ * ProductController under /async/products for throughput comparison.
+ */
+@RestController
+@RequestMapping("/async/products")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Product Reads (Async)", description = "Non-blocking product read APIs backed by a read-through cache")
+public class ProductAsyncController {
+
+    private final ProductAsyncService productAsyncService;
+
+    @Operation(summary = "Get all products (async)", description = "Retrieve all products with pagination and sorting")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved products",
+                     content = @Content(schema = @Schema(implementation = PageResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid request parameters",
+                     content = @Content(schema = @Schema(implementation = com.bitvelocity.product.exception.ErrorResponse.class)))
+    })
+    @GetMapping
+    public CompletableFuture<ResponseEntity<PageResponse<ProductResponse>>> getAllProducts(
+            @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Sort field (createdAt, name, price, sku)") @RequestParam(defaultValue = "createdAt") String sortBy,
+            @Parameter(description = "Sort direction (asc/desc)") @RequestParam(defaultValue = "desc") String sortDir) {
+        
+        log.debug("GET /async/products - page: {}, size: {}, sortBy: {}, sortDir: {}", page, size, sortBy, sortDir);
+        return productAsyncService.getAllProducts(page, size, sortBy, sortDir).thenApply(ResponseEntity::ok);
+    }
+
+    @Operation(summary = "Search products (async)", description = "Search products by name or description")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Search results retrieved",
+                     content = @Content(schema = @Schema(implementation = PageResponse.class)))
+    })
+    @GetMapping("/search")
+    public CompletableFuture<ResponseEntity<PageResponse<ProductResponse>>> searchProducts(
+            @Parameter(description = "Search term") @RequestParam String query,
+            @Parameter(description = "Page number") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
+        
+        log.debug("GET /async/products/search - query: {}", query);
+        return productAsyncService.searchProducts(query, page, size).thenApply(ResponseEntity::ok);
+    }
+
+    @Operation(summary = "Get product by ID (async)", description = "Retrieve a specific product by its UUID")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Product found",
+                     content = @Content(schema = @Schema(implementation = ProductResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Product not found",
+                     content = @Content(schema = @Schema(implementation = com.bitvelocity.product.exception.ErrorResponse.class)))
+    })
+    @GetMapping("/{id}")
+    public CompletableFuture<ResponseEntity<ProductResponse>> getProductById(
+            @Parameter(description = "Product UUID") @PathVariable UUID id) {
+        
+        log.debug("GET /async/products/{}", id);
+        return productAsyncService.getProductById(id).thenApply(ResponseEntity::ok);
+    }
+
+    @Operation(summary = "Get product by SKU (async)", description = "Retrieve a specific product by its SKU")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Product found",
+                     content = @Content(schema = @Schema(implementation = ProductResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Product not found",
+                     content = @Content(schema = @Schema(implementation = com.bitvelocity.product.exception.ErrorResponse.class)))
+    })
+    @GetMapping("/sku/{sku}")
+    public CompletableFuture<ResponseEntity<ProductResponse>> getProductBySku(
+            @Parameter(description = "Product SKU") @PathVariable String sku) {
+        
+        log.debug("GET /async/products/sku/{}", sku);
+        return productAsyncService.getProductBySku(sku).thenApply(ResponseEntity::ok);
+    }
+}
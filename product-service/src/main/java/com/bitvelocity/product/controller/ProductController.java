@@ -20,6 +20,7 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.util.UUID;
 
 @RestController
@@ -42,7 +43,7 @@ public class ProductController {
     public ResponseEntity<PageResponse<ProductResponse>> getAllProducts(
             @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size,
-            @Parameter(description = "Sort field") @RequestParam(defaultValue = "createdAt") String sortBy,
+            @Parameter(description = "Sort field (createdAt, name, price, sku)") @RequestParam(defaultValue = "createdAt") String sortBy,
             @Parameter(description = "Sort direction (asc/desc)") @RequestParam(defaultValue = "desc") String sortDir) {
         
         log.info("GET /products - page: {}, size: {}, sortBy: {}, sortDir: {}", page, size, sortBy, sortDir);
@@ -66,6 +67,45 @@ public class ProductController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "Query products", description = "Filter products by any combination of category, status, price range, stock and text")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Products retrieved",
+                     content = @Content(schema = @Schema(implementation = PageResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid filter or unsupported sort field",
+                     content = @Content(schema = @Schema(implementation = com.bitvelocity.product.exception.ErrorResponse.class)))
+    })
+    @GetMapping("/query")
+    public ResponseEntity<PageResponse<ProductResponse>> queryProducts(
+            @Parameter(description = "Product category") @RequestParam(required = false) String category,
+            @Parameter(description = "Product status") @RequestParam(required = false) ProductStatus status,
+            @Parameter(description = "Minimum price (inclusive)") @RequestParam(required = false) BigDecimal minPrice,
+            @Parameter(description = "Maximum price (inclusive)") @RequestParam(required = false) BigDecimal maxPrice,
+            @Parameter(description = "Only products with stock > 0") @RequestParam(required = false) Boolean inStock,
+            @Parameter(description = "Text to match in name or description") @RequestParam(required = false) String text,
+            @Parameter(description = "Page number") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Sort field (createdAt, name, price, sku); defaults to the index order for the filters")
+            @RequestParam(required = false) String sortBy,
+            @Parameter(description = "Sort direction (asc/desc)") @RequestParam(defaultValue = "desc") String sortDir) {
+        
+        ProductQueryRequest query = ProductQueryRequest.builder()
+                .category(category)
+                .status(status)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .inStock(inStock)
+                .text(text)
+                .page(page)
+                .size(size)
+                .sortBy(sortBy)
+                .sortDir(sortDir)
+                .build();
+        
+        log.info("GET /products/query - {}", query);
+        PageResponse<ProductResponse> response = productService.queryProducts(query);
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(summary = "Get products by category", description = "Retrieve products filtered by category")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Products retrieved",
@@ -113,6 +153,19 @@ public class ProductController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "Get product facets", description = "Retrieve product counts per category, status and price bucket (served from memory)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Facets retrieved",
+                     content = @Content(schema = @Schema(implementation = ProductFacetsResponse.class)))
+    })
+    @GetMapping("/facets")
+    public ResponseEntity<ProductFacetsResponse> getProductFacets() {
+        
+        log.info("GET /products/facets");
+        ProductFacetsResponse response = productService.getProductFacets();
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(summary = "Get product by ID", description = "Retrieve a specific product by its UUID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Product found",
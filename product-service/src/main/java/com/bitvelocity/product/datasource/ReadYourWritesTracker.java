@@ -0,0 +1,44 @@
+package com.bitvelocity.product.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers when each client last wrote, so its reads can be pinned to the primary until the
+ * replicas have had time to catch up with that write.
+ */
+@Slf4j
+public class ReadYourWritesTracker {
+
+    private final Map<String, Long> lastWriteAt = new ConcurrentHashMap<>();
+    private final long windowMs;
+
+    public ReadYourWritesTracker(long windowMs) {
+        this.windowMs = windowMs;
+    }
+
+    public void recordWrite(String client) {
+        lastWriteAt.put(client, System.currentTimeMillis());
+    }
+
+    public boolean isWithinWindow(String client) {
+        Long writtenAt = lastWriteAt.get(client);
+        return writtenAt != null && System.currentTimeMillis() - writtenAt < windowMs;
+    }
+
+    /**
+     * Drop clients whose window has passed so the map only holds recent writers
+     */
+    @Scheduled(fixedDelayString = "${product-service.datasource.routing.read-your-writes-window-ms:5000}")
+    public void evictExpired() {
+        long cutoff = System.currentTimeMillis() - windowMs;
+        lastWriteAt.values().removeIf(writtenAt -> writtenAt < cutoff);
+    }
+
+    int trackedClients() {
+        return lastWriteAt.size();
+    }
+}
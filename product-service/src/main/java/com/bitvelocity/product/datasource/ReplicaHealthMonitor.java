@@ -0,0 +1,100 @@
+package com.bitvelocity.product.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Periodically probes each replica and keeps the list of replicas fit to serve reads:
+ * reachable and with replication lag within max-lag-ms. Replicas start out of rotation
+ * until their first successful check.
+ */
+@Slf4j
+public class ReplicaHealthMonitor implements AutoCloseable {
+
+    private static final int CHECK_TIMEOUT_SECONDS = 2;
+
+    private final Map<String, DataSource> replicas;
+    private final String lagQuery;
+    private final long maxLagMs;
+    private final AtomicInteger cursor = new AtomicInteger();
+    private volatile List<String> healthyReplicas = List.of();
+
+    public ReplicaHealthMonitor(Map<String, DataSource> replicas, String lagQuery, long maxLagMs) {
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.lagQuery = lagQuery;
+        this.maxLagMs = maxLagMs;
+    }
+
+    @Scheduled(fixedDelayString = "${product-service.datasource.routing.health-check-interval-ms:2000}")
+    public void checkReplicas() {
+        List<String> healthy = new ArrayList<>(replicas.size());
+        replicas.forEach((name, dataSource) -> {
+            OptionalLong lag = measureLag(name, dataSource);
+            if (lag.isPresent() && lag.getAsLong() <= maxLagMs) {
+                healthy.add(name);
+            } else if (lag.isPresent()) {
+                log.warn("Replica {} lagging {} ms (max {} ms) - reads fall back to primary", name, lag.getAsLong(), maxLagMs);
+            }
+        });
+
+        if (!healthy.equals(healthyReplicas)) {
+            log.info("Healthy read replicas: {}", healthy);
+        }
+        healthyReplicas = List.copyOf(healthy);
+    }
+
+    /**
+     * Next healthy replica in round-robin order, or empty when reads must go to the primary
+     */
+    public Optional<String> nextHealthyReplica() {
+        List<String> healthy = healthyReplicas;
+        if (healthy.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(healthy.get(Math.floorMod(cursor.getAndIncrement(), healthy.size())));
+    }
+
+    public List<String> getHealthyReplicas() {
+        return healthyReplicas;
+    }
+
+    public Map<String, DataSource> getReplicas() {
+        return Collections.unmodifiableMap(replicas);
+    }
+
+    /**
+     * Close the replica pools on shutdown
+     */
+    @Override
+    public void close() {
+        replicas.values().forEach(dataSource -> {
+            if (dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Failed to close replica data source: {}", e.getMessage());
+                }
+            }
+        });
+    }
+
+    private OptionalLong measureLag(String name, DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(CHECK_TIMEOUT_SECONDS);
+            try (ResultSet rs = statement.executeQuery(lagQuery)) {
+                return rs.next() ? OptionalLong.of(Math.round(rs.getDouble(1))) : OptionalLong.of(0);
+            }
+        } catch (Exception e) {
+            log.warn("Replica {} health check failed: {}", name, e.getMessage());
+            return OptionalLong.empty();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.bitvelocity.product.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * Routes read-only transactions to a healthy replica and everything else to the primary.
+ *
+ * Reads fall back to the primary when no replica is healthy, or when the authenticated client
+ * wrote within the read-your-writes window. The window starts when the write transaction
+ * commits, not when it takes its connection: a long transaction would otherwise use up the
+ * window before its writes are even visible on the primary, let alone replicated. Must be
+ * wrapped in a LazyConnectionDataSourceProxy so the lookup happens after the transaction's
+ * read-only flag is set.
+ *
+ * Work wrapped in onPrimary() reads the primary without counting as a write.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+
+    private final ReplicaHealthMonitor healthMonitor;
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public ReplicaRoutingDataSource(ReplicaHealthMonitor healthMonitor, ReadYourWritesTracker readYourWritesTracker) {
+        this.healthMonitor = healthMonitor;
+        this.readYourWritesTracker = readYourWritesTracker;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String client = currentClient();
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (client != null && TransactionSynchronizationManager.isActualTransactionActive()
+                    && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        readYourWritesTracker.recordWrite(client);
+                    }
+                });
+            }
+            return PRIMARY;
+        }
+
+        if (PRIMARY_ONLY.get() != null) {
+            return PRIMARY;
+        }
+
+        if (client != null && readYourWritesTracker.isWithinWindow(client)) {
+            return PRIMARY;
+        }
+
+        return healthMonitor.nextHealthyReplica().orElse(PRIMARY);
+    }
+
+    /**
+     * Runs work on the current thread with its read-only transactions routed to the primary, for
+     * reads that must not be older than the primary (e.g. filling a cache invalidated on commit).
+     * No effect when routing is disabled, as everything then reads the primary.
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        boolean outermost = PRIMARY_ONLY.get() == null;
+        PRIMARY_ONLY.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (outermost) {
+                PRIMARY_ONLY.remove();
+            }
+        }
+    }
+
+    private static String currentClient() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,56 @@
+package com.bitvelocity.product.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "product-service.datasource.routing")
+public class ReplicaRoutingProperties {
+
+    /**
+     * Route read-only transactions to replicas; when false all traffic uses spring.datasource
+     */
+    private boolean enabled = false;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * Replicas lagging more than this are taken out of rotation
+     */
+    private long maxLagMs = 2000;
+
+    /**
+     * A replica falling behind stays in rotation until the next check, so lag seen by reads is
+     * bounded by max-lag-ms plus this
+     */
+    private long healthCheckIntervalMs = 2000;
+
+    /**
+     * After a client's own write commits, its reads go to the primary for this long. Must exceed
+     * max-lag-ms + health-check-interval-ms, the worst lag of a replica still in rotation;
+     * checked at startup
+     */
+    private long readYourWritesWindowMs = 5000;
+
+    /**
+     * Returns the replication lag in milliseconds; 0 when the node is not a standby
+     */
+    private String lagQuery = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM (now() - pg_last_xact_replay_timestamp())) * 1000, 0)
+            END""";
+
+    @Data
+    public static class Replica {
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
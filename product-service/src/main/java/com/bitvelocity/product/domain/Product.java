@@ -13,10 +13,18 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
+/*
+ * Indexes mirror db/migration (Flyway owns the PostgreSQL schema); they are declared here so the
+ * H2 schema generated for local/test profiles matches. The partial index on ACTIVE products
+ * (idx_product_active_created_at) is PostgreSQL-only and lives in the migration alone.
+ */
 @Table(name = "products", indexes = {
     @Index(name = "idx_product_sku", columnList = "sku", unique = true),
-    @Index(name = "idx_product_category", columnList = "category"),
-    @Index(name = "idx_product_status", columnList = "status")
+    @Index(name = "idx_product_status_created_at", columnList = "status, created_at DESC"),
+    @Index(name = "idx_product_category_name", columnList = "category, name"),
+    @Index(name = "idx_product_category_price", columnList = "category, price"),
+    @Index(name = "idx_product_created_at", columnList = "created_at DESC"),
+    @Index(name = "idx_product_price", columnList = "price")
 })
 @EntityListeners(AuditingEntityListener.class)
 @Getter
@@ -0,0 +1,39 @@
+package com.bitvelocity.product.domain;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Whitelist of sortable product properties.
+ *
+ * Index coverage (V2): createdAt, price and sku have single-column indexes for unfiltered sorts;
+ * a category filter is served for name and price by (category, name) and (category, price), and a
+ * status filter for createdAt by (status, created_at). Other combinations, such as an unfiltered
+ * name sort or a status filter sorted by name, price or sku, sort the matching rows.
+ */
+public enum ProductSortField {
+    CREATED_AT("createdAt"),
+    NAME("name"),
+    PRICE("price"),
+    SKU("sku");
+
+    private final String property;
+
+    ProductSortField(String property) {
+        this.property = property;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public static ProductSortField fromProperty(String property) {
+        return Arrays.stream(values())
+                .filter(field -> field.property.equalsIgnoreCase(property))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported sort field: " + property
+                        + ". Allowed values: " + Arrays.stream(values())
+                                .map(ProductSortField::getProperty)
+                                .collect(Collectors.joining(", "))));
+    }
+}
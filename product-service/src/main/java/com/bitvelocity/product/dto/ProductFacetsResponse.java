@@ -0,0 +1,32 @@
+package com.bitvelocity.product.dto;
+
+import com.bitvelocity.product.domain.ProductStatus;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductFacetsResponse {
+
+    private long totalProducts;
+    private Map<String, Long> categories;
+    private Map<ProductStatus, Long> statuses;
+    private List<PriceBucket> priceBuckets;
+    private LocalDateTime reconciledAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class PriceBucket {
+        private BigDecimal min;
+        private BigDecimal max;
+        private long count;
+    }
+}
@@ -0,0 +1,34 @@
+package com.bitvelocity.product.dto;
+
+import com.bitvelocity.product.domain.ProductStatus;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductQueryRequest {
+
+    private String category;
+    private ProductStatus status;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private Boolean inStock;
+    private String text;
+
+    @Builder.Default
+    private int page = 0;
+
+    @Builder.Default
+    private int size = 20;
+
+    /**
+     * Optional; when absent the sort is chosen to match the index used by the filters
+     */
+    private String sortBy;
+
+    @Builder.Default
+    private String sortDir = "desc";
+}
@@ -0,0 +1,22 @@
+package com.bitvelocity.product.event;
+
+import com.bitvelocity.product.domain.Product;
+
+import java.util.UUID;
+
+/**
+ * Published by ProductService for every create, update, stock change and delete.
+ *
+ * previous is null for creates; current is null for deletes. The current entity is read by
+ * listeners after commit, so JPA callbacks (e.g. auto OUT_OF_STOCK) are already applied.
+ */
+public record ProductChangedEvent(UUID productId, String sku, ProductSnapshot previous, Product current) {
+
+    public ProductSnapshot currentSnapshot() {
+        return ProductSnapshot.of(current);
+    }
+
+    public boolean isDelete() {
+        return current == null;
+    }
+}
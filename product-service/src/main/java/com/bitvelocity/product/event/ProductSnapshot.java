@@ -0,0 +1,19 @@
+package com.bitvelocity.product.event;
+
+import com.bitvelocity.product.domain.Product;
+import com.bitvelocity.product.domain.ProductStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * Immutable copy of the product attributes that derived read models (facets, caches) key on.
+ */
+public record ProductSnapshot(String category, ProductStatus status, BigDecimal price) {
+
+    public static ProductSnapshot of(Product product) {
+        if (product == null) {
+            return null;
+        }
+        return new ProductSnapshot(product.getCategory(), product.getStatus(), product.getPrice());
+    }
+}
@@ -5,15 +5,18 @@ import com.bitvelocity.product.domain.ProductStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, UUID> {
+public interface ProductRepository extends JpaRepository<Product, UUID>, JpaSpecificationExecutor<Product> {
 
     /**
      * Find product by SKU
@@ -53,4 +56,42 @@ public interface ProductRepository extends JpaRepository<Product, UUID> {
      */
     @Query("SELECT p FROM Product p WHERE p.status = 'ACTIVE' ORDER BY p.createdAt DESC")
     Page<Product> findActiveProducts(Pageable pageable);
+
+    /**
+     * Trivial statement that makes a repeatable-read transaction take its snapshot (facet reconciliation)
+     */
+    @Query(value = "SELECT 1", nativeQuery = true)
+    int pinSnapshot();
+
+    /**
+     * Product count per category (facet reconciliation)
+     */
+    @Query("SELECT p.category AS category, COUNT(p) AS total FROM Product p GROUP BY p.category")
+    List<CategoryCount> countGroupByCategory();
+
+    /**
+     * Product count per status (facet reconciliation)
+     */
+    @Query("SELECT p.status AS status, COUNT(p) AS total FROM Product p GROUP BY p.status")
+    List<StatusCount> countGroupByStatus();
+
+    /**
+     * Product count within a price range [min, max)
+     */
+    long countByPriceGreaterThanEqualAndPriceLessThan(BigDecimal min, BigDecimal max);
+
+    /**
+     * Product count at or above a price
+     */
+    long countByPriceGreaterThanEqual(BigDecimal min);
+
+    interface CategoryCount {
+        String getCategory();
+        long getTotal();
+    }
+
+    interface StatusCount {
+        ProductStatus getStatus();
+        long getTotal();
+    }
 }
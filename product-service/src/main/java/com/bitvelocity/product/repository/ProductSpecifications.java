@@ -0,0 +1,91 @@
+package com.bitvelocity.product.repository;
+
+import com.bitvelocity.product.domain.Product;
+import com.bitvelocity.product.domain.ProductStatus;
+import com.bitvelocity.product.dto.ProductQueryRequest;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+
+/**
+ * Composable filters for ProductRepository#findAll(Specification, Pageable).
+ *
+ * Equality predicates (category, status) are added first so they line up with the leading
+ * columns of the composite indexes; range and LIKE predicates follow as residual filters.
+ */
+public final class ProductSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private ProductSpecifications() {
+    }
+
+    public static Specification<Product> fromQuery(ProductQueryRequest query) {
+        Specification<Product> spec = Specification.where(null);
+
+        if (query.getCategory() != null && !query.getCategory().isBlank()) {
+            spec = spec.and(hasCategory(query.getCategory()));
+        }
+        if (query.getStatus() != null) {
+            spec = spec.and(hasStatus(query.getStatus()));
+        }
+        if (query.getMinPrice() != null) {
+            spec = spec.and(priceAtLeast(query.getMinPrice()));
+        }
+        if (query.getMaxPrice() != null) {
+            spec = spec.and(priceAtMost(query.getMaxPrice()));
+        }
+        if (Boolean.TRUE.equals(query.getInStock())) {
+            spec = spec.and(inStock());
+        }
+        if (query.getText() != null && !query.getText().isBlank()) {
+            spec = spec.and(matchesText(query.getText()));
+        }
+        return spec;
+    }
+
+    public static Specification<Product> hasCategory(String category) {
+        return (root, query, cb) -> cb.equal(root.get("category"), category);
+    }
+
+    public static Specification<Product> hasStatus(ProductStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Product> priceAtLeast(BigDecimal minPrice) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("price"), minPrice);
+    }
+
+    public static Specification<Product> priceAtMost(BigDecimal maxPrice) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("price"), maxPrice);
+    }
+
+    public static Specification<Product> inStock() {
+        return (root, query, cb) -> cb.greaterThan(root.get("stockQuantity"), 0);
+    }
+
+    /**
+     * Case-insensitive substring match on name or description; % and _ in the text match
+     * themselves, not any characters.
+     */
+    public static Specification<Product> matchesText(String text) {
+        return (root, query, cb) -> {
+            String pattern = "%" + escapeLike(text.toLowerCase()) + "%";
+            return cb.or(
+                    cb.like(cb.lower(root.get("name")), pattern, LIKE_ESCAPE),
+                    cb.like(cb.lower(root.get("description")), pattern, LIKE_ESCAPE));
+        };
+    }
+
+    static String escapeLike(String text) {
+        StringBuilder escaped = new StringBuilder(text.length() + 8);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == LIKE_ESCAPE || c == '%' || c == '_') {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,85 @@
+package com.bitvelocity.product.service;
+
+import com.bitvelocity.product.datasource.ReplicaRoutingDataSource;
+import com.bitvelocity.product.dto.PageResponse;
+import com.bitvelocity.product.dto.ProductQueryRequest;
+import com.bitvelocity.product.dto.ProductResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking facade over the product read path.
+ *
+ * Cache hits complete on the calling thread. Misses run the (blocking) JPA query on a virtual
+ * thread, so the servlet thread is released while the query is in flight, and the mapped
+ * result is written back to the cache. Cache fills read the primary, so a lagging replica cannot
+ * put a row back after its invalidation; the other reads keep replica routing, with the caller's
+ * SecurityContext propagated so read-your-writes still applies.
+ */
+@Service
+@Slf4j
+public class ProductAsyncService implements DisposableBean {
+
+    private final ProductService productService;
+    private final ProductReadCache productReadCache;
+    private final ExecutorService virtualThreads;
+    private final Executor productReadExecutor;
+
+    public ProductAsyncService(ProductService productService, ProductReadCache productReadCache) {
+        this.productService = productService;
+        this.productReadCache = productReadCache;
+        this.virtualThreads = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("product-read-", 0).factory());
+        this.productReadExecutor = new DelegatingSecurityContextExecutor(virtualThreads);
+    }
+
+    public CompletableFuture<ProductResponse> getProductById(UUID id) {
+        ProductResponse cached = productReadCache.getById(id);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return loadAndCache(id, () -> productService.getProductById(id));
+    }
+
+    public CompletableFuture<ProductResponse> getProductBySku(String sku) {
+        ProductResponse cached = productReadCache.getBySku(sku);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return loadAndCache(sku, () -> productService.getProductBySku(sku));
+    }
+
+    public CompletableFuture<PageResponse<ProductResponse>> getAllProducts(int page, int size, String sortBy, String sortDir) {
+        return CompletableFuture.supplyAsync(() -> productService.getAllProducts(page, size, sortBy, sortDir), productReadExecutor);
+    }
+
+    public CompletableFuture<PageResponse<ProductResponse>> searchProducts(String searchTerm, int page, int size) {
+        return CompletableFuture.supplyAsync(() -> productService.searchProducts(searchTerm, page, size), productReadExecutor);
+    }
+
+    public CompletableFuture<PageResponse<ProductResponse>> queryProducts(ProductQueryRequest query) {
+        return CompletableFuture.supplyAsync(() -> productService.queryProducts(query), productReadExecutor);
+    }
+
+    private CompletableFuture<ProductResponse> loadAndCache(Object key, Supplier<ProductResponse> loader) {
+        long version = productReadCache.version(key);
+        return CompletableFuture.supplyAsync(() -> ReplicaRoutingDataSource.onPrimary(loader), productReadExecutor)
+                .thenApply(product -> {
+                    productReadCache.put(key, version, product);
+                    return product;
+                });
+    }
+
+    @Override
+    public void destroy() {
+        virtualThreads.close();
+    }
+}
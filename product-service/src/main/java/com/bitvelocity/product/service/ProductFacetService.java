@@ -0,0 +1,219 @@
+package com.bitvelocity.product.service;
+
+import com.bitvelocity.product.domain.ProductStatus;
+import com.bitvelocity.product.dto.ProductFacetsResponse;
+import com.bitvelocity.product.event.ProductChangedEvent;
+import com.bitvelocity.product.event.ProductSnapshot;
+import com.bitvelocity.product.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory facet counters (per category, status and price bucket).
+ *
+ * Counters are adjusted from ProductChangedEvent after each committed write, so serving
+ * GET /products/facets never touches the database. A scheduled reconciliation recomputes the
+ * counts with GROUP BY queries and swaps them in, bounding any drift to one interval.
+ *
+ * The GROUP BY queries run in one repeatable-read snapshot on the primary (a replica snapshot
+ * could miss writes already applied to the counters). The snapshot is taken by a trivial query
+ * before recording starts; changes committed after that are not in the snapshot, so they are
+ * recorded as well as applied to the old counters, and replayed onto the rebuilt counters before
+ * the swap. Recording any earlier would replay changes the snapshot already counts.
+ */
+@Service
+@Slf4j
+public class ProductFacetService {
+
+    private final ProductRepository productRepository;
+    private final BigDecimal[] priceBoundaries;
+    private final AtomicReference<FacetCounters> counters;
+    private final Object rebuildLock = new Object();
+    // Changes committed during a rebuild, guarded by rebuildLock; null when not rebuilding
+    private List<ProductChangedEvent> changedDuringRebuild;
+    private volatile boolean rebuilding;
+
+    public ProductFacetService(
+            ProductRepository productRepository,
+            @Value("${product-service.facets.price-buckets:0,25,50,100,250,500,1000}") BigDecimal[] priceBoundaries) {
+        this.productRepository = productRepository;
+        this.priceBoundaries = priceBoundaries.clone();
+        Arrays.sort(this.priceBoundaries);
+        this.counters = new AtomicReference<>(new FacetCounters(this.priceBoundaries.length, null));
+    }
+
+    /**
+     * Get current facet counts (served from memory)
+     */
+    public ProductFacetsResponse getFacets() {
+        FacetCounters current = counters.get();
+
+        Map<String, Long> categories = new TreeMap<>();
+        current.categories.forEach((category, count) -> {
+            long value = count.get();
+            if (value > 0) {
+                categories.put(category, value);
+            }
+        });
+
+        Map<ProductStatus, Long> statuses = new EnumMap<>(ProductStatus.class);
+        for (ProductStatus status : ProductStatus.values()) {
+            statuses.put(status, current.statuses.get(status.ordinal()));
+        }
+
+        List<ProductFacetsResponse.PriceBucket> buckets = new ArrayList<>(priceBoundaries.length);
+        for (int i = 0; i < priceBoundaries.length; i++) {
+            buckets.add(ProductFacetsResponse.PriceBucket.builder()
+                    .min(priceBoundaries[i])
+                    .max(i + 1 < priceBoundaries.length ? priceBoundaries[i + 1] : null)
+                    .count(current.priceBuckets.get(i))
+                    .build());
+        }
+
+        return ProductFacetsResponse.builder()
+                .totalProducts(current.total.get())
+                .categories(categories)
+                .statuses(statuses)
+                .priceBuckets(buckets)
+                .reconciledAt(current.reconciledAt)
+                .build();
+    }
+
+    /**
+     * Apply a committed product change to the counters
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        ProductSnapshot previous = event.previous();
+        ProductSnapshot current = event.currentSnapshot();
+        if (Objects.equals(previous, current)) {
+            return;
+        }
+
+        if (rebuilding) {
+            synchronized (rebuildLock) {
+                if (changedDuringRebuild != null) {
+                    changedDuringRebuild.add(event);
+                }
+                apply(counters.get(), event);
+            }
+            return;
+        }
+        apply(counters.get(), event);
+    }
+
+    /**
+     * Recompute all counters from the database and swap them in
+     */
+    @Scheduled(fixedDelayString = "${product-service.facets.reconcile-interval-ms:300000}")
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public void reconcile() {
+        FacetCounters rebuilt = new FacetCounters(priceBoundaries.length, LocalDateTime.now());
+        productRepository.pinSnapshot();
+        synchronized (rebuildLock) {
+            changedDuringRebuild = new ArrayList<>();
+            rebuilding = true;
+        }
+
+        FacetCounters previous;
+        int replayed;
+        try {
+            long total = 0;
+            for (ProductRepository.CategoryCount row : productRepository.countGroupByCategory()) {
+                rebuilt.categories.put(row.getCategory(), new AtomicLong(row.getTotal()));
+                total += row.getTotal();
+            }
+            rebuilt.total.set(total);
+
+            for (ProductRepository.StatusCount row : productRepository.countGroupByStatus()) {
+                rebuilt.statuses.set(row.getStatus().ordinal(), row.getTotal());
+            }
+
+            for (int i = 0; i < priceBoundaries.length; i++) {
+                long count = i + 1 < priceBoundaries.length
+                        ? productRepository.countByPriceGreaterThanEqualAndPriceLessThan(priceBoundaries[i], priceBoundaries[i + 1])
+                        : productRepository.countByPriceGreaterThanEqual(priceBoundaries[i]);
+                rebuilt.priceBuckets.set(i, count);
+            }
+
+            synchronized (rebuildLock) {
+                replayed = changedDuringRebuild.size();
+                changedDuringRebuild.forEach(event -> apply(rebuilt, event));
+                previous = counters.getAndSet(rebuilt);
+            }
+        } finally {
+            synchronized (rebuildLock) {
+                changedDuringRebuild = null;
+                rebuilding = false;
+            }
+        }
+
+        long total = rebuilt.total.get();
+        long drift = total - previous.total.get();
+        if (drift != 0 && previous.reconciledAt != null) {
+            log.warn("Facet counters drifted by {} products since last reconciliation", drift);
+        }
+        log.debug("Facet counters reconciled - total: {}, categories: {}, replayed changes: {}",
+                total, rebuilt.categories.size(), replayed);
+    }
+
+    private void apply(FacetCounters target, ProductChangedEvent event) {
+        ProductSnapshot previous = event.previous();
+        ProductSnapshot current = event.currentSnapshot();
+        if (previous != null) {
+            target.add(previous, -1, bucketOf(previous.price()));
+        }
+        if (current != null) {
+            target.add(current, 1, bucketOf(current.price()));
+        }
+    }
+
+    private int bucketOf(BigDecimal price) {
+        if (price == null) {
+            return 0;
+        }
+        int index = Arrays.binarySearch(priceBoundaries, price);
+        if (index < 0) {
+            index = -index - 2;
+        }
+        return Math.max(index, 0);
+    }
+
+    private static final class FacetCounters {
+        private final AtomicLong total = new AtomicLong();
+        private final Map<String, AtomicLong> categories = new ConcurrentHashMap<>();
+        private final AtomicLongArray statuses = new AtomicLongArray(ProductStatus.values().length);
+        private final AtomicLongArray priceBuckets;
+        private final LocalDateTime reconciledAt;
+
+        private FacetCounters(int bucketCount, LocalDateTime reconciledAt) {
+            this.priceBuckets = new AtomicLongArray(bucketCount);
+            this.reconciledAt = reconciledAt;
+        }
+
+        private void add(ProductSnapshot snapshot, int delta, int bucket) {
+            total.addAndGet(delta);
+            if (snapshot.category() != null) {
+                categories.computeIfAbsent(snapshot.category(), key -> new AtomicLong()).addAndGet(delta);
+            }
+            if (snapshot.status() != null) {
+                statuses.addAndGet(snapshot.status().ordinal(), delta);
+            }
+            priceBuckets.addAndGet(bucket, delta);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.bitvelocity.product.service;
+
+import com.bitvelocity.product.dto.ProductResponse;
+import com.bitvelocity.product.event.ProductChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Read-through cache of product responses by id and SKU for the async read path.
+ *
+ * Entries expire after a TTL and are invalidated by ProductChangedEvent after commit. Each key
+ * hashes to one of a fixed set of version stripes, which an invalidation bumps for the product's
+ * id and SKU before removing its entries. A load captures the stripe of the key it looks up and
+ * is cached only if that stripe is unchanged, checked inside the map update, so a read racing a
+ * change to the same product cannot resurrect stale data, while changes to other products (bar
+ * the odd stripe collision) do not stop it being cached. Loads must read the primary: a replica
+ * may still serve the row an invalidation was for.
+ *
+ * When max-entries is reached, a put first sweeps out expired entries and, if the cache is still
+ * full, evicts the tenth of entries closest to expiry (the oldest, as the TTL is fixed).
+ */
+@Component
+@Slf4j
+public class ProductReadCache {
+
+    private static final int VERSION_STRIPES = 4096;
+
+    private final boolean enabled;
+    private final long ttlMs;
+    private final int maxEntries;
+    private final Map<UUID, Entry> byId = new ConcurrentHashMap<>();
+    private final Map<String, Entry> bySku = new ConcurrentHashMap<>();
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+
+    public ProductReadCache(
+            @Value("${product-service.read-cache.enabled:true}") boolean enabled,
+            @Value("${product-service.read-cache.ttl-ms:30000}") long ttlMs,
+            @Value("${product-service.read-cache.max-entries:50000}") int maxEntries) {
+        this.enabled = enabled;
+        this.ttlMs = ttlMs;
+        this.maxEntries = maxEntries;
+    }
+
+    public ProductResponse getById(UUID id) {
+        return enabled ? live(byId.get(id)) : null;
+    }
+
+    public ProductResponse getBySku(String sku) {
+        return enabled ? live(bySku.get(sku)) : null;
+    }
+
+    /**
+     * Token to pass to put(); captured before loading from the database
+     *
+     * @param key the id or SKU the load looks up
+     */
+    public long version(Object key) {
+        return versions.get(stripe(key));
+    }
+
+    /**
+     * Cache a loaded product under its id and SKU, unless it changed since version(key) was taken
+     */
+    public void put(Object key, long version, ProductResponse product) {
+        if (!enabled) {
+            return;
+        }
+        if (byId.size() >= maxEntries) {
+            evict();
+        }
+        int stripe = stripe(key);
+        Entry entry = new Entry(product, System.currentTimeMillis() + ttlMs);
+        byId.compute(product.getId(), (id, current) -> versions.get(stripe) == version ? entry : current);
+        bySku.compute(product.getSku(), (sku, current) -> versions.get(stripe) == version ? entry : current);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        // Bump before removing: a put that misses the bump is then ordered before the removal
+        versions.incrementAndGet(stripe(event.productId()));
+        if (event.sku() != null) {
+            versions.incrementAndGet(stripe(event.sku()));
+        }
+        byId.remove(event.productId());
+        if (event.sku() != null) {
+            bySku.remove(event.sku());
+        }
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    private ProductResponse live(Entry entry) {
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() < System.currentTimeMillis()) {
+            remove(entry);
+            return null;
+        }
+        return entry.product();
+    }
+
+    private synchronized void evict() {
+        if (byId.size() < maxEntries) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        List<Entry> entries = new ArrayList<>(byId.values());
+        entries.removeIf(entry -> {
+            if (entry.expiresAt() < now) {
+                remove(entry);
+                return true;
+            }
+            return false;
+        });
+        int excess = byId.size() - (maxEntries - Math.max(1, maxEntries / 10));
+        if (excess > 0) {
+            entries.sort(Comparator.comparingLong(Entry::expiresAt));
+            entries.subList(0, Math.min(excess, entries.size())).forEach(this::remove);
+        }
+        log.debug("Read cache evicted down to {} entries", byId.size());
+    }
+
+    private void remove(Entry entry) {
+        byId.remove(entry.product().getId(), entry);
+        bySku.remove(entry.product().getSku(), entry);
+    }
+
+    private static int stripe(Object key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (VERSION_STRIPES - 1);
+    }
+
+    private record Entry(ProductResponse product, long expiresAt) {
+    }
+}
@@ -1,14 +1,19 @@
 package com.bitvelocity.product.service;
 
 import com.bitvelocity.product.domain.Product;
+import com.bitvelocity.product.domain.ProductSortField;
 import com.bitvelocity.product.domain.ProductStatus;
 import com.bitvelocity.product.dto.*;
+import com.bitvelocity.product.event.ProductChangedEvent;
+import com.bitvelocity.product.event.ProductSnapshot;
 import com.bitvelocity.product.exception.ProductAlreadyExistsException;
 import com.bitvelocity.product.exception.ProductNotFoundException;
 import com.bitvelocity.product.mapper.ProductMapper;
 import com.bitvelocity.product.repository.ProductRepository;
-import lombok.RequiredArgsConstructor;
+import com.bitvelocity.product.repository.ProductSpecifications;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -19,13 +24,28 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.UUID;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 @Transactional(readOnly = true)
 public class ProductService {
 
     private final ProductRepository productRepository;
     private final ProductMapper productMapper;
+    private final ProductFacetService productFacetService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxPageSize;
+
+    public ProductService(
+            ProductRepository productRepository,
+            ProductMapper productMapper,
+            ProductFacetService productFacetService,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${product-service.pagination.max-page-size:100}") int maxPageSize) {
+        this.productRepository = productRepository;
+        this.productMapper = productMapper;
+        this.productFacetService = productFacetService;
+        this.eventPublisher = eventPublisher;
+        this.maxPageSize = maxPageSize;
+    }
 
     /**
      * Get all products with pagination and sorting
@@ -34,23 +54,38 @@ public class ProductService {
         log.debug("Getting all products - page: {}, size: {}, sortBy: {}, sortDir: {}", 
                   page, size, sortBy, sortDir);
         
-        Sort sort = sortDir.equalsIgnoreCase("asc") 
-                    ? Sort.by(sortBy).ascending() 
-                    : Sort.by(sortBy).descending();
+        Sort sort = toSort(ProductSortField.fromProperty(sortBy), sortDir);
         
-        Pageable pageable = PageRequest.of(page, size, sort);
+        Pageable pageable = PageRequest.of(page, pageSize(size), sort);
         Page<Product> productPage = productRepository.findAll(pageable);
         
         return mapToPageResponse(productPage);
     }
 
+    /**
+     * Query products combining optional category, status, price range, stock and text filters
+     */
+    public PageResponse<ProductResponse> queryProducts(ProductQueryRequest query) {
+        log.debug("Querying products with filters: {}", query);
+        
+        if (query.getMinPrice() != null && query.getMaxPrice() != null
+                && query.getMinPrice().compareTo(query.getMaxPrice()) > 0) {
+            throw new IllegalArgumentException("minPrice must not be greater than maxPrice");
+        }
+        
+        Pageable pageable = PageRequest.of(query.getPage(), pageSize(query.getSize()), resolveSort(query));
+        Page<Product> productPage = productRepository.findAll(ProductSpecifications.fromQuery(query), pageable);
+        
+        return mapToPageResponse(productPage);
+    }
+
     /**
      * Search products by term (name or description)
      */
     public PageResponse<ProductResponse> searchProducts(String searchTerm, int page, int size) {
         log.debug("Searching products with term: {}", searchTerm);
         
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+        Pageable pageable = PageRequest.of(page, pageSize(size), Sort.by("createdAt").descending());
         Page<Product> productPage = productRepository.searchProducts(searchTerm, pageable);
         
         return mapToPageResponse(productPage);
@@ -62,7 +97,7 @@ public class ProductService {
     public PageResponse<ProductResponse> getProductsByCategory(String category, int page, int size) {
         log.debug("Getting products by category: {}", category);
         
-        Pageable pageable = PageRequest.of(page, size, Sort.by("name").ascending());
+        Pageable pageable = PageRequest.of(page, pageSize(size), Sort.by("name").ascending());
         Page<Product> productPage = productRepository.findByCategory(category, pageable);
         
         return mapToPageResponse(productPage);
@@ -74,7 +109,7 @@ public class ProductService {
     public PageResponse<ProductResponse> getProductsByStatus(ProductStatus status, int page, int size) {
         log.debug("Getting products by status: {}", status);
         
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+        Pageable pageable = PageRequest.of(page, pageSize(size), Sort.by("createdAt").descending());
         Page<Product> productPage = productRepository.findByStatus(status, pageable);
         
         return mapToPageResponse(productPage);
@@ -86,12 +121,20 @@ public class ProductService {
     public PageResponse<ProductResponse> getActiveProducts(int page, int size) {
         log.debug("Getting active products");
         
-        Pageable pageable = PageRequest.of(page, size);
+        Pageable pageable = PageRequest.of(page, pageSize(size));
         Page<Product> productPage = productRepository.findActiveProducts(pageable);
         
         return mapToPageResponse(productPage);
     }
 
+    /**
+     * Get facet counts per category, status and price bucket
+     */
+    public ProductFacetsResponse getProductFacets() {
+        log.debug("Getting product facets");
+        return productFacetService.getFacets();
+    }
+
     /**
      * Get product by ID
      */
@@ -130,6 +173,7 @@ public class ProductService {
         
         Product product = productMapper.toEntity(request);
         Product savedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(savedProduct.getId(), savedProduct.getSku(), null, savedProduct));
         
         log.info("Product created successfully with id: {}", savedProduct.getId());
         return productMapper.toResponse(savedProduct);
@@ -145,8 +189,10 @@ public class ProductService {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ProductNotFoundException(id));
         
+        ProductSnapshot previous = ProductSnapshot.of(product);
         productMapper.updateEntity(product, request);
         Product updatedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(id, updatedProduct.getSku(), previous, updatedProduct));
         
         log.info("Product updated successfully with id: {}", updatedProduct.getId());
         return productMapper.toResponse(updatedProduct);
@@ -162,8 +208,10 @@ public class ProductService {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ProductNotFoundException(id));
         
+        ProductSnapshot previous = ProductSnapshot.of(product);
         product.setStockQuantity(request.getStockQuantity());
         Product updatedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(id, updatedProduct.getSku(), previous, updatedProduct));
         
         log.info("Stock updated successfully for product id: {}", updatedProduct.getId());
         return productMapper.toResponse(updatedProduct);
@@ -176,14 +224,41 @@ public class ProductService {
     public void deleteProduct(UUID id) {
         log.info("Deleting product with id: {}", id);
         
-        if (!productRepository.existsById(id)) {
-            throw new ProductNotFoundException(id);
-        }
+        Product product = productRepository.findById(id)
+                .orElseThrow(() -> new ProductNotFoundException(id));
         
-        productRepository.deleteById(id);
+        productRepository.delete(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(id, product.getSku(), ProductSnapshot.of(product), null));
         log.info("Product deleted successfully with id: {}", id);
     }
 
+    /**
+     * Pick the sort for a filtered query. An explicit sortBy must be whitelisted; otherwise the
+     * order matches the composite index serving the filter ((category, name) or (status, created_at)).
+     */
+    private Sort resolveSort(ProductQueryRequest query) {
+        if (query.getSortBy() != null && !query.getSortBy().isBlank()) {
+            return toSort(ProductSortField.fromProperty(query.getSortBy()), query.getSortDir());
+        }
+        if (query.getCategory() != null && !query.getCategory().isBlank() && query.getStatus() == null) {
+            return toSort(ProductSortField.NAME, "asc");
+        }
+        return toSort(ProductSortField.CREATED_AT, "desc");
+    }
+
+    private Sort toSort(ProductSortField field, String sortDir) {
+        return "asc".equalsIgnoreCase(sortDir)
+                ? Sort.by(field.getProperty()).ascending()
+                : Sort.by(field.getProperty()).descending();
+    }
+
+    /**
+     * Requested page size capped at max-page-size, so no list endpoint can fetch an unbounded page
+     */
+    private int pageSize(int requested) {
+        return Math.min(requested, maxPageSize);
+    }
+
     /**
      * Helper method to map Page<Product> to PageResponse<ProductResponse>
      */
@@ -0,0 +1,21 @@
+-- Products table as previously generated by Hibernate (ddl-auto: update).
+-- IF NOT EXISTS lets existing databases baseline onto this migration unchanged.
+CREATE TABLE IF NOT EXISTS products (
+    id             UUID           NOT NULL PRIMARY KEY,
+    sku            VARCHAR(50)    NOT NULL,
+    name           VARCHAR(255)   NOT NULL,
+    description    TEXT,
+    price          NUMERIC(10, 2) NOT NULL,
+    category       VARCHAR(100)   NOT NULL,
+    stock_quantity INTEGER        NOT NULL,
+    image_url      VARCHAR(500),
+    status         VARCHAR(20)    NOT NULL,
+    created_at     TIMESTAMP(6)   NOT NULL,
+    updated_at     TIMESTAMP(6),
+    created_by     VARCHAR(100),
+    updated_by     VARCHAR(100)
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_product_sku ON products (sku);
+CREATE INDEX IF NOT EXISTS idx_product_category ON products (category);
+CREATE INDEX IF NOT EXISTS idx_product_status ON products (status);
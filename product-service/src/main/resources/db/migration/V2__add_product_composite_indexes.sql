@@ -0,0 +1,22 @@
+-- Composite indexes matched to the ORDER BY of the hot ProductRepository queries, so
+-- paged reads walk the index instead of sorting the filtered rows in memory.
+
+-- findByStatus ... ORDER BY created_at DESC  (also serves GROUP BY status for facets)
+CREATE INDEX IF NOT EXISTS idx_product_status_created_at ON products (status, created_at DESC);
+
+-- findByCategory ... ORDER BY name ASC  (also serves GROUP BY category for facets)
+CREATE INDEX IF NOT EXISTS idx_product_category_name ON products (category, name);
+
+-- /products/query with category + price range / price sort
+CREATE INDEX IF NOT EXISTS idx_product_category_price ON products (category, price);
+
+-- findAll default sort (created_at DESC) and sortBy=price
+CREATE INDEX IF NOT EXISTS idx_product_created_at ON products (created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_product_price ON products (price);
+
+-- findActiveProducts: WHERE status = 'ACTIVE' ORDER BY created_at DESC
+CREATE INDEX IF NOT EXISTS idx_product_active_created_at ON products (created_at DESC) WHERE status = 'ACTIVE';
+
+-- Single-column indexes are now prefixes of the composites above
+DROP INDEX IF EXISTS idx_product_status;
+DROP INDEX IF EXISTS idx_product_category;
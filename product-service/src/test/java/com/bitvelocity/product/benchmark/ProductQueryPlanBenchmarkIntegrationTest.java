@@ -0,0 +1,149 @@
+package com.bitvelocity.product.benchmark;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query-plan benchmark for the hot ProductRepository queries on PostgreSQL.
+ *
+ * Seeds the Flyway schema with a realistic row count, then runs EXPLAIN ANALYZE for each query
+ * with the V1 index set (V2 indexes dropped and the single-column indexes V2 dropped recreated,
+ * inside a rolled-back transaction) and with the full V2 index set. Plans and timings are printed for comparison.
+ *
+ * Requires Docker. To run: mvn test -Dtest=ProductQueryPlanBenchmarkIntegrationTest -Dbenchmark=true
+ */
+@Testcontainers
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Product query plan benchmark (PostgreSQL/Testcontainers)")
+class ProductQueryPlanBenchmarkIntegrationTest {
+
+    private static final int PRODUCT_COUNT = Integer.getInteger("benchmark.products", 200_000);
+
+    private static final List<String> V2_INDEXES = List.of(
+            "idx_product_status_created_at",
+            "idx_product_category_name",
+            "idx_product_category_price",
+            "idx_product_created_at",
+            "idx_product_price",
+            "idx_product_active_created_at");
+
+    /**
+     * Single-column indexes from V1 that V2 dropped as prefixes of its composites
+     */
+    private static final List<String> V1_INDEXES = List.of(
+            "CREATE INDEX idx_product_category ON products (category)",
+            "CREATE INDEX idx_product_status ON products (status)");
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("benchdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @BeforeAll
+    static void migrateAndSeed() throws SQLException {
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    INSERT INTO products (id, sku, name, description, price, category, stock_quantity, status, created_at)
+                    SELECT gen_random_uuid(),
+                           'SKU-' || g,
+                           'Product ' || md5(g::text),
+                           'Description ' || g,
+                           round((random() * 2000)::numeric + 1, 2),
+                           'Category-' || (g % 50),
+                           (random() * 100)::int,
+                           (ARRAY['ACTIVE','ACTIVE','ACTIVE','DRAFT','OUT_OF_STOCK','DISCONTINUED'])[1 + g % 6],
+                           now() - (g || ' seconds')::interval
+                    FROM generate_series(1, %d) AS g
+                    """.formatted(PRODUCT_COUNT));
+            statement.execute("ANALYZE products");
+        }
+    }
+
+    @Test
+    @DisplayName("findByStatus ordered by createdAt uses (status, created_at)")
+    void statusOrderedByCreatedAt() throws SQLException {
+        String plan = compare("findByStatus",
+                "SELECT * FROM products WHERE status = 'DRAFT' ORDER BY created_at DESC LIMIT 20 OFFSET 200");
+        assertThat(plan).contains("idx_product_status_created_at").doesNotContain("Sort Key");
+    }
+
+    @Test
+    @DisplayName("findByCategory ordered by name uses (category, name)")
+    void categoryOrderedByName() throws SQLException {
+        String plan = compare("findByCategory",
+                "SELECT * FROM products WHERE category = 'Category-7' ORDER BY name ASC LIMIT 20 OFFSET 200");
+        assertThat(plan).contains("idx_product_category_name").doesNotContain("Sort Key");
+    }
+
+    @Test
+    @DisplayName("findActiveProducts uses the partial ACTIVE index")
+    void activeOrderedByCreatedAt() throws SQLException {
+        String plan = compare("findActiveProducts",
+                "SELECT * FROM products WHERE status = 'ACTIVE' ORDER BY created_at DESC LIMIT 20 OFFSET 200");
+        assertThat(plan).contains("idx_product_active_created_at").doesNotContain("Sort Key");
+    }
+
+    /**
+     * Prints the plan with the V1 and with the V2 indexes; returns the plan with V2
+     */
+    private String compare(String label, String sql) throws SQLException {
+        String before;
+        try (Connection connection = connect()) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                for (String index : V2_INDEXES) {
+                    statement.execute("DROP INDEX " + index);
+                }
+                for (String ddl : V1_INDEXES) {
+                    statement.execute(ddl);
+                }
+                before = explain(statement, sql);
+            } finally {
+                connection.rollback();
+            }
+        }
+
+        String after;
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            after = explain(statement, sql);
+        }
+
+        System.out.printf("%n=== %s (%,d products) ===%n--- V1 single-column indexes ---%n%s%n--- V2 composite indexes ---%n%s%n",
+                label, PRODUCT_COUNT, before, after);
+        return after;
+    }
+
+    private static String explain(Statement statement, String sql) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (ResultSet rs = statement.executeQuery("EXPLAIN (ANALYZE, BUFFERS) " + sql)) {
+            while (rs.next()) {
+                plan.append(rs.getString(1)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+    }
+}
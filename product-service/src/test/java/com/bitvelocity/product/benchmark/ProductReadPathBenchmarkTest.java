@@ -0,0 +1,130 @@
+package com.bitvelocity.product.benchmark;
+
+import com.bitvelocity.product.domain.ProductStatus;
+import com.bitvelocity.product.dto.ProductResponse;
+import com.bitvelocity.product.service.ProductAsyncService;
+import com.bitvelocity.product.service.ProductReadCache;
+import com.bitvelocity.product.service.ProductService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Throughput-per-CPU benchmark for the product read path.
+ *
+ * Compares the blocking ProductService on a fixed platform-thread pool (the servlet model)
+ * against ProductAsyncService futures at the same concurrency. Database latency is simulated
+ * by parking the loading thread, and the read cache is disabled so both paths do the same work.
+ * Requests per second and per CPU-second are printed for comparison.
+ *
+ * To run: mvn test -Dtest=ProductReadPathBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Product read path benchmark (blocking vs async)")
+class ProductReadPathBenchmarkTest {
+
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 20_000);
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 200);
+    private static final long DB_LATENCY_NANOS = Long.getLong("benchmark.db-latency-ms", 5) * 1_000_000;
+
+    @Test
+    @DisplayName("Async read path should sustain at least the blocking throughput")
+    void compareReadPaths() throws Exception {
+        ProductService productService = slowProductService();
+
+        Result blocking = measure("blocking", () -> runBlocking(productService));
+
+        ProductAsyncService asyncService = new ProductAsyncService(productService, new ProductReadCache(false, 0, 0));
+        Result async;
+        try {
+            async = measure("async", () -> runAsync(asyncService));
+        } finally {
+            asyncService.destroy();
+        }
+
+        // Both paths are latency-bound at the same concurrency; allow for scheduling noise
+        assertThat(async.requestsPerSecond()).isGreaterThan(blocking.requestsPerSecond() * 0.8);
+    }
+
+    private void runBlocking(ProductService productService) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(CONCURRENCY);
+        try {
+            List<Future<ProductResponse>> futures = new ArrayList<>(REQUESTS);
+            for (int i = 0; i < REQUESTS; i++) {
+                futures.add(pool.submit(() -> productService.getProductById(UUID.randomUUID())));
+            }
+            for (Future<ProductResponse> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private void runAsync(ProductAsyncService asyncService) {
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        List<CompletableFuture<ProductResponse>> futures = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            inFlight.acquireUninterruptibly();
+            futures.add(asyncService.getProductById(UUID.randomUUID())
+                    .whenComplete((product, error) -> inFlight.release()));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+    }
+
+    private Result measure(String name, ThrowingRunnable run) throws Exception {
+        com.sun.management.OperatingSystemMXBean os =
+                (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+        long cpuStart = os.getProcessCpuTime();
+        long start = System.nanoTime();
+        run.run();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        double cpuSeconds = Math.max(os.getProcessCpuTime() - cpuStart, 1) / 1e9;
+
+        Result result = new Result(REQUESTS / seconds, REQUESTS / cpuSeconds);
+        System.out.printf("%-8s requests=%d concurrency=%d wall=%.2fs cpu=%.2fs req/s=%.0f req/cpu-s=%.0f%n",
+                name, REQUESTS, CONCURRENCY, seconds, cpuSeconds, result.requestsPerSecond(), result.requestsPerCpuSecond());
+        return result;
+    }
+
+    private static ProductService slowProductService() {
+        ProductService productService = mock(ProductService.class);
+        when(productService.getProductById(any(UUID.class))).thenAnswer(invocation -> {
+            LockSupport.parkNanos(DB_LATENCY_NANOS);
+            UUID id = invocation.getArgument(0);
+            return ProductResponse.builder()
+                    .id(id)
+                    .sku("SKU-" + id)
+                    .name("Benchmark product")
+                    .price(new BigDecimal("19.99"))
+                    .status(ProductStatus.ACTIVE)
+                    .build();
+        });
+        return productService;
+    }
+
+    private record Result(double requestsPerSecond, double requestsPerCpuSecond) {
+    }
+
+    @FunctionalInterface
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,136 @@
+package com.bitvelocity.product.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ReplicaRoutingDataSource Unit Tests")
+class ReplicaRoutingDataSourceTest {
+
+    private ReplicaHealthMonitor healthMonitor;
+    private ReadYourWritesTracker tracker;
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", new DriverManagerDataSource("jdbc:h2:mem:replica1", "sa", ""));
+        replicas.put("replica-2", new DriverManagerDataSource("jdbc:h2:mem:replica2", "sa", ""));
+        replicas.put("replica-down", new DriverManagerDataSource("jdbc:h2:tcp://localhost:1/unreachable", "sa", ""));
+
+        healthMonitor = new ReplicaHealthMonitor(replicas, "SELECT 0", 1000);
+        tracker = new ReadYourWritesTracker(60_000);
+        routingDataSource = new ReplicaRoutingDataSource(healthMonitor, tracker);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should keep unreachable replicas out of rotation")
+    void shouldOnlyRotateHealthyReplicas() {
+        healthMonitor.checkReplicas();
+
+        assertThat(healthMonitor.getHealthyReplicas()).containsExactly("replica-1", "replica-2");
+    }
+
+    @Test
+    @DisplayName("Should round-robin read-only transactions across healthy replicas")
+    void shouldRouteReadOnlyToReplicas() {
+        healthMonitor.checkReplicas();
+        readOnlyTransaction();
+
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo("replica-1");
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo("replica-2");
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo("replica-1");
+    }
+
+    @Test
+    @DisplayName("Should route read-write transactions to the primary")
+    void shouldRouteWritesToPrimary() {
+        healthMonitor.checkReplicas();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary before any replica is known healthy")
+    void shouldFallBackToPrimaryWithoutHealthyReplica() {
+        readOnlyTransaction();
+
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    @DisplayName("Should pin a client's reads to the primary after its own write commits")
+    void shouldReadYourWrites() {
+        healthMonitor.checkReplicas();
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("vendor-1", null, "ROLE_VENDOR"));
+
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+        assertThat(tracker.isWithinWindow("vendor-1")).isFalse();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+
+        readOnlyTransaction();
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("shopper-1", null, "ROLE_USER"));
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo("replica-1");
+    }
+
+    @Test
+    @DisplayName("Should not pin a client's reads after a write that rolled back")
+    void shouldIgnoreRolledBackWrites() {
+        healthMonitor.checkReplicas();
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("vendor-1", null, "ROLE_VENDOR"));
+
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        routingDataSource.determineCurrentLookupKey();
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        TransactionSynchronizationManager.clearSynchronization();
+
+        readOnlyTransaction();
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo("replica-1");
+    }
+
+    @Test
+    @DisplayName("Should route read-only transactions to the primary inside onPrimary")
+    void shouldRouteToPrimaryWhenAsked() {
+        healthMonitor.checkReplicas();
+        readOnlyTransaction();
+
+        assertThat(ReplicaRoutingDataSource.onPrimary(routingDataSource::determineCurrentLookupKey))
+                .isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo("replica-1");
+    }
+
+    private static void readOnlyTransaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+}
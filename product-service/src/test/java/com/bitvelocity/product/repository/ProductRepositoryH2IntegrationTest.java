@@ -0,0 +1,121 @@
+package com.bitvelocity.product.repository;
+
+import com.bitvelocity.product.config.JpaConfig;
+import com.bitvelocity.product.config.SchemaIndexVerifier;
+import com.bitvelocity.product.domain.Product;
+import com.bitvelocity.product.domain.ProductStatus;
+import com.bitvelocity.product.dto.ProductQueryRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Repository tests against H2 for the dynamic product query.
+ *
+ * To run: mvn test -Dtest=ProductRepositoryH2IntegrationTest
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(JpaConfig.class)
+@DisplayName("ProductRepository Integration Tests (H2)")
+class ProductRepositoryH2IntegrationTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        productRepository.save(product("PHONE-001", "Budget Phone", "Electronics", "99.00", 5, ProductStatus.ACTIVE));
+        productRepository.save(product("PHONE-002", "Flagship Phone", "Electronics", "999.00", 0, ProductStatus.OUT_OF_STOCK));
+        productRepository.save(product("LAPTOP-001", "Gaming Laptop", "Electronics", "1499.00", 3, ProductStatus.ACTIVE));
+        productRepository.save(product("BOOK-001", "Phone Photography", "Books", "25.00", 12, ProductStatus.ACTIVE));
+    }
+
+    @Test
+    @DisplayName("Should combine category, price range and stock filters")
+    void shouldCombineFilters() {
+        ProductQueryRequest query = ProductQueryRequest.builder()
+                .category("Electronics")
+                .minPrice(new BigDecimal("50.00"))
+                .maxPrice(new BigDecimal("1000.00"))
+                .inStock(true)
+                .build();
+
+        Page<Product> page = productRepository.findAll(ProductSpecifications.fromQuery(query),
+                PageRequest.of(0, 20, Sort.by("name")));
+
+        assertThat(page.getContent()).extracting(Product::getSku).containsExactly("PHONE-001");
+    }
+
+    @Test
+    @DisplayName("Should match text across categories and filter by status")
+    void shouldMatchTextAndStatus() {
+        ProductQueryRequest query = ProductQueryRequest.builder()
+                .status(ProductStatus.ACTIVE)
+                .text("phone")
+                .build();
+
+        Page<Product> page = productRepository.findAll(ProductSpecifications.fromQuery(query),
+                PageRequest.of(0, 20, Sort.by("name")));
+
+        assertThat(page.getContent()).extracting(Product::getSku).containsExactly("PHONE-001", "BOOK-001");
+    }
+
+    @Test
+    @DisplayName("Should match % and _ in the text literally")
+    void shouldEscapeLikeWildcards() {
+        productRepository.save(product("SALE-001", "Phone 50% off", "Electronics", "49.00", 1, ProductStatus.ACTIVE));
+        productRepository.save(product("SALE-002", "Phone 500 Edition", "Electronics", "599.00", 1, ProductStatus.ACTIVE));
+
+        Page<Product> percent = productRepository.findAll(ProductSpecifications.fromQuery(
+                ProductQueryRequest.builder().text("50%").build()), PageRequest.of(0, 20));
+        Page<Product> underscore = productRepository.findAll(ProductSpecifications.fromQuery(
+                ProductQueryRequest.builder().text("phone_").build()), PageRequest.of(0, 20));
+
+        assertThat(percent.getContent()).extracting(Product::getSku).containsExactly("SALE-001");
+        assertThat(underscore.getContent()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should return all products when no filter is set")
+    void shouldReturnAllWithoutFilters() {
+        Page<Product> page = productRepository.findAll(ProductSpecifications.fromQuery(new ProductQueryRequest()),
+                PageRequest.of(0, 20));
+
+        assertThat(page.getTotalElements()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should create every index required by the schema check")
+    void shouldHaveRequiredIndexes() {
+        assertThat(new SchemaIndexVerifier(dataSource).findMissingIndexes()).isEmpty();
+    }
+
+    private static Product product(String sku, String name, String category, String price, int stock, ProductStatus status) {
+        return Product.builder()
+                .sku(sku)
+                .name(name)
+                .description(name + " description")
+                .category(category)
+                .price(new BigDecimal(price))
+                .stockQuantity(stock)
+                .status(status)
+                .build();
+    }
+}
@@ -0,0 +1,100 @@
+package com.bitvelocity.product.service;
+
+import com.bitvelocity.product.domain.ProductStatus;
+import com.bitvelocity.product.dto.ProductResponse;
+import com.bitvelocity.product.event.ProductChangedEvent;
+import com.bitvelocity.product.exception.ProductNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductAsyncService Unit Tests")
+class ProductAsyncServiceTest {
+
+    @Mock
+    private ProductService productService;
+
+    private ProductReadCache productReadCache;
+    private ProductAsyncService productAsyncService;
+
+    private UUID productId;
+    private ProductResponse product;
+
+    @BeforeEach
+    void setUp() {
+        productReadCache = new ProductReadCache(true, 60_000, 100);
+        productAsyncService = new ProductAsyncService(productService, productReadCache);
+
+        productId = UUID.randomUUID();
+        product = ProductResponse.builder()
+                .id(productId)
+                .sku("LAPTOP-001")
+                .name("Gaming Laptop")
+                .price(new BigDecimal("1299.99"))
+                .status(ProductStatus.ACTIVE)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        productAsyncService.destroy();
+    }
+
+    @Test
+    @DisplayName("Should load on miss and serve later reads by id and SKU from the cache")
+    void shouldCacheAfterFirstLoad() {
+        // Given
+        when(productService.getProductById(productId)).thenReturn(product);
+
+        // When
+        ProductResponse first = productAsyncService.getProductById(productId).join();
+        ProductResponse second = productAsyncService.getProductById(productId).join();
+        ProductResponse bySku = productAsyncService.getProductBySku("LAPTOP-001").join();
+
+        // Then
+        assertThat(first).isEqualTo(product);
+        assertThat(second).isSameAs(first);
+        assertThat(bySku).isSameAs(first);
+        verify(productService, times(1)).getProductById(productId);
+        verify(productService, never()).getProductBySku(any());
+    }
+
+    @Test
+    @DisplayName("Should reload after a product change invalidates the cache")
+    void shouldReloadAfterInvalidation() {
+        // Given
+        when(productService.getProductById(productId)).thenReturn(product);
+        productAsyncService.getProductById(productId).join();
+
+        // When
+        productReadCache.onProductChanged(new ProductChangedEvent(productId, "LAPTOP-001", null, null));
+        productAsyncService.getProductById(productId).join();
+
+        // Then
+        verify(productService, times(2)).getProductById(productId);
+    }
+
+    @Test
+    @DisplayName("Should complete exceptionally when product is not found")
+    void shouldPropagateNotFound() {
+        // Given
+        when(productService.getProductById(productId)).thenThrow(new ProductNotFoundException(productId));
+
+        // When & Then
+        assertThatThrownBy(() -> productAsyncService.getProductById(productId).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(ProductNotFoundException.class);
+    }
+}
@@ -0,0 +1,187 @@
+package com.bitvelocity.product.service;
+
+import com.bitvelocity.product.domain.Product;
+import com.bitvelocity.product.domain.ProductStatus;
+import com.bitvelocity.product.dto.ProductFacetsResponse;
+import com.bitvelocity.product.event.ProductChangedEvent;
+import com.bitvelocity.product.event.ProductSnapshot;
+import com.bitvelocity.product.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductFacetService Unit Tests")
+class ProductFacetServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductFacetService facetService;
+
+    @BeforeEach
+    void setUp() {
+        BigDecimal[] boundaries = {new BigDecimal("0"), new BigDecimal("50"), new BigDecimal("100")};
+        facetService = new ProductFacetService(productRepository, boundaries);
+    }
+
+    @Test
+    @DisplayName("Should count created products without touching the database")
+    void shouldCountCreatedProducts() {
+        // When
+        facetService.onProductChanged(created(product("Electronics", ProductStatus.ACTIVE, "99.99")));
+        facetService.onProductChanged(created(product("Electronics", ProductStatus.DRAFT, "10.00")));
+        facetService.onProductChanged(created(product("Books", ProductStatus.ACTIVE, "150.00")));
+
+        ProductFacetsResponse facets = facetService.getFacets();
+
+        // Then
+        assertThat(facets.getTotalProducts()).isEqualTo(3);
+        assertThat(facets.getCategories()).containsEntry("Electronics", 2L).containsEntry("Books", 1L);
+        assertThat(facets.getStatuses()).containsEntry(ProductStatus.ACTIVE, 2L).containsEntry(ProductStatus.DRAFT, 1L);
+        assertThat(facets.getPriceBuckets()).extracting(ProductFacetsResponse.PriceBucket::getCount)
+                .containsExactly(1L, 1L, 1L);
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName("Should move counts between buckets on update and drop them on delete")
+    void shouldMoveCountsOnUpdateAndDelete() {
+        // Given
+        Product product = product("Electronics", ProductStatus.ACTIVE, "99.99");
+        facetService.onProductChanged(created(product));
+        ProductSnapshot previous = ProductSnapshot.of(product);
+
+        // When
+        product.setStatus(ProductStatus.OUT_OF_STOCK);
+        product.setPrice(new BigDecimal("100.00"));
+        facetService.onProductChanged(new ProductChangedEvent(product.getId(), product.getSku(), previous, product));
+
+        // Then
+        ProductFacetsResponse facets = facetService.getFacets();
+        assertThat(facets.getStatuses()).containsEntry(ProductStatus.ACTIVE, 0L).containsEntry(ProductStatus.OUT_OF_STOCK, 1L);
+        assertThat(facets.getPriceBuckets()).extracting(ProductFacetsResponse.PriceBucket::getCount)
+                .containsExactly(0L, 0L, 1L);
+
+        // When
+        facetService.onProductChanged(new ProductChangedEvent(product.getId(), product.getSku(), ProductSnapshot.of(product), null));
+
+        // Then
+        facets = facetService.getFacets();
+        assertThat(facets.getTotalProducts()).isZero();
+        assertThat(facets.getCategories()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should replace counters with database counts on reconcile")
+    void shouldReconcileFromDatabase() {
+        // Given
+        facetService.onProductChanged(created(product("Stale", ProductStatus.ACTIVE, "5.00")));
+        when(productRepository.countGroupByCategory()).thenReturn(List.of(categoryCount("Electronics", 4)));
+        when(productRepository.countGroupByStatus()).thenReturn(List.of(statusCount(ProductStatus.ACTIVE, 4)));
+        when(productRepository.countByPriceGreaterThanEqualAndPriceLessThan(any(), any())).thenReturn(2L);
+        when(productRepository.countByPriceGreaterThanEqual(any())).thenReturn(0L);
+
+        // When
+        facetService.reconcile();
+        ProductFacetsResponse facets = facetService.getFacets();
+
+        // Then
+        assertThat(facets.getTotalProducts()).isEqualTo(4);
+        assertThat(facets.getCategories()).containsOnlyKeys("Electronics");
+        assertThat(facets.getStatuses()).containsEntry(ProductStatus.ACTIVE, 4L);
+        assertThat(facets.getPriceBuckets()).extracting(ProductFacetsResponse.PriceBucket::getCount)
+                .containsExactly(2L, 2L, 0L);
+        assertThat(facets.getReconciledAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should keep changes committed while reconciling")
+    void shouldReplayChangesCommittedDuringReconcile() {
+        // Given
+        when(productRepository.countGroupByCategory()).thenReturn(List.of(categoryCount("Electronics", 4)));
+        when(productRepository.countGroupByStatus()).thenAnswer(invocation -> {
+            // Committed after the snapshot the counts are read from
+            facetService.onProductChanged(created(product("Books", ProductStatus.ACTIVE, "75.00")));
+            return List.of(statusCount(ProductStatus.ACTIVE, 4));
+        });
+        when(productRepository.countByPriceGreaterThanEqualAndPriceLessThan(any(), any())).thenReturn(2L);
+        when(productRepository.countByPriceGreaterThanEqual(any())).thenReturn(0L);
+
+        // When
+        facetService.reconcile();
+        facetService.onProductChanged(created(product("Books", ProductStatus.DRAFT, "5.00")));
+        ProductFacetsResponse facets = facetService.getFacets();
+
+        // Then
+        assertThat(facets.getTotalProducts()).isEqualTo(6);
+        assertThat(facets.getCategories()).containsEntry("Electronics", 4L).containsEntry("Books", 2L);
+        assertThat(facets.getStatuses()).containsEntry(ProductStatus.ACTIVE, 5L).containsEntry(ProductStatus.DRAFT, 1L);
+        assertThat(facets.getPriceBuckets()).extracting(ProductFacetsResponse.PriceBucket::getCount)
+                .containsExactly(3L, 3L, 0L);
+    }
+
+    @Test
+    @DisplayName("Should not replay changes already in the reconcile snapshot")
+    void shouldNotReplayChangesInSnapshot() {
+        // Given
+        when(productRepository.pinSnapshot()).thenAnswer(invocation -> {
+            // Committed before the snapshot was taken, so already in the counts below
+            facetService.onProductChanged(created(product("Electronics", ProductStatus.ACTIVE, "10.00")));
+            return 1;
+        });
+        when(productRepository.countGroupByCategory()).thenReturn(List.of(categoryCount("Electronics", 4)));
+        when(productRepository.countGroupByStatus()).thenReturn(List.of(statusCount(ProductStatus.ACTIVE, 4)));
+        when(productRepository.countByPriceGreaterThanEqualAndPriceLessThan(any(), any())).thenReturn(2L);
+        when(productRepository.countByPriceGreaterThanEqual(any())).thenReturn(0L);
+
+        // When
+        facetService.reconcile();
+        ProductFacetsResponse facets = facetService.getFacets();
+
+        // Then
+        assertThat(facets.getTotalProducts()).isEqualTo(4);
+        assertThat(facets.getCategories()).containsEntry("Electronics", 4L);
+    }
+
+    private static Product product(String category, ProductStatus status, String price) {
+        return Product.builder()
+                .id(UUID.randomUUID())
+                .sku("SKU-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase())
+                .name("Product")
+                .category(category)
+                .status(status)
+                .price(new BigDecimal(price))
+                .stockQuantity(1)
+                .build();
+    }
+
+    private static ProductChangedEvent created(Product product) {
+        return new ProductChangedEvent(product.getId(), product.getSku(), null, product);
+    }
+
+    private static ProductRepository.CategoryCount categoryCount(String category, long total) {
+        return new ProductRepository.CategoryCount() {
+            public String getCategory() { return category; }
+            public long getTotal() { return total; }
+        };
+    }
+
+    private static ProductRepository.StatusCount statusCount(ProductStatus status, long total) {
+        return new ProductRepository.StatusCount() {
+            public ProductStatus getStatus() { return status; }
+            public long getTotal() { return total; }
+        };
+    }
+}
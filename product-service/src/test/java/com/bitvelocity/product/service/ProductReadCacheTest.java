@@ -0,0 +1,87 @@
+package com.bitvelocity.product.service;
+
+import com.bitvelocity.product.domain.ProductStatus;
+import com.bitvelocity.product.dto.ProductResponse;
+import com.bitvelocity.product.event.ProductChangedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ProductReadCache Unit Tests")
+class ProductReadCacheTest {
+
+    @Test
+    @DisplayName("Should sweep expired entries to admit new products when full")
+    void shouldSweepExpiredEntriesWhenFull() {
+        // Given
+        ProductReadCache cache = new ProductReadCache(true, -1, 3);
+        for (int i = 0; i < 3; i++) {
+            cache.put("SKU-" + i, cache.version("SKU-" + i), product(i));
+        }
+
+        // When
+        ProductResponse added = product(3);
+        cache.put(added.getSku(), cache.version(added.getSku()), added);
+
+        // Then
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should evict the oldest entries to admit new products when full of live ones")
+    void shouldEvictOldestWhenFull() {
+        // Given
+        ProductReadCache cache = new ProductReadCache(true, 60_000, 10);
+        for (int i = 0; i < 10; i++) {
+            cache.put("SKU-" + i, cache.version("SKU-" + i), product(i));
+        }
+
+        // When
+        ProductResponse added = product(10);
+        cache.put(added.getSku(), cache.version(added.getSku()), added);
+
+        // Then
+        assertThat(cache.size()).isEqualTo(10);
+        assertThat(cache.getById(added.getId())).isEqualTo(added);
+        assertThat(cache.getBySku(added.getSku())).isEqualTo(added);
+    }
+
+    @Test
+    @DisplayName("Should drop a load racing a change to the same product but not to another")
+    void shouldDropOnlyLoadsOfChangedProducts() {
+        // Given
+        ProductReadCache cache = new ProductReadCache(true, 60_000, 10);
+        ProductResponse changed = product(1, new UUID(0, 1));
+        ProductResponse untouched = product(2, new UUID(0, 2));
+        long changedVersion = cache.version(changed.getId());
+        long untouchedVersion = cache.version(untouched.getSku());
+
+        // When
+        cache.onProductChanged(new ProductChangedEvent(changed.getId(), changed.getSku(), null, null));
+        cache.put(changed.getId(), changedVersion, changed);
+        cache.put(untouched.getSku(), untouchedVersion, untouched);
+
+        // Then
+        assertThat(cache.getById(changed.getId())).isNull();
+        assertThat(cache.getBySku(changed.getSku())).isNull();
+        assertThat(cache.getById(untouched.getId())).isEqualTo(untouched);
+    }
+
+    private static ProductResponse product(int i) {
+        return product(i, UUID.randomUUID());
+    }
+
+    private static ProductResponse product(int i, UUID id) {
+        return ProductResponse.builder()
+                .id(id)
+                .sku("SKU-" + i)
+                .name("Product " + i)
+                .price(new BigDecimal("9.99"))
+                .status(ProductStatus.ACTIVE)
+                .build();
+    }
+}
@@ -3,6 +3,7 @@ package com.bitvelocity.product.service;
 import com.bitvelocity.product.domain.Product;
 import com.bitvelocity.product.domain.ProductStatus;
 import com.bitvelocity.product.dto.*;
+import com.bitvelocity.product.event.ProductChangedEvent;
 import com.bitvelocity.product.exception.ProductAlreadyExistsException;
 import com.bitvelocity.product.exception.ProductNotFoundException;
 import com.bitvelocity.product.mapper.ProductMapper;
@@ -11,10 +12,12 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -37,7 +40,12 @@ class ProductServiceTest {
     @Mock
     private ProductMapper productMapper;
 
-    @InjectMocks
+    @Mock
+    private ProductFacetService productFacetService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private ProductService productService;
 
     private Product sampleProduct;
@@ -48,6 +56,7 @@ class ProductServiceTest {
 
     @BeforeEach
     void setUp() {
+        productService = new ProductService(productRepository, productMapper, productFacetService, eventPublisher, 100);
         productId = UUID.randomUUID();
         
         sampleProduct = Product.builder()
@@ -117,6 +126,22 @@ class ProductServiceTest {
         verify(productMapper).toResponse(sampleProduct);
     }
 
+    @Test
+    @DisplayName("Should cap the page size of get all products")
+    void shouldCapGetAllProductsPageSize() {
+        // Given
+        when(productRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(sampleProduct)));
+        when(productMapper.toResponse(sampleProduct)).thenReturn(sampleResponse);
+
+        // When
+        productService.getAllProducts(0, 10_000, "createdAt", "desc");
+
+        // Then
+        ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+        verify(productRepository).findAll(pageableCaptor.capture());
+        assertThat(pageableCaptor.getValue().getPageSize()).isEqualTo(100);
+    }
+
     @Test
     @DisplayName("Should search products by term")
     void shouldSearchProducts() {
@@ -219,6 +244,7 @@ class ProductServiceTest {
         assertThat(result.getSku()).isEqualTo("LAPTOP-001");
         verify(productRepository).existsBySku(createRequest.getSku());
         verify(productRepository).save(sampleProduct);
+        verify(eventPublisher).publishEvent(any(ProductChangedEvent.class));
     }
 
     @Test
@@ -291,29 +317,31 @@ class ProductServiceTest {
     @DisplayName("Should delete product successfully")
     void shouldDeleteProductSuccessfully() {
         // Given
-        when(productRepository.existsById(productId)).thenReturn(true);
-        doNothing().when(productRepository).deleteById(productId);
+        when(productRepository.findById(productId)).thenReturn(Optional.of(sampleProduct));
+        doNothing().when(productRepository).delete(sampleProduct);
 
         // When
         productService.deleteProduct(productId);
 
         // Then
-        verify(productRepository).existsById(productId);
-        verify(productRepository).deleteById(productId);
+        verify(productRepository).findById(productId);
+        verify(productRepository).delete(sampleProduct);
+        verify(eventPublisher).publishEvent(any(ProductChangedEvent.class));
     }
 
     @Test
     @DisplayName("Should throw ProductNotFoundException when deleting non-existent product")
     void shouldThrowExceptionWhenDeletingNonExistentProduct() {
         // Given
-        when(productRepository.existsById(productId)).thenReturn(false);
+        when(productRepository.findById(productId)).thenReturn(Optional.empty());
 
         // When & Then
         assertThatThrownBy(() -> productService.deleteProduct(productId))
                 .isInstanceOf(ProductNotFoundException.class);
         
-        verify(productRepository).existsById(productId);
-        verify(productRepository, never()).deleteById(any());
+        verify(productRepository).findById(productId);
+        verify(productRepository, never()).delete(any(Product.class));
+        verify(eventPublisher, never()).publishEvent(any(ProductChangedEvent.class));
     }
 
     @Test
@@ -375,4 +403,56 @@ class ProductServiceTest {
         assertThat(result.getContent().get(0).getStatus()).isEqualTo(ProductStatus.ACTIVE);
         verify(productRepository).findActiveProducts(any(Pageable.class));
     }
+
+    @Test
+    @DisplayName("Should reject sorting on a non-whitelisted field")
+    void shouldRejectUnsupportedSortField() {
+        // When & Then
+        assertThatThrownBy(() -> productService.getAllProducts(0, 20, "description", "asc"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unsupported sort field");
+        
+        verify(productRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Should query products with sort matching the category index")
+    @SuppressWarnings("unchecked")
+    void shouldQueryProductsWithIndexOrderedSort() {
+        // Given
+        ProductQueryRequest query = ProductQueryRequest.builder()
+                .category("Electronics")
+                .minPrice(new BigDecimal("10.00"))
+                .maxPrice(new BigDecimal("2000.00"))
+                .inStock(true)
+                .size(500)
+                .build();
+        Page<Product> productPage = new PageImpl<>(List.of(sampleProduct));
+        when(productRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(productPage);
+        when(productMapper.toResponse(sampleProduct)).thenReturn(sampleResponse);
+
+        // When
+        PageResponse<ProductResponse> result = productService.queryProducts(query);
+
+        // Then
+        ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+        verify(productRepository).findAll(any(Specification.class), pageableCaptor.capture());
+        assertThat(pageableCaptor.getValue().getSort()).isEqualTo(Sort.by("name").ascending());
+        assertThat(pageableCaptor.getValue().getPageSize()).isEqualTo(100);
+        assertThat(result.getContent()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should reject query with inverted price range")
+    void shouldRejectInvertedPriceRange() {
+        // Given
+        ProductQueryRequest query = ProductQueryRequest.builder()
+                .minPrice(new BigDecimal("100.00"))
+                .maxPrice(new BigDecimal("10.00"))
+                .build();
+
+        // When & Then
+        assertThatThrownBy(() -> productService.queryProducts(query))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
 }